@@ -1,9 +1,14 @@
 package application;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import databasePart1.DatabaseHelper;
 import javafx.collections.FXCollections;
@@ -19,6 +24,7 @@ import javafx.scene.paint.Color;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Priority;
 import javafx.scene.layout.StackPane;
+import javafx.stage.FileChooser;
 import javafx.stage.Stage;
 import javafx.stage.StageStyle;
 import javafx.beans.property.SimpleStringProperty;
@@ -26,8 +32,9 @@ import javafx.scene.input.ClipboardContent;
 
 /**
  * AdminHomePage provides the administrative user interface for managing users
- * and performing tasks such as inviting new users, viewing reviewer requests,
- * modifying user roles, banning/unbanning users, and generating one-time passwords.
+ * and performing tasks such as inviting new users, importing a roster of users from
+ * CSV, viewing reviewer requests, modifying user roles, banning/unbanning users, and
+ * generating one-time passwords.
  *
  * <p>This page displays a table of all users along with controls for performing
  * administrative actions. It utilizes a DatabaseHelper for all database interactions.</p>
@@ -42,6 +49,7 @@ public class AdminHomePage {
 	 * @param primaryStage The primary stage where the scene will be displayed.
 	 */
 	private final DatabaseHelper databaseHelper;
+	private final AsyncRepository repository;
 	
 	/**
 	 * Constructs an AdminHomePage with the specified DatabaseHelper.
@@ -50,6 +58,7 @@ public class AdminHomePage {
 	 */
 	public AdminHomePage(DatabaseHelper databaseHelper) {
 		this.databaseHelper = databaseHelper;
+		this.repository = new AsyncRepository(databaseHelper);
 	}
 
 	/**
@@ -69,12 +78,6 @@ public class AdminHomePage {
 		prompt.setStyle("-fx-text-fill: black; -fx-font-size: 18px; -fx-font-weight: bold;");
 		prompt.setAlignment(Pos.CENTER);
 
-		try {
-			users = databaseHelper.getAllUsers();
-		} catch (SQLException e) {
-			System.out.println("Should never reach here, can't get all users");
-		}
-
 		// setting up the table columns for both Column name
 		// also setting up where it will get its data from the ObservableList
 		// automatically finds the variables based on variable name
@@ -110,6 +113,9 @@ public class AdminHomePage {
 		ObservableList<User> userObservableList = FXCollections.observableArrayList(users);
 		table.setItems(userObservableList);
 
+		// Load the users in the background while the table shows a loading state
+		repository.load(table, databaseHelper::getAllUsers, userObservableList::setAll);
+
 		// Create backButton to return to login screen
 		Button backButton = new Button("Back to login");
 		backButton.setStyle(
@@ -141,6 +147,41 @@ public class AdminHomePage {
 			new InvitationPage(databaseHelper).show(primaryStage);
 		});
 
+		// Create importButton for admin to add a whole roster of users from a CSV file
+		Button importButton = new Button("Import users");
+		importButton.setStyle(
+				"-fx-text-fill: black; -fx-font-weight: bold; -fx-border-color: black, gray; -fx-border-width: 2, 1;"
+						+ "-fx-border-radius: 6, 5; -fx-border-inset: 0, 4;");
+		importButton.setOnAction(a -> {
+			FileChooser chooser = new FileChooser();
+			chooser.setTitle("Import users");
+			chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV files", "*.csv"));
+			File file = chooser.showOpenDialog(primaryStage);
+			if (file == null) {
+				return;
+			}
+			repository.load(table, () -> {
+				try (Reader reader = Files.newBufferedReader(file.toPath())) {
+					return databaseHelper.importUsers(reader);
+				} catch (IOException e) {
+					throw new SQLException("Could not read " + file.getName() + ": " + e.getMessage(), e);
+				}
+			}, report -> {
+				// Show the summary, with every rejected row in an expandable list
+				Alert alert = new Alert(Alert.AlertType.INFORMATION);
+				alert.setTitle("Import users");
+				alert.setHeaderText(report.toString());
+				if (!report.getErrors().isEmpty()) {
+					TextArea errors = new TextArea(report.getErrors().stream().map(Object::toString)
+							.collect(Collectors.joining("\n")));
+					errors.setEditable(false);
+					alert.getDialogPane().setExpandableContent(errors);
+				}
+				alert.showAndWait();
+				repository.load(table, databaseHelper::getAllUsers, userObservableList::setAll);
+			});
+		});
+
 		TableColumn<User, Void> deleteColumn = new TableColumn<>("Delete User");
 		deleteColumn.setCellFactory(tc -> new TableCell<>() {
 			private final Button button = new Button("Delete");
@@ -454,7 +495,7 @@ public class AdminHomePage {
 		table.getColumns().add(tempPassword);
 		table.getColumns().add(banColumn);
 
-		HBox hbox = new HBox(5, backButton, inviteButton, viewRequests);
+		HBox hbox = new HBox(5, backButton, inviteButton, importButton, viewRequests);
 		HBox header = new HBox(5, prompt);
 		header.setAlignment(Pos.CENTER);
 		VBox vbox = new VBox(header, table);
@@ -2,6 +2,7 @@ package application;
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
@@ -117,6 +118,18 @@ public class Answer {
         this(text, null, null);
     }
 
+    /**
+     * Constructs a copy of another Answer. The related IDs and the author are
+     * copied as well, so changes to the copy do not affect the original.
+     *
+     * @param other the answer to copy
+     */
+    public Answer(Answer other) {
+        this(other.id, other.text, other.authorId, other.createdOn, other.updatedOn,
+                other.author != null ? new User(other.author) : null, other.authorName,
+                other.relatedId != null ? new ArrayList<>(other.relatedId) : null);
+    }
+
     // Getters
 
     /**
@@ -0,0 +1,297 @@
+package application;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+import databasePart1.DatabaseHelper;
+import javafx.application.Platform;
+import javafx.scene.Cursor;
+import javafx.scene.Node;
+import javafx.scene.control.Label;
+import javafx.scene.control.TableView;
+
+/**
+ * The {@code AsyncRepository} class runs database work off the JavaFX
+ * application thread so the pages stay responsive while data loads.
+ * <p>
+ * Every task runs on a single shared background thread, so the tasks the
+ * pages start run in the order they were started and a load sees the writes
+ * queued before it. Each thread already has its own pooled connection, so the
+ * single worker is about that ordering, not about sharing a connection.
+ * Results and errors are handed back to the JavaFX thread with
+ * {@code Platform.runLater}, where the pages can safely update their tables.
+ * </p>
+ */
+public class AsyncRepository {
+
+	/**
+	 * A unit of database work that may throw an {@link SQLException}.
+	 *
+	 * @param <T> the type of result produced by the task
+	 */
+	@FunctionalInterface
+	public interface DatabaseTask<T> {
+		/**
+		 * Runs the task.
+		 *
+		 * @return the result of the task
+		 * @throws SQLException if the database throws an error
+		 */
+		T call() throws SQLException;
+	}
+
+	/**
+	 * The result of registering a vote: the voted review as it now stands, so the
+	 * page can update its row in place, and whether the vote changed its total.
+	 */
+	public static class VoteResult {
+		private final Review review;
+		private final boolean counted;
+
+		/**
+		 * Constructs a {@code VoteResult}.
+		 *
+		 * @param review  the voted review after the vote, or null if it was not found
+		 * @param counted true if the vote changed the review's total
+		 */
+		public VoteResult(Review review, boolean counted) {
+			this.review = review;
+			this.counted = counted;
+		}
+
+		/**
+		 * Returns the voted review after the vote.
+		 *
+		 * @return the review, or null if it was not found
+		 */
+		public Review getReview() {
+			return review;
+		}
+
+		/**
+		 * Returns whether the vote changed the review's total. A repeat of the
+		 * user's earlier vote is not counted again.
+		 *
+		 * @return true if the vote was counted
+		 */
+		public boolean isCounted() {
+			return counted;
+		}
+	}
+
+	/**
+	 * A question's thread together with the ids of its answers the user has read,
+	 * loaded together so a page can show both at once.
+	 */
+	public static class ThreadResult {
+		private final QuestionThread thread;
+		private final Set<Integer> readAnswerIds;
+
+		/**
+		 * Constructs a {@code ThreadResult}.
+		 *
+		 * @param thread        the question's thread, or null if the question was not found
+		 * @param readAnswerIds the ids of the thread's answers the user has read
+		 */
+		public ThreadResult(QuestionThread thread, Set<Integer> readAnswerIds) {
+			this.thread = thread;
+			this.readAnswerIds = readAnswerIds;
+		}
+
+		/**
+		 * Returns the question's thread.
+		 *
+		 * @return the thread, or null if the question was not found
+		 */
+		public QuestionThread getThread() {
+			return thread;
+		}
+
+		/**
+		 * Returns the ids of the thread's answers the user has read.
+		 *
+		 * @return the read answer ids
+		 */
+		public Set<Integer> getReadAnswerIds() {
+			return readAnswerIds;
+		}
+	}
+
+	// Key used to remember how many loads are running against a table
+	private static final String PENDING_LOADS = "asyncRepository.pendingLoads";
+
+	// Key used to remember the placeholder a table had before it started loading
+	private static final String SAVED_PLACEHOLDER = "asyncRepository.placeholder";
+
+	// One daemon worker shared by every page so its tasks run in the order they were started
+	private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(r -> {
+		Thread thread = new Thread(r, "database-worker");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private final DatabaseHelper databaseHelper;
+
+	/**
+	 * Constructs an {@code AsyncRepository} for the given database helper.
+	 *
+	 * @param databaseHelper the helper object for database operations
+	 */
+	public AsyncRepository(DatabaseHelper databaseHelper) {
+		this.databaseHelper = databaseHelper;
+	}
+
+	/**
+	 * Runs a task on the database worker thread.
+	 *
+	 * @param <T>  the type of result produced by the task
+	 * @param task the database work to perform
+	 * @return a future completed with the result of the task, or exceptionally
+	 *         if it threw
+	 */
+	public <T> CompletableFuture<T> supply(DatabaseTask<T> task) {
+		return CompletableFuture.supplyAsync(() -> {
+			try {
+				return task.call();
+			} catch (SQLException e) {
+				throw new CompletionException(e);
+			}
+		}, EXECUTOR);
+	}
+
+	/**
+	 * Runs a task on the database worker thread and passes its result to
+	 * {@code onSuccess} on the JavaFX thread. Errors are printed.
+	 *
+	 * @param <T>       the type of result produced by the task
+	 * @param task      the database work to perform
+	 * @param onSuccess the callback that receives the result on the JavaFX thread
+	 * @return the future for the task
+	 */
+	public <T> CompletableFuture<T> load(DatabaseTask<T> task, Consumer<T> onSuccess) {
+		return load(null, task, onSuccess);
+	}
+
+	/**
+	 * Runs a task on the database worker thread while the given table shows a
+	 * loading state, then passes its result to {@code onSuccess} on the JavaFX
+	 * thread. Errors are printed and the table is returned to normal either way.
+	 *
+	 * @param <T>       the type of result produced by the task
+	 * @param table     the table to mark as loading, or null for none
+	 * @param task      the database work to perform
+	 * @param onSuccess the callback that receives the result on the JavaFX thread
+	 * @return the future for the task
+	 */
+	public <T> CompletableFuture<T> load(TableView<?> table, DatabaseTask<T> task, Consumer<T> onSuccess) {
+		if (table != null) {
+			setLoading(table, true);
+		}
+
+		CompletableFuture<T> future = supply(task);
+		future.whenComplete((result, error) -> Platform.runLater(() -> {
+			if (table != null) {
+				setLoading(table, false);
+			}
+			if (error != null) {
+				Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+				cause.printStackTrace();
+				System.err.println("Error running background database task: " + cause.getMessage());
+			} else {
+				onSuccess.accept(result);
+			}
+		}));
+		return future;
+	}
+
+	/**
+	 * Registers a user's vote for a review and loads the review back with its new
+	 * total. Meant to be passed to {@link #load} so it runs on the database worker
+	 * thread.
+	 *
+	 * @param reviewId the id of the review being voted on
+	 * @param userId   the id of the user voting
+	 * @param vote     the value of the vote, 1 or -1
+	 * @return the updated review and whether the vote was counted
+	 * @throws SQLException if the database throws an error
+	 */
+	public VoteResult registerVote(int reviewId, int userId, int vote) throws SQLException {
+		boolean counted = databaseHelper.qaHelper.registerVoteForReview(reviewId, userId, vote);
+		return new VoteResult(databaseHelper.qaHelper.getReview(reviewId), counted);
+	}
+
+	/**
+	 * Loads a question's thread and which of its answers the user has read.
+	 * Reading the answers writes any read receipts still waiting, so this is
+	 * meant to be passed to {@link #load} to keep both off the JavaFX thread.
+	 *
+	 * @param questionId the id of the question
+	 * @param userId     the id of the user viewing the thread
+	 * @return the thread and the answers the user has read
+	 * @throws SQLException if the database throws an error
+	 */
+	public ThreadResult loadThread(int questionId, int userId) throws SQLException {
+		QuestionThread thread = databaseHelper.qaHelper.loadThread(questionId);
+		return new ThreadResult(thread, databaseHelper.qaHelper.getReadAnswerIds(userId, questionId));
+	}
+
+	/**
+	 * Replaces the row of a review in a results table with one showing the review
+	 * as given, leaving the rest of the table as it is.
+	 *
+	 * @param table  the results table
+	 * @param review the review to show, or null to leave the table unchanged
+	 */
+	public static void updateReviewRow(TableView<QATableRow> table, Review review) {
+		if (review == null) {
+			return;
+		}
+		List<QATableRow> rows = table.getItems();
+		for (int i = 0; i < rows.size(); i++) {
+			QATableRow row = rows.get(i);
+			if (row.getType() == QATableRow.RowType.REVIEW && review.getId().equals(row.getContentId())) {
+				rows.set(i, new QATableRow(QATableRow.RowType.REVIEW, review.toDisplayWithText(), review.getId(),
+						review.getAuthorId()));
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Shows or clears the loading state of a table. While loading the table is
+	 * disabled, shows a wait cursor and shows a loading message if it is empty.
+	 * Overlapping loads are counted so the table only returns to normal once the
+	 * last one finishes.
+	 *
+	 * @param table   the table to update
+	 * @param loading true when a load starts, false when it finishes
+	 */
+	public static void setLoading(TableView<?> table, boolean loading) {
+		Map<Object, Object> properties = table.getProperties();
+		int pending = (Integer) properties.getOrDefault(PENDING_LOADS, 0) + (loading ? 1 : -1);
+
+		if (pending > 0) {
+			properties.put(PENDING_LOADS, pending);
+			if (!properties.containsKey(SAVED_PLACEHOLDER)) {
+				properties.put(SAVED_PLACEHOLDER, table.getPlaceholder());
+				table.setPlaceholder(new Label("Loading..."));
+			}
+			table.setDisable(true);
+			table.setCursor(Cursor.WAIT);
+		} else {
+			properties.remove(PENDING_LOADS);
+			if (properties.containsKey(SAVED_PLACEHOLDER)) {
+				table.setPlaceholder((Node) properties.remove(SAVED_PLACEHOLDER));
+			}
+			table.setDisable(false);
+			table.setCursor(Cursor.DEFAULT);
+		}
+	}
+}
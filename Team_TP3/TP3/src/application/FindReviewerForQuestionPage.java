@@ -19,6 +19,7 @@ import javafx.stage.StageStyle;
 
 import java.sql.SQLException;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -40,6 +41,11 @@ public class FindReviewerForQuestionPage {
      * The DatabaseHelper instance used to perform database operations.
      */
     private final DatabaseHelper databaseHelper;
+
+    /**
+     * Runs the database work of the page in the background.
+     */
+    private final AsyncRepository repository;
     
     /**
      * The currently selected question.
@@ -61,6 +67,21 @@ public class FindReviewerForQuestionPage {
      */
     private List<User> users;
 
+    /**
+     * The rating of each ranked reviewer, by user id.
+     */
+    private Map<Integer, Integer> reviewerRatings = new HashMap<>();
+
+    /**
+     * The recommendation for each recommended reviewer, by user id.
+     */
+    private Map<Integer, ReviewerRecommendation> recommendations = new HashMap<>();
+
+    /**
+     * The most reviewers recommended for the selected question.
+     */
+    private static final int RECOMMENDED_REVIEWERS = 10;
+
     /**
      * Constructs a {@code FindReviewerForQuestionPage} with the specified DatabaseHelper.
      *
@@ -68,6 +89,7 @@ public class FindReviewerForQuestionPage {
      */
     public FindReviewerForQuestionPage(DatabaseHelper databaseHelper) {
         this.databaseHelper = databaseHelper;
+        this.repository = new AsyncRepository(databaseHelper);
     }
 
     /**
@@ -147,6 +169,7 @@ public class FindReviewerForQuestionPage {
         // Retrieve reviewers from the database if not already loaded
         if (users == null || users.isEmpty()) {
             try {
+                loadRanking();
                 users = databaseHelper.getAllReviewersForUser(databaseHelper.currentUser.getUserId()).entrySet()
                         .stream().sorted(Map.Entry.<User, Integer>comparingByValue(Comparator.reverseOrder()))
                         .map(Map.Entry::getKey).collect(Collectors.toList()).reversed();
@@ -223,7 +246,18 @@ public class FindReviewerForQuestionPage {
         rTable.setItems(reviewerObservableList);
 
         TableColumn<User, String> reviewerColumn = new TableColumn<>("Reviewers");
-        reviewerColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().toDisplay()));
+        reviewerColumn.setCellValueFactory(cellData -> {
+            User reviewer = cellData.getValue();
+            ReviewerRecommendation recommendation = recommendations.get(reviewer.getUserId());
+            if (recommendation != null) {
+                return new SimpleStringProperty(reviewer.toDisplay() + "\nRating: " + recommendation.getRating()
+                        + String.format("\nScore: %.2f, Topic match: %.2f, Open reviews: %d",
+                                recommendation.getScore(), recommendation.getSimilarity(),
+                                recommendation.getOpenAssignments()));
+            }
+            return new SimpleStringProperty(reviewer.toDisplay() + "\nRating: "
+                    + reviewerRatings.getOrDefault(reviewer.getUserId(), 0));
+        });
 
         // Add cell factory to enable text wrapping in the reviewer column
         reviewerColumn.setCellFactory(a -> new TableCell<User, String>() {
@@ -308,10 +342,25 @@ public class FindReviewerForQuestionPage {
 
             // Check if a question and reviewer have been selected
             if (qSelection == null || rSelection == null) {
+                errorLabel.setStyle("-fx-text-fill: red; -fx-font-weight: bold; -fx-font-size: 20px;");
                 errorLabel.setText("Error, you must select a QUESTION AND a REVIEWER");
                 return;
             } else {
-                // Insert logic to assign a question to a reviewer
+                try {
+                    if (databaseHelper.qaHelper.assignReviewer(qSelection.getId(), rSelection.getUserId(),
+                            databaseHelper.currentUser.getUserId())) {
+                        errorLabel.setStyle("-fx-text-fill: green; -fx-font-weight: bold; -fx-font-size: 20px;");
+                        errorLabel.setText("Assigned " + rSelection.getUsername() + " to review the question");
+                    } else {
+                        errorLabel.setStyle("-fx-text-fill: red; -fx-font-weight: bold; -fx-font-size: 20px;");
+                        errorLabel.setText(rSelection.getUsername() + " is already assigned to this question");
+                    }
+                } catch (SQLException e) {
+                    e.printStackTrace();
+                    System.err.println("Error trying to assign a reviewer in FindReviewerForQuestionPage");
+                    errorLabel.setStyle("-fx-text-fill: red; -fx-font-weight: bold; -fx-font-size: 20px;");
+                    errorLabel.setText("Error, the reviewer could not be assigned");
+                }
             }
         });
 
@@ -327,7 +376,11 @@ public class FindReviewerForQuestionPage {
         reviewerPreferredButton.setToggleGroup(reviewerFilter);
         reviewerPreferredButton.setSelected(true);
 
-        HBox reviewerFilterBox = new HBox(10, reviewerAllButton, reviewerPreferredButton);
+        RadioButton reviewerRecommendedButton = new RadioButton("Recommended");
+        reviewerRecommendedButton.setStyle("-fx-text-fill: black; -fx-font-weight: bold;");
+        reviewerRecommendedButton.setToggleGroup(reviewerFilter);
+
+        HBox reviewerFilterBox = new HBox(10, reviewerAllButton, reviewerPreferredButton, reviewerRecommendedButton);
         reviewerFilterBox.setAlignment(Pos.CENTER);
 
         reviewerFilter.selectedToggleProperty().addListener((obs, oldSelection, newSelection) -> {
@@ -336,9 +389,18 @@ public class FindReviewerForQuestionPage {
                 String selection = selected.getText();
 
                 try {
-                    if (selection.equalsIgnoreCase("All")) {
-                        // Retrieve list of all reviewers
-                        users = databaseHelper.getAllUsersWithRole("Reviewer");
+                    recommendations = new HashMap<>();
+                    if (selection.equalsIgnoreCase("Recommended")) {
+                        // Retrieve the best reviewers for the selected question in the background
+                        if (question == null) {
+                            errorLabel.setStyle("-fx-text-fill: red; -fx-font-weight: bold; -fx-font-size: 20px;");
+                            errorLabel.setText("Select a question to see its recommended reviewers");
+                        }
+                        recommend(rTable, reviewerRecommendedButton);
+                        return;
+                    } else if (selection.equalsIgnoreCase("All")) {
+                        // Retrieve list of all reviewers, highest rated first
+                        users = loadRanking().stream().map(ReviewerStats::getReviewer).collect(Collectors.toList());
                     } else if (selection.equalsIgnoreCase("Preferred")) {
                         // Retrieve list of preferred reviewers for the current user
                         users = databaseHelper.getAllReviewersForUser(databaseHelper.currentUser.getUserId()).entrySet()
@@ -363,6 +425,12 @@ public class FindReviewerForQuestionPage {
         qTable.getSelectionModel().selectedItemProperty().addListener((obs, oldSelection, newSelection) -> {
             if (newSelection != null) {
                 this.question = newSelection;
+
+                // Recommendations depend on the question, so reload them when it changes
+                if (reviewerFilter.getSelectedToggle() == reviewerRecommendedButton) {
+                    errorLabel.setText("");
+                    recommend(rTable, reviewerRecommendedButton);
+                }
             }
         });
 
@@ -533,4 +601,55 @@ public class FindReviewerForQuestionPage {
         primaryStage.centerOnScreen();
         primaryStage.show();
     }
+
+    /**
+     * Recommends reviewers for the selected question in the background, then
+     * shows them best first in the reviewer table and remembers each
+     * recommendation for it. The table is emptied if no question is selected.
+     *
+     * @param rTable            the reviewer table
+     * @param recommendedButton the filter that shows the recommended reviewers
+     */
+    private void recommend(TableView<User> rTable, Toggle recommendedButton) {
+        recommendations = new HashMap<>();
+        Question selected = question;
+        if (selected == null) {
+            users = List.of();
+            rTable.getItems().setAll(users);
+            return;
+        }
+        int studentId = databaseHelper.currentUser.getUserId();
+        repository.load(rTable,
+                () -> databaseHelper.qaHelper.recommendReviewers(selected, studentId, RECOMMENDED_REVIEWERS),
+                recommended -> {
+                    // Drop the result if another question or filter was chosen while it loaded
+                    if (selected != question || !recommendedButton.isSelected()) {
+                        return;
+                    }
+                    recommendations = new HashMap<>();
+                    for (ReviewerRecommendation recommendation : recommended) {
+                        recommendations.put(recommendation.getReviewer().getUserId(), recommendation);
+                    }
+                    users = recommended.stream().map(ReviewerRecommendation::getReviewer)
+                            .collect(Collectors.toList());
+                    rTable.getItems().setAll(users);
+                    rTable.refresh();
+                });
+    }
+
+    /**
+     * Loads every reviewer with their stats and remembers each reviewer's rating
+     * for the reviewer table.
+     *
+     * @return the reviewers, highest rated first
+     * @throws SQLException if the database throws an error
+     */
+    private List<ReviewerStats> loadRanking() throws SQLException {
+        List<ReviewerStats> ranking = databaseHelper.getReviewersByRating();
+        reviewerRatings = new HashMap<>();
+        for (ReviewerStats stats : ranking) {
+            reviewerRatings.put(stats.getReviewer().getUserId(), stats.getRating());
+        }
+        return ranking;
+    }
 }
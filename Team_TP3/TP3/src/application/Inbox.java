@@ -1,11 +1,10 @@
 package application;
 
 import java.sql.SQLException;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Optional;
 
 import databasePart1.DatabaseHelper;
+import databasePart1.QAHelper1;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -25,8 +24,9 @@ import javafx.scene.layout.StackPane;
 
 /**
  * Displays the Inbox view for a user.
- * Shows all messages related to the current user in a table, allowing actions
- * such as reading, replying, and deleting messages.
+ * Shows all messages related to the current user in a table, newest first and
+ * a page at a time, allowing actions such as reading, replying, and deleting
+ * messages.
  */
 
 public class Inbox {
@@ -52,16 +52,6 @@ public class Inbox {
 		double[] offsetY = { 0 };
 		
         TableView<Message> table = new TableView<>();
-        List<Message> messageList = new ArrayList<>();
-
-        // Label to display title to user
-        
-        try {
-            messageList = databaseHelper.qaHelper.retrieveMessagesByUserId(databaseHelper.currentUser.getUserId());
-        } catch (SQLException e) {
-            System.out.println("Error fetching messages from the database.");
-            e.printStackTrace();
-        }
 
         // TableColumn for Message ID
         TableColumn<Message, Integer> messageIdColumn = new TableColumn<>("MsgID");
@@ -114,8 +104,13 @@ public class Inbox {
         // Add columns to the table
         table.getColumns().addAll(messageIdColumn, senderColumn, referenceColumn, recipientColumn, subjectColumn, messageColumn);
 
-        ObservableList<Message> messageObservableList = FXCollections.observableArrayList(messageList);
+        // Load the newest messages first and fetch older ones as the table is scrolled
+        ObservableList<Message> messageObservableList = FXCollections.observableArrayList();
         table.setItems(messageObservableList);
+        int userId = databaseHelper.currentUser.getUserId();
+        MessagePager.start(new AsyncRepository(databaseHelper), table,
+                (after, limit) -> databaseHelper.qaHelper.retrieveMessagesByUserId(userId, after, limit),
+                QAHelper1.MESSAGE_PAGE_SIZE);
 
         // Buttons
         Button readButton = new Button("Read");
@@ -3,8 +3,10 @@ package application;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import application.QATableRow;
@@ -59,13 +61,17 @@ import javafx.stage.StageStyle;
 public class InstructorHomePage {
 
     private final DatabaseHelper databaseHelper;
+    private final AsyncRepository repository;
     private Question question;
     private Answer answer;
     private Review review;
     private List<Review> reviews;
     private List<Question> questions;
-    private List<Answer> answers;
     private ObservableList<QATableRow> resultsObservableList = FXCollections.observableArrayList();
+    // Answers in the shown thread the current user has marked read
+    private final Set<Integer> readAnswerIds = new HashSet<>();
+    // The question the results table was last asked to show
+    private int shownQuestionId;
     private TableView<Question> qTable;
     private List<Question> sortedList;
     private boolean updatingReview = false;
@@ -84,6 +90,7 @@ public class InstructorHomePage {
      */
     public InstructorHomePage(DatabaseHelper databaseHelper) {
         this.databaseHelper = databaseHelper;
+        this.repository = new AsyncRepository(databaseHelper);
     }
     
     /**
@@ -97,19 +104,8 @@ public class InstructorHomePage {
         double[] offsetX = { 0 };
         double[] offsetY = { 0 };
 
-        try {
-            questions = databaseHelper.qaHelper.getAllReviewedByMeQuestions();
-        } catch (SQLException e) {
-            System.out.println("Should never reach here, can't get all QUESTIONS");
-            e.printStackTrace();
-        }
-
-        try {
-            answers = databaseHelper.qaHelper.getAllAnswers();
-        } catch (SQLException e) {
-            System.out.println("Should never reach here, can't get all ANSWERS");
-            e.printStackTrace();
-        }
+        // The question table is filled in the background once it has been built
+        questions = new ArrayList<>();
 
         // Label to display title of the page to the user
         Label topLabel = new Label("Instructor Home Page");
@@ -169,13 +165,13 @@ public class InstructorHomePage {
                 "-fx-text-fill: black; -fx-font-weight: bold; -fx-border-color: black; -fx-border-width:  1px;");
 
         // Button to open inbox for private messages, also displays the number of messages a user has in their inbox
-        int totalMessages = 0;
+        MessageCounts messageCounts = new MessageCounts(0, 0, 0);
         try {
-            totalMessages = databaseHelper.qaHelper.getTotalMessageCountForUser(databaseHelper.currentUser.getUserId());
+            messageCounts = databaseHelper.qaHelper.getMessageCounts(databaseHelper.currentUser.getUserId());
         } catch (SQLException e) {
             e.printStackTrace();
         }
-        Button inboxButton = new Button("Inbox (" + totalMessages + ")");
+        Button inboxButton = new Button(messageCounts.toInboxLabel());
         inboxButton.setStyle(
                 "-fx-text-fill: black; -fx-font-weight: bold; -fx-border-color: black; -fx-border-width:  1px;");
 
@@ -217,6 +213,12 @@ public class InstructorHomePage {
         ObservableList<Question> questionObservableList = FXCollections.observableArrayList(questions);
         qTable.setItems(questionObservableList);
 
+        // Load the questions in the background while the table shows a loading state
+        repository.load(qTable, () -> databaseHelper.qaHelper.getAllReviewedByMeQuestions(), result -> {
+            questions = result;
+            questionObservableList.setAll(questions);
+        });
+
         TableColumn<Question, String> detailsColumn = new TableColumn<>("Question Details");
         detailsColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().toDisplay()));
 
@@ -300,17 +302,19 @@ public class InstructorHomePage {
                 }
             }
         });
-        // Retrieve reviews from the database matching the current user as the author
-        try {
-            reviews = databaseHelper.qaHelper.getMyReviews();
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+        // Reviews by the current user are loaded in the background once the table has been built
+        reviews = new ArrayList<>();
 
         // Create an observable list of reviews and assign to the table
         ObservableList<Review> reviewObservableList = FXCollections.observableArrayList(reviews);
         rTable.setItems(reviewObservableList);
 
+        // Load the current user's reviews in the background while the table shows a loading state
+        repository.load(rTable, () -> databaseHelper.qaHelper.getMyReviews(), result -> {
+            reviews = result;
+            reviewObservableList.setAll(reviews);
+        });
+
         TableColumn<Review, String> reviewDetailsColumn = new TableColumn<>("Review Details");
         reviewDetailsColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().toDisplay()));
 
@@ -363,23 +367,22 @@ public class InstructorHomePage {
 
         reviewFilter.valueProperty().addListener((obs, oldSelection, newSelection) -> {
             if (newSelection != null) {
-                try {
+                // Load the filtered reviews in the background while the table shows a loading state
+                repository.load(rTable, () -> {
                     switch (newSelection) {
                         case "All Reviews":
-                            reviews = databaseHelper.qaHelper.getAllReviews();
-                            break;
+                            return databaseHelper.qaHelper.getAllReviews();
                         case "My Reviews":
-                            reviews = databaseHelper.qaHelper.getMyReviews();
-                            break;
+                            return databaseHelper.qaHelper.getMyReviews();
                     }
-                } catch (SQLException e) {
-                    e.printStackTrace();
-                    System.err.println("Error trying to update review table via radio buttons");
-                    return;
-                }
-                reviewObservableList.setAll(reviews);
-                rTable.setItems(reviewObservableList);
-                rTable.refresh();
+                    return null;
+                }, result -> {
+                    if (result != null) {
+                        reviews = result;
+                        reviewObservableList.setAll(reviews);
+                        rTable.refresh();
+                    }
+                });
             }
         });
 
@@ -471,19 +474,13 @@ public class InstructorHomePage {
                             && !row.getAuthorId().equals(databaseHelper.currentUser.getUserId())) {
                         buttonBox.getChildren().add(markAsReadButton);
                     }
-                    try {
-                        boolean isRead = databaseHelper.qaHelper.isAnswerMarkedAsRead(row.getAnswerId(),
-                                databaseHelper.currentUser.getUserId());
-                        if (isRead) {
-                            markAsReadButton.setDisable(true);
-                        }
-                    } catch (SQLException e) {
-                        e.printStackTrace();
-                    }
+                    // Read state comes from the snapshot loaded with the thread, so rendering needs no query
+                    markAsReadButton.setDisable(readAnswerIds.contains(row.getAnswerId()));
                     markAsReadButton.setOnAction(a -> {
                         try {
                             databaseHelper.qaHelper.markAnswerAsRead(row.getAnswerId(),
                                     databaseHelper.currentUser.getUserId());
+                            readAnswerIds.add(row.getAnswerId());
                             markAsReadButton.setDisable(true);
                         } catch (SQLException e) {
                             e.printStackTrace();
@@ -529,57 +526,17 @@ public class InstructorHomePage {
                         HBox voteBox = new HBox(5, upVoteButton, downVoteButton);
                         upVoteButton.setOnAction(a -> {
                             QATableRow currentRow = getTableView().getItems().get(getIndex());
-                            databaseHelper.qaHelper.registerVoteForReview(currentRow.getReviewId(), 1);
-                            try {
-                                review = databaseHelper.qaHelper.getReview(currentRow.getReviewId());
-                                questions = databaseHelper.qaHelper.getAllQuestions();
-                                questionObservableList.clear();
-                                questionObservableList.addAll(questions);
-                                qTable.setItems(questionObservableList);
-                                if (review.getForQuestion()) {
-                                    qTable.getSelectionModel().select(databaseHelper.qaHelper.getQuestion(
-                                            databaseHelper.qaHelper.getReview(currentRow.getReviewId()).getRelatedId()));
-                                } else {
-                                    qTable.getSelectionModel()
-                                            .select(databaseHelper.qaHelper
-                                                    .getQuestionForAnswer(
-                                                            databaseHelper.qaHelper
-                                                                    .getAnswer(databaseHelper.qaHelper
-                                                                            .getReview(currentRow.getReviewId()).getRelatedId())
-                                                                    .getId()));
-                                }
-                            } catch (SQLException e) {
-                                e.printStackTrace();
-                                System.err.println(
-                                        "Error trying update questions object via getALLQuestions() in upVoteButton action");
-                            }
+                            // Register the vote and update its row without blocking the window
+                            repository.load(resultsTable,
+                                    () -> repository.registerVote(currentRow.getReviewId(), databaseHelper.currentUser.getUserId(), 1),
+                                    result -> AsyncRepository.updateReviewRow(resultsTable, result.getReview()));
                         });
                         downVoteButton.setOnAction(a -> {
                             QATableRow currentRow = getTableView().getItems().get(getIndex());
-                            databaseHelper.qaHelper.registerVoteForReview(currentRow.getReviewId(), -1);
-                            try {
-                                review = databaseHelper.qaHelper.getReview(currentRow.getReviewId());
-                                questions = databaseHelper.qaHelper.getAllQuestions();
-                                questionObservableList.clear();
-                                questionObservableList.addAll(questions);
-                                qTable.setItems(questionObservableList);
-                                if (review.getForQuestion()) {
-                                    qTable.getSelectionModel().select(databaseHelper.qaHelper.getQuestion(
-                                            databaseHelper.qaHelper.getReview(currentRow.getReviewId()).getRelatedId()));
-                                } else {
-                                    qTable.getSelectionModel()
-                                            .select(databaseHelper.qaHelper
-                                                    .getQuestionForAnswer(
-                                                            databaseHelper.qaHelper
-                                                                    .getAnswer(databaseHelper.qaHelper
-                                                                            .getReview(currentRow.getReviewId()).getRelatedId())
-                                                                    .getId()));
-                                }
-                            } catch (SQLException e) {
-                                e.printStackTrace();
-                                System.err.println(
-                                        "Error trying update questions object via getALLQuestions() in downVoteButton action");
-                            }
+                            // Register the vote and update its row without blocking the window
+                            repository.load(resultsTable,
+                                    () -> repository.registerVote(currentRow.getReviewId(), databaseHelper.currentUser.getUserId(), -1),
+                                    result -> AsyncRepository.updateReviewRow(resultsTable, result.getReview()));
                         });
                         cellContent.getChildren().add(voteBox);
                     }
@@ -609,20 +566,18 @@ public class InstructorHomePage {
                         });
                         deleteButton.setOnAction(a -> {
                             QATableRow currentRow = getTableView().getItems().get(getIndex());
-                            try {
-                                review = databaseHelper.qaHelper.getReview(currentRow.getReviewId());
-                                questions = databaseHelper.qaHelper.getAllQuestions();
-                                Question question = databaseHelper.qaHelper.getQuestion(review.getRelatedId());
-                            } catch (SQLException e) {
-                                e.printStackTrace();
-                                System.err.println(
-                                        "Error trying update questions object via getALLQuestions() in resultsTable");
-                            }
-                            databaseHelper.qaHelper.deleteReview(currentRow.getReviewId());
-                            questionObservableList.clear();
-                            questionObservableList.addAll(questions);
-                            qTable.setItems(questionObservableList);
-                            qTable.getSelectionModel().select(question);
+                            Question selected = qTable.getSelectionModel().getSelectedItem();
+
+                            // Delete the review and retrieve an updated list of questions in the background
+                            repository.load(qTable, () -> {
+                                databaseHelper.qaHelper.deleteReview(currentRow.getReviewId());
+                                return databaseHelper.qaHelper.getAllQuestions();
+                            }, result -> {
+                                questions = result;
+                                questionObservableList.setAll(questions);
+                                qTable.setItems(questionObservableList);
+                                qTable.getSelectionModel().select(selected);
+                            });
                         });
                         HBox buttonBox = new HBox(1, editButton, deleteButton);
                         buttonBox.setAlignment(Pos.BOTTOM_RIGHT);
@@ -685,32 +640,28 @@ public class InstructorHomePage {
 
         filter.valueProperty().addListener((obs, oldSelection, newSelection) -> {
             if (newSelection != null) {
-                try {
+                // Load the filtered questions in the background while the table shows a loading state
+                repository.load(qTable, () -> {
                     switch (newSelection) {
                         case "All":
-                            questions = databaseHelper.qaHelper.getAllQuestions();
-                            break;
+                            return databaseHelper.qaHelper.getAllQuestions();
                         case "Unanswered":
-                            questions = databaseHelper.qaHelper.getAllUnansweredQuestions();
-                            break;
+                            return databaseHelper.qaHelper.getAllUnansweredQuestions();
                         case "Answered":
-                            questions = databaseHelper.qaHelper.getAllAnsweredQuestions();
-                            break;
+                            return databaseHelper.qaHelper.getAllAnsweredQuestions();
                         case "Reviewed":
-                            questions = databaseHelper.qaHelper.getAllReviewedQuestions();
-                            break;
+                            return databaseHelper.qaHelper.getAllReviewedQuestions();
                         case "Reviewed By Me":
-                            questions = databaseHelper.qaHelper.getAllReviewedByMeQuestions();
-                            break;
+                            return databaseHelper.qaHelper.getAllReviewedByMeQuestions();
                     }
-                } catch (SQLException e) {
-                    e.printStackTrace();
-                    System.err.println("Error trying to update question table via radio buttons");
-                    return;
-                }
-                questionObservableList.setAll(questions);
-                qTable.setItems(questionObservableList);
-                qTable.refresh();
+                    return null;
+                }, result -> {
+                    if (result != null) {
+                        questions = result;
+                        questionObservableList.setAll(questions);
+                        qTable.refresh();
+                    }
+                });
             }
         });
 
@@ -792,19 +743,20 @@ public class InstructorHomePage {
                             ex.printStackTrace();
                         }
                     } else if ("Delete".equals(action)) {
-                        try {
-                            if (row.getType() == QATableRow.RowType.REVIEW) {
+                        if (row.getType() == QATableRow.RowType.REVIEW) {
+                            // Delete the review and retrieve an updated list of questions in the background
+                            repository.load(qTable, () -> {
                                 databaseHelper.qaHelper.deleteReview(row.getReviewId());
-                                questions = databaseHelper.qaHelper.getAllQuestions();
+                                return databaseHelper.qaHelper.getAllQuestions();
+                            }, result -> {
+                                questions = result;
                                 questionObservableList.setAll(questions);
                                 qTable.setItems(questionObservableList);
-                            } else if (row.getType() == QATableRow.RowType.QUESTION) {
-                                // Insert deletion logic for questions if required
-                            } else if (row.getType() == QATableRow.RowType.ANSWER) {
-                                // Insert deletion logic for answers if required
-                            }
-                        } catch (SQLException ex) {
-                            ex.printStackTrace();
+                            });
+                        } else if (row.getType() == QATableRow.RowType.QUESTION) {
+                            // Insert deletion logic for questions if required
+                        } else if (row.getType() == QATableRow.RowType.ANSWER) {
+                            // Insert deletion logic for answers if required
                         }
                     }
                     actionCombo.setValue("Select Action");
@@ -857,17 +809,20 @@ public class InstructorHomePage {
         searchField.setOnKeyReleased(a -> {
             String input = searchField.getText().trim();
             if (!input.isEmpty()) {
-                sortedList = databaseHelper.qaHelper.searchQuestionDatabase(input);
-                searchField.setMinWidth(searchTable.getWidth());
-                searchBox.setVisible(true);
-                searchBox.setManaged(true);
-                if (sortedList != null && !sortedList.isEmpty()) {
-                    searchObservableList.setAll(sortedList);
-                    if (!searchBox.isVisible()) {
-                        searchBox.setVisible(true);
-                        searchBox.setManaged(true);
+                // Search the database for the input string in the background
+                repository.load(() -> databaseHelper.qaHelper.searchQuestionDatabase(input), result -> {
+                    // Drop the results if the search text changed while they loaded
+                    if (!input.equals(searchField.getText().trim())) {
+                        return;
                     }
-                }
+                    sortedList = result;
+                    searchField.setMinWidth(searchTable.getWidth());
+                    searchBox.setVisible(true);
+                    searchBox.setManaged(true);
+                    if (sortedList != null && !sortedList.isEmpty()) {
+                        searchObservableList.setAll(sortedList);
+                    }
+                });
             } else {
                 searchObservableList.clear();
                 searchBox.setVisible(false);
@@ -905,59 +860,57 @@ public class InstructorHomePage {
                 errorLabel.setText("Error, review-body field is blank.");
                 return;
             }
-            try {
-                if (!updatingReview) {
-                    if (qTableSelection != null) {
-                        review = new Review(true, qTableSelection.getId(), textInput,
-                                databaseHelper.currentUser.getUserId());
-                        databaseHelper.qaHelper.registerReview(review);
-                        question = qTableSelection;
-                    } else if (resultsTableSelection != null) {
-                        if (resultsTableSelection.getType() == QATableRow.RowType.QUESTION) {
-                            review = new Review(true, resultsTableSelection.getQuestionId(), textInput,
-                                    databaseHelper.currentUser.getUserId());
-                            databaseHelper.qaHelper.registerReview(review);
-                            question = databaseHelper.qaHelper.getQuestion(resultsTableSelection.getQuestionId());
-                        } else if (resultsTableSelection.getType() == QATableRow.RowType.ANSWER) {
-                            review = new Review(
-                                    true, databaseHelper.qaHelper
-                                            .getQuestionForAnswer(resultsTableSelection.getAnswerId()).getId(),
-                                    textInput, databaseHelper.currentUser.getUserId());
-                            databaseHelper.qaHelper.registerReview(review);
-                            question = databaseHelper.qaHelper
-                                    .getQuestionForAnswer(resultsTableSelection.getAnswerId());
-                        } else if (resultsTableSelection.getType() == QATableRow.RowType.REVIEW) {
-                            review = new Review(true, resultsTableSelection.getQuestionId(), textInput,
-                                    databaseHelper.currentUser.getUserId());
-                            databaseHelper.qaHelper.registerReview(review);
-                            question = databaseHelper.qaHelper.getQuestion(databaseHelper.qaHelper
-                                    .getReview(resultsTableSelection.getReviewId()).getRelatedId());
-                        }
+            boolean editingReview = updatingReview;
+            Review editedReview = review;
+            int userId = databaseHelper.currentUser.getUserId();
+            if (editingReview) {
+                review.setText(textInput);
+            }
+
+            // Save the review in the background, then select the question it belongs to
+            repository.load(qTable, () -> {
+                if (editingReview) {
+                    databaseHelper.qaHelper.updateReview(editedReview);
+                    return databaseHelper.qaHelper.getQuestion(
+                            databaseHelper.qaHelper.getReview(resultsTableSelection.getReviewId()).getRelatedId());
+                }
+                if (qTableSelection != null) {
+                    databaseHelper.qaHelper.registerReview(new Review(true, qTableSelection.getId(), textInput, userId));
+                    return qTableSelection;
+                } else if (resultsTableSelection != null) {
+                    if (resultsTableSelection.getType() == QATableRow.RowType.QUESTION) {
+                        databaseHelper.qaHelper.registerReview(
+                                new Review(true, resultsTableSelection.getQuestionId(), textInput, userId));
+                        return databaseHelper.qaHelper.getQuestion(resultsTableSelection.getQuestionId());
+                    } else if (resultsTableSelection.getType() == QATableRow.RowType.ANSWER) {
+                        Question related = databaseHelper.qaHelper
+                                .getQuestionForAnswer(resultsTableSelection.getAnswerId());
+                        databaseHelper.qaHelper.registerReview(new Review(true, related.getId(), textInput, userId));
+                        return related;
+                    } else if (resultsTableSelection.getType() == QATableRow.RowType.REVIEW) {
+                        databaseHelper.qaHelper.registerReview(
+                                new Review(true, resultsTableSelection.getQuestionId(), textInput, userId));
+                        return databaseHelper.qaHelper.getQuestion(databaseHelper.qaHelper
+                                .getReview(resultsTableSelection.getReviewId()).getRelatedId());
                     }
+                }
+                return new Question();
+            }, saved -> {
+                if (!editingReview) {
                     inputField.clear();
-                    questions = databaseHelper.qaHelper.getAllQuestions();
-                    questionObservableList.clear();
-                    questionObservableList.addAll(questions);
-                    qTable.setItems(questionObservableList);
-                    qTable.getSelectionModel().select(question);
-                } else if (updatingReview) {
-                    review.setText(textInput);
-                    databaseHelper.qaHelper.updateReview(review);
-                    question = databaseHelper.qaHelper.getQuestion(
-                            databaseHelper.qaHelper.getReview(resultsTableSelection.getReviewId()).getRelatedId());
-                    questions = databaseHelper.qaHelper.getAllQuestions();
-                    questionObservableList.clear();
-                    questionObservableList.addAll(questions);
-                    qTable.setItems(questionObservableList);
-                    qTable.getSelectionModel().select(question);
                 }
-            } catch (SQLException e) {
-                e.printStackTrace();
-                System.err.println("Error trying to register new review into database via submit button");
-                return;
-            }
-            submitBox.setVisible(false);
-            submitBox.setManaged(false);
+                question = saved;
+                submitBox.setVisible(false);
+                submitBox.setManaged(false);
+
+                // Retrieve an updated list of questions, then select the reviewed question again
+                repository.load(qTable, () -> databaseHelper.qaHelper.getAllQuestions(), result -> {
+                    questions = result;
+                    questionObservableList.setAll(questions);
+                    qTable.setItems(questionObservableList);
+                    qTable.getSelectionModel().select(saved);
+                });
+            });
         });
 
         inputField.focusedProperty().addListener((obs, wasFocused, isFocused) -> {
@@ -1194,50 +1147,43 @@ public class InstructorHomePage {
      * @param question the Question for which the results table should be updated
      */
     private void updateResultsTableForQuestion(Question question) {
-        Answer duplicate = null;
-        List<Review> reviews;
-        resultsObservableList.clear();
-        try {
-            question = databaseHelper.qaHelper.getQuestion(question.getId());
-            answers = databaseHelper.qaHelper.getAllAnswersForQuestion(question.getId());
-            resultsObservableList.add(new QATableRow(QATableRow.RowType.QUESTION, question.toDisplayWithText(),
-                    question.getId(), question.getAuthorId(), question.getRelatedId()));
-            reviews = databaseHelper.qaHelper.getReviewsForQuestion(question.getId());
-            if (!reviews.isEmpty()) {
-                for (Review review : reviews) {
-                    resultsObservableList.add(new QATableRow(QATableRow.RowType.REVIEW, review.toDisplayWithText(),
-                            review.getId(), review.getAuthorId()));
-                }
-            }
-            if (question.getPreferredAnswer() > 0) {
-                answer = databaseHelper.qaHelper.getAnswer(question.getPreferredAnswer());
-                duplicate = answer;
-                answers.remove(answer);
-                resultsObservableList.add(new QATableRow(QATableRow.RowType.ANSWER, answer.toDisplay(), answer.getId(),
-                        answer.getAuthorId(), answer.getRelatedId()));
-                answers = addRelatedAnswers(answer.getId(), answers);
-            }
-            for (Answer answer : answers) {
-                if (duplicate != null && !answer.getId().equals(duplicate.getId())) {
-                    resultsObservableList.add(new QATableRow(QATableRow.RowType.ANSWER, answer.toDisplay(),
-                            answer.getId(), answer.getAuthorId(), answer.getRelatedId()));
-                }
-                reviews = databaseHelper.qaHelper.getReviewsForAnswer(answer.getId());
-                if (!reviews.isEmpty()) {
-                    for (Review review : reviews) {
-                        resultsObservableList.add(new QATableRow(QATableRow.RowType.REVIEW, review.toDisplayWithText(),
-                                review.getId(), review.getAuthorId()));
+        updateResultsTableForQuestion(question, null);
+    }
+
+    /**
+     * Updates the results table for the given question in the background, then
+     * runs afterLoad once the new rows are shown. If another question is asked
+     * for while the rows load, they are dropped.
+     *
+     * @param question  the question whose answers and reviews should be displayed
+     * @param afterLoad run on the JavaFX thread after the rows are shown, or null for nothing
+     */
+    private void updateResultsTableForQuestion(Question question, Runnable afterLoad) {
+        // Load the question, its answer tree, reviews and authors, and which answers the user has read
+        int questionId = question.getId();
+        shownQuestionId = questionId;
+        repository.load(resultsTable, () -> repository.loadThread(questionId, databaseHelper.currentUser.getUserId()),
+                result -> {
+                    // Drop the rows if another question was asked for while they loaded
+                    if (shownQuestionId != questionId) {
+                        return;
                     }
-                }
-                answers = addRelatedAnswers(answer.getId(), answers);
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-            System.err.println("Error trying to .getAllAnswers() within updateResultsTableForQuestion() method");
-            return;
-        }
-        resultsTable.setItems(resultsObservableList);
-        resultsTable.refresh();
+                    // Snapshot which of its answers the user has read, for the cells to check
+                    readAnswerIds.clear();
+                    readAnswerIds.addAll(result.getReadAnswerIds());
+
+                    // Clear the observable list and fill it with the rows of the thread
+                    resultsObservableList.clear();
+                    if (result.getThread() != null) {
+                        resultsObservableList.addAll(result.getThread().toRows());
+                    }
+
+                    resultsTable.setItems(resultsObservableList);
+                    resultsTable.refresh();
+                    if (afterLoad != null) {
+                        afterLoad.run();
+                    }
+                });
     }
     
     /**
@@ -1412,34 +1358,6 @@ public class InstructorHomePage {
         stage.setScene(scene);
         stage.show();
     }
-
-    /**
-     * Recursively adds related answers for a given parent answer.
-     * <p>
-     * This method retrieves any answers that are related to the specified parent answer,
-     * removes them from the given list, adds them to the results observable list, and
-     * processes any nested related answers.
-     * </p>
-     *
-     * @param parentId the ID of the parent answer
-     * @param answers  the list of answers to process
-     * @return the updated list of answers after removing processed related answers
-     */
-    private List<Answer> addRelatedAnswers(int parentId, List<Answer> answers) {
-        try {
-            List<Answer> relatedAnswers = databaseHelper.qaHelper.getAllAnswersForAnswer(parentId);
-            for (Answer subAnswer : relatedAnswers) {
-                answers.remove(subAnswer);
-                resultsObservableList.add(new QATableRow(QATableRow.RowType.ANSWER, subAnswer.toDisplay(),
-                        subAnswer.getId(), subAnswer.getAuthorId(), subAnswer.getRelatedId()));
-                addRelatedAnswers(subAnswer.getId(), answers);
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-            System.err.println("Error retrieving related answers in addRelatedAnswers()");
-        }
-        return answers;
-    }
     
     /**
      * Opens a new window to display the instructor's requests.
@@ -2,6 +2,8 @@ package application;
 
 import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 
 import databasePart1.DatabaseHelper;
 
@@ -19,6 +21,7 @@ public class Message {
 	private String subject;
 	private String message;
 	private boolean isReport;
+	private boolean isRead;
 	private LocalDateTime createdOn;
 	private LocalDateTime updatedOn;
 	private User sender;
@@ -44,7 +47,8 @@ public class Message {
     }
     
     /**
-     * Constructs a message and retrieves sender and recipient User objects from the database.
+     * Constructs a message and retrieves sender and recipient User objects from the database
+     * in a single lookup.
      *
      * @param dbHelper Database helper for fetching user info
      * @param messageID Message ID
@@ -60,8 +64,9 @@ public class Message {
         this.subject = subject;
         this.message = message;
         try {
-            this.sender = dbHelper.getUser(senderID);
-            this.recipient = dbHelper.getUser(recipientID);
+            Map<Integer, User> users = dbHelper.getUsersByIds(List.of(senderID, recipientID));
+            this.sender = users.get(senderID);
+            this.recipient = users.get(recipientID);
         } catch (SQLException e) {
             e.printStackTrace();
             this.sender = null;
@@ -90,8 +95,9 @@ public class Message {
         this.subject = subject;
         this.message = message;
         try {
-            this.sender = dbHelper.getUser(senderID);
-            this.recipient = dbHelper.getUser(recipientID);
+            Map<Integer, User> users = dbHelper.getUsersByIds(List.of(senderID, recipientID));
+            this.sender = users.get(senderID);
+            this.recipient = users.get(recipientID);
         } catch (SQLException e) {
             e.printStackTrace();
             this.sender = null;
@@ -187,8 +193,9 @@ public class Message {
         this.subject = subject;
         this.message = message;
         try {
-            this.sender = dbHelper.getUser(senderID);
-            this.recipient = dbHelper.getUser(recipientID);
+            Map<Integer, User> users = dbHelper.getUsersByIds(List.of(senderID, recipientID));
+            this.sender = users.get(senderID);
+            this.recipient = users.get(recipientID);
         } catch (SQLException e) {
             e.printStackTrace();
             this.sender = null;
@@ -272,6 +279,14 @@ public class Message {
         return sender;
     }
 
+    /**
+     * Sets the sender's user object.
+     * @param sender User object of the sender.
+     */
+    public void setSender(User sender) {
+        this.sender = sender;
+    }
+
     /**
      * Gets the recipient's user ID.
      * @return ID of the message recipient.
@@ -296,6 +311,14 @@ public class Message {
         return recipient;
     }
 
+    /**
+     * Sets the recipient's user object.
+     * @param recipient User object of the recipient.
+     */
+    public void setRecipient(User recipient) {
+        this.recipient = recipient;
+    }
+
     /**
      * Gets the message subject.
      * @return Subject of the message.
@@ -375,6 +398,22 @@ public class Message {
         this.isReport = isReport;
     }
 
+    /**
+     * Gets whether the recipient has opened the message.
+     * @return true if the message has been read.
+     */
+    public boolean isRead() {
+        return isRead;
+    }
+
+    /**
+     * Sets whether the recipient has opened the message.
+     * @param isRead true if the message has been read.
+     */
+    public void setIsRead(boolean isRead) {
+        this.isRead = isRead;
+    }
+
 
     /**
      * Returns a string representation of the message for debugging or display.
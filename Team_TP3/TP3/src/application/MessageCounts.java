@@ -0,0 +1,68 @@
+package application;
+
+/**
+ * Represents how many messages a user has, as shown on the Inbox button of the
+ * home pages.
+ * <p>
+ * The counts are kept up to date in the cse360messagecounts table as messages
+ * are sent, read and deleted, and are read back by
+ * {@code QAHelper1.getMessageCounts} without counting the messages themselves.
+ * </p>
+ *
+ * @author CSE360 Team 8
+ */
+public final class MessageCounts {
+    private final int total;
+    private final int unread;
+    private final int reports;
+
+    /**
+     * Constructs a MessageCounts.
+     *
+     * @param total   the number of messages the user has sent or received, not counting reports
+     * @param unread  the number of messages the user has received but not opened
+     * @param reports the number of reports the user has filed
+     */
+    public MessageCounts(int total, int unread, int reports) {
+        this.total = total;
+        this.unread = unread;
+        this.reports = reports;
+    }
+
+    /**
+     * Returns the number of messages the user has sent or received, not counting
+     * reports. A message the user sent to themselves is counted once.
+     *
+     * @return the total message count
+     */
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     * Returns the number of messages the user has received but not opened.
+     *
+     * @return the unread message count
+     */
+    public int getUnread() {
+        return unread;
+    }
+
+    /**
+     * Returns the number of reports the user has filed.
+     *
+     * @return the report count
+     */
+    public int getReports() {
+        return reports;
+    }
+
+    /**
+     * Returns the text for the Inbox button, for example "Inbox (12, 3 new)".
+     *
+     * @return the button text
+     */
+    public String toInboxLabel() {
+        return "Inbox (" + total + (unread > 0 ? ", " + unread + " new" : "") + ")";
+    }
+}
@@ -0,0 +1,160 @@
+package application;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import javafx.application.Platform;
+import javafx.geometry.Orientation;
+import javafx.scene.Node;
+import javafx.scene.control.ScrollBar;
+import javafx.scene.control.TableView;
+
+/**
+ * The {@code MessagePager} class fills a message table one page at a time.
+ * <p>
+ * The first page is loaded when the pager is started and the next one is
+ * fetched on the database worker thread whenever the table is scrolled to the
+ * bottom, so an inbox opens as quickly with thousands of messages as with a
+ * few. Each page is asked for with the last message of the one before it, so
+ * messages removed from the table in between do not shift the pages.
+ * </p>
+ */
+public final class MessagePager {
+
+	/**
+	 * Loads one page of messages, newest first.
+	 */
+	@FunctionalInterface
+	public interface PageLoader {
+		/**
+		 * Loads the page after the given message.
+		 *
+		 * @param after the last message of the previous page, or null for the
+		 *              first page
+		 * @param limit the most messages to return
+		 * @return the messages of the page
+		 * @throws SQLException if the database throws an error
+		 */
+		List<Message> load(Message after, int limit) throws SQLException;
+	}
+
+	private final AsyncRepository repository;
+	private final TableView<Message> table;
+	private final PageLoader loader;
+	private final int pageSize;
+
+	// Last message loaded, which the next page starts after
+	private Message last;
+
+	// Set once a page comes back short, meaning there is nothing more to load
+	private boolean exhausted;
+
+	// True while a page is being fetched, so scrolling does not ask for it twice
+	private boolean loading;
+
+	// The vertical scroll bar being watched, replaced when the table gets a new skin
+	private ScrollBar scrollBar;
+
+	// Bumped by reload() so pages requested before it are ignored
+	private int generation;
+
+	private MessagePager(AsyncRepository repository, TableView<Message> table, PageLoader loader, int pageSize) {
+		this.repository = repository;
+		this.table = table;
+		this.loader = loader;
+		this.pageSize = pageSize;
+	}
+
+	/**
+	 * Creates a {@code MessagePager} for a table and starts loading the first page.
+	 *
+	 * @param repository the repository used to run the loads in the background
+	 * @param table      the table to fill
+	 * @param loader     loads each page
+	 * @param pageSize   the number of messages to load at a time
+	 * @return the pager, which can be asked to reload the table
+	 */
+	public static MessagePager start(AsyncRepository repository, TableView<Message> table, PageLoader loader,
+			int pageSize) {
+		MessagePager pager = new MessagePager(repository, table, loader, pageSize);
+
+		// The scroll bar only exists once the table has a skin, and a new skin brings a new one
+		table.skinProperty().addListener((obs, oldSkin, newSkin) -> pager.watchScrollBar(true));
+		pager.watchScrollBar(true);
+		pager.reload();
+		return pager;
+	}
+
+	/**
+	 * Clears the table and loads the first page again, for when the messages
+	 * have changed.
+	 */
+	public void reload() {
+		generation++;
+		last = null;
+		exhausted = false;
+		loading = false;
+		table.getItems().clear();
+		loadNextPage();
+	}
+
+	/**
+	 * Loads the next page and adds it to the bottom of the table, unless a page
+	 * is already loading or every message has been loaded.
+	 */
+	public void loadNextPage() {
+		if (loading || exhausted) {
+			return;
+		}
+		loading = true;
+		int requested = generation;
+		Message after = last;
+
+		// Only the first page marks the table as loading, so scrolling stays smooth
+		repository.load(after == null ? table : null, () -> loader.load(after, pageSize), page -> {
+			if (requested != generation) {
+				return;
+			}
+			loading = false;
+			exhausted = page.size() < pageSize;
+			if (!page.isEmpty()) {
+				last = page.get(page.size() - 1);
+				table.getItems().addAll(page);
+			}
+		}).whenComplete((page, error) -> {
+			if (error != null) {
+				Platform.runLater(() -> {
+					if (requested == generation) {
+						loading = false;
+					}
+				});
+			}
+		});
+	}
+
+	/**
+	 * Finds the table's vertical scroll bar and loads the next page whenever it
+	 * reaches the bottom. If the skin has not built the scroll bar yet, looks
+	 * once more after the next layout pass.
+	 *
+	 * @param retry whether to look again later if no scroll bar is found
+	 */
+	private void watchScrollBar(boolean retry) {
+		for (Node node : table.lookupAll(".scroll-bar")) {
+			if (node instanceof ScrollBar bar && bar.getOrientation() == Orientation.VERTICAL) {
+				if (bar != scrollBar) {
+					scrollBar = bar;
+					bar.valueProperty().addListener((obs, oldValue, newValue) -> {
+						if (newValue.doubleValue() >= bar.getMax()) {
+							loadNextPage();
+						}
+					});
+				}
+				return;
+			}
+		}
+		if (retry && table.getSkin() != null) {
+			Platform.runLater(() -> watchScrollBar(false));
+		}
+	}
+}
@@ -2,203 +2,123 @@ package application;
 
 /**
  * The {@code PasswordEvaluator} class provides functionality to validate a password
- * using a finite state machine (FSM) approach implemented as a directed graph.
+ * using a finite state machine (FSM) compiled into a {@link TableValidator}.
  * <p>
  * The evaluator checks that the password contains at least one uppercase letter,
  * one lowercase letter, one numeric digit, one special character, and is at least 8 characters long.
  * If any requirement is not met, an error message is returned indicating which criteria were not satisfied.
+ * The evaluator keeps no state between calls, so passwords can be checked on several threads at once.
  * </p>
  * <p>
  * Copyright: Lynn Robert Carter © 2024
  * </p>
- * 
+ *
  * @author Lynn Robert Carter
  */
 public class PasswordEvaluator {
-    
-    /**
-     * The error message generated during password validation.
-     */
-    public static String passwordErrorMessage = "";
-    
-    /**
-     * The input password string being processed.
-     */
-    public static String passwordInput = "";
-    
-    /**
-     * The index in the password where an error was detected (or -1 if no error).
-     */
-    public static int passwordIndexofError = -1;
-    
-    /**
-     * Flag indicating if an uppercase letter was found in the password.
-     */
-    public static boolean foundUpperCase = false;
-    
-    /**
-     * Flag indicating if a lowercase letter was found in the password.
-     */
-    public static boolean foundLowerCase = false;
-    
-    /**
-     * Flag indicating if a numeric digit was found in the password.
-     */
-    public static boolean foundNumericDigit = false;
-    
+
     /**
-     * Flag indicating if a special character was found in the password.
+     * Flag set in a result when the password has an uppercase letter.
      */
-    public static boolean foundSpecialChar = false;
-    
+    public static final int UPPER_CASE = 1;
+
     /**
-     * Flag indicating if the password is long enough (at least 8 characters).
+     * Flag set in a result when the password has a lowercase letter.
      */
-    public static boolean foundLongEnough = false;
-    
+    public static final int LOWER_CASE = 2;
+
     /**
-     * The entire input password string.
+     * Flag set in a result when the password has a numeric digit.
      */
-    private static String inputLine = "";
-    
+    public static final int NUMERIC_DIGIT = 4;
+
     /**
-     * The current character being processed.
+     * Flag set in a result when the password has a special character.
      */
-    private static char currentChar;
-    
+    public static final int SPECIAL_CHARACTER = 8;
+
     /**
-     * The index of the current character in the input password.
+     * Flag set in a result when the password is at least 8 characters long.
      */
-    private static int currentCharNdx;
-    
+    public static final int LONG_ENOUGH = 16;
+
     /**
-     * Flag indicating whether the FSM is still running.
+     * The special characters a password may contain.
      */
-    private static boolean running;
-    
+    public static final String SPECIAL_CHARACTERS = "~`!@#$%^&*()_-+{}[]|:,.?/";
+
+    private static final int MIN_LENGTH = 8;
+
+    private static final int ALL_FLAGS = UPPER_CASE | LOWER_CASE | NUMERIC_DIGIT | SPECIAL_CHARACTER | LONG_ENOUGH;
+
+    private static final ValidationResult VALID = ValidationResult.valid(ALL_FLAGS);
+
     /**
-     * Counter for the length of the password processed so far.
+     * A single accepting state that loops on every allowed character, recording the kinds seen.
      */
-    private static int passwordSize; // Not used directly for validation, but can be useful for debugging.
+    private static final TableValidator VALIDATOR = new TableValidator.Builder(1)
+            .on(0, TableValidator.range('A', 'Z'), 0).flag(TableValidator.range('A', 'Z'), UPPER_CASE)
+            .on(0, TableValidator.range('a', 'z'), 0).flag(TableValidator.range('a', 'z'), LOWER_CASE)
+            .on(0, TableValidator.range('0', '9'), 0).flag(TableValidator.range('0', '9'), NUMERIC_DIGIT)
+            .on(0, SPECIAL_CHARACTERS, 0).flag(SPECIAL_CHARACTERS, SPECIAL_CHARACTER)
+            .build(PasswordEvaluator::finish);
 
     /**
-     * Displays the current input state to the console.
-     * <p>
-     * This method prints the entire input line, then prints a line with a marker ("?")
-     * at the position of the current character (indicating where an error may have been found).
-     * It also prints the total password size, the current index, and the current character.
-     * </p>
+     * Validates a password.
+     *
+     * @param input The password to validate.
+     * @return The result, whose flags say which requirements were met.
      */
-    private static void displayInputState() {
-        // Display the entire input line.
-        System.out.println(inputLine);
-        // Display a marker at the current character position.
-        System.out.println(inputLine.substring(0, currentCharNdx) + "?");
-        // Print debugging information about the password.
-        System.out.println("The password size: " + inputLine.length() + "  |  The currentCharNdx: " + currentCharNdx
-                + "  |  The currentChar: \"" + currentChar + "\"");
+    public static ValidationResult validate(CharSequence input) {
+        return VALIDATOR.validate(input);
     }
 
     /**
      * Evaluates the input password and returns an empty string if the password meets
      * all the required criteria, or an error message detailing the missing criteria.
-     * <p>
-     * The method uses a directed graph (FSM) approach to process the password character by character.
-     * It checks for uppercase letters, lowercase letters, numeric digits, and special characters,
-     * and ensures that the password is at least 8 characters long.
-     * </p>
      *
      * @param input The input password string to evaluate.
      * @return An empty string if the password is valid, or an error message describing the missing criteria.
      */
     public static String evaluatePassword(String input) {
-        // Reset error message and index.
-        passwordErrorMessage = "";
-        passwordIndexofError = 0;
-        // Store input for processing.
-        inputLine = input;
-        currentCharNdx = 0;
+        return validate(input).getErrorMessage();
+    }
 
+    /**
+     * Turns the end of the scan into a result, listing every requirement not met.
+     */
+    private static ValidationResult finish(int state, int index, int length, int flags, boolean complete) {
         // Check for an empty password.
-        if (input.length() <= 0)
-            return "*** ERROR *** The password is empty!";
-
-        // Set up the first character for processing.
-        currentChar = input.charAt(0);
-
-        // Initialize flags and store a copy of the input.
-        passwordInput = input;
-        foundUpperCase = false;
-        foundLowerCase = false;
-        foundNumericDigit = false;
-        foundSpecialChar = false;
-        foundLongEnough = false;
-        running = true;
-
-        // Process each character until the end of the input is reached.
-        while (running) {
-            displayInputState();
-            // Check for uppercase letters.
-            if (currentChar >= 'A' && currentChar <= 'Z') {
-                System.out.println("Upper case letter found");
-                foundUpperCase = true;
-            }
-            // Check for lowercase letters.
-            else if (currentChar >= 'a' && currentChar <= 'z') {
-                System.out.println("Lower case letter found");
-                foundLowerCase = true;
-            }
-            // Check for numeric digits.
-            else if (currentChar >= '0' && currentChar <= '9') {
-                System.out.println("Digit found");
-                foundNumericDigit = true;
-            }
-            // Check for special characters.
-            else if ("~`!@#$%^&*()_-+{}[]|:,.?/".indexOf(currentChar) >= 0) {
-                System.out.println("Special character found");
-                foundSpecialChar = true;
-            }
-            // If the character does not match any valid category, report an error.
-            else {
-                passwordIndexofError = currentCharNdx;
-                return "*** ERROR *** An invalid character has been found!";
-            }
-            // Check if at least 8 characters have been processed.
-            if (currentCharNdx >= 7) { // Index 7 corresponds to the 8th character.
-                System.out.println("At least 8 characters found");
-                foundLongEnough = true;
-            }
-
-            // Move to the next character.
-            currentCharNdx++;
-            if (currentCharNdx >= inputLine.length())
-                running = false;
-            else
-                currentChar = input.charAt(currentCharNdx);
-
-            System.out.println();
-        }
-        // Build error message if criteria are missing.
-        String errMessage = "";
-        if (!foundUpperCase)
-            errMessage += "Password must have one UPPERCASE letter; ";
+        if (complete && index == 0)
+            return ValidationResult.error("*** ERROR *** The password is empty!", 0, 0);
+
+        if (length >= MIN_LENGTH)
+            flags |= LONG_ENOUGH;
 
-        if (!foundLowerCase)
-            errMessage += "Password must have one LOWERCASE letter; ";
+        // A character that does not match any valid category stops the scan.
+        if (!complete)
+            return ValidationResult.error("*** ERROR *** An invalid character has been found!", index, flags);
+
+        if (flags == ALL_FLAGS)
+            return VALID;
+
+        // Build error message if criteria are missing.
+        StringBuilder errMessage = new StringBuilder("*** ERROR *** ");
+        if ((flags & UPPER_CASE) == 0)
+            errMessage.append("Password must have one UPPERCASE letter; ");
 
-        if (!foundNumericDigit)
-            errMessage += "Password must include a NUMBER; ";
+        if ((flags & LOWER_CASE) == 0)
+            errMessage.append("Password must have one LOWERCASE letter; ");
 
-        if (!foundSpecialChar)
-            errMessage += "Password must include a SPECIAL CHARACTER; ";
+        if ((flags & NUMERIC_DIGIT) == 0)
+            errMessage.append("Password must include a NUMBER; ");
 
-        if (!foundLongEnough)
-            errMessage += "Password must be AT LEAST 8 CHARACTERS; ";
+        if ((flags & SPECIAL_CHARACTER) == 0)
+            errMessage.append("Password must include a SPECIAL CHARACTER; ");
 
-        if (errMessage.equals(""))
-            return "";
+        if ((flags & LONG_ENOUGH) == 0)
+            errMessage.append("Password must be AT LEAST 8 CHARACTERS; ");
 
-        passwordIndexofError = currentCharNdx;
-        return "*** ERROR *** " + errMessage;
+        return ValidationResult.error(errMessage.toString(), index, flags);
     }
 }
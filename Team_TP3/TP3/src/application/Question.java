@@ -1,5 +1,6 @@
 package application;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
@@ -171,6 +172,26 @@ public class Question {
         this.author = null;
     }
 
+    /**
+     * Constructs a copy of another Question. The lists and the author are copied
+     * as well, so changes to the copy do not affect the original.
+     *
+     * @param other the question to copy
+     */
+    public Question(Question other) {
+        this.id = other.id;
+        this.title = other.title;
+        this.text = other.text;
+        this.authorId = other.authorId;
+        this.createdOn = other.createdOn;
+        this.updatedOn = other.updatedOn;
+        this.comp = other.comp != null ? new ArrayList<>(other.comp) : null;
+        this.preferredAnswer = other.preferredAnswer;
+        this.author = other.author != null ? new User(other.author) : null;
+        this.authorName = other.authorName;
+        this.relatedId = other.relatedId != null ? new ArrayList<>(other.relatedId) : null;
+    }
+
     // Getters
 
     /**
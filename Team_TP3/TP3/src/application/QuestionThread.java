@@ -0,0 +1,169 @@
+package application;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Represents a question together with everything posted under it.
+ * <p>
+ * A QuestionThread holds the question, its reviews, and the tree of answers
+ * posted in reply to it, where each answer carries its own reviews and replies.
+ * The preferred answer, if it is a direct answer to the question, comes first.
+ * Threads are loaded in one pass by {@code QAHelper1.loadThread} and cannot be
+ * changed afterwards: the lists are unmodifiable and the question, answers and
+ * reviews are copied on the way out, so a thread can be shared between pages
+ * and background loads safely.
+ * </p>
+ */
+public final class QuestionThread {
+
+    /**
+     * An answer in the thread along with its reviews and replies.
+     */
+    public static final class AnswerNode {
+        private final Answer answer;
+        private final List<Review> reviews;
+        private final List<AnswerNode> replies;
+
+        /**
+         * Constructs an AnswerNode.
+         *
+         * @param answer  the answer
+         * @param reviews the reviews of the answer
+         * @param replies the answers posted in reply to the answer
+         */
+        public AnswerNode(Answer answer, List<Review> reviews, List<AnswerNode> replies) {
+            this.answer = new Answer(answer);
+            this.reviews = copyReviews(reviews);
+            this.replies = Collections.unmodifiableList(new ArrayList<>(replies));
+        }
+
+        /**
+         * Returns a copy of the answer.
+         *
+         * @return the answer
+         */
+        public Answer getAnswer() {
+            return new Answer(answer);
+        }
+
+        /**
+         * Returns copies of the reviews of the answer.
+         *
+         * @return the reviews, oldest first
+         */
+        public List<Review> getReviews() {
+            return copyReviews(reviews);
+        }
+
+        /**
+         * Returns the answers posted in reply to the answer.
+         *
+         * @return an unmodifiable list of replies, oldest first
+         */
+        public List<AnswerNode> getReplies() {
+            return replies;
+        }
+    }
+
+    private final Question question;
+    private final List<Review> reviews;
+    private final List<AnswerNode> answers;
+
+    /**
+     * Constructs a QuestionThread.
+     *
+     * @param question the question
+     * @param reviews  the reviews of the question
+     * @param answers  the direct answers to the question, preferred answer first
+     */
+    public QuestionThread(Question question, List<Review> reviews, List<AnswerNode> answers) {
+        this.question = new Question(question);
+        this.reviews = copyReviews(reviews);
+        this.answers = Collections.unmodifiableList(new ArrayList<>(answers));
+    }
+
+    /**
+     * Returns a copy of the question.
+     *
+     * @return the question
+     */
+    public Question getQuestion() {
+        return new Question(question);
+    }
+
+    /**
+     * Returns copies of the reviews of the question.
+     *
+     * @return the reviews, oldest first
+     */
+    public List<Review> getReviews() {
+        return copyReviews(reviews);
+    }
+
+    /**
+     * Returns the direct answers to the question.
+     *
+     * @return an unmodifiable list of answers, preferred answer first
+     */
+    public List<AnswerNode> getAnswers() {
+        return answers;
+    }
+
+    /**
+     * Returns the number of answers in the thread, including nested replies.
+     *
+     * @return the total number of answers
+     */
+    public int getAnswerCount() {
+        return countAnswers(answers);
+    }
+
+    /**
+     * Builds the rows the home pages show for this thread: the question, its
+     * reviews, then each answer followed by its reviews and its replies.
+     *
+     * @return a new list of table rows
+     */
+    public List<QATableRow> toRows() {
+        List<QATableRow> rows = new ArrayList<>();
+        rows.add(new QATableRow(QATableRow.RowType.QUESTION, question.toDisplayWithText(), question.getId(),
+                question.getAuthorId(), question.getRelatedId()));
+        addReviewRows(rows, reviews);
+        addAnswerRows(rows, answers);
+        return rows;
+    }
+
+    private static void addAnswerRows(List<QATableRow> rows, List<AnswerNode> nodes) {
+        for (AnswerNode node : nodes) {
+            rows.add(new QATableRow(QATableRow.RowType.ANSWER, node.answer.toDisplay(), node.answer.getId(),
+                    node.answer.getAuthorId(), node.answer.getRelatedId()));
+            addReviewRows(rows, node.reviews);
+            addAnswerRows(rows, node.replies);
+        }
+    }
+
+    private static void addReviewRows(List<QATableRow> rows, List<Review> reviews) {
+        for (Review review : reviews) {
+            rows.add(new QATableRow(QATableRow.RowType.REVIEW, review.toDisplayWithText(), review.getId(),
+                    review.getAuthorId()));
+        }
+    }
+
+    private static int countAnswers(List<AnswerNode> nodes) {
+        int count = nodes.size();
+        for (AnswerNode node : nodes) {
+            count += countAnswers(node.replies);
+        }
+        return count;
+    }
+
+    private static List<Review> copyReviews(List<Review> reviews) {
+        List<Review> copies = new ArrayList<>(reviews.size());
+        for (Review review : reviews) {
+            copies.add(new Review(review));
+        }
+        return Collections.unmodifiableList(copies);
+    }
+}
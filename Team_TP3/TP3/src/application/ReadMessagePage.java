@@ -49,6 +49,17 @@ public class ReadMessagePage {
      * @param stage The JavaFX stage to render the message view on.
      */
     public void show(Stage stage) {
+        // Opening a message sent to the current user takes it off their unread count
+        if (!message.isRead() && databaseHelper.currentUser != null
+                && databaseHelper.currentUser.getUserId() == message.getRecipientID()) {
+            try {
+                databaseHelper.qaHelper.markMessageAsRead(message.getMessageID());
+                message.setIsRead(true);
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+        }
+
         // Sender Label
         Label senderLabel = new Label("From: " + (sender != null ? sender.getUsername() : "Unknown"));
         senderLabel.setStyle("-fx-font-size: 16px; -fx-font-weight: bold;");
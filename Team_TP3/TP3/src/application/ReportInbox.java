@@ -1,11 +1,10 @@
 package application;
 
 import java.sql.SQLException;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Optional;
 
 import databasePart1.DatabaseHelper;
+import databasePart1.QAHelper1;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -52,16 +51,6 @@ public class ReportInbox {
 		double[] offsetY = { 0 };
 		
         TableView<Message> table = new TableView<>();
-        List<Message> messageList = new ArrayList<>();
-
-        // Label to display title to user
-        
-        try {
-            messageList = databaseHelper.qaHelper.retrieveReportedObjects();
-        } catch (SQLException e) {
-            System.out.println("Error fetching messages from the database.");
-            e.printStackTrace();
-        }
 
         // TableColumn for Message ID
         TableColumn<Message, Integer> messageIdColumn = new TableColumn<>("MsgID");
@@ -114,8 +103,12 @@ public class ReportInbox {
         // Add columns to the table
         table.getColumns().addAll(messageIdColumn, senderColumn, referenceColumn, reportedUserColumn, subjectColumn, messageColumn);
 
-        ObservableList<Message> messageObservableList = FXCollections.observableArrayList(messageList);
+        // Load the newest messages first and fetch older ones as the table is scrolled
+        ObservableList<Message> messageObservableList = FXCollections.observableArrayList();
         table.setItems(messageObservableList);
+        MessagePager pager = MessagePager.start(new AsyncRepository(databaseHelper), table,
+                (after, limit) -> databaseHelper.qaHelper.retrieveReportedObjects(after, limit),
+                QAHelper1.MESSAGE_PAGE_SIZE);
 
         // Buttons
         Button readButton = new Button("Read");
@@ -184,8 +177,7 @@ public class ReportInbox {
                         messageArea.getText()
                     );
                     // Optional: refresh the table after edit
-                    table.getItems().clear();
-                    table.getItems().addAll(databaseHelper.qaHelper.retrieveReportedObjects());
+                    pager.reload();
                 } catch (SQLException ex) {
                     ex.printStackTrace();
                     showAlert("Failed to update report: " + ex.getMessage());
@@ -117,6 +117,26 @@ public class Review {
         this.voteCount = null;
     }
 
+    /**
+     * Constructs a copy of another Review. The author is copied as well, so
+     * changes to the copy do not affect the original.
+     *
+     * @param other the review to copy
+     */
+    public Review(Review other) {
+        this.id = other.id;
+        this.forQuestion = other.forQuestion;
+        this.relatedId = other.relatedId;
+        this.text = other.text;
+        this.authorId = other.authorId;
+        this.createdOn = other.createdOn;
+        this.updatedOn = other.updatedOn;
+        this.author = other.author != null ? new User(other.author) : null;
+        this.authorName = other.authorName;
+        this.messageCount = other.messageCount;
+        this.voteCount = other.voteCount;
+    }
+
     // Getters
 
     /**
@@ -0,0 +1,64 @@
+package application;
+
+/**
+ * Represents one user's vote on a {@link Review}.
+ * <p>
+ * Each user holds at most one vote per review, stored in the cse360reviewvote
+ * ledger. A value of 1 is an upvote, -1 a downvote and 0 takes back whatever
+ * vote the user had cast. Votes are handed to
+ * {@code QAHelper1.registerVotesForReviews} to be applied in one batch.
+ * </p>
+ *
+ * @author CSE360 Team 8
+ */
+public final class ReviewVote {
+    private final int reviewId;
+    private final int userId;
+    private final int value;
+
+    /**
+     * Constructs a ReviewVote. Any positive value is stored as an upvote and any
+     * negative value as a downvote.
+     *
+     * @param reviewId the id of the review being voted on
+     * @param userId   the id of the user casting the vote
+     * @param value    1 to upvote, -1 to downvote, 0 to take back the vote
+     */
+    public ReviewVote(int reviewId, int userId, int value) {
+        this.reviewId = reviewId;
+        this.userId = userId;
+        this.value = Integer.signum(value);
+    }
+
+    /**
+     * Returns the id of the review being voted on.
+     *
+     * @return the review id
+     */
+    public int getReviewId() {
+        return reviewId;
+    }
+
+    /**
+     * Returns the id of the user casting the vote.
+     *
+     * @return the user id
+     */
+    public int getUserId() {
+        return userId;
+    }
+
+    /**
+     * Returns the value of the vote.
+     *
+     * @return 1 for an upvote, -1 for a downvote, 0 to take back the vote
+     */
+    public int getValue() {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return "ReviewVote[review=" + reviewId + ", user=" + userId + ", value=" + value + "]";
+    }
+}
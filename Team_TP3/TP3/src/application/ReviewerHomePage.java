@@ -3,8 +3,10 @@ package application;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import application.QATableRow;
@@ -49,13 +51,17 @@ import javafx.stage.StageStyle;
 public class ReviewerHomePage {
 
 	private final DatabaseHelper databaseHelper;
+	private final AsyncRepository repository;
 	private Question question;
 	private Answer answer;
 	private Review review;
 	private List<Review> reviews;
 	private List<Question> questions;
-	private List<Answer> answers;
 	private ObservableList<QATableRow> resultsObservableList = FXCollections.observableArrayList();
+	// Answers in the shown thread the current user has marked read
+	private final Set<Integer> readAnswerIds = new HashSet<>();
+	// The question the results table was last asked to show
+	private int shownQuestionId;
 	private TableView<Question> qTable;
 	private List<Question> sortedList;
 	private boolean updatingReview = false;
@@ -75,6 +81,7 @@ public class ReviewerHomePage {
 
 	public ReviewerHomePage(DatabaseHelper databaseHelper) {
 		this.databaseHelper = databaseHelper;
+		this.repository = new AsyncRepository(databaseHelper);
 	}
 
 	/**
@@ -90,19 +97,8 @@ public class ReviewerHomePage {
 	public void show(Stage primaryStage) {
 		double[] offsetX = { 0 };
 		double[] offsetY = { 0 };
-		try {
-			questions = databaseHelper.qaHelper.getAllReviewedByMeQuestions();
-		} catch (SQLException e) {
-			System.out.println("Should never reach here, can't get all QUESTIONS");
-			e.printStackTrace();
-		}
-
-		try {
-			answers = databaseHelper.qaHelper.getAllAnswers();
-		} catch (SQLException e) {
-			System.out.println("Should never reach here, can't get all ANSWERS");
-			e.printStackTrace();
-		}
+		// The question table is filled in the background once it has been built
+		questions = new ArrayList<>();
 
 		// Label to display title of the page to the user
 		Label topLabel = new Label("Reviewer Home Page");
@@ -144,13 +140,13 @@ public class ReviewerHomePage {
 				"-fx-text-fill: black; -fx-font-weight: bold; -fx-border-color: black; -fx-border-width:  1px;");
 
 		// Button to open inbox for private messages, also displays the number of messages a user has in their inbox
-		int totalMessages = 0;
+		MessageCounts messageCounts = new MessageCounts(0, 0, 0);
 		try {
-		    totalMessages = databaseHelper.qaHelper.getTotalMessageCountForUser(databaseHelper.currentUser.getUserId());
+			messageCounts = databaseHelper.qaHelper.getMessageCounts(databaseHelper.currentUser.getUserId());
 		} catch (SQLException e) {
-		    e.printStackTrace();
+			e.printStackTrace();
 		}
-		Button inboxButton = new Button("Inbox (" + totalMessages + ")");
+		Button inboxButton = new Button(messageCounts.toInboxLabel());
 		inboxButton.setStyle(
 				"-fx-text-fill: black; -fx-font-weight: bold; -fx-border-color: black; -fx-border-width:  1px;");
 
@@ -196,6 +192,12 @@ public class ReviewerHomePage {
 		ObservableList<Question> questionObservableList = FXCollections.observableArrayList(questions);
 		qTable.setItems(questionObservableList);
 
+		// Load the questions in the background while the table shows a loading state
+		repository.load(qTable, () -> databaseHelper.qaHelper.getAllReviewedByMeQuestions(), result -> {
+			questions = result;
+			questionObservableList.setAll(questions);
+		});
+
 		TableColumn<Question, String> detailsColumn = new TableColumn<>("Question Details");
 		detailsColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().toDisplay()));
 
@@ -280,17 +282,19 @@ public class ReviewerHomePage {
 				}
 			}
 		});
-		// Retrieve reviews from the database matching the current user as the author
-		try {
-			reviews = databaseHelper.qaHelper.getMyReviews();
-		} catch (SQLException e) {
-			e.printStackTrace();
-		}
+		// Reviews by the current user are loaded in the background once the table has been built
+		reviews = new ArrayList<>();
 
 		// Create an observable list of reviews and assign to the table
 		reviewObservableList = FXCollections.observableArrayList(reviews);
 		rTable.setItems(reviewObservableList);
 
+		// Load the current user's reviews in the background while the table shows a loading state
+		repository.load(rTable, () -> databaseHelper.qaHelper.getMyReviews(), result -> {
+			reviews = result;
+			reviewObservableList.setAll(reviews);
+		});
+
 		TableColumn<Review, String> reviewDetailsColumn = new TableColumn<>("Review Details");
 		reviewDetailsColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().toDisplay()));
 
@@ -344,25 +348,25 @@ public class ReviewerHomePage {
 
 		reviewFilter.valueProperty().addListener((obs, oldSelection, newSelection) -> {
 			if (newSelection != null) {
-				try {
+				// Remember the filter so the table can be refreshed when the window regains focus
+				reviewFilterString = newSelection;
+
+				// Load the filtered reviews in the background while the table shows a loading state
+				repository.load(rTable, () -> {
 					switch (newSelection) {
 					case "All Reviews":
-						reviews = databaseHelper.qaHelper.getAllReviews();
-						reviewFilterString = "All Reviews";
-						break;
+						return databaseHelper.qaHelper.getAllReviews();
 					case "My Reviews":
-						reviews = databaseHelper.qaHelper.getMyReviews();
-						reviewFilterString = "My Reviews";
-						break;
+						return databaseHelper.qaHelper.getMyReviews();
 					}
-				} catch (SQLException e) {
-					e.printStackTrace();
-					System.err.println("Error trying to update review table via radio buttons");
-					return;
-				}
-				reviewObservableList.setAll(reviews);
-				rTable.setItems(reviewObservableList);
-				rTable.refresh();
+					return null;
+				}, result -> {
+					if (result != null) {
+						reviews = result;
+						reviewObservableList.setAll(reviews);
+						rTable.refresh();
+					}
+				});
 			}
 		});
 
@@ -511,19 +515,13 @@ public class ReviewerHomePage {
 							&& !row.getAuthorId().equals(databaseHelper.currentUser.getUserId())) {
 						buttonBox.getChildren().add(markAsReadButton);
 					}
-					try {
-						boolean isRead = databaseHelper.qaHelper.isAnswerMarkedAsRead(row.getAnswerId(),
-								databaseHelper.currentUser.getUserId());
-						if (isRead) {
-							markAsReadButton.setDisable(true);
-						}
-					} catch (SQLException e) {
-						e.printStackTrace();
-					}
+					// Read state comes from the snapshot loaded with the thread, so rendering needs no query
+					markAsReadButton.setDisable(readAnswerIds.contains(row.getAnswerId()));
 					markAsReadButton.setOnAction(a -> {
 						try {
 							databaseHelper.qaHelper.markAnswerAsRead(row.getAnswerId(),
 									databaseHelper.currentUser.getUserId());
+							readAnswerIds.add(row.getAnswerId());
 							markAsReadButton.setDisable(true);
 						} catch (SQLException e) {
 							e.printStackTrace();
@@ -597,39 +595,10 @@ public class ReviewerHomePage {
 							// Get current QATableRow
 							QATableRow currentRow = getTableView().getItems().get(getIndex());
 
-							// Register a positive vote for the selected review
-							databaseHelper.qaHelper.registerVoteForReview(currentRow.getReviewId(), 1);
-
-							try {
-								// Retrieve the review object in the cell
-								review = databaseHelper.qaHelper.getReview(currentRow.getReviewId());
-
-								// Retrieve an updated list of questions from the database
-								questions = databaseHelper.qaHelper.getAllQuestions();
-
-								// Refresh contents of tables manually
-								questionObservableList.clear();
-								questionObservableList.addAll(questions);
-								qTable.setItems(questionObservableList);
-
-								if (review.getForQuestion()) {
-									// Set qTable to previous question
-									qTable.getSelectionModel()
-											.select(databaseHelper.qaHelper.getQuestion(databaseHelper.qaHelper
-													.getReview(currentRow.getReviewId()).getRelatedId()));
-								} else {
-									// Set qTable to previous question
-									qTable.getSelectionModel()
-											.select(databaseHelper.qaHelper.getQuestionForAnswer(databaseHelper.qaHelper
-													.getAnswer(databaseHelper.qaHelper
-															.getReview(currentRow.getReviewId()).getRelatedId())
-													.getId()));
-								}
-							} catch (SQLException e) {
-								e.printStackTrace();
-								System.err.println(
-										"Error trying update questions object via getALLQuestions() in upVoteButton action");
-							}
+							// Register a positive vote for the selected review, then update its row without blocking the window
+							repository.load(resultsTable,
+									() -> repository.registerVote(currentRow.getReviewId(), databaseHelper.currentUser.getUserId(), 1),
+									result -> AsyncRepository.updateReviewRow(resultsTable, result.getReview()));
 
 						});
 
@@ -638,39 +607,10 @@ public class ReviewerHomePage {
 							// Get current QATableRow
 							QATableRow currentRow = getTableView().getItems().get(getIndex());
 
-							// Register a negative vote for the selected review
-							databaseHelper.qaHelper.registerVoteForReview(currentRow.getReviewId(), -1);
-
-							try {
-								// Retrieve the review object in the cell
-								review = databaseHelper.qaHelper.getReview(currentRow.getReviewId());
-
-								// Retrieve an updated list of questions from the database
-								questions = databaseHelper.qaHelper.getAllQuestions();
-
-								// Refresh contents of tables manually
-								questionObservableList.clear();
-								questionObservableList.addAll(questions);
-								qTable.setItems(questionObservableList);
-
-								if (review.getForQuestion()) {
-									// Set qTable to previous question
-									qTable.getSelectionModel()
-											.select(databaseHelper.qaHelper.getQuestion(databaseHelper.qaHelper
-													.getReview(currentRow.getReviewId()).getRelatedId()));
-								} else {
-									// Set qTable to previous question
-									qTable.getSelectionModel()
-											.select(databaseHelper.qaHelper.getQuestionForAnswer(databaseHelper.qaHelper
-													.getAnswer(databaseHelper.qaHelper
-															.getReview(currentRow.getReviewId()).getRelatedId())
-													.getId()));
-								}
-							} catch (SQLException e) {
-								e.printStackTrace();
-								System.err.println(
-										"Error trying update questions object via getALLQuestions() in downVoteButton action");
-							}
+							// Register a negative vote for the selected review, then update its row without blocking the window
+							repository.load(resultsTable,
+									() -> repository.registerVote(currentRow.getReviewId(), databaseHelper.currentUser.getUserId(), -1),
+									result -> AsyncRepository.updateReviewRow(resultsTable, result.getReview()));
 
 						});
 
@@ -722,31 +662,21 @@ public class ReviewerHomePage {
 						deleteButton.setOnAction(a -> {
 							// Get current QATableRow
 							QATableRow currentRow = getTableView().getItems().get(getIndex());
+							Question selected = qTable.getSelectionModel().getSelectedItem();
 
-							try {
-								// Set review to current row object
-								review = databaseHelper.qaHelper.getReview(currentRow.getReviewId());
-								// Retrieve an updated list of questions from the database
-								questions = databaseHelper.qaHelper.getAllQuestions();
-								// Store related question object for review before deleting review to use later
-								Question question = databaseHelper.qaHelper.getQuestion(review.getRelatedId());
-							} catch (SQLException e) {
-								e.printStackTrace();
-								System.err.println(
-										"Error trying update questions object via getALLQuestions() in resultsTable");
-							}
-
-							// Delete selected review
-							databaseHelper.qaHelper.deleteReview(currentRow.getReviewId());
-
-							// Refresh contents of tables manually
-							questionObservableList.clear();
-							questionObservableList.addAll(questions);
-							qTable.setItems(questionObservableList);
-
-							// Set qTable to previous question
-							qTable.getSelectionModel().select(question);
+							// Delete selected review and retrieve an updated list of questions in the background
+							repository.load(qTable, () -> {
+								databaseHelper.qaHelper.deleteReview(currentRow.getReviewId());
+								return databaseHelper.qaHelper.getAllQuestions();
+							}, result -> {
+								// Refresh contents of tables manually
+								questions = result;
+								questionObservableList.setAll(questions);
+								qTable.setItems(questionObservableList);
 
+								// Set qTable to previous question
+								qTable.getSelectionModel().select(selected);
+							});
 						});
 
 						HBox buttonBox = new HBox(1, editButton, deleteButton);
@@ -811,7 +741,7 @@ public class ReviewerHomePage {
 
 		// Create filter comboBox to adjust question table database view
 		ComboBox<String> filter = new ComboBox<>();
-		filter.getItems().addAll("All", "Unanswered", "Answered", "Reviewed", "Reviewed By Me");
+		filter.getItems().addAll("All", "Unanswered", "Answered", "Reviewed", "Reviewed By Me", "Assigned To Me");
 		filter.setValue("Reviewed By Me");
 
 		// Styling for comboBox
@@ -822,32 +752,30 @@ public class ReviewerHomePage {
 
 		filter.valueProperty().addListener((obs, oldSelection, newSelection) -> {
 			if (newSelection != null) {
-				try {
+				// Load the filtered questions in the background while the table shows a loading state
+				repository.load(qTable, () -> {
 					switch (newSelection) {
 					case "All":
-						questions = databaseHelper.qaHelper.getAllQuestions();
-						break;
+						return databaseHelper.qaHelper.getAllQuestions();
 					case "Unanswered":
-						questions = databaseHelper.qaHelper.getAllUnansweredQuestions();
-						break;
+						return databaseHelper.qaHelper.getAllUnansweredQuestions();
 					case "Answered":
-						questions = databaseHelper.qaHelper.getAllAnsweredQuestions();
-						break;
+						return databaseHelper.qaHelper.getAllAnsweredQuestions();
 					case "Reviewed":
-						questions = databaseHelper.qaHelper.getAllReviewedQuestions();
-						break;
+						return databaseHelper.qaHelper.getAllReviewedQuestions();
 					case "Reviewed By Me":
-						questions = databaseHelper.qaHelper.getAllReviewedByMeQuestions();
-						break;
+						return databaseHelper.qaHelper.getAllReviewedByMeQuestions();
+					case "Assigned To Me":
+						return databaseHelper.qaHelper.getAssignedQuestions(databaseHelper.currentUser.getUserId());
 					}
-				} catch (SQLException e) {
-					e.printStackTrace();
-					System.err.println("Error trying to update question table via radio buttons");
-					return;
-				}
-				questionObservableList.setAll(questions);
-				qTable.setItems(questionObservableList);
-				qTable.refresh();
+					return null;
+				}, result -> {
+					if (result != null) {
+						questions = result;
+						questionObservableList.setAll(questions);
+						qTable.refresh();
+					}
+				});
 			}
 		});
 
@@ -959,26 +887,26 @@ public class ReviewerHomePage {
 			String input = searchField.getText().trim();
 			if (!input.isEmpty()) {
 
-				// Search the database for the input string
-				sortedList = databaseHelper.qaHelper.searchQuestionDatabase(input);
-
-				searchField.setMinWidth(searchTable.getWidth());
+				// Search the database for the input string in the background
+				repository.load(() -> databaseHelper.qaHelper.searchQuestionDatabase(input), result -> {
+					// Drop the results if the search text changed while they loaded
+					if (!input.equals(searchField.getText().trim())) {
+						return;
+					}
+					sortedList = result;
 
-				// Make table visible
-				searchBox.setVisible(true);
-				searchBox.setManaged(true);
+					searchField.setMinWidth(searchTable.getWidth());
 
-				if (sortedList != null && !sortedList.isEmpty()) {
+					// Make table visible
+					searchBox.setVisible(true);
+					searchBox.setManaged(true);
 
-					// Set the observable list
-					searchObservableList.setAll(sortedList);
+					if (sortedList != null && !sortedList.isEmpty()) {
 
-					// Make table visible if it isn't
-					if (!searchBox.isVisible()) {
-						searchBox.setVisible(true);
-						searchBox.setManaged(true);
+						// Set the observable list
+						searchObservableList.setAll(sortedList);
 					}
-				}
+				});
 			} else {
 				// Clear searchObservableList and hide searchTable
 				searchObservableList.clear();
@@ -1047,97 +975,67 @@ public class ReviewerHomePage {
 				return;
 			}
 
-			try {
-				if (!updatingReview) {
-
-					if (qTableSelection != null) {
-						// Register a review for the currently selected question from the qTable
-						review = new Review(true, qTableSelection.getId(), textInput,
-								databaseHelper.currentUser.getUserId());
-						databaseHelper.qaHelper.registerReview(review);
-						// Store the question you're working with for later
-						question = qTableSelection;
-
-					} else if (resultsTableSelection != null) {
-						if (resultsTableSelection.getType() == QATableRow.RowType.QUESTION) {
-							// Register a review for the currently selected question from the qTable
-							review = new Review(true, resultsTableSelection.getQuestionId(), textInput,
-									databaseHelper.currentUser.getUserId());
-							databaseHelper.qaHelper.registerReview(review);
-
-							// Store the question you're working with for later
-							question = databaseHelper.qaHelper.getQuestion(resultsTableSelection.getQuestionId());
-
-						} else if (resultsTableSelection.getType() == QATableRow.RowType.ANSWER) {
-							// Register a review for the currently selected question from the qTable
-							review = new Review(
-									true, databaseHelper.qaHelper
-											.getQuestionForAnswer(resultsTableSelection.getAnswerId()).getId(),
-									textInput, databaseHelper.currentUser.getUserId());
-							databaseHelper.qaHelper.registerReview(review);
-
-							// Store the question you're working with for later
-							question = databaseHelper.qaHelper
-									.getQuestionForAnswer(resultsTableSelection.getAnswerId());
-						} else if (resultsTableSelection.getType() == QATableRow.RowType.REVIEW) {
-							// Register a review for the currently selected question from the qTable
-							review = new Review(true, resultsTableSelection.getQuestionId(), textInput,
-									databaseHelper.currentUser.getUserId());
-							databaseHelper.qaHelper.registerReview(review);
-
-							// Store the question you're working with for later
-							question = databaseHelper.qaHelper.getQuestion(databaseHelper.qaHelper
-									.getReview(resultsTableSelection.getReviewId()).getRelatedId());
-						}
-					}
-
-					// Clear input field for new inputs
-					inputField.clear();
-
-					// Retrieve an updated list of questions from the database
-					questions = databaseHelper.qaHelper.getAllQuestions();
-
-					// Refresh contents of tables manually
-					questionObservableList.clear();
-					questionObservableList.addAll(questions);
-					qTable.setItems(questionObservableList);
-
-					qTable.getSelectionModel().select(question);
-
-				} else if (updatingReview) {
-
-					// Add updated text to review object
-					review.setText(textInput);
+			boolean editingReview = updatingReview;
+			Review editedReview = review;
+			int userId = databaseHelper.currentUser.getUserId();
+			if (editingReview) {
+				// Add updated text to review object
+				review.setText(textInput);
+			}
 
+			// Save the review in the background, then return the question it belongs to
+			repository.load(qTable, () -> {
+				if (editingReview) {
 					// Update review in the database
-					databaseHelper.qaHelper.updateReview(review);
-
-					// Store the question you're working with for later
-					question = databaseHelper.qaHelper.getQuestion(
+					databaseHelper.qaHelper.updateReview(editedReview);
+					return databaseHelper.qaHelper.getQuestion(
 							databaseHelper.qaHelper.getReview(resultsTableSelection.getReviewId()).getRelatedId());
+				}
 
-					// Retrieve an updated list of questions from the database
-					questions = databaseHelper.qaHelper.getAllQuestions();
-
-					// Refresh contents of tables manually
-					questionObservableList.clear();
-					questionObservableList.addAll(questions);
-					qTable.setItems(questionObservableList);
-
-					// Set qTable selection to previous selection
-					qTable.getSelectionModel().select(question);
+				if (qTableSelection != null) {
+					// Register a review for the currently selected question from the qTable
+					databaseHelper.qaHelper.registerReview(new Review(true, qTableSelection.getId(), textInput, userId));
+					return qTableSelection;
+				} else if (resultsTableSelection != null) {
+					if (resultsTableSelection.getType() == QATableRow.RowType.QUESTION) {
+						// Register a review for the question selected in the resultsTable
+						databaseHelper.qaHelper.registerReview(
+								new Review(true, resultsTableSelection.getQuestionId(), textInput, userId));
+						return databaseHelper.qaHelper.getQuestion(resultsTableSelection.getQuestionId());
+					} else if (resultsTableSelection.getType() == QATableRow.RowType.ANSWER) {
+						// Register a review for the question the selected answer belongs to
+						Question related = databaseHelper.qaHelper
+								.getQuestionForAnswer(resultsTableSelection.getAnswerId());
+						databaseHelper.qaHelper.registerReview(new Review(true, related.getId(), textInput, userId));
+						return related;
+					} else if (resultsTableSelection.getType() == QATableRow.RowType.REVIEW) {
+						// Register a review for the question the selected review belongs to
+						databaseHelper.qaHelper.registerReview(
+								new Review(true, resultsTableSelection.getQuestionId(), textInput, userId));
+						return databaseHelper.qaHelper.getQuestion(databaseHelper.qaHelper
+								.getReview(resultsTableSelection.getReviewId()).getRelatedId());
+					}
 				}
-			} catch (SQLException e) {
-				e.printStackTrace();
-				System.err.println("Error trying to register new review into database via submit button");
-				;
-				return;
-			}
+				return new Question();
+			}, saved -> {
+				if (!editingReview) {
+					// Clear input field for new inputs
+					inputField.clear();
+				}
+				question = saved;
 
-			// Hide submitBox
-			submitBox.setVisible(false);
-			submitBox.setManaged(false);
+				// Hide submitBox
+				submitBox.setVisible(false);
+				submitBox.setManaged(false);
 
+				// Retrieve an updated list of questions, then select the reviewed question again
+				repository.load(qTable, () -> databaseHelper.qaHelper.getAllQuestions(), result -> {
+					questions = result;
+					questionObservableList.setAll(questions);
+					qTable.setItems(questionObservableList);
+					qTable.getSelectionModel().select(saved);
+				});
+			});
 		});
 
 		// Add listeners for the textArea input field
@@ -1454,79 +1352,78 @@ public class ReviewerHomePage {
 	 */
 
 	private void updateResultsTableForQuestion(Question question) {
-		Answer duplicate = null;
-		List<Review> reviews;
-		// Clear the observable list
-		resultsObservableList.clear();
 
-		// Retrieve an updated answer list of answers related to selected question from
-		// the qtable
-		try {
-			question = databaseHelper.qaHelper.getQuestion(question.getId());
-			answers = databaseHelper.qaHelper.getAllAnswersForQuestion(question.getId());
-
-			// Put the selected question in the first row
-			resultsObservableList.add(new QATableRow(QATableRow.RowType.QUESTION, question.toDisplayWithText(),
-					question.getId(), question.getAuthorId(), question.getRelatedId()));
-
-			// Store a list of reviews for the question
-			reviews = databaseHelper.qaHelper.getReviewsForQuestion(question.getId());
-			// Check if list is empty
-			if (!reviews.isEmpty()) {
-				for (Review review : reviews) {
-					// Put the selected review in the following rows
-					resultsObservableList.add(new QATableRow(QATableRow.RowType.REVIEW, review.toDisplayWithText(),
-							review.getId(), review.getAuthorId()));
-				}
-			}
+		updateResultsTableForQuestion(question, null);
 
-			// Check if selected question has a preferred answer and put that in row 2 if so
-			// Check if question has a preferred answer
-			if (question.getPreferredAnswer() > 0) {
-				// Retrieve the preferred answer object
-				answer = databaseHelper.qaHelper.getAnswer(question.getPreferredAnswer());
-				duplicate = answer;
-				// Remove the preferred answer from the answers list so it is not duplicated
-				answers.remove(answer);
-				// Put the preferred answer in the second row
-				resultsObservableList.add(new QATableRow(QATableRow.RowType.ANSWER, answer.toDisplay(), answer.getId(),
-						answer.getAuthorId(), answer.getRelatedId()));
-
-				// Recursively call addRelatedAnswers and store the list thats left
-				answers = addRelatedAnswers(answer.getId(), answers);
+	}
 
-			}
 
-			// After that, if there are any, add each answer as its own row
-			for (Answer answer : answers) {
-				if (duplicate != null && !answer.getId().equals(duplicate.getId())) {
-					// Add answer to the observable list
-					resultsObservableList.add(new QATableRow(QATableRow.RowType.ANSWER, answer.toDisplay(),
-							answer.getId(), answer.getAuthorId(), answer.getRelatedId()));
-				}
+	/**
+
+	 * Updates the results table for the given question in the background, then
+
+	 * runs afterLoad once the new rows are shown. If another question is asked
+
+	 * for while the rows load, they are dropped.
+
+	 *
+
+	 * @param question  the question whose answers and reviews should be displayed
+
+	 * @param afterLoad run on the JavaFX thread after the rows are shown, or null for nothing
+
+	 */
+
+	private void updateResultsTableForQuestion(Question question, Runnable afterLoad) {
+
+		// Load the question, its answer tree, reviews and authors, and which answers the user has read
+
+		int questionId = question.getId();
+
+		shownQuestionId = questionId;
+
+		repository.load(resultsTable, () -> repository.loadThread(questionId, databaseHelper.currentUser.getUserId()),
+
+				result -> {
+
+					// Drop the rows if another question was asked for while they loaded
+
+					if (shownQuestionId != questionId) {
+
+						return;
 
-				// Store a list of reviews for the question
-				reviews = databaseHelper.qaHelper.getReviewsForAnswer(answer.getId());
-				// Check if list is empty
-				if (!reviews.isEmpty()) {
-					for (Review review : reviews) {
-						// Put the selected review in the following rows
-						resultsObservableList.add(new QATableRow(QATableRow.RowType.REVIEW, review.toDisplayWithText(),
-								review.getId(), review.getAuthorId()));
 					}
-				}
-				// Recursively call addRelatedAnswers and store the list thats left
-				answers = addRelatedAnswers(answer.getId(), answers);
-			}
 
-		} catch (SQLException e) {
-			e.printStackTrace();
-			System.err.println("Error trying to .getAllAnswers() within updateResultsTableForQuestion() method");
-			return;
-		}
+					// Snapshot which of its answers the user has read, for the cells to check
+
+					readAnswerIds.clear();
+
+					readAnswerIds.addAll(result.getReadAnswerIds());
+
+
+					// Clear the observable list and fill it with the rows of the thread
+
+					resultsObservableList.clear();
+
+					if (result.getThread() != null) {
+
+						resultsObservableList.addAll(result.getThread().toRows());
+
+					}
+
+
+					resultsTable.setItems(resultsObservableList);
+
+					resultsTable.refresh();
+
+					if (afterLoad != null) {
+
+						afterLoad.run();
+
+					}
+
+				});
 
-		resultsTable.setItems(resultsObservableList);
-		resultsTable.refresh();
 	}
 
 	/**
@@ -1838,42 +1735,4 @@ public class ReviewerHomePage {
 	        e.printStackTrace();
 	    }
 	}
-	
-	/**
-	 * Recursively processes and adds related answers to the results observable list.
-	 *
-	 * <p>This method retrieves answers related to the specified parent answer, adds them to the results table,
-	 * and removes them from the provided list to avoid duplication. It processes nested related answers recursively.</p>
-	 *
-	 * @param parentId the ID of the parent answer.
-	 * @param answers  the list of answers to process.
-	 * @return the modified list of answers after processing related answers.
-	 */
-
-	private List<Answer> addRelatedAnswers(int parentId, List<Answer> answers) {
-		try {
-			// Retrieve related answers
-			List<Answer> relatedAnswers = databaseHelper.qaHelper.getAllAnswersForAnswer(parentId);
-
-			// Iterate through each answer in relatedAnswers
-			for (Answer subAnswer : relatedAnswers) {
-
-				// Remove subAnswer from the list of answers
-				answers.remove(subAnswer);
-
-				resultsObservableList.add(new QATableRow(QATableRow.RowType.ANSWER, subAnswer.toDisplay(),
-						subAnswer.getId(), subAnswer.getAuthorId(), subAnswer.getRelatedId()));
-
-				// Recursively call the function to process nested related answers
-				addRelatedAnswers(subAnswer.getId(), answers);
-
-			}
-
-		} catch (SQLException e) {
-			e.printStackTrace();
-			System.err.println("Error retrieving related answers in addRelatedAnswers()");
-		}
-		// Return list of answers that is left
-		return answers;
-	}
 }
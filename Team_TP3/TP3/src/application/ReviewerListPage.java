@@ -266,10 +266,14 @@ public class ReviewerListPage {
     public TableView<User> createUserTable(User user) {
         TableView<User> table = new TableView<>();
         List<User> users = new ArrayList<>();
+        Map<Integer, Integer> ratings = new HashMap<>();
 
         try {
-            // Retrieve all users with the Reviewer role.
-            users = databaseHelper.getAllUsersWithRole("Reviewer");
+            // Retrieve all users with the Reviewer role, highest rated first.
+            for (ReviewerStats stats : databaseHelper.getReviewersByRating()) {
+                users.add(stats.getReviewer());
+                ratings.put(stats.getReviewer().getUserId(), stats.getRating());
+            }
             if (users.contains(databaseHelper.currentUser)) {
                 users.remove(databaseHelper.currentUser);
             }
@@ -290,8 +294,11 @@ public class ReviewerListPage {
         names.setCellValueFactory(new PropertyValueFactory<>("name"));
         TableColumn<User, String> emails = new TableColumn<>("Email");
         emails.setCellValueFactory(new PropertyValueFactory<>("email"));
+        TableColumn<User, Integer> ratingColumn = new TableColumn<>("Rating");
+        ratingColumn.setCellValueFactory(cellData -> new SimpleObjectProperty<>(
+                ratings.getOrDefault(cellData.getValue().getUserId(), 0)));
 
-        table.getColumns().addAll(usernames, names, emails);
+        table.getColumns().addAll(usernames, names, emails, ratingColumn);
         System.out.println("USERS:" + users.toString()); // Debug output.
         ObservableList<User> userObservableList = FXCollections.observableArrayList(users);
         table.setItems(userObservableList);
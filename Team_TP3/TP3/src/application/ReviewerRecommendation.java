@@ -0,0 +1,103 @@
+package application;
+
+/**
+ * Represents a reviewer recommended for a question, with the score they were
+ * ranked by and the parts it was made from.
+ * <p>
+ * The score adds together how much the student trusts the reviewer, the
+ * reviewer's rating, how close the question is to what the reviewer has
+ * reviewed before, and how few open assignments the reviewer has, each scaled
+ * from 0 to 1 and weighted. Recommendations are made by
+ * {@code QAHelper1.recommendReviewers}.
+ * </p>
+ *
+ * @author CSE360 Team 8
+ */
+public final class ReviewerRecommendation {
+    private final User reviewer;
+    private final double score;
+    private final int trustWeight;
+    private final int rating;
+    private final double similarity;
+    private final int openAssignments;
+
+    /**
+     * Constructs a ReviewerRecommendation.
+     *
+     * @param reviewer        the reviewer
+     * @param score           the score the reviewer was ranked by
+     * @param trustWeight     the weight the student gave the reviewer, or 0 if not trusted
+     * @param rating          the reviewer's rating
+     * @param similarity      the similarity of the question to the reviewer's past reviews, from 0 to 1
+     * @param openAssignments the number of assignments the reviewer has not yet reviewed
+     */
+    public ReviewerRecommendation(User reviewer, double score, int trustWeight, int rating, double similarity,
+            int openAssignments) {
+        this.reviewer = reviewer;
+        this.score = score;
+        this.trustWeight = trustWeight;
+        this.rating = rating;
+        this.similarity = similarity;
+        this.openAssignments = openAssignments;
+    }
+
+    /**
+     * Returns the reviewer.
+     *
+     * @return the reviewer
+     */
+    public User getReviewer() {
+        return reviewer;
+    }
+
+    /**
+     * Returns the score the reviewer was ranked by.
+     *
+     * @return the score, from 0 to 1
+     */
+    public double getScore() {
+        return score;
+    }
+
+    /**
+     * Returns the weight the student gave the reviewer.
+     *
+     * @return the trust weight, or 0 if the reviewer is not in the student's list
+     */
+    public int getTrustWeight() {
+        return trustWeight;
+    }
+
+    /**
+     * Returns the reviewer's rating.
+     *
+     * @return the rating
+     */
+    public int getRating() {
+        return rating;
+    }
+
+    /**
+     * Returns how close the question is to what the reviewer has reviewed.
+     *
+     * @return the similarity, from 0 to 1
+     */
+    public double getSimilarity() {
+        return similarity;
+    }
+
+    /**
+     * Returns the number of assignments the reviewer has not yet reviewed.
+     *
+     * @return the open assignment count
+     */
+    public int getOpenAssignments() {
+        return openAssignments;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: score %.2f, weight %d, rating %d, match %.2f, %d open", reviewer.getUsername(),
+                score, trustWeight, rating, similarity, openAssignments);
+    }
+}
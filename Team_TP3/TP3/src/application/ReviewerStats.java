@@ -0,0 +1,78 @@
+package application;
+
+/**
+ * Represents the reputation of a reviewer: how many reviews they have written,
+ * the sum of the votes on those reviews, and their rating.
+ * <p>
+ * The rating is the vote sum divided by the review count, the same figure
+ * {@code QAHelper1.getReviewerRating} returns. Stats are kept up to date in the
+ * cse360reviewerstats table as reviews are written, deleted and voted on, and
+ * are read back ranked by {@code QAHelper1.getTopReviewers} and
+ * {@code DatabaseHelper.getReviewersByRating}.
+ * </p>
+ *
+ * @author CSE360 Team 8
+ */
+public final class ReviewerStats {
+    private final User reviewer;
+    private final int reviewCount;
+    private final int voteSum;
+    private final int rating;
+
+    /**
+     * Constructs a ReviewerStats.
+     *
+     * @param reviewer    the reviewer
+     * @param reviewCount the number of reviews the reviewer has written
+     * @param voteSum     the sum of the votes on those reviews
+     * @param rating      the reviewer's rating
+     */
+    public ReviewerStats(User reviewer, int reviewCount, int voteSum, int rating) {
+        this.reviewer = reviewer;
+        this.reviewCount = reviewCount;
+        this.voteSum = voteSum;
+        this.rating = rating;
+    }
+
+    /**
+     * Returns the reviewer.
+     *
+     * @return the reviewer
+     */
+    public User getReviewer() {
+        return reviewer;
+    }
+
+    /**
+     * Returns the number of reviews the reviewer has written.
+     *
+     * @return the review count
+     */
+    public int getReviewCount() {
+        return reviewCount;
+    }
+
+    /**
+     * Returns the sum of the votes on the reviewer's reviews.
+     *
+     * @return the vote sum
+     */
+    public int getVoteSum() {
+        return voteSum;
+    }
+
+    /**
+     * Returns the reviewer's rating.
+     *
+     * @return the vote sum divided by the review count, or 0 with no reviews
+     */
+    public int getRating() {
+        return rating;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d reviews, %d votes, rating %d", reviewer.getUsername(), reviewCount, voteSum,
+                rating);
+    }
+}
@@ -64,4 +64,16 @@ public class StartCSE360 extends Application {
         
         primaryStage.setTitle("");
     }
+
+    /**
+     * Stops the JavaFX application.
+     * <p>
+     * This method writes any answers still waiting to be marked as read and closes
+     * the database connections.
+     * </p>
+     */
+    @Override
+    public void stop() {
+        databaseHelper.closeConnection();
+    }
 }
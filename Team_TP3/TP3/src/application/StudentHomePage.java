@@ -3,6 +3,7 @@ package application;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -48,12 +49,16 @@ import javafx.stage.StageStyle;
 public class StudentHomePage {
 
 	private final DatabaseHelper databaseHelper;
+	private final AsyncRepository repository;
 	private Question question;
 	private Answer answer;
 	private Review review;
 	private List<Question> questions;
-	private List<Answer> answers;
 	private ObservableList<QATableRow> resultsObservableList = FXCollections.observableArrayList();
+	// Answers in the shown thread the current user has marked read
+	private final Set<Integer> readAnswerIds = new HashSet<>();
+	// The question the results table was last asked to show
+	private int shownQuestionId;
 	private TableView<Question> qTable;
 	private List<Question> sortedList;
 	private boolean updatingAnswer = false;
@@ -73,6 +78,7 @@ public class StudentHomePage {
 
 	public StudentHomePage(DatabaseHelper databaseHelper) {
 		this.databaseHelper = databaseHelper;
+		this.repository = new AsyncRepository(databaseHelper);
 	}
 	
 	/**
@@ -89,19 +95,8 @@ public class StudentHomePage {
 		double[] offsetX = { 0 };
 		double[] offsetY = { 0 };
 
-		try {
-			questions = databaseHelper.qaHelper.getAllQuestions();
-		} catch (SQLException e) {
-			System.out.println("Should never reach here, can't get all QUESTIONS");
-			e.printStackTrace();
-		}
-
-		try {
-			answers = databaseHelper.qaHelper.getAllAnswers();
-		} catch (SQLException e) {
-			System.out.println("Should never reach here, can't get all ANSWERS");
-			e.printStackTrace();
-		}
+		// The question table is filled in the background once it has been built
+		questions = new ArrayList<>();
 
 		// Label to display title of the page to the user
 		Label topLabel = new Label("Student Home Page");
@@ -162,13 +157,13 @@ public class StudentHomePage {
 				"-fx-text-fill: black; -fx-font-weight: bold; -fx-border-color: black; -fx-border-width:  1;");
 
 		// Button to open inbox for private messages, also displays the number of messages a user has in their inbox
-		int totalMessages = 0;
+		MessageCounts messageCounts = new MessageCounts(0, 0, 0);
 		try {
-		    totalMessages = databaseHelper.qaHelper.getTotalMessageCountForUser(databaseHelper.currentUser.getUserId());
+			messageCounts = databaseHelper.qaHelper.getMessageCounts(databaseHelper.currentUser.getUserId());
 		} catch (SQLException e) {
-		    e.printStackTrace();
+			e.printStackTrace();
 		}
-		Button inboxButton = new Button("Inbox (" + totalMessages + ")");
+		Button inboxButton = new Button(messageCounts.toInboxLabel());
 		inboxButton.setStyle(
 				"-fx-text-fill: black; -fx-font-weight: bold; -fx-border-color: black; -fx-border-width:  1px;");
 
@@ -211,6 +206,12 @@ public class StudentHomePage {
 		ObservableList<Question> questionObservableList = FXCollections.observableArrayList(questions);
 		qTable.setItems(questionObservableList);
 
+		// Load the questions in the background while the table shows a loading state
+		repository.load(qTable, () -> databaseHelper.qaHelper.getAllQuestions(), result -> {
+			questions = result;
+			questionObservableList.setAll(questions);
+		});
+
 		TableColumn<Question, String> detailsColumn = new TableColumn<>("Question Details");
 		detailsColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().toDisplay()));
 
@@ -345,41 +346,32 @@ public class StudentHomePage {
 
 				submitReplyButton.setOnAction(a -> {
 					String inputText = replyArea.getText().trim();
-					QATableRow.RowType rowType = getTableView().getItems().get(getIndex()).getType();
+					QATableRow replyRow = getTableView().getItems().get(getIndex());
 
 					if (!inputText.isEmpty()) {
-						try {
+						Answer reply = new Answer(inputText, databaseHelper.currentUser.getUserId());
+						Question selected = qTable.getSelectionModel().getSelectedItem();
 
-							if (rowType == QATableRow.RowType.QUESTION) {
-								databaseHelper.qaHelper.registerAnswerWithQuestion(
-										new Answer(inputText, databaseHelper.currentUser.getUserId()),
-										getTableView().getItems().get(getIndex()).getAnswerId());
-								replyArea.clear();
+						// Register the answer in the background
+						repository.load(resultsTable, () -> {
+							if (replyRow.getType() == QATableRow.RowType.QUESTION) {
+								databaseHelper.qaHelper.registerAnswerWithQuestion(reply, replyRow.getAnswerId());
 							} else {
-								databaseHelper.qaHelper.registerAnswerWithAnswer(
-										new Answer(inputText, databaseHelper.currentUser.getUserId()),
-										getTableView().getItems().get(getIndex()).getAnswerId());
-								replyArea.clear();
+								databaseHelper.qaHelper.registerAnswerWithAnswer(reply, replyRow.getAnswerId());
 							}
 
 							// Retrieve your new answer from the database
-							tempAnswer = databaseHelper.qaHelper.getAnswer(inputText);
-
-						} catch (SQLException e) {
-							e.printStackTrace();
-							System.err
-							.println("Error trying to register answer in results table via submitReplyButton");
-						}
-
-						// Update the table after submitting new answer
-						updateResultsTableForQuestion(qTable.getSelectionModel().getSelectedItem());
-
-						// Select the next row down which is the new answer - Doesn't work if the text
-						// of the answer is the same
-						resultsTable.getSelectionModel()
-								.select(new QATableRow(QATableRow.RowType.ANSWER, tempAnswer.toDisplay(),
-										tempAnswer.getId(), tempAnswer.getAuthorId(), tempAnswer.getRelatedId()));
-
+							return databaseHelper.qaHelper.getAnswer(inputText);
+						}, newAnswer -> {
+							replyArea.clear();
+							tempAnswer = newAnswer;
+
+							// Update the table after submitting new answer, then select the next row down
+							// which is the new answer - Doesn't work if the text of the answer is the same
+							updateResultsTableForQuestion(selected, () -> resultsTable.getSelectionModel()
+									.select(new QATableRow(QATableRow.RowType.ANSWER, tempAnswer.toDisplay(),
+											tempAnswer.getId(), tempAnswer.getAuthorId(), tempAnswer.getRelatedId())));
+						});
 					}
 				});			
 				cellContent.getChildren().addAll(replyBox);
@@ -428,17 +420,13 @@ public class StudentHomePage {
 						
 					} if (!buttonBox.getChildren().contains(markAsReadButton) && !row.getAuthorId().equals(databaseHelper.currentUser.getUserId())) {
 						buttonBox.getChildren().add(markAsReadButton);
-					} try {
-						boolean isRead = databaseHelper.qaHelper.isAnswerMarkedAsRead(row.getAnswerId(), databaseHelper.currentUser.getUserId());
-						if (isRead) {
-							markAsReadButton.setDisable(true);
-						}
-					} catch (SQLException e) {
-						e.printStackTrace();
 					}
+					// Read state comes from the snapshot loaded with the thread, so rendering needs no query
+					markAsReadButton.setDisable(readAnswerIds.contains(row.getAnswerId()));
 					markAsReadButton.setOnAction(a -> {
 						try {
 							databaseHelper.qaHelper.markAnswerAsRead(row.getAnswerId(), databaseHelper.currentUser.getUserId());
+							readAnswerIds.add(row.getAnswerId());
 							markAsReadButton.setDisable(true);
 						} catch (SQLException e) {
 							e.printStackTrace();
@@ -508,40 +496,10 @@ public class StudentHomePage {
 							// Get current QATableRow
 							QATableRow currentRow = getTableView().getItems().get(getIndex());
 
-							// Register a positive vote for the selected review
-							databaseHelper.qaHelper.registerVoteForReview(currentRow.getReviewId(), 1);
-
-							try {
-								// Retrieve the review object in the cell
-								review = databaseHelper.qaHelper.getReview(currentRow.getReviewId());
-
-								// Retrieve an updated list of questions from the database
-								questions = databaseHelper.qaHelper.getAllQuestions();
-
-								// Refresh contents of tables manually
-								questionObservableList.clear();
-								questionObservableList.addAll(questions);
-								qTable.setItems(questionObservableList);
-
-								if (review.getForQuestion()) {
-									// Set qTable to previous question
-									qTable.getSelectionModel().select(databaseHelper.qaHelper.getQuestion(
-											databaseHelper.qaHelper.getReview(currentRow.getReviewId()).getRelatedId()));
-								} else {
-									// Set qTable to previous question
-									qTable.getSelectionModel()
-											.select(databaseHelper.qaHelper
-													.getQuestionForAnswer(
-															databaseHelper.qaHelper
-																	.getAnswer(databaseHelper.qaHelper
-																			.getReview(currentRow.getReviewId()).getRelatedId())
-																	.getId()));
-								}
-							} catch (SQLException e) {
-								e.printStackTrace();
-								System.err.println(
-										"Error trying update questions object via getALLQuestions() in upVoteButton action");
-							}
+							// Register a positive vote for the selected review, then update its row without blocking the window
+							repository.load(resultsTable,
+									() -> repository.registerVote(currentRow.getReviewId(), databaseHelper.currentUser.getUserId(), 1),
+									result -> AsyncRepository.updateReviewRow(resultsTable, result.getReview()));
 
 						});
 
@@ -550,40 +508,10 @@ public class StudentHomePage {
 							// Get current QATableRow
 							QATableRow currentRow = getTableView().getItems().get(getIndex());
 
-							// Register a negative vote for the selected review
-							databaseHelper.qaHelper.registerVoteForReview(currentRow.getReviewId(), -1);
-
-							try {
-								// Retrieve the review object in the cell
-								review = databaseHelper.qaHelper.getReview(currentRow.getReviewId());
-
-								// Retrieve an updated list of questions from the database
-								questions = databaseHelper.qaHelper.getAllQuestions();
-
-								// Refresh contents of tables manually
-								questionObservableList.clear();
-								questionObservableList.addAll(questions);
-								qTable.setItems(questionObservableList);
-
-								if (review.getForQuestion()) {
-									// Set qTable to previous question
-									qTable.getSelectionModel().select(databaseHelper.qaHelper.getQuestion(
-											databaseHelper.qaHelper.getReview(currentRow.getReviewId()).getRelatedId()));
-								} else {
-									// Set qTable to previous question
-									qTable.getSelectionModel()
-											.select(databaseHelper.qaHelper
-													.getQuestionForAnswer(
-															databaseHelper.qaHelper
-																	.getAnswer(databaseHelper.qaHelper
-																			.getReview(currentRow.getReviewId()).getRelatedId())
-																	.getId()));
-								}
-							} catch (SQLException e) {
-								e.printStackTrace();
-								System.err.println(
-										"Error trying update questions object via getALLQuestions() in downVoteButton action");
-							}
+							// Register a negative vote for the selected review, then update its row without blocking the window
+							repository.load(resultsTable,
+									() -> repository.registerVote(currentRow.getReviewId(), databaseHelper.currentUser.getUserId(), -1),
+									result -> AsyncRepository.updateReviewRow(resultsTable, result.getReview()));
 
 						});
 
@@ -631,42 +559,30 @@ public class StudentHomePage {
 						});
 
 						deleteButton.setOnAction(a -> {
-							// Delete selected answer
-							databaseHelper.qaHelper.deleteAnswer(row.getAnswerId());
-
-							try {
-								// Retrieve an updated list of questions from the database
-								question = qTable.getSelectionModel().getSelectedItem();
-								questions = databaseHelper.qaHelper.getAllQuestions();
-							} catch (SQLException e) {
-								e.printStackTrace();
-								System.err.println(
-										"Error trying update answers object via getALLUsers() in resultsTable");
-							}
-
-							// Refresh contents of tables manually
-							questionObservableList.clear();
-							questionObservableList.addAll(questions);
-							qTable.setItems(questionObservableList);
+							question = qTable.getSelectionModel().getSelectedItem();
 
-							// Set qTable to previous question
-							qTable.getSelectionModel().select(question);
+							// Delete selected answer and retrieve an updated list of questions in the background
+							repository.load(qTable, () -> {
+								databaseHelper.qaHelper.deleteAnswer(row.getAnswerId());
+								return databaseHelper.qaHelper.getAllQuestions();
+							}, result -> {
+								// Refresh contents of tables manually
+								questions = result;
+								questionObservableList.setAll(questions);
+								qTable.setItems(questionObservableList);
 
+								// Set qTable to previous question
+								qTable.getSelectionModel().select(question);
+							});
 						});
 						
-						// Check if the answer is already marked as read
-						try {
-					        boolean isRead = databaseHelper.qaHelper.isAnswerMarkedAsRead(row.getAnswerId(), databaseHelper.currentUser.getUserId());
-					        if (isRead) {
-					            markAsReadButton.setDisable(true); 
-					        }
-						} catch (SQLException e) {
-					        e.printStackTrace();
-						}
+						// Check if the answer is already marked as read, using the snapshot loaded with the thread
+						markAsReadButton.setDisable(readAnswerIds.contains(row.getAnswerId()));
 						
 						markAsReadButton.setOnAction(a -> {
 					        try {
-					            databaseHelper.qaHelper.markAnswerAsRead(row.getAnswerId(), databaseHelper.currentUser.getUserId()); 
+					            databaseHelper.qaHelper.markAnswerAsRead(row.getAnswerId(), databaseHelper.currentUser.getUserId());
+					            readAnswerIds.add(row.getAnswerId());
 					            markAsReadButton.setDisable(true); // Disable button after clicking
 					        } catch (SQLException e) {
 					            e.printStackTrace();
@@ -796,26 +712,19 @@ public class StudentHomePage {
 						});
 
 						deleteButton.setOnAction(a -> {
-							// Delete selected question
-							databaseHelper.qaHelper.deleteQuestion(row.getQuestionId());
-
-							try {
-								// Retrieve an updated list of questions from the database
-								questions = databaseHelper.qaHelper.getAllQuestions();
-							} catch (SQLException e) {
-								e.printStackTrace();
-								System.err.println(
-										"Error trying update answers object via getALLUsers() in resultsTable");
-							}
-
-							// Refresh contents of tables manually
-							questionObservableList.clear();
-							questionObservableList.addAll(questions);
-							qTable.setItems(questionObservableList);
-
-							// Set qTable to previous question
-							qTable.getSelectionModel().select(question);
+							// Delete selected question and retrieve an updated list of questions in the background
+							repository.load(qTable, () -> {
+								databaseHelper.qaHelper.deleteQuestion(row.getQuestionId());
+								return databaseHelper.qaHelper.getAllQuestions();
+							}, result -> {
+								// Refresh contents of tables manually
+								questions = result;
+								questionObservableList.setAll(questions);
+								qTable.setItems(questionObservableList);
 
+								// Set qTable to previous question
+								qTable.getSelectionModel().select(question);
+							});
 						});
 
 						HBox buttonBox = new HBox(1,setPreferredAnswerButton, editButton, deleteButton);
@@ -905,24 +814,25 @@ public class StudentHomePage {
 				RadioButton selected = (RadioButton) newSelection;
 				String selection = selected.getText();
 
-				try {
+				// Load the filtered questions in the background while the table shows a loading state
+				repository.load(qTable, () -> {
 					if (selection.equalsIgnoreCase("All")) {
-						questions = databaseHelper.qaHelper.getAllQuestions();
+						return databaseHelper.qaHelper.getAllQuestions();
 					} else if (selection.equalsIgnoreCase("Unanswered")) {
-						questions = databaseHelper.qaHelper.getAllUnansweredQuestions();
+						return databaseHelper.qaHelper.getAllUnansweredQuestions();
 					} else if (selection.equalsIgnoreCase("Answered")) {
-						questions = databaseHelper.qaHelper.getAllAnsweredQuestions();
+						return databaseHelper.qaHelper.getAllAnsweredQuestions();
 					} else if (selection.equalsIgnoreCase("My Reviewers")) {
-						questions = getReviewersQuestions();
+						return getReviewersQuestions();
 					}
-				} catch (SQLException e) {
-					e.printStackTrace();
-					System.err.println("Error trying to update question table via radio buttons");
-					return;
-				}
-				questionObservableList.setAll(questions);
-				qTable.setItems(questionObservableList);
-				qTable.refresh();
+					return null;
+				}, result -> {
+					if (result != null) {
+						questions = result;
+						questionObservableList.setAll(questions);
+						qTable.refresh();
+					}
+				});
 			}
 		});
 
@@ -1054,27 +964,26 @@ public class StudentHomePage {
 			String input = searchField.getText().trim();
 			if (!input.isEmpty()) {
 				
-				// Search the database for the input string
-				sortedList = databaseHelper.qaHelper.searchQuestionDatabase(input);				
-
-				searchField.setMinWidth(searchTable.getWidth());
-
-				// Make table visible
-				searchBox.setVisible(true);
-				searchBox.setManaged(true);
-				
-				if (sortedList != null && !sortedList.isEmpty()) {
+				// Search the database for the input string in the background
+				repository.load(() -> databaseHelper.qaHelper.searchQuestionDatabase(input), result -> {
+					// Drop the results if the search text changed while they loaded
+					if (!input.equals(searchField.getText().trim())) {
+						return;
+					}
+					sortedList = result;
 
-				// Set the observable list
-				searchObservableList.setAll(sortedList);
-				
+					searchField.setMinWidth(searchTable.getWidth());
 
-				// Make table visible if it isn't
-				if (!searchBox.isVisible()) {
+					// Make table visible
 					searchBox.setVisible(true);
 					searchBox.setManaged(true);
-				}
-				}
+
+					if (sortedList != null && !sortedList.isEmpty()) {
+
+						// Set the observable list
+						searchObservableList.setAll(sortedList);
+					}
+				});
 			} else {
 				// Clear searchObservableList and hide searchTable
 				searchObservableList.clear();
@@ -1134,104 +1043,69 @@ public class StudentHomePage {
 				errorLabel.setText("Error, question-body field is blank.");
 				return;
 			}
-			try {
-				if (!updatingQuestion && !updatingAnswer) {
-
-					// Check if titleInput is empty or null
-					if (titleInput == null || titleInput.trim().isEmpty()) {
-						errorLabel.setText("Error, question-title field is blank.");
-						return;
-					}
-
-					// Check if inputs are empty or null
-					Question newQuestion;
-					Question newSelection = qTable.getSelectionModel().getSelectedItem();
-
-					if (newSelection != null) {
-						// Update the currently selected question
-						newSelection.setTitle(titleInput);
-						newSelection.setText(textInput);
-						databaseHelper.qaHelper.updateQuestion(newSelection);
-						newQuestion = newSelection;
-					} else {
-						// Register a new question in the database
-						newQuestion = new Question(titleInput, textInput, databaseHelper.currentUser.getUserId());
-						databaseHelper.qaHelper.registerQuestion(newQuestion);
+			boolean newEntry = !updatingQuestion && !updatingAnswer;
+			if (newEntry && (titleInput == null || titleInput.trim().isEmpty())) {
+				errorLabel.setText("Error, question-title field is blank.");
+				return;
+			}
 
-						// Retrieve full question object for new question
-						newQuestion = databaseHelper.qaHelper.getQuestion(newQuestion.getTitle());
-					}
+			// Copy the edit to its object here, then save it in the background
+			Question newSelection = qTable.getSelectionModel().getSelectedItem();
+			Question editedQuestion = question;
+			Answer editedAnswer = answer;
+			boolean editingAnswer = updatingAnswer;
+			int userId = databaseHelper.currentUser.getUserId();
+			if (newEntry && newSelection != null) {
+				// Update the currently selected question
+				newSelection.setTitle(titleInput);
+				newSelection.setText(textInput);
+			} else if (editingAnswer) {
+				// Add updated text to answer object
+				editedAnswer.setText(textInput);
+			} else if (!newEntry) {
+				// Add updated title and text to question object
+				editedQuestion.setTitle(titleInput);
+				editedQuestion.setText(textInput);
+			}
 
+			repository.load(qTable, () -> {
+				if (newEntry && newSelection == null) {
+					// Register a new question in the database and retrieve its full question object
+					Question newQuestion = new Question(titleInput, textInput, userId);
+					databaseHelper.qaHelper.registerQuestion(newQuestion);
+					return databaseHelper.qaHelper.getQuestion(newQuestion.getTitle());
+				} else if (newEntry) {
+					databaseHelper.qaHelper.updateQuestion(newSelection);
+					return newSelection;
+				} else if (editingAnswer) {
+					databaseHelper.qaHelper.updateAnswer(editedAnswer);
+					return editedQuestion;
+				}
+				databaseHelper.qaHelper.updateQuestion(editedQuestion);
+				return editedQuestion;
+			}, saved -> {
+				if (newEntry) {
 					// Clear input fields for new inputs
 					titleField.clear();
 					inputField.clear();
-
-					// Retrieve an updated list of questions from the database
-					questions = databaseHelper.qaHelper.getAllQuestions();
-
-					// Refresh contents of tables manually
-					questionObservableList.clear();
-					questionObservableList.addAll(questions);
-					qTable.setItems(questionObservableList);
-
-					qTable.getSelectionModel().select(newQuestion);
-
-				} else if (updatingAnswer) {
-
-					// Add updated text to answer object
-					answer.setText(textInput);
-
-					// Update answer
-					databaseHelper.qaHelper.updateAnswer(answer);
-
-					// Retrieve an updated list of questions from the database
-					questions = databaseHelper.qaHelper.getAllQuestions();
-
-					// Refresh contents of tables manually
-					questionObservableList.clear();
-					questionObservableList.addAll(questions);
-					qTable.setItems(questionObservableList);
-
-					// Set qTable selection to previous question
-					qTable.getSelectionModel().select(question);
-
-				} else if (updatingQuestion) {
-
-					// Add updated title to question object
-					question.setTitle(titleInput);
-
-					// Add updated text to question object
-					question.setText(textInput);
-
-					// Update answer
-					databaseHelper.qaHelper.updateQuestion(question);
-
-					// Retrieve an updated list of questions from the database
-					questions = databaseHelper.qaHelper.getAllQuestions();
-
-					// Refresh contents of tables manually
-					questionObservableList.clear();
-					questionObservableList.addAll(questions);
-					qTable.setItems(questionObservableList);
-
-					// Set qTable selection to previous selection
-					qTable.getSelectionModel().select(question);
 				}
-			} catch (SQLException e) {
-				e.printStackTrace();
-				System.err.println("Error trying to register new question into database via submit button");
-				;
-				return;
-			}
 
-			// Hide submitBox
-			submitBox.setVisible(false);
-			submitBox.setManaged(false);
+				// Hide submitBox
+				submitBox.setVisible(false);
+				submitBox.setManaged(false);
 
-			// Set both updating flags to false
-			updatingQuestion = false;
-			updatingAnswer = false;
+				// Set both updating flags to false
+				updatingQuestion = false;
+				updatingAnswer = false;
 
+				// Retrieve an updated list of questions, then select the saved question again
+				repository.load(qTable, () -> databaseHelper.qaHelper.getAllQuestions(), result -> {
+					questions = result;
+					questionObservableList.setAll(questions);
+					qTable.setItems(questionObservableList);
+					qTable.getSelectionModel().select(saved);
+				});
+			});
 		});
 
 		findReviewerButton.setOnAction(a -> {
@@ -1522,79 +1396,78 @@ public class StudentHomePage {
 	 */
 
 	private void updateResultsTableForQuestion(Question question) {
-		Answer duplicate = null;
-		List<Review> reviews;
-		// Clear the observable list
-		resultsObservableList.clear();
 
-		// Retrieve an updated answer list of answers related to selected question from
-		// the qtable
-		try {
-			question = databaseHelper.qaHelper.getQuestion(question.getId());
-			answers = databaseHelper.qaHelper.getAllAnswersForQuestion(question.getId());
-
-			// Put the selected question in the first row
-			resultsObservableList.add(new QATableRow(QATableRow.RowType.QUESTION, question.toDisplayWithText(),
-					question.getId(), question.getAuthorId(), question.getRelatedId()));
-
-			// Store a list of reviews for the question
-			reviews = databaseHelper.qaHelper.getReviewsForQuestion(question.getId());
-			// Check if list is empty
-			if (!reviews.isEmpty()) {
-				for (Review review : reviews) {
-					// Put the selected review in the following rows
-					resultsObservableList.add(new QATableRow(QATableRow.RowType.REVIEW, review.toDisplayWithText(),
-							review.getId(), review.getAuthorId()));
-				}
-			}
+		updateResultsTableForQuestion(question, null);
 
-			// Check if selected question has a preferred answer and put that in row 2 if so
-			// Check if question has a preferred answer
-			if (question.getPreferredAnswer() > 0) {
-				// Retrieve the preferred answer object
-				answer = databaseHelper.qaHelper.getAnswer(question.getPreferredAnswer());
-				duplicate = answer;
-				// Remove the preferred answer from the answers list so it is not duplicated
-				answers.remove(answer);
-				// Put the preferred answer in the second row
-				resultsObservableList.add(new QATableRow(QATableRow.RowType.ANSWER, answer.toDisplay(), answer.getId(),
-						answer.getAuthorId(), answer.getRelatedId()));
-
-				// Recursively call addRelatedAnswers and store the list thats left
-				answers = addRelatedAnswers(answer.getId(), answers);
+	}
 
-			}
 
-			// After that, if there are any, add each answer as its own row
-			for (Answer answer : answers) {
-				if (duplicate != null && !answer.getId().equals(duplicate.getId())) {
-					// Add answer to the observable list
-					resultsObservableList.add(new QATableRow(QATableRow.RowType.ANSWER, answer.toDisplay(),
-							answer.getId(), answer.getAuthorId(), answer.getRelatedId()));
-				}
+	/**
+
+	 * Updates the results table for the given question in the background, then
+
+	 * runs afterLoad once the new rows are shown. If another question is asked
+
+	 * for while the rows load, they are dropped.
+
+	 *
+
+	 * @param question  the question whose answers and reviews should be displayed
+
+	 * @param afterLoad run on the JavaFX thread after the rows are shown, or null for nothing
+
+	 */
+
+	private void updateResultsTableForQuestion(Question question, Runnable afterLoad) {
+
+		// Load the question, its answer tree, reviews and authors, and which answers the user has read
+
+		int questionId = question.getId();
+
+		shownQuestionId = questionId;
+
+		repository.load(resultsTable, () -> repository.loadThread(questionId, databaseHelper.currentUser.getUserId()),
+
+				result -> {
+
+					// Drop the rows if another question was asked for while they loaded
+
+					if (shownQuestionId != questionId) {
+
+						return;
 
-				// Store a list of reviews for the question
-				reviews = databaseHelper.qaHelper.getReviewsForAnswer(answer.getId());
-				// Check if list is empty
-				if (!reviews.isEmpty()) {
-					for (Review review : reviews) {
-						// Put the selected review in the following rows
-						resultsObservableList.add(new QATableRow(QATableRow.RowType.REVIEW, review.toDisplayWithText(),
-								review.getId(), review.getAuthorId()));
 					}
-				}
-				// Recursively call addRelatedAnswers and store the list thats left
-				answers = addRelatedAnswers(answer.getId(), answers);
-			}
 
-		} catch (SQLException e) {
-			e.printStackTrace();
-			System.err.println("Error trying to .getAllAnswers() within updateResultsTableForQuestion() method");
-			return;
-		}
+					// Snapshot which of its answers the user has read, for the cells to check
+
+					readAnswerIds.clear();
+
+					readAnswerIds.addAll(result.getReadAnswerIds());
+
+
+					// Clear the observable list and fill it with the rows of the thread
+
+					resultsObservableList.clear();
+
+					if (result.getThread() != null) {
+
+						resultsObservableList.addAll(result.getThread().toRows());
+
+					}
+
+
+					resultsTable.setItems(resultsObservableList);
+
+					resultsTable.refresh();
+
+					if (afterLoad != null) {
+
+						afterLoad.run();
+
+					}
+
+				});
 
-		resultsTable.setItems(resultsObservableList);
-		resultsTable.refresh();
 	}
 	
 	/**
@@ -1888,44 +1761,6 @@ public class StudentHomePage {
 	    // Displays this stage to the user
 	}
 	
-	/**
-	 * Recursively processes and adds related answers to the results observable list.
-	 *
-	 * <p>This method retrieves answers that are related to the given parent answer and adds them
-	 * to the results list, while removing them from the provided list to avoid duplication.</p>
-	 *
-	 * @param parentId the ID of the parent answer.
-	 * @param answers  the list of answers to process.
-	 * @return the remaining list of answers after processing related ones.
-	 */
-
-	private List<Answer> addRelatedAnswers(int parentId, List<Answer> answers) {
-		try {
-			// Retrieve related answers
-			List<Answer> relatedAnswers = databaseHelper.qaHelper.getAllAnswersForAnswer(parentId);
-
-			// Iterate through each answer in relatedAnswers
-			for (Answer subAnswer : relatedAnswers) {
-
-				// Remove subAnswer from the list of answers
-				answers.remove(subAnswer);
-
-				resultsObservableList.add(new QATableRow(QATableRow.RowType.ANSWER, subAnswer.toDisplay(),
-						subAnswer.getId(), subAnswer.getAuthorId(), subAnswer.getRelatedId()));
-
-				// Recursively call the function to process nested related answers
-				addRelatedAnswers(subAnswer.getId(), answers);
-
-			}
-
-		} catch (SQLException e) {
-			e.printStackTrace();
-			System.err.println("Error retrieving related answers in addRelatedAnswers()");
-		}
-		// Return list of answers that is left
-		return answers;
-	}
-	
 	/**
 	 * Retrieves and sorts questions based on the reviewer's association with the current student.
 	 *
@@ -0,0 +1,251 @@
+package application;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ * A finite state machine validator compiled into lookup tables.
+ * </p>
+ * <p>
+ * The rules are given to a {@link Builder} as transitions on sets of ASCII
+ * characters. Building groups the characters that behave the same in every
+ * state into classes, and lays the transitions out as one table indexed by
+ * state and class. Validating then costs two array reads per character, and a
+ * validator holds no state between calls, so one instance can be used by any
+ * number of threads at once. Any character without a transition, including
+ * every character outside ASCII, stops the machine.
+ * </p>
+ * <p>
+ * Each state can also limit how many characters are accepted while in it. When
+ * the machine stops, because the input ran out, a character had no transition
+ * or a limit was passed, the {@link Rules} turn where it stopped into a
+ * {@link ValidationResult}.
+ * </p>
+ * @author CSE360 Team 8
+ *
+ * @version 0.00 2025-04-20 - Initial baseline
+ *
+ */
+public final class TableValidator {
+	/**
+	 * Turns the place the machine stopped into a result. Rules should return a
+	 * shared result for valid input, so accepting input does not allocate.
+	 */
+	@FunctionalInterface
+	public interface Rules {
+		/**
+		 * Returns the result of a validation
+		 *
+		 * @param state 		The state the machine stopped in
+		 * @param index 		The index of the character it stopped at, or the input length
+		 * @param length 		The number of characters accepted, plus one if the stop was for passing a
+		 * 						state's limit
+		 * @param flags 		The flags of every character accepted
+		 * @param complete 		True if the whole input was accepted
+		 *
+		 * @return 				The result
+		 *
+		 */
+		ValidationResult finish(int state, int index, int length, int flags, boolean complete);
+	}
+
+	private static final int ASCII = 128;
+
+	private final byte[] classes;
+	private final int classCount;
+	private final int[] transitions;
+	private final int[] classFlags;
+	private final int[] maxLength;
+	private final Rules rules;
+
+	private TableValidator(byte[] classes, int classCount, int[] transitions, int[] classFlags, int[] maxLength,
+			Rules rules) {
+		this.classes = classes;
+		this.classCount = classCount;
+		this.transitions = transitions;
+		this.classFlags = classFlags;
+		this.maxLength = maxLength;
+		this.rules = rules;
+	}
+
+	/**
+	 * Validates an input, starting in state 0
+	 *
+	 * @param input 	The characters to validate
+	 *
+	 * @return 			The result from the rules
+	 *
+	 */
+	public ValidationResult validate(CharSequence input) {
+		int state = 0;
+		int length = 0;
+		int flags = 0;
+		int index = 0;
+		int size = input.length();
+
+		for (; index < size; index++) {
+			char c = input.charAt(index);
+			int charClass = c < ASCII ? classes[c] : -1;
+			int next = charClass < 0 ? -1 : transitions[state * classCount + charClass];
+			if (next < 0) {
+				break;
+			}
+			if (length >= maxLength[state]) {
+				length++;
+				break;
+			}
+			length++;
+			flags |= classFlags[charClass];
+			state = next;
+		}
+		return rules.finish(state, index, length, flags, index == size);
+	}
+
+	/**
+	 * Returns the characters from first to last inclusive
+	 *
+	 * @param first 	The first character
+	 * @param last 		The last character
+	 *
+	 * @return 			The characters in order
+	 *
+	 */
+	public static String range(char first, char last) {
+		StringBuilder chars = new StringBuilder();
+		for (char c = first; c <= last; c++) {
+			chars.append(c);
+		}
+		return chars.toString();
+	}
+
+	/**
+	 * Collects the rules of a validator and compiles them into tables
+	 */
+	public static final class Builder {
+		private final int[][] next;
+		private final int[] flags = new int[ASCII];
+		private final int[] maxLength;
+
+		/**
+		 * Creates a builder for a machine with states numbered from 0
+		 *
+		 * @param states 	The number of states
+		 *
+		 */
+		public Builder(int states) {
+			next = new int[states][ASCII];
+			for (int[] row : next) {
+				Arrays.fill(row, -1);
+			}
+			maxLength = new int[states];
+			Arrays.fill(maxLength, Integer.MAX_VALUE);
+		}
+
+		/**
+		 * Adds a transition
+		 *
+		 * @param state 	The state the transition leaves
+		 * @param chars 	The ASCII characters it is taken on
+		 * @param target 	The state it enters
+		 *
+		 * @return 			This builder
+		 *
+		 */
+		public Builder on(int state, String chars, int target) {
+			if (target < 0 || target >= next.length) {
+				throw new IllegalArgumentException("No such state: " + target);
+			}
+			for (int i = 0; i < chars.length(); i++) {
+				next[state][ascii(chars.charAt(i))] = target;
+			}
+			return this;
+		}
+
+		/**
+		 * Sets flag bits to record when any of some characters is accepted
+		 *
+		 * @param chars 	The ASCII characters
+		 * @param flag 		The flag bits
+		 *
+		 * @return 			This builder
+		 *
+		 */
+		public Builder flag(String chars, int flag) {
+			for (int i = 0; i < chars.length(); i++) {
+				flags[ascii(chars.charAt(i))] |= flag;
+			}
+			return this;
+		}
+
+		/**
+		 * Stops the machine when a character would be accepted in a state after
+		 * max characters have been accepted in all
+		 *
+		 * @param state 	The state
+		 * @param max 		The most characters accepted before leaving it
+		 *
+		 * @return 			This builder
+		 *
+		 */
+		public Builder maxLength(int state, int max) {
+			maxLength[state] = max;
+			return this;
+		}
+
+		/**
+		 * Compiles the rules. The builder can be changed afterwards without
+		 * affecting the validator.
+		 *
+		 * @param rules 	How the place the machine stops becomes a result
+		 *
+		 * @return 			The validator
+		 *
+		 */
+		public TableValidator build(Rules rules) {
+			int states = next.length;
+			byte[] classes = new byte[ASCII];
+			Map<List<Integer>, Integer> signatures = new HashMap<>();
+			int[] representative = new int[ASCII];
+
+			// Characters with the same transitions in every state and the same flags share a class
+			for (int c = 0; c < ASCII; c++) {
+				Integer[] signature = new Integer[states + 1];
+				boolean used = false;
+				for (int s = 0; s < states; s++) {
+					signature[s] = next[s][c];
+					used |= next[s][c] >= 0;
+				}
+				signature[states] = flags[c];
+				if (!used) {
+					classes[c] = -1;
+					continue;
+				}
+				int charClass = signatures.computeIfAbsent(List.of(signature), key -> signatures.size());
+				representative[charClass] = c;
+				classes[c] = (byte) charClass;
+			}
+
+			int classCount = Math.max(1, signatures.size());
+			int[] transitions = new int[states * classCount];
+			int[] classFlags = new int[classCount];
+			for (int charClass = 0; charClass < signatures.size(); charClass++) {
+				int c = representative[charClass];
+				classFlags[charClass] = flags[c];
+				for (int s = 0; s < states; s++) {
+					transitions[s * classCount + charClass] = next[s][c];
+				}
+			}
+			return new TableValidator(classes, classCount, transitions, classFlags, maxLength.clone(), rules);
+		}
+
+		private static int ascii(char c) {
+			if (c >= ASCII) {
+				throw new IllegalArgumentException("Only ASCII characters can be matched: " + c);
+			}
+			return c;
+		}
+	}
+}
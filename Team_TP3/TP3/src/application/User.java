@@ -1,5 +1,7 @@
 package application;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -117,6 +119,24 @@ public class User {
         // Constructor intentionally left blank.
     }
 
+    /**
+     * Constructs a copy of another {@code User}. The role list and reviewer map
+     * are copied as well, so changes to the copy do not affect the original.
+     *
+     * @param other the user to copy
+     */
+    public User(User other) {
+        this.id = other.id;
+        this.userName = other.userName;
+        this.name = other.name;
+        this.password = other.password;
+        this.email = other.email;
+        this.currentRole = other.currentRole;
+        this.roles = other.roles != null ? new ArrayList<>(other.roles) : null;
+        this.reviewerIds = other.reviewerIds != null ? new HashMap<>(other.reviewerIds) : null;
+        this.otp = other.otp;
+    }
+
     /**
      * Adds a role to the user's list of roles.
      *
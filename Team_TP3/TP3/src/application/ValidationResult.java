@@ -0,0 +1,102 @@
+package application;
+
+/**
+ * <p>
+ * The outcome of validating one input with a {@link TableValidator}.
+ * </p>
+ * <p>
+ * A result is immutable, so it can be shared between threads and kept after
+ * the next input is validated. Valid results are made once per validator and
+ * reused, so accepting an input allocates nothing. The flags record which of
+ * the validator's requirements the input met, such as the character kinds a
+ * password must contain.
+ * </p>
+ * @author CSE360 Team 8
+ *
+ * @version 0.00 2025-04-20 - Initial baseline
+ *
+ */
+public final class ValidationResult {
+	/**
+	 * A valid result with no flags
+	 */
+	public static final ValidationResult VALID = new ValidationResult("", -1, 0);
+
+	private final String errorMessage;
+	private final int errorIndex;
+	private final int flags;
+
+	private ValidationResult(String errorMessage, int errorIndex, int flags) {
+		this.errorMessage = errorMessage;
+		this.errorIndex = errorIndex;
+		this.flags = flags;
+	}
+
+	/**
+	 * Creates a valid result
+	 *
+	 * @param flags 	The requirements met
+	 *
+	 * @return 			The result
+	 *
+	 */
+	public static ValidationResult valid(int flags) {
+		return flags == 0 ? VALID : new ValidationResult("", -1, flags);
+	}
+
+	/**
+	 * Creates an error result
+	 *
+	 * @param errorMessage 		The message to show the user
+	 * @param errorIndex 		The index of the character where validation stopped
+	 * @param flags 			The requirements met
+	 *
+	 * @return 					The result
+	 *
+	 */
+	public static ValidationResult error(String errorMessage, int errorIndex, int flags) {
+		return new ValidationResult(errorMessage, errorIndex, flags);
+	}
+
+	/**
+	 * @return true if the input was accepted
+	 */
+	public boolean isValid() {
+		return errorIndex < 0;
+	}
+
+	/**
+	 * @return the error message, or an empty string if the input was accepted
+	 */
+	public String getErrorMessage() {
+		return errorMessage;
+	}
+
+	/**
+	 * @return the index of the character where validation stopped, or -1 if the
+	 *         input was accepted
+	 */
+	public int getErrorIndex() {
+		return errorIndex;
+	}
+
+	/**
+	 * @return the requirements met, as the validator's flag bits
+	 */
+	public int getFlags() {
+		return flags;
+	}
+
+	/**
+	 * @param flag 	One of the validator's flag bits
+	 * @return 		true if the input met that requirement
+	 */
+	public boolean has(int flag) {
+		return (flags & flag) == flag;
+	}
+
+	@Override
+	public String toString() {
+		return isValid() ? "valid" : errorMessage.trim() + " at " + errorIndex;
+	}
+}
@@ -0,0 +1,483 @@
+package databasePart1;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * A small pool of JDBC connections shared by DatabaseHelper and QAHelper1.
+ * </p>
+ * <p>
+ * Each thread borrows its own connection, so the JavaFX thread, background
+ * loaders and batch jobs can all run queries at the same time. A thread keeps
+ * the connection it borrowed until it releases it, and calls made by the same
+ * thread in between reuse that connection. Idle connections are validated
+ * before they are handed out, and a background check reclaims connections held
+ * by threads that have finished and reports explicit borrows that have been
+ * held for too long. Each connection also keeps its own cache of prepared
+ * statements, used through prepare().
+ * </p>
+ * @author CSE360 Team 8
+ *
+ * @version 0.00 2025-04-20 - Initial baseline
+ *
+ */
+public class ConnectionPool {
+	// Seconds to wait for a connection to answer a validation check
+	private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+	// How long a thread waits for a free connection before giving up
+	private static final long BORROW_TIMEOUT_MILLIS = 10_000;
+
+	// How long an explicit borrow may be held before it is reported as a possible leak
+	private static final long LEAK_THRESHOLD_MILLIS = 30_000;
+
+	// Most prepared statements each connection keeps open for reuse
+	private static final int STATEMENT_CACHE_SIZE = 64;
+
+	/**
+	 * A connection handed out to one thread
+	 */
+	private static class Lease {
+		private final Connection connection;
+		private final StatementCache statementCache;
+		private final Thread owner;
+
+		// Number of explicit borrows not yet released, and when and where the first was made
+		private int depth = 0;
+		private long borrowedAt;
+		private Throwable borrowedFrom;
+		private boolean reported = false;
+
+		private Lease(Connection connection, StatementCache statementCache, Thread owner) {
+			this.connection = connection;
+			this.statementCache = statementCache;
+			this.owner = owner;
+		}
+	}
+
+	private final String url;
+	private final String user;
+	private final String password;
+	private final int maxSize;
+
+	// Connections that are open and not leased to any thread
+	private final Deque<Connection> idle = new ArrayDeque<>();
+
+	// Connections currently leased, keyed by connection
+	private final Map<Connection, Lease> leases = new IdentityHashMap<>();
+
+	// The lease held by the calling thread, if any
+	private final ThreadLocal<Lease> currentLease = new ThreadLocal<>();
+
+	// Prepared statement cache of each open connection, kept across leases
+	private final Map<Connection, StatementCache> statementCaches = new IdentityHashMap<>();
+
+	// Hits and misses of caches whose connections have since been closed
+	private long retiredHits = 0;
+	private long retiredMisses = 0;
+
+	// Connections being opened outside the lock, counted toward the maximum size
+	private int pendingOpens = 0;
+
+	private final ScheduledExecutorService leakDetector;
+	private boolean closed = false;
+
+	/**
+	 * Creates a pool and opens its minimum number of connections
+	 *
+	 * @param url 				The JDBC url of the database
+	 * @param user 				The database user name
+	 * @param password 			The database password
+	 * @param minSize 			The number of connections to open up front
+	 * @param maxSize 			The most connections the pool will open at once
+	 *
+	 * @throws SQLException 	In case the database throws an error
+	 *
+	 */
+	public ConnectionPool(String url, String user, String password, int minSize, int maxSize) throws SQLException {
+		if (minSize < 0 || maxSize < 1 || minSize > maxSize) {
+			throw new IllegalArgumentException("Invalid pool size: min " + minSize + ", max " + maxSize);
+		}
+		this.url = url;
+		this.user = user;
+		this.password = password;
+		this.maxSize = maxSize;
+
+		for (int i = 0; i < minSize; i++) {
+			idle.push(DriverManager.getConnection(url, user, password));
+		}
+
+		leakDetector = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread thread = new Thread(r, "connection-pool-leak-detector");
+			thread.setDaemon(true);
+			return thread;
+		});
+		leakDetector.scheduleWithFixedDelay(this::checkForLeaks, LEAK_THRESHOLD_MILLIS / 2,
+				LEAK_THRESHOLD_MILLIS / 2, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Returns the connection held by the calling thread, borrowing one from the pool
+	 * if the thread does not hold one yet. The connection stays with the thread
+	 * until release() is called or the thread finishes.
+	 *
+	 * @return 					The calling thread's connection
+	 *
+	 * @throws SQLException 	In case no connection could be obtained
+	 *
+	 */
+	public Connection connection() throws SQLException {
+		return lease().connection;
+	}
+
+	/**
+	 * Borrows a connection for the calling thread. Every call must be matched by a
+	 * call to release(); nested borrows on the same thread share one connection.
+	 *
+	 * @return 					The calling thread's connection
+	 *
+	 * @throws SQLException 	In case no connection could be obtained
+	 *
+	 */
+	public Connection borrow() throws SQLException {
+		Lease lease = lease();
+		if (lease.depth == 0) {
+			lease.borrowedAt = System.currentTimeMillis();
+			lease.borrowedFrom = new Throwable("Connection borrowed here");
+			lease.reported = false;
+		}
+		lease.depth++;
+		return lease.connection;
+	}
+
+	/**
+	 * Releases one borrow made by the calling thread. When no borrows are left the
+	 * connection goes back to the pool, which also gives back a connection the
+	 * thread only obtained through connection().
+	 */
+	public void release() {
+		Lease lease = currentLease.get();
+		if (lease == null) {
+			return;
+		}
+		if (lease.depth > 0 && --lease.depth > 0) {
+			return;
+		}
+		currentLease.remove();
+		giveBack(lease);
+	}
+
+	/**
+	 * Returns a prepared statement on the calling thread's connection, reusing the
+	 * one in that connection's statement cache if the same SQL was prepared before.
+	 * Close it as usual when done.
+	 *
+	 * @param sql 				The SQL text of the statement
+	 *
+	 * @return 					A prepared statement
+	 *
+	 * @throws SQLException 	In case the database throws an error
+	 *
+	 */
+	public PreparedStatement prepare(String sql) throws SQLException {
+		return lease().statementCache.prepare(sql);
+	}
+
+	/**
+	 * Returns a prepared statement on the calling thread's connection, reusing the
+	 * one in that connection's statement cache if the same SQL was prepared before.
+	 * Close it as usual when done.
+	 *
+	 * @param sql 					The SQL text of the statement
+	 * @param autoGeneratedKeys 	Statement.RETURN_GENERATED_KEYS or Statement.NO_GENERATED_KEYS
+	 *
+	 * @return 						A prepared statement
+	 *
+	 * @throws SQLException 		In case the database throws an error
+	 *
+	 */
+	public PreparedStatement prepare(String sql, int autoGeneratedKeys) throws SQLException {
+		return lease().statementCache.prepare(sql, autoGeneratedKeys);
+	}
+
+	/**
+	 * Returns how many prepared statements were reused from the statement caches
+	 *
+	 * @return 		The number of statement cache hits across all connections
+	 *
+	 */
+	public synchronized long getStatementCacheHits() {
+		long hits = retiredHits;
+		for (StatementCache cache : statementCaches.values()) {
+			hits += cache.getHits();
+		}
+		return hits;
+	}
+
+	/**
+	 * Returns how many prepared statements had to be prepared from scratch
+	 *
+	 * @return 		The number of statement cache misses across all connections
+	 *
+	 */
+	public synchronized long getStatementCacheMisses() {
+		long misses = retiredMisses;
+		for (StatementCache cache : statementCaches.values()) {
+			misses += cache.getMisses();
+		}
+		return misses;
+	}
+
+	/**
+	 * Returns the number of connections the pool currently has open
+	 *
+	 * @return 		The number of open connections
+	 *
+	 */
+	public synchronized int getTotalCount() {
+		return idle.size() + leases.size();
+	}
+
+	/**
+	 * Returns the number of open connections not leased to any thread
+	 *
+	 * @return 		The number of idle connections
+	 *
+	 */
+	public synchronized int getIdleCount() {
+		return idle.size();
+	}
+
+	/**
+	 * Returns the number of connections currently leased to threads
+	 *
+	 * @return 		The number of leased connections
+	 *
+	 */
+	public synchronized int getActiveCount() {
+		return leases.size();
+	}
+
+	/**
+	 * Closes every connection in the pool and stops the leak check
+	 */
+	public void close() {
+		List<Connection> toClose = new ArrayList<>();
+		synchronized (this) {
+			closed = true;
+			toClose.addAll(idle);
+			toClose.addAll(leases.keySet());
+			idle.clear();
+			leases.clear();
+			notifyAll();
+		}
+		leakDetector.shutdownNow();
+		currentLease.remove();
+
+		for (Connection connection : toClose) {
+			closeQuietly(connection);
+		}
+	}
+
+	/**
+	 * Returns the calling thread's lease, taking a connection from the pool if it
+	 * does not have one
+	 */
+	private Lease lease() throws SQLException {
+		Lease lease = currentLease.get();
+		if (lease != null && lease.connection.isClosed()) {
+			// The pool was closed or the connection reclaimed since this thread last used it
+			currentLease.remove();
+			lease = null;
+		}
+		if (lease == null) {
+			Connection connection = take();
+			synchronized (this) {
+				StatementCache cache = statementCaches.computeIfAbsent(connection,
+						c -> new StatementCache(c, STATEMENT_CACHE_SIZE));
+				lease = new Lease(connection, cache, Thread.currentThread());
+				leases.put(connection, lease);
+			}
+			currentLease.set(lease);
+		}
+		return lease;
+	}
+
+	/**
+	 * Takes a valid idle connection or opens a new one, waiting if the pool is at
+	 * its maximum size
+	 */
+	private Connection take() throws SQLException {
+		long deadline = System.currentTimeMillis() + BORROW_TIMEOUT_MILLIS;
+		while (true) {
+			Connection candidate = null;
+			boolean open = false;
+			synchronized (this) {
+				if (closed) {
+					throw new SQLException("The connection pool has been closed");
+				}
+				if (!idle.isEmpty()) {
+					candidate = idle.pop();
+				} else if (getTotalCount() + pendingOpens < maxSize) {
+					pendingOpens++;
+					open = true;
+				} else {
+					reclaimFinishedThreads();
+					if (!idle.isEmpty()) {
+						continue;
+					}
+					long remaining = deadline - System.currentTimeMillis();
+					if (remaining <= 0) {
+						throw new SQLException("Timed out waiting for a database connection, all " + maxSize
+								+ " are in use");
+					}
+					try {
+						wait(remaining);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						throw new SQLException("Interrupted while waiting for a database connection", e);
+					}
+					continue;
+				}
+			}
+
+			// Open or validate outside the lock so other threads are not held up
+			if (open) {
+				try {
+					return DriverManager.getConnection(url, user, password);
+				} finally {
+					synchronized (this) {
+						pendingOpens--;
+					}
+				}
+			}
+			if (isValid(candidate)) {
+				return candidate;
+			}
+			closeQuietly(candidate);
+		}
+	}
+	/**
+	 * Puts a leased connection back in the idle list, or closes it if it is broken
+	 * or the pool has been closed
+	 */
+	private void giveBack(Lease lease) {
+		boolean keep;
+		synchronized (this) {
+			if (leases.remove(lease.connection) == null) {
+				// Already reclaimed or the pool was closed
+				return;
+			}
+			keep = !closed;
+		}
+
+		// Undo any transaction the borrower left open before anyone else sees it
+		try {
+			if (keep && !lease.connection.getAutoCommit()) {
+				lease.connection.rollback();
+				lease.connection.setAutoCommit(true);
+			}
+		} catch (SQLException e) {
+			keep = false;
+		}
+
+		synchronized (this) {
+			if (keep && !closed) {
+				idle.push(lease.connection);
+				notifyAll();
+				return;
+			}
+			notifyAll();
+		}
+		closeQuietly(lease.connection);
+	}
+
+	/**
+	 * Takes back connections whose owning thread has finished. Must be called
+	 * while holding the pool lock.
+	 */
+	private void reclaimFinishedThreads() {
+		List<Lease> finished = new ArrayList<>();
+		for (Lease lease : leases.values()) {
+			if (!lease.owner.isAlive()) {
+				finished.add(lease);
+			}
+		}
+		for (Lease lease : finished) {
+			leases.remove(lease.connection);
+			System.err.println("CONNECTION-POOL: Reclaimed a connection from finished thread " + lease.owner.getName());
+			if (isValid(lease.connection)) {
+				idle.push(lease.connection);
+			} else {
+				closeQuietly(lease.connection);
+			}
+		}
+		if (!finished.isEmpty()) {
+			notifyAll();
+		}
+	}
+
+	/**
+	 * Reclaims connections from finished threads and reports explicit borrows held
+	 * longer than the leak threshold, once each
+	 */
+	private synchronized void checkForLeaks() {
+		reclaimFinishedThreads();
+
+		long now = System.currentTimeMillis();
+		for (Lease lease : leases.values()) {
+			// Connections only obtained with connection() belong to their thread for its lifetime
+			if (lease.depth > 0 && !lease.reported && now - lease.borrowedAt > LEAK_THRESHOLD_MILLIS) {
+				lease.reported = true;
+				System.err.println("CONNECTION-POOL: Connection held by " + lease.owner.getName() + " for "
+						+ (now - lease.borrowedAt) / 1000 + "s, possible leak");
+				lease.borrowedFrom.printStackTrace();
+			}
+		}
+	}
+
+	/**
+	 * Checks that a connection is still open and answering
+	 */
+	private boolean isValid(Connection connection) {
+		try {
+			return !connection.isClosed() && connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+		} catch (SQLException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Closes a connection, ignoring any error
+	 */
+	private void closeQuietly(Connection connection) {
+		StatementCache cache;
+		synchronized (this) {
+			cache = statementCaches.remove(connection);
+			if (cache != null) {
+				retiredHits += cache.getHits();
+				retiredMisses += cache.getMisses();
+			}
+		}
+		if (cache != null) {
+			cache.close();
+		}
+		try {
+			connection.close();
+		} catch (SQLException e) {
+			// Nothing more can be done with a connection that fails to close
+		}
+	}
+}
@@ -1,21 +1,26 @@
 package databasePart1;
 
+import java.io.IOException;
+import java.io.Reader;
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 import application.Answer;
+import application.PasswordEvaluator;
 import application.Question;
 import application.Request;
+import application.ReviewerStats;
 import application.User;
 import tests.*;
 
@@ -34,22 +39,50 @@ import tests.*;
 
 public class DatabaseHelper {
 
-	// JDBC driver name and database URL
+	// JDBC driver name
 	static final String JDBC_DRIVER = "org.h2.Driver";
-	static final String DB_URL = "jdbc:h2:~/FoundationDatabase";
+
+	/**
+	 * The URL of the app's database, which keeps the users' data between launches
+	 */
+	public static final String DB_URL = "jdbc:h2:~/FoundationDatabase";
+
+	/**
+	 * The system property that points the default constructor at a different
+	 * database, such as a scratch file, instead of the app's saved data
+	 */
+	public static final String DB_URL_PROPERTY = "cse360.db.url";
 
 	// Database credentials
 	static final String USER = "sa";
 	static final String PASS = "";
 
+	// Connections kept open up front, and the most the pool will open at once
+	static final int POOL_MIN_SIZE = 2;
+	static final int POOL_MAX_SIZE = 8;
+
+	// Most users kept in each of the user caches
+	static final int USER_CACHE_SIZE = 512;
+
+	// Set to false to start a new database empty, which opens the admin setup page
+	static final boolean POPULATE_SAMPLE_DATA = true;
+
 	/**
-	 * The database connection
+	 * The pool of database connections shared with the QA helper
 	 */
-	private Connection connection = null;
+	private volatile ConnectionPool connectionPool = null;
+
+	// The columns of a user as selected from cse360users c, with the user's roles gathered
+	// into the comma separated form rolesDeserial reads, in the order they were given
+	private static final String USER_COLUMNS = "c.*, (SELECT LISTAGG(r.role, ',') WITHIN GROUP (ORDER BY r.position) "
+			+ "FROM cse360user_roles r WHERE r.user_id = c.id) AS roles";
+
 	/**
-	 * The Statement used to process SQL Queries
+	 * Users recently looked up by id and by username
 	 */
-	private Statement statement = null;
+	private final EntityCache<Integer, User> usersById = new EntityCache<>("users by id", USER_CACHE_SIZE, User::new);
+	private final EntityCache<String, User> usersByName = new EntityCache<>("users by name", USER_CACHE_SIZE,
+			User::new);
 	/**
 	 * The User that is currently logged in. 
 	 */
@@ -61,118 +94,320 @@ public class DatabaseHelper {
 	 */
 	public final QAHelper1 qaHelper;
 
+	/**
+	 * The numbered steps that bring the schema up to date
+	 */
+	private final SchemaMigrator migrator;
+
+	/**
+	 * The URL of the database this helper connects to
+	 */
+	private final String dbUrl;
+
 	// Initialize new QAHelper object2
 	/**
-	 * A default constructor to initialize the database. 
+	 * A default constructor to initialize the database. Uses the app's database
+	 * unless the cse360.db.url system property names another one.
 	 */
 	public DatabaseHelper() {
+		this(System.getProperty(DB_URL_PROPERTY, DB_URL));
+	}
+
+	/**
+	 * A constructor to initialize a database other than the app's, such as the
+	 * one the tests reset before every test.
+	 * @param dbUrl the JDBC URL of the database to connect to.
+	 */
+	public DatabaseHelper(String dbUrl) {
+		this.dbUrl = dbUrl;
 		qaHelper = new QAHelper1(this);
+		migrator = buildMigrator();
 	}
 	
 	/**
-	 * Sets up the main database and QA databases for testing.
-	 * Set to drop the tables and repopulate the database depending on the flags set. 
-	 * There are helper methods that will populate both databases reliably .
+	 * Connects to the database and brings its schema up to date. Only the
+	 * migration steps not yet applied are run, so the data is kept from one launch
+	 * to the next. A new database is filled with the sample users and questions
+	 * unless POPULATE_SAMPLE_DATA is turned off.
 	 *
 	 * @throws SQLException if anything fails while setting up the DB.
 	 */
 	public void connectToDatabase() throws SQLException {
-		try {
-			qaHelper.connectToDatabase();
-
-			Class.forName(JDBC_DRIVER); // Load the JDBC driver
-			System.out.println("Connecting to User database...");
-			connection = DriverManager.getConnection(DB_URL, USER, PASS);
-
-			statement = connection.createStatement();
-			/*------------------------------------------------------------------------------------------------*/
-			/* You can use this command to clear the databases and restart from fresh. */
+		qaHelper.connectToDatabase();
 
-			boolean resetUserDatabase = true; // Set to true if you want to reset the User Database
-			boolean resetQADatabase = true; // Set to true if you want to reset the QA Database
+		System.out.println("Connecting to User database...");
+		migrateSchema();
 
-			int a = 1; // Set this to 1 if you wish to populate User Database(0 or 1)
-			int b = 1; // Set this to the number of times you want to populate the QA
-						// Database(0 or greater)
+		// Fill a new database with the sample data
+		if (POPULATE_SAMPLE_DATA && isDatabaseEmpty()) {
+			new PopulateUserDatabase(this).execute();
+			new PopulateQADatabase(qaHelper).execute();
+		}
+	}
 
-			/*------------------------------------------------------------------------------------------------*/
+	/**
+	 * Drops everything in the database, then connects to it again, which
+	 * recreates the tables and the sample data. Used by the tests to start each
+	 * one from the same data.
+	 *
+	 * @throws SQLException if anything fails while resetting the DB.
+	 */
+	public void resetDatabase() throws SQLException {
+		try (Statement statement = connection().createStatement()) {
+			statement.execute("DROP ALL OBJECTS");
+			System.out.println("Database cleared successfully.");
+		}
+		connectToDatabase();
+	}
 
-			// If set to true, then clear User Database
-			if (resetUserDatabase) {
-				statement.execute("DROP ALL OBJECTS");
-				System.out.println("User Database cleared successfully.");
-			}
+	/**
+	 * Applies any schema migration steps the database is missing, then rebuilds
+	 * the caches and in-memory indexes from the tables.
+	 *
+	 * @return the number of steps applied
+	 * @throws SQLException if a step fails.
+	 */
+	public int migrateSchema() throws SQLException {
+		int applied = migrator.migrate(connection());
+		invalidateUserCaches();
+		qaHelper.initialize();
+		return applied;
+	}
 
-			// If set to true, then clear QA Database
-			if (resetQADatabase) {
-				qaHelper.statement.execute("DROP ALL OBJECTS");
-				System.out.println("Question/Answer Database cleared successfully.");
-			}
+	/**
+	 * Returns the schema migrator holding every migration step.
+	 *
+	 * @return the schema migrator
+	 */
+	public SchemaMigrator getSchemaMigrator() {
+		return migrator;
+	}
 
-			// Create tables for Users Database
-			this.createTables();
+	/**
+	 * Builds the schema migrator. The user tables are version 1 and the QA helper
+	 * adds its own steps. Once a step has shipped it must not change; later
+	 * schema changes go in a new step with the next free version.
+	 *
+	 * @return the schema migrator
+	 */
+	private SchemaMigrator buildMigrator() {
+		SchemaMigrator schemaMigrator = new SchemaMigrator()
+				.add(1, "Create user, request and invitation code tables", this::createTables)
+				.add(8, "Index request lookups by user name and status", this::createRequestIndexes)
+				.add(10, "Move user roles into the indexed user roles table", this::createUserRolesTable)
+				.add(11, "Move trusted reviewers into the trusted reviewer table", this::createTrustedReviewerTable);
+		qaHelper.addMigrations(schemaMigrator);
+		return schemaMigrator;
+	}
 
-			// Populate the User Database if set to above
-			for (int i = 0; i < a; i++) {
-				new PopulateUserDatabase(this).execute();
+	/**
+	 * Returns the connection pool shared by this helper and the QA helper, creating
+	 * it the first time it is needed.
+	 *
+	 * @return the connection pool
+	 * @throws SQLException if the pool could not be created.
+	 */
+	public ConnectionPool getConnectionPool() throws SQLException {
+		ConnectionPool pool = connectionPool;
+		if (pool != null) {
+			return pool;
+		}
+		synchronized (this) {
+			if (connectionPool == null) {
+				try {
+					Class.forName(JDBC_DRIVER); // Load the JDBC driver
+				} catch (ClassNotFoundException e) {
+					throw new SQLException("JDBC Driver not found: " + e.getMessage(), e);
+				}
+				connectionPool = new ConnectionPool(dbUrl, USER, PASS, POOL_MIN_SIZE, POOL_MAX_SIZE);
 			}
+			return connectionPool;
+		}
+	}
 
-			// Create tables for QA Database
-			qaHelper.createTables();
-
-			// Populate the QA Database if set to above
-			for (int n = 0; n < b; n++) {
-				new PopulateQADatabase(qaHelper).execute();
-			}
+	/**
+	 * Returns the connection the calling thread holds from the pool.
+	 *
+	 * @return the calling thread's connection
+	 * @throws SQLException if no connection could be obtained.
+	 */
+	private Connection connection() throws SQLException {
+		return getConnectionPool().connection();
+	}
 
-		} catch (ClassNotFoundException e) {
-			System.err.println("JDBC Driver not found: " + e.getMessage());
-		}
+	/**
+	 * Returns a prepared statement on the calling thread's connection, taken from
+	 * that connection's statement cache when the same SQL has been prepared before.
+	 *
+	 * @param sql the SQL text of the statement
+	 * @return a prepared statement to close as usual when done
+	 * @throws SQLException if the database throws an error.
+	 */
+	private PreparedStatement prepare(String sql) throws SQLException {
+		return getConnectionPool().prepare(sql);
 	}
 
 	/**
-	 * A setup function for when the tables have been reset.
-	 * Sets up the User, RequestReviewer and InvitationCodes tables. 
+	 * Creates the User, RequestReviewer and InvitationCodes tables.
 	 * Will not create any tables if they already exist. 
 	 * @throws SQLException if there is an error when creating tables.
 	 */
 	// Create the tables for the User Database
 	private void createTables() throws SQLException {
-		String userTable = "CREATE TABLE IF NOT EXISTS cse360users (" 
-	+ "id INT AUTO_INCREMENT PRIMARY KEY, "
-				+ "userName VARCHAR(255) UNIQUE, " 
-				+ "name VARCHAR(255), " 
-				+ "password VARCHAR(255), "
-				+ "email VARCHAR(255), "																					
-				+ "roles VARCHAR(70), " 
-				+ "reviewers VARCHAR(300), " 
-				+ "otp BOOLEAN DEFAULT FALSE, "
-				+ "banned BOOLEAN DEFAULT FALSE)";
-		statement.execute(userTable);
+		try (Statement statement = connection().createStatement()) {
+			String userTable = "CREATE TABLE IF NOT EXISTS cse360users (" 
+		+ "id INT AUTO_INCREMENT PRIMARY KEY, "
+					+ "userName VARCHAR(255) UNIQUE, " 
+					+ "name VARCHAR(255), " 
+					+ "password VARCHAR(255), "
+					+ "email VARCHAR(255), "																					
+					+ "roles VARCHAR(70), " 
+					+ "reviewers VARCHAR(300), " 
+					+ "otp BOOLEAN DEFAULT FALSE, "
+					+ "banned BOOLEAN DEFAULT FALSE)";
+			statement.execute(userTable);
 		
-		// Create the table for the reviewer request
-		String requestReviewerTable = "CREATE TABLE IF NOT EXISTS cse360request (" 
-                + "id INT AUTO_INCREMENT PRIMARY KEY, "
-                + "request VARCHAR(500), "
-                + "userName VARCHAR(255), "
-                + "requestTOF BOOLEAN DEFAULT FALSE, "
-		+ "requestATOF BOOLEAN DEFAULT FALSE, "
-                + "notes VARCHAR(2000), "
-                + "status VARCHAR(50), "
-                + "originalId INT "
-                + ")";
-        statement.execute(requestReviewerTable);
+			// Create the table for the reviewer request
+			String requestReviewerTable = "CREATE TABLE IF NOT EXISTS cse360request (" 
+	                + "id INT AUTO_INCREMENT PRIMARY KEY, "
+	                + "request VARCHAR(500), "
+	                + "userName VARCHAR(255), "
+	                + "requestTOF BOOLEAN DEFAULT FALSE, "
+			+ "requestATOF BOOLEAN DEFAULT FALSE, "
+	                + "notes VARCHAR(2000), "
+	                + "status VARCHAR(50), "
+	                + "originalId INT "
+	                + ")";
+	        statement.execute(requestReviewerTable);
 		
-		// Create the invitation codes table
-		String invitationCodesTable = "CREATE TABLE IF NOT EXISTS InvitationCodes (" 
-				+ "code VARCHAR(10) PRIMARY KEY, "
-				+ "isUsed BOOLEAN DEFAULT FALSE," 
-				+ "generatedDate TIMESTAMP DEFAULT CURRENT_TIMESTAMP)";
-		statement.execute(invitationCodesTable);
+			// Create the invitation codes table
+			String invitationCodesTable = "CREATE TABLE IF NOT EXISTS InvitationCodes (" 
+					+ "code VARCHAR(10) PRIMARY KEY, "
+					+ "isUsed BOOLEAN DEFAULT FALSE," 
+					+ "generatedDate TIMESTAMP DEFAULT CURRENT_TIMESTAMP)";
+			statement.execute(invitationCodesTable);
+		}
+	}
 
+	/**
+	 * Indexes the request table by the columns the request pages look it up by.
+	 * The unique constraint on cse360users.userName already indexes user lookups
+	 * by name.
+	 * @throws SQLException if there is an error when creating the indexes.
+	 */
+	private void createRequestIndexes() throws SQLException {
+		try (Statement statement = connection().createStatement()) {
+			statement.execute("CREATE INDEX IF NOT EXISTS idx_request_username ON cse360request (userName)");
+			statement.execute("CREATE INDEX IF NOT EXISTS idx_request_status ON cse360request (status)");
+		}
+	}
+
+	/**
+	 * Creates the user roles table, one row per role a user has, and moves the
+	 * roles out of the comma separated roles column of cse360users, which is then
+	 * dropped. Position keeps the order the roles were given in, since the first
+	 * role decides a user's home page. Safe to run again after failing part way.
+	 * @throws SQLException if there is an error when creating or filling the table.
+	 */
+	private void createUserRolesTable() throws SQLException {
+		try (Statement statement = connection().createStatement()) {
+			String userRolesTable = "CREATE TABLE IF NOT EXISTS cse360user_roles ("
+					+ "user_id INT NOT NULL, "
+					+ "role VARCHAR(30) NOT NULL, "
+					+ "position INT NOT NULL, "
+					+ "PRIMARY KEY (user_id, role), "
+					+ "FOREIGN KEY (user_id) REFERENCES cse360users (id) ON DELETE CASCADE)";
+			statement.execute(userRolesTable);
+			// The primary key covers the roles of a user, this index covers the users with a role
+			statement.execute("CREATE INDEX IF NOT EXISTS idx_user_roles_role ON cse360user_roles (role, user_id)");
+
+			ResultSet column = statement.executeQuery("SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS "
+					+ "WHERE TABLE_NAME = 'CSE360USERS' AND COLUMN_NAME = 'ROLES'");
+			if (!column.next() || column.getInt(1) == 0) {
+				return;
+			}
+		}
+
+		String selectRoles = "SELECT id, roles FROM cse360users";
+		String mergeRole = "MERGE INTO cse360user_roles (user_id, role, position) KEY (user_id, role) VALUES (?, ?, ?)";
+		try (PreparedStatement select = prepare(selectRoles); PreparedStatement merge = prepare(mergeRole)) {
+			ResultSet rs = select.executeQuery();
+			while (rs.next()) {
+				List<String> roles = rolesDeserial(rs.getString("roles"));
+				roles.removeIf(String::isBlank);
+				for (int i = 0; i < roles.size(); i++) {
+					merge.setInt(1, rs.getInt("id"));
+					merge.setString(2, roles.get(i));
+					merge.setInt(3, i);
+					merge.addBatch();
+				}
+			}
+			merge.executeBatch();
+		}
+		try (Statement statement = connection().createStatement()) {
+			statement.execute("ALTER TABLE cse360users DROP COLUMN roles");
+		}
+	}
+
+	/**
+	 * Creates the trusted reviewer table, one row per reviewer a student trusts
+	 * with the weight the student gave them, and moves the lists out of the
+	 * "! username weight" reviewers column of cse360users, which is then dropped.
+	 * Names in the old lists that no longer belong to a user are left behind.
+	 * Safe to run again after failing part way.
+	 * @throws SQLException if there is an error when creating or filling the table.
+	 */
+	private void createTrustedReviewerTable() throws SQLException {
+		try (Statement statement = connection().createStatement()) {
+			String trustedReviewerTable = "CREATE TABLE IF NOT EXISTS cse360trusted_reviewer ("
+					+ "student_id INT NOT NULL, "
+					+ "reviewer_id INT NOT NULL, "
+					+ "weight INT NOT NULL, "
+					+ "PRIMARY KEY (student_id, reviewer_id), "
+					+ "FOREIGN KEY (student_id) REFERENCES cse360users (id) ON DELETE CASCADE, "
+					+ "FOREIGN KEY (reviewer_id) REFERENCES cse360users (id) ON DELETE CASCADE)";
+			statement.execute(trustedReviewerTable);
+			// The primary key covers the reviewers of a student, this index covers the students of a reviewer
+			statement.execute("CREATE INDEX IF NOT EXISTS idx_trusted_reviewer_reviewer "
+					+ "ON cse360trusted_reviewer (reviewer_id, student_id)");
+
+			ResultSet column = statement.executeQuery("SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS "
+					+ "WHERE TABLE_NAME = 'CSE360USERS' AND COLUMN_NAME = 'REVIEWERS'");
+			if (!column.next() || column.getInt(1) == 0) {
+				return;
+			}
+		}
+
+		String selectReviewers = "SELECT id, reviewers FROM cse360users WHERE reviewers <> ''";
+		String mergeReviewer = "MERGE INTO cse360trusted_reviewer (student_id, reviewer_id, weight) "
+				+ "KEY (student_id, reviewer_id) SELECT ?, id, ? FROM cse360users WHERE userName = ?";
+		try (PreparedStatement select = prepare(selectReviewers); PreparedStatement merge = prepare(mergeReviewer)) {
+			ResultSet rs = select.executeQuery();
+			while (rs.next()) {
+				// Stored as ! username weight ! username weight
+				for (String entry : rs.getString("reviewers").split("!")) {
+					String[] fields = entry.trim().split("\\s+");
+					if (fields.length != 2) {
+						continue;
+					}
+					try {
+						merge.setInt(2, Integer.parseInt(fields[1]));
+					} catch (NumberFormatException e) {
+						System.out.println("MIGRATE REVIEWERS: Skipping " + entry.trim());
+						continue;
+					}
+					merge.setInt(1, rs.getInt("id"));
+					merge.setString(3, fields[0]);
+					merge.addBatch();
+				}
+			}
+			merge.executeBatch();
+		}
+		try (Statement statement = connection().createStatement()) {
+			statement.execute("ALTER TABLE cse360users DROP COLUMN reviewers");
+		}
 	}
 
-	
 	/**
 	 * This is a helper method that will check if the database is empty 
 	 * All it checks for is if there is any data in the User table.
@@ -181,12 +416,14 @@ public class DatabaseHelper {
 	 */
 	// Check if the database is empty
 	public boolean isDatabaseEmpty() throws SQLException {
-		String query = "SELECT COUNT(*) AS count FROM cse360users";
-		ResultSet resultSet = statement.executeQuery(query);
-		if (resultSet.next()) {
-			return resultSet.getInt("count") == 0;
+		try (Statement statement = connection().createStatement()) {
+			String query = "SELECT COUNT(*) AS count FROM cse360users";
+			ResultSet resultSet = statement.executeQuery(query);
+			if (resultSet.next()) {
+				return resultSet.getInt("count") == 0;
+			}
+			return true;
 		}
-		return true;
 	}
 
 	/**
@@ -200,7 +437,7 @@ public class DatabaseHelper {
     public void createNewRequest(String requestText, String userName) throws SQLException {
         String sql = "INSERT INTO cse360request (request, userName, requestTOF, notes, status, originalId) "
                    + "VALUES (?, ?, false, '', 'OPEN', 0)";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (PreparedStatement pstmt = prepare(sql)) {
             pstmt.setString(1, requestText);
             pstmt.setString(2, userName);
             pstmt.executeUpdate();
@@ -216,7 +453,7 @@ public class DatabaseHelper {
     public List<Request> getAllOpenRequests() throws SQLException {
         String sql = "SELECT * FROM cse360request WHERE status='OPEN' OR status='REOPENED'";
         List<Request> list = new ArrayList<>();
-        try (PreparedStatement pstmt = connection.prepareStatement(sql);
+        try (PreparedStatement pstmt = prepare(sql);
              ResultSet rs = pstmt.executeQuery()) {
             while (rs.next()) {
                 Request r = buildRequestFromResultSet(rs);
@@ -234,7 +471,7 @@ public class DatabaseHelper {
     public List<Request> getAllClosedRequests() throws SQLException {
         String sql = "SELECT * FROM cse360request WHERE status='CLOSED'";
         List<Request> list = new ArrayList<>();
-        try (PreparedStatement pstmt = connection.prepareStatement(sql);
+        try (PreparedStatement pstmt = prepare(sql);
              ResultSet rs = pstmt.executeQuery()) {
             while (rs.next()) {
                 Request r = buildRequestFromResultSet(rs);
@@ -285,7 +522,7 @@ public class DatabaseHelper {
 
         // 2) Update status, notes
         String sql = "UPDATE cse360request SET status='CLOSED', notes=? WHERE id=?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (PreparedStatement pstmt = prepare(sql)) {
             pstmt.setString(1, newNotes);
             pstmt.setInt(2, requestId);
             pstmt.executeUpdate();
@@ -318,7 +555,7 @@ public class DatabaseHelper {
         // Update the existing row with new request text, notes, and status.
         // Change 'REOPENED' to 'OPEN' if that's your intended status.
         String sql = "UPDATE cse360request SET request = ?, userName = ?, notes = ?, status = 'REOPENED' WHERE id = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (PreparedStatement pstmt = prepare(sql)) {
             pstmt.setString(1, updatedDescription);
             pstmt.setString(2, reopenedBy);
             pstmt.setString(3, combinedNotes);
@@ -341,7 +578,7 @@ public class DatabaseHelper {
             existingNotes += (existingNotes.isEmpty() ? "" : ";") + note;
         }
         String sql = "UPDATE cse360request SET notes=? WHERE id=?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (PreparedStatement pstmt = prepare(sql)) {
             pstmt.setString(1, existingNotes);
             pstmt.setInt(2, requestId);
             pstmt.executeUpdate();
@@ -357,7 +594,7 @@ public class DatabaseHelper {
  	*/
     public Request getRequestById(int requestId) throws SQLException {
         String sql = "SELECT * FROM cse360request WHERE id=?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (PreparedStatement pstmt = prepare(sql)) {
             pstmt.setInt(1, requestId);
             ResultSet rs = pstmt.executeQuery();
             if (rs.next()) {
@@ -373,47 +610,58 @@ public class DatabaseHelper {
 
 	/**
 	 * Gets all of the reviewers that have been associated with the user. The user
-	 * sets these in the GUI. 
+	 * sets these in the GUI. The reviewers are read in one query, heaviest first. 
 	 * @param userId the id for the user requesting their Reviewer list
 	 * @return Map of Users and Integers for the reviewers and their weights  
 	 * @throws SQLException if there is an error in accessing the column. 
 	 */
 	public Map<User, Integer> getAllReviewersForUser(int userId) throws SQLException {
-		String query = "SELECT reviewers FROM cse360users WHERE id = ?";            // selecting all of the rows in the database
-		Map<User, Integer> reviewers = new HashMap<>();
+		// The primary key finds the student's rows, then each reviewer by primary key
+		String query = "SELECT " + USER_COLUMNS + ", tr.weight FROM cse360trusted_reviewer tr "
+				+ "JOIN cse360users c ON c.id = tr.reviewer_id WHERE tr.student_id = ? "
+				+ "ORDER BY tr.weight DESC, c.userName";
 
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+		try (PreparedStatement pstmt = prepare(query)) {
 			pstmt.setInt(1, userId);
-			ResultSet rs = pstmt.executeQuery();
-			
-			if (rs.next()) {
-				reviewers = getReviewersMap(rs.getString("reviewers"));
-			}
+			return getWeightedUsers(pstmt.executeQuery());
+		}
+	}
+
+	/**
+	 * Gets all of the students that have added the reviewer to their list of 
+	 * trusted reviewers, with the weight each of them gave the reviewer. 
+	 * @param reviewerId the id of the reviewer
+	 * @return Map of Users and Integers for the students and their weights  
+	 * @throws SQLException if there is an error in accessing the column. 
+	 */
+	public Map<User, Integer> getStudentsTrustingReviewer(int reviewerId) throws SQLException {
+		// An index lookup on the reviewer, then each student by primary key
+		String query = "SELECT " + USER_COLUMNS + ", tr.weight FROM cse360trusted_reviewer tr "
+				+ "JOIN cse360users c ON c.id = tr.student_id WHERE tr.reviewer_id = ? "
+				+ "ORDER BY tr.weight DESC, c.userName";
+
+		try (PreparedStatement pstmt = prepare(query)) {
+			pstmt.setInt(1, reviewerId);
+			return getWeightedUsers(pstmt.executeQuery());
 		}
-		return reviewers;
 	}
 	
 	/**
-	 * Function that will add a Reviewer ID to the User's list of Reviewers. 
+	 * Function that will add a Reviewer ID to the User's list of Reviewers. If the
+	 * Reviewer is already in the list, their weight is replaced. 
 	 * @param userId the id for the user adding a reviewer
 	 * @param newReviewer The User object that represents the Reviewer to be added
 	 * @param weight The selected weight value the User has given to the Reviewer
 	 * @return boolean 
 	 */
 	public boolean addReviewer(int userId, User newReviewer, int weight)  {
-		String query = "SELECT reviewers FROM cse360users WHERE id = ?";            // selecting all of the rows in the database
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+		String query = "MERGE INTO cse360trusted_reviewer (student_id, reviewer_id, weight) "
+				+ "KEY (student_id, reviewer_id) VALUES (?, ?, ?)";
+		try (PreparedStatement pstmt = prepare(query)) {
 			pstmt.setInt(1, userId);
-			ResultSet rs = pstmt.executeQuery();
-
-			if (rs.next()) {   // if the user is found
-				Map<User, Integer> reviewers = getReviewersMap(rs.getString("reviewers"));
-				//User newReviewer = getUser(reviewerId);
-				
-				reviewers.put(newReviewer, weight);
-				
-				updateReviewers(reviewers, userId);
-			}
+			pstmt.setInt(2, newReviewer.getUserId());
+			pstmt.setInt(3, weight);
+			pstmt.executeUpdate();
 			return true;
 		} catch (SQLException e) {
 			System.out.println("ADDREVIEWER: " + e.getMessage());
@@ -423,7 +671,7 @@ public class DatabaseHelper {
 	
 	/**
 	 * Function that will allow the User to update their list of reviewers completely.
-	 * Will update the whole list of reviewers, you should get current list of 
+	 * Will replace the whole list of reviewers, you should get current list of 
 	 * Reviewers first.   
 	 * @param reviewers Map of the Reviewers to be updated and their weights
 	 * @param userId the id for the user updating their Reviewer list
@@ -431,13 +679,30 @@ public class DatabaseHelper {
 	 * @throws SQLException if there is an error in accessing the column. 
 	 */
 	public boolean updateReviewers(Map<User, Integer> reviewers, int userId) throws SQLException {
-		String query = "UPDATE cse360users SET reviewers = ? WHERE id = ?";            // selecting all of the rows in the database
-
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
-			pstmt.setString(1, putReviewerMapToString(reviewers));
-			pstmt.setInt(2, userId);
-			pstmt.executeUpdate();
+		String deleteReviewers = "DELETE FROM cse360trusted_reviewer WHERE student_id = ?";
+		String insertReviewer = "INSERT INTO cse360trusted_reviewer (student_id, reviewer_id, weight) VALUES (?, ?, ?)";
+
+		Connection connection = connection();
+		boolean autoCommit = connection.getAutoCommit();
+		connection.setAutoCommit(false);
+		try (PreparedStatement delete = prepare(deleteReviewers); PreparedStatement insert = prepare(insertReviewer)) {
+			delete.setInt(1, userId);
+			delete.executeUpdate();
+
+			for (Map.Entry<User, Integer> reviewer : reviewers.entrySet()) {
+				insert.setInt(1, userId);
+				insert.setInt(2, reviewer.getKey().getUserId());
+				insert.setInt(3, reviewer.getValue());
+				insert.addBatch();
+			}
+			insert.executeBatch();
+			connection.commit();
 			return true;
+		} catch (SQLException e) {
+			connection.rollback();
+			throw e;
+		} finally {
+			connection.setAutoCommit(autoCommit);
 		}
 	}
 	
@@ -450,12 +715,15 @@ public class DatabaseHelper {
 	 * @return boolean
 	 */
 	public boolean updateReviewerWeight(int userId, User reviewer, int newWeight)  {
-		try {
-			Map<User, Integer> reviewers = getAllReviewersForUser(userId);
-			
-			reviewers.put(reviewer, newWeight);
-			
-			updateReviewers(reviewers, userId);
+		String query = "UPDATE cse360trusted_reviewer SET weight = ? WHERE student_id = ? AND reviewer_id = ?";
+		try (PreparedStatement pstmt = prepare(query)) {
+			pstmt.setInt(1, newWeight);
+			pstmt.setInt(2, userId);
+			pstmt.setInt(3, reviewer.getUserId());
+			if (pstmt.executeUpdate() == 0) {
+				System.out.println("UPDATEREVIEWERWEIGHT: Reviewer is not in the list");
+				return false;
+			}
 			return true;
 		} catch (SQLException e) {
 			System.out.println("UPDATEREVIEWERWEIGHT: " + e.getMessage());
@@ -470,20 +738,12 @@ public class DatabaseHelper {
 	 * @return boolean
 	 */
 	public boolean removeReviewer(int userId, User reviewer) {
-		String query = "SELECT reviewers FROM cse360users WHERE id = ?";            // selecting all of the rows in the database
+		String query = "DELETE FROM cse360trusted_reviewer WHERE student_id = ? AND reviewer_id = ?";
 		
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+		try (PreparedStatement pstmt = prepare(query)) {
 			pstmt.setInt(1, userId);
-			ResultSet rs = pstmt.executeQuery();
-
-			if (rs.next()) {   // if the user is found
-				Map<User, Integer> reviewers = getReviewersMap(rs.getString("reviewers"));
-				//User newReviewer = getUser(reviewerId);
-				
-				reviewers.remove(reviewer);
-				
-				updateReviewers(reviewers, userId);
-			}
+			pstmt.setInt(2, reviewer.getUserId());
+			pstmt.executeUpdate();
 			return true;
 		}
 		catch (SQLException e) {
@@ -500,19 +760,56 @@ public class DatabaseHelper {
 	 */
 	// Registers a new user in the database.
 	public void register(User user) throws SQLException {
-		String insertUser = "INSERT INTO cse360users (userName, name, password, email, roles, otp) VALUES (?, ?, ?, ?, ?, ?)";
-		try (PreparedStatement pstmt = connection.prepareStatement(insertUser)) { // added new values to set
-																					// corresponding to tables
+		String insertUser = "INSERT INTO cse360users (userName, name, password, email, otp) VALUES (?, ?, ?, ?, ?)";
+		String insertRole = "INSERT INTO cse360user_roles (user_id, role, position) VALUES (?, ?, ?)";
+		Connection connection = connection();
+		boolean autoCommit = connection.getAutoCommit();
+		connection.setAutoCommit(false);
+		try (PreparedStatement pstmt = getConnectionPool().prepare(insertUser, Statement.RETURN_GENERATED_KEYS);
+				PreparedStatement rolePstmt = prepare(insertRole)) { // added new values to set corresponding to tables
 			pstmt.setString(1, user.getUsername());
 			pstmt.setString(2, user.getName());
 			pstmt.setString(3, user.getPassword());
 			pstmt.setString(4, user.getEmail());
-			pstmt.setString(5, rolesSerial(user.getRoles()));
-			pstmt.setBoolean(6, user.getOTPFlag());
+			pstmt.setBoolean(5, user.getOTPFlag());
 			pstmt.executeUpdate();
+
+			ResultSet keys = pstmt.getGeneratedKeys();
+			if (keys.next()) {
+				List<String> roles = user.getRoles() == null ? List.of() : user.getRoles();
+				for (int i = 0; i < roles.size(); i++) {
+					rolePstmt.setInt(1, keys.getInt(1));
+					rolePstmt.setString(2, roles.get(i));
+					rolePstmt.setInt(3, i);
+					rolePstmt.addBatch();
+				}
+				rolePstmt.executeBatch();
+			}
+			connection.commit();
+		} catch (SQLException e) {
+			connection.rollback();
+			throw e;
+		} finally {
+			connection.setAutoCommit(autoCommit);
 		}
 	}
 	
+	/**
+	 * Imports a CSV roster of users in bulk, checking every row with the same
+	 * rules as the setup pages. See {@link UserImporter} for the file format.
+	 * @param csv the roster, header first.
+	 * @return a report of what was imported and which rows were not, and why.
+	 * @throws IOException if the roster cannot be read or has no usable header.
+	 * @throws SQLException if there is an error in accessing the database.
+	 */
+	public UserImporter.ImportReport importUsers(Reader csv) throws IOException, SQLException {
+		try {
+			return new UserImporter(getConnectionPool()).importCsv(csv);
+		} finally {
+			invalidateUserCaches();
+		}
+	}
+
 	/**
 	 * A method for creating a request to become a Reviewer. This request will then 
 	 * show up to the Admin to be approved. 
@@ -524,7 +821,7 @@ public class DatabaseHelper {
 		if (currentUser == null || currentUser.getUsername() == null) {
 	        throw new IllegalStateException("Current user is not set.");
 	    }
-		try (PreparedStatement pstmt = connection.prepareStatement(insertRequest)){
+		try (PreparedStatement pstmt = prepare(insertRequest)){
 			pstmt.setString(1,  request);
 			pstmt.setString(2,  currentUser.getUsername());
 			pstmt.setBoolean(3, false);
@@ -537,21 +834,50 @@ public class DatabaseHelper {
 	}
 
 	/**
-	 * This allows a User to have their roles updated. An Admin has to request 
-	 * new roles to be added or removed.   
+	 * This allows a User to have their roles replaced. An Admin has to request 
+	 * new roles to be added or removed. To add or remove a single role, use 
+	 * addRoles or removeRoles, which change only that role's row.   
 	 * @param username the username of the User to be updated
 	 * @param roles a comma separated string that contains the roles to be updated. 
 	 * @throws SQLException if there is an error in accessing the column. 
 	 */
 	public void updateRoles(String username, String roles) throws SQLException {
-		String insertUser = "UPDATE cse360users SET roles = ? WHERE username = ?"; // updating the roles for a user, add
-																					// or remove
-
-		try (PreparedStatement pstmt = connection.prepareStatement(insertUser)) {
-			pstmt.setString(1, roles);
-			pstmt.setString(2, username);
+		String deleteRoles = "DELETE FROM cse360user_roles WHERE user_id = (SELECT id FROM cse360users WHERE userName = ?)";
+		String insertRole = "INSERT INTO cse360user_roles (user_id, role, position) "
+				+ "SELECT id, ?, ? FROM cse360users WHERE userName = ?";
+		Connection connection = connection();
+		boolean autoCommit = connection.getAutoCommit();
+		connection.setAutoCommit(false);
+		try (PreparedStatement pstmt = prepare(deleteRoles); PreparedStatement rolePstmt = prepare(insertRole)) {
+			pstmt.setString(1, username);
 			pstmt.executeUpdate();
-			this.currentUser.getRoles().add(roles);
+
+			List<String> roleList = rolesDeserial(roles);
+			for (int i = 0; i < roleList.size(); i++) {
+				rolePstmt.setString(1, roleList.get(i));
+				rolePstmt.setInt(2, i);
+				rolePstmt.setString(3, username);
+				rolePstmt.addBatch();
+			}
+			rolePstmt.executeBatch();
+			connection.commit();
+		} catch (SQLException e) {
+			connection.rollback();
+			throw e;
+		} finally {
+			connection.setAutoCommit(autoCommit);
+		}
+		invalidateUserCaches();
+		refreshCurrentUser(username);
+	}
+
+	/**
+	 * Reloads the logged in User after their own roles change, so the pages see
+	 * the new roles.
+	 */
+	private void refreshCurrentUser(String username) throws SQLException {
+		if (currentUser != null && username.equals(currentUser.getUsername())) {
+			currentUser = getUser(username);
 		}
 	}
 
@@ -564,10 +890,11 @@ public class DatabaseHelper {
 	public void updatePassword(String username, String password) {
 		String insertUser = "UPDATE cse360users SET password = ? WHERE username = ?"; // able to update password for OTP
 
-		try (PreparedStatement pstmt = connection.prepareStatement(insertUser)) {
+		try (PreparedStatement pstmt = prepare(insertUser)) {
 			pstmt.setString(1, password);
 			pstmt.setString(2, username);
 			pstmt.executeUpdate();
+			invalidateUserCaches();
 
 		} catch (SQLException e) {
 			System.out.println("COULD NOT UPDATE PASSWORD: " + e.getMessage());
@@ -585,10 +912,11 @@ public class DatabaseHelper {
 		String insertUser = "UPDATE cse360users SET otp = ? WHERE username = ?"; // able to update if the user is using
 																					// a OTP
 
-		try (PreparedStatement pstmt = connection.prepareStatement(insertUser)) {
+		try (PreparedStatement pstmt = prepare(insertUser)) {
 			pstmt.setBoolean(1, flag);
 			pstmt.setString(2, username);
 			pstmt.executeUpdate();
+			invalidateUserCaches();
 
 		} catch (SQLException e) {
 			System.out.println("COULD NOT UPDATE OTP: " + e.getMessage());
@@ -602,8 +930,15 @@ public class DatabaseHelper {
 	 * @throws SQLException if there is an error in accessing the column. 
 	 */
 	public User getUser(String username) throws SQLException {
-		String query = "SELECT * FROM cse360users AS c WHERE c.username = ?	"; // getting all of the fields of a user
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+		return usersByName.get(username, () -> loadUser(username));
+	}
+
+	/**
+	 * Reads the User with the passed username from the database, skipping the cache.
+	 */
+	private User loadUser(String username) throws SQLException {
+		String query = "SELECT " + USER_COLUMNS + " FROM cse360users AS c WHERE c.username = ?"; // getting all of the fields of a user
+		try (PreparedStatement pstmt = prepare(query)) {
 			pstmt.setString(1, username);
 			ResultSet rs = pstmt.executeQuery();
 
@@ -630,8 +965,15 @@ public class DatabaseHelper {
 	 * @throws SQLException if there is an error in accessing the column. 
 	 */
 	public User getUser(int id) throws SQLException {
-		String query = "SELECT * FROM cse360users AS c WHERE c.id = ?	"; // getting all of the fields of a user
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+		return usersById.get(id, () -> loadUser(id));
+	}
+
+	/**
+	 * Reads the User with the passed id from the database, skipping the cache.
+	 */
+	private User loadUser(int id) throws SQLException {
+		String query = "SELECT " + USER_COLUMNS + " FROM cse360users AS c WHERE c.id = ?"; // getting all of the fields of a user
+		try (PreparedStatement pstmt = prepare(query)) {
 			pstmt.setInt(1, id);
 			ResultSet rs = pstmt.executeQuery();
 
@@ -652,7 +994,49 @@ public class DatabaseHelper {
 	}
 
 	/**
-	 * Allows a role to be added to a User. Calls the updateRoles function above. 
+	 * Returns the User objects for every id in the passed collection using a single
+	 * query. Used by the list loaders so that hydrating the authors of N rows costs
+	 * one round trip instead of N calls to getUser(int).
+	 * @param ids the ids of the Users requested. Duplicates and nulls are ignored.
+	 * @return a Map of user id to User. Ids that do not exist are not in the map.
+	 * @throws SQLException if there is an error in accessing the column.
+	 */
+	public Map<Integer, User> getUsersByIds(Collection<Integer> ids) throws SQLException {
+		Map<Integer, User> users = new HashMap<>();
+		Integer[] idList = ids.stream().filter(id -> id != null).distinct().toArray(Integer[]::new);
+		if (idList.length == 0) {
+			return users;
+		}
+
+		// One statement for any number of ids, so the statement cache holds a single entry
+		String query = "SELECT " + USER_COLUMNS + " FROM cse360users c WHERE c.id = ANY(?)";
+		Array array = connection().createArrayOf("INTEGER", idList);
+		try (PreparedStatement pstmt = prepare(query)) {
+			pstmt.setArray(1, array);
+			ResultSet rs = pstmt.executeQuery();
+
+			while (rs.next()) {
+				int id = rs.getInt("id");
+				String username = rs.getString("userName");
+				String name = rs.getString("name");
+				if (name == null || name.isEmpty()) {
+					name = "User";
+				}
+				String password = rs.getString("password");
+				String email = rs.getString("email");
+				List<String> roles = rolesDeserial(rs.getString("roles"));
+				boolean otp = rs.getBoolean("otp");
+				users.put(id, new User(id, username, name, password, email, roles, otp));
+			}
+		} finally {
+			array.free();
+		}
+		return users;
+	}
+
+	/**
+	 * Allows a role to be added to a User. Inserts a single row after the 
+	 * User's other roles. 
 	 * @param username the username of the user adding a role to 
 	 * @param newRole the new role to be added 
 	 * @return boolean for if the role got added   
@@ -660,32 +1044,27 @@ public class DatabaseHelper {
 	 */
 	public boolean addRoles(String username, String newRole) throws SQLException { // able to add roles based on
 																					// username
-		String query = "SELECT * FROM cse360users AS c WHERE c.username = ?	";
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
-			pstmt.setString(1, username);
-			ResultSet rs = pstmt.executeQuery();
-
-			if (rs.next()) { // if the user is found
-				List<String> roles = rolesDeserial(rs.getString("roles")); // deserialize string into list of roles
-				if (!roles.contains(newRole)) { // make sure to not duplicate roles
-					roles.add(newRole); // add new roles
+		String query = "INSERT INTO cse360user_roles (user_id, role, position) "
+				+ "SELECT c.id, ?, COALESCE((SELECT MAX(r.position) + 1 FROM cse360user_roles r WHERE r.user_id = c.id), 0) "
+				+ "FROM cse360users c WHERE c.userName = ? "
+				+ "AND NOT EXISTS (SELECT 1 FROM cse360user_roles r WHERE r.user_id = c.id AND r.role = ?)";
+		try (PreparedStatement pstmt = prepare(query)) {
+			pstmt.setString(1, newRole);
+			pstmt.setString(2, username);
+			pstmt.setString(3, newRole); // make sure to not duplicate roles
 
-					String rolesString = rolesSerial(roles); // serialize list of roles into a string
-					try {
-						updateRoles(username, rolesString); // calling updateRoles for reusability
-						return true;
-					} catch (SQLException e) {
-						System.out.println(e.getMessage() + "\n" + "ERROR IN ADDROLES/REGISTER");
-						return false;
-					}
-				} else {
-					System.out.println("ADDROLES: User already has this role");
-					return false;
-				}
+			if (pstmt.executeUpdate() > 0) {
+				invalidateUserCaches();
+				refreshCurrentUser(username);
+				return true;
 			}
+		}
+		if (doesUserExist(username)) {
+			System.out.println("ADDROLES: User already has this role");
+		} else {
 			System.out.println("ADDROLES: User was not found");
-			return false;
 		}
+		return false;
 	}
 
 	/**
@@ -696,9 +1075,10 @@ public class DatabaseHelper {
  	*/
 	public boolean banUser(String username) {
 	    String sql = "UPDATE cse360users SET banned = TRUE WHERE userName = ?";
-	    try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+	    try (PreparedStatement pstmt = prepare(sql)) {
 	        pstmt.setString(1, username);
 	        int affectedRows = pstmt.executeUpdate();
+	        invalidateUserCaches();
 	        return affectedRows > 0;  // Return true if at least one row was affected
 	    } catch (SQLException e) {
 	        e.printStackTrace();
@@ -714,9 +1094,10 @@ public class DatabaseHelper {
  	*/
 	public boolean unbanUser(String username) {
 	    String sql = "UPDATE cse360users SET banned = FALSE WHERE userName = ?";
-	    try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+	    try (PreparedStatement pstmt = prepare(sql)) {
 	        pstmt.setString(1, username);
 	        int affectedRows = pstmt.executeUpdate();
+	        invalidateUserCaches();
 	        return affectedRows > 0;  // Return true if at least one row was affected
 	    } catch (SQLException e) {
 	        e.printStackTrace();
@@ -732,7 +1113,7 @@ public class DatabaseHelper {
  	*/
 	public boolean isUserBanned(String username) {
 	    String sql = "SELECT banned FROM cse360users WHERE userName = ?";
-	    try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+	    try (PreparedStatement pstmt = prepare(sql)) {
 	        pstmt.setString(1, username);
 	        ResultSet rs = pstmt.executeQuery();
 	        if (rs.next()) {
@@ -746,45 +1127,38 @@ public class DatabaseHelper {
 
 	/**
 	 * This function will remove a role form the user who's username is passed in. 
-	 * This will call the updateRoles function from above. 
+	 * Deletes the single row for that role. The Admin role cannot be removed, and 
+	 * the logged in User cannot remove their own last role. 
 	 * @param username the username of the user that will have roles removed. 
 	 * @param newRole a string containing the role that will be removed.  
 	 * @return boolean
 	 * @throws SQLException if there is an error in accessing the column. 
 	 */
 	public boolean removeRoles(String username, String newRole) throws SQLException {
-		String query = "SELECT * FROM cse360users AS c WHERE c.username = ?	";
+		String query = "DELETE FROM cse360user_roles WHERE role = ? "
+				+ "AND user_id = (SELECT id FROM cse360users WHERE userName = ?)";
 
-		if (!newRole.equalsIgnoreCase("admin") && currentUser.getRoles().size() > 1) { // make sure that you are not  
-																						// deleting the only admin's
-																						// roles
+		boolean ownLastRole = currentUser != null && username.equals(currentUser.getUsername())
+				&& currentUser.getRoles().size() <= 1;
+		if (!newRole.equalsIgnoreCase("admin") && !ownLastRole) { // make sure that you are not deleting the
+																	// only admin's roles
 
-			try (PreparedStatement pstmt = connection.prepareStatement(query)) {
-				pstmt.setString(1, username);
-				ResultSet rs = pstmt.executeQuery();
-
-				if (rs.next()) {
-					List<String> roles = rolesDeserial(rs.getString("roles")); // get list of deserialized roles
-
-					if (roles.contains(newRole)) { // make sure that user has this role
-						roles.remove(roles.indexOf(newRole)); // possible to delete last role
-
-						String rolesString = rolesSerial(roles); // serialize roles into a string
-						try {
-							updateRoles(username, rolesString); // reusing updateRoles method
-							return true;
-						} catch (SQLException e) {
-							System.out.println(e.getMessage() + "\n" + "ERROR IN REMOVEROLES/REGISTER");
-							return false;
-						}
-					} else {
-						System.out.println("REMOVEROLES: User does not have this role");
-						return false;
-					}
-				} else {
-					System.out.println("REMOVEROLES: User was not found");
+			try (PreparedStatement pstmt = prepare(query)) {
+				pstmt.setString(1, newRole);
+				pstmt.setString(2, username);
+
+				if (pstmt.executeUpdate() > 0) { // possible to delete last role
+					invalidateUserCaches();
+					refreshCurrentUser(username);
+					return true;
 				}
 			}
+			if (doesUserExist(username)) {
+				System.out.println("REMOVEROLES: User does not have this role");
+			} else {
+				System.out.println("REMOVEROLES: User was not found");
+			}
+			return false;
 		}
 		System.out.println("REMOVEROLES: You cannot remove your own roles");
 		return false;
@@ -799,7 +1173,7 @@ public class DatabaseHelper {
 	 */
 	public boolean deleteRequest(String username) {
 		String query = "DELETE FROM cse360request as c WHERE c.username = ?";
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+		try (PreparedStatement pstmt = prepare(query)) {
 			pstmt.setString(1, username);
 
 			if (pstmt.executeUpdate() > 0) {
@@ -827,11 +1201,12 @@ public class DatabaseHelper {
 
 			String query = "DELETE FROM cse360users AS c WHERE c.username = ?"; // delete the correct user row from
 																				// database
-			try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+			try (PreparedStatement pstmt = prepare(query)) {
 				pstmt.setString(1, username);
 
 				if (pstmt.executeUpdate() > 0) {
 					System.out.println("DELETEUSER: User successfully deleted");
+					invalidateUserCaches();
 					return true;
 				}
 				System.out.println("DELETEUSER: User was not found");
@@ -852,10 +1227,10 @@ public class DatabaseHelper {
 	 * @throws SQLException if there is an error in accessing the column. 
 	 */
 	public List<User> getAllUsers() throws SQLException {
-		String query = "SELECT * FROM cse360users"; // selecting all of the rows in the database
+		String query = "SELECT " + USER_COLUMNS + " FROM cse360users c"; // selecting all of the rows in the database
 		List<User> users = new ArrayList<>();
 
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+		try (PreparedStatement pstmt = prepare(query)) {
 			ResultSet rs = pstmt.executeQuery();
 
 			while (rs.next()) {
@@ -886,7 +1261,7 @@ public class DatabaseHelper {
 	public List<Request> getAllRequestsA() throws SQLException {
 		String query = "SELECT userName, request, requestTOF, requestATOF FROM cse360request";
 		List<Request> requests = new ArrayList<>();
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+		try (PreparedStatement pstmt = prepare(query)) {
 			ResultSet rs = pstmt.executeQuery();
 
 			while (rs.next()) {
@@ -912,7 +1287,7 @@ public class DatabaseHelper {
 	    String query = "SELECT id, userName, request, requestTOF, requestATOF, notes, status, originalId FROM cse360request";
 	    List<Request> requests = new ArrayList<>();
 
-	    try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+	    try (PreparedStatement pstmt = prepare(query)) {
 	        ResultSet rs = pstmt.executeQuery();
 	        while (rs.next()) {
 	            int id = rs.getInt("id");
@@ -947,7 +1322,7 @@ public class DatabaseHelper {
 	public List<Request> getAllReviewerRequests() throws SQLException {
 	    String sql = "SELECT * FROM cse360request WHERE requestATOF = true";
 	    List<Request> reviewerRequests = new ArrayList<>();
-	    try (PreparedStatement pstmt = connection.prepareStatement(sql);
+	    try (PreparedStatement pstmt = prepare(sql);
 	         ResultSet rs = pstmt.executeQuery()) {
 	        while (rs.next()) {
 	            Request r = buildRequestFromResultSet(rs);
@@ -968,7 +1343,7 @@ public class DatabaseHelper {
 	public void updateRequestStatus(String userName, boolean requestTOF, boolean requestATOF) throws SQLException {
 	    String query = "UPDATE cse360request SET requestTOF = ?, requestATOF = ? WHERE userName = ?";
 
-	    try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+	    try (PreparedStatement pstmt = prepare(query)) {
 	        pstmt.setBoolean(1, requestTOF);
 	        pstmt.setBoolean(2, requestATOF);
 	        pstmt.setString(3, userName);
@@ -984,7 +1359,7 @@ public class DatabaseHelper {
 	public List<Request> getAllRequestsForAdmin() throws SQLException {
 		String query = "SELECT userName, request, requestTOF, requestATOF FROM cse360request WHERE requestATOF = TRUE";
 		List<Request> requests = new ArrayList<>();
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+		try (PreparedStatement pstmt = prepare(query)) {
 			ResultSet rs = pstmt.executeQuery();
 
 			while (rs.next()) {
@@ -1009,11 +1384,13 @@ public class DatabaseHelper {
 	 */
 	// Retrieves all users with a specified role
 	public List<User> getAllUsersWithRole(String role) throws SQLException {
-		String query = "SELECT * FROM cse360users WHERE roles LIKE ?";
+		// An index lookup on the role, then the matching users by primary key
+		String query = "SELECT " + USER_COLUMNS + " FROM cse360user_roles ur "
+				+ "JOIN cse360users c ON c.id = ur.user_id WHERE ur.role = ? ORDER BY c.id";
 		List<User> users = new ArrayList<>();
 
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
-			pstmt.setString(1, "%" + role + "%");
+		try (PreparedStatement pstmt = prepare(query)) {
+			pstmt.setString(1, role);
 
 			ResultSet rs = pstmt.executeQuery();
 
@@ -1029,14 +1406,45 @@ public class DatabaseHelper {
 				List<String> roles = rolesDeserial(rs.getString("roles"));
 				boolean otp = rs.getBoolean("otp");
 
-				if (roles.contains(role)) {
-					User user = new User(id, username, name, password, email, roles, otp); // create new user
+				User user = new User(id, username, name, password, email, roles, otp); // create new user
+				users.add(user); // add new user to the list of users
+			}
+		}
+		return users;
+	}
 
-					users.add(user); // add new user to the list of users
+	/**
+	 * This method returns all of the Users with the Reviewer role along with 
+	 * their reputation, highest rated first. Reviewers with the same rating are 
+	 * ordered by their vote sum, and reviewers who have not written a review 
+	 * are rated 0. 
+	 * @return a List of the reviewers and their stats, highest rated first.  
+	 * @throws SQLException if there is an error in accessing the column. 
+	 */
+	public List<ReviewerStats> getReviewersByRating() throws SQLException {
+		// An index lookup on the role, then each reviewer and their stats by primary key
+		String query = "SELECT " + USER_COLUMNS + ", COALESCE(s.review_count, 0) AS review_count, "
+				+ "COALESCE(s.vote_sum, 0) AS vote_sum, COALESCE(s.rating, 0) AS rating FROM cse360user_roles ur "
+				+ "JOIN cse360users c ON c.id = ur.user_id "
+				+ "LEFT JOIN cse360reviewerstats s ON s.reviewer_id = c.id WHERE ur.role = 'Reviewer' "
+				+ "ORDER BY rating DESC, vote_sum DESC, c.id";
+		List<ReviewerStats> reviewers = new ArrayList<>();
+
+		try (PreparedStatement pstmt = prepare(query)) {
+			ResultSet rs = pstmt.executeQuery();
+
+			while (rs.next()) {
+				String name = rs.getString("name");
+				if (name == null || name.isEmpty()) {
+					name = "User";
 				}
+				User user = new User(rs.getInt("id"), rs.getString("userName"), name, rs.getString("password"),
+						rs.getString("email"), rolesDeserial(rs.getString("roles")), rs.getBoolean("otp"));
+				reviewers.add(new ReviewerStats(user, rs.getInt("review_count"), rs.getInt("vote_sum"),
+						rs.getInt("rating")));
 			}
 		}
-		return users;
+		return reviewers;
 	}
 
 	/**
@@ -1050,11 +1458,11 @@ public class DatabaseHelper {
 	// Validates a user's login credentials.
 	public User login(String username, String password) throws SQLException {
 	    String query = "SELECT * FROM cse360users WHERE userName = ? AND password = ? AND password <> ''";
-	    if (connection == null) {
+	    if (connectionPool == null) {
 	        connectToDatabase();
 	    }
 
-	    try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+	    try (PreparedStatement pstmt = prepare(query)) {
 	        pstmt.setString(1, username);
 	        pstmt.setString(2, password);
 
@@ -1077,10 +1485,11 @@ public class DatabaseHelper {
 	                if (otp) {
 	                    // Reset password after OTP login
 	                    String updateQuery = "UPDATE cse360users SET password = '' WHERE userName = ?";
-	                    try (PreparedStatement updatepstmt = connection.prepareStatement(updateQuery)) {
+	                    try (PreparedStatement updatepstmt = prepare(updateQuery)) {
 	                        updatepstmt.setString(1, username);
 	                        updatepstmt.executeUpdate();
 	                    }
+	                    invalidateUserCaches();
 	                }
 	                return currentUser;
 	            }
@@ -1098,7 +1507,7 @@ public class DatabaseHelper {
 	// Checks if a user already exists in the database based on their userName.
 	public boolean doesUserExist(String username) {
 		String query = "SELECT COUNT(*) FROM cse360users WHERE userName = ?"; // make sure that user exists
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+		try (PreparedStatement pstmt = prepare(query)) {
 
 			pstmt.setString(1, username);
 			ResultSet rs = pstmt.executeQuery();
@@ -1121,15 +1530,22 @@ public class DatabaseHelper {
 	 */
 	// Retrieves the role of a user from the database using their UserName.
 	public List<String> getUserRole(String username) {
-		String query = "SELECT roles FROM cse360users WHERE userName = ?"; // getting all of the roles for a user
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+		String query = "SELECT r.role FROM cse360users c LEFT JOIN cse360user_roles r ON r.user_id = c.id "
+				+ "WHERE c.userName = ? ORDER BY r.position"; // getting all of the roles for a user
+		try (PreparedStatement pstmt = prepare(query)) {
 			pstmt.setString(1, username);
 			ResultSet rs = pstmt.executeQuery();
 
-			if (rs.next()) {
-				return rolesDeserial(rs.getString("roles")); // Return the role if user exists, deserializing into a
-																// list
+			List<String> roles = null;
+			while (rs.next()) { // Return the roles if user exists, in the order they were given
+				if (roles == null) {
+					roles = new ArrayList<>();
+				}
+				if (rs.getString("role") != null) {
+					roles.add(rs.getString("role"));
+				}
 			}
+			return roles;
 		} catch (SQLException e) {
 			e.printStackTrace();
 		}
@@ -1149,7 +1565,7 @@ public class DatabaseHelper {
 																											// for
 																											// invalidation
 		System.out.println(code);
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+		try (PreparedStatement pstmt = prepare(query)) {
 			pstmt.setString(1, code);
 			pstmt.executeUpdate();
 		} catch (SQLException e) {
@@ -1165,7 +1581,7 @@ public class DatabaseHelper {
 	 * @return String 
 	 */
 	public String generateOneTimePassword() {
-		String special = "~`!@#$%^&*()_-+{}[]|:,.?/"; // same list of special characters in PasswordEvaluator
+		String special = PasswordEvaluator.SPECIAL_CHARACTERS; // a password must include one of these
 		String lower = "abcdefghijklmnopqrstuvwxyz"; // alphabet in lowercase
 		String upper = lower.toUpperCase(); // using lowercase alphabet to uppercase
 		String OTP = "";
@@ -1200,7 +1616,7 @@ public class DatabaseHelper {
 		String query = "SELECT * FROM InvitationCodes WHERE code = ? AND isUsed = FALSE AND generatedDate >= DATEADD('MINUTE', -15, CURRENT_TIMESTAMP)";
 		// If expiration date is changed, make sure to update expiration label in
 		// InvitationPage with new time limit
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+		try (PreparedStatement pstmt = prepare(query)) {
 			pstmt.setString(1, code);
 			ResultSet rs = pstmt.executeQuery();
 			if (rs.next()) {
@@ -1224,7 +1640,7 @@ public class DatabaseHelper {
 	private void markInvitationCodeAsUsed(String code) {
 		String query = "UPDATE InvitationCodes SET isUsed = TRUE WHERE code = ?"; // update Invitation Code to true when
 																					// used
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+		try (PreparedStatement pstmt = prepare(query)) {
 			pstmt.setString(1, code);
 			pstmt.executeUpdate();
 		} catch (SQLException e) {
@@ -1239,7 +1655,7 @@ public class DatabaseHelper {
 	 * @return List<String> 
 	 */
 	private List<String> rolesDeserial(String roles) { // Deserializing from String to List<Roles> for easier logic
-		if (roles == null || roles == "") {
+		if (roles == null || roles.isEmpty()) {
 			return new ArrayList<>(); // if roles is empty or null, return empty list, was returning 1 comma before
 										// this
 		} else {
@@ -1249,104 +1665,76 @@ public class DatabaseHelper {
 	}
 
 	/**
-	 *  This helper method is used to encode a List of roles into a 
-	 *  comma separated string to be stored by the database.
-	 * @param roles the List of roles that will be encoded. 
-	 * @return String
+	 * This helper method reads the users and their weights from the rows of a
+	 * trusted reviewer query, keeping the order of the rows. 
+	 * @param rs the rows, each a user followed by its weight
+	 * @return Map<User, Integer>  
+	 * @throws SQLException if there is an error in accessing the column. 
 	 */
-	private String rolesSerial(List<String> roles) { // serializing a List<Roles> into a string to be stored in database
-		if (roles == null || roles.isEmpty()) { // make sure that the list is not empty or null
-			return "";
-		} else {
-			return String.join(",", roles); // joining each Role in the list to be comma separated string
+	private Map<User, Integer> getWeightedUsers(ResultSet rs) throws SQLException {
+		Map<User, Integer> users = new LinkedHashMap<>();
+		while (rs.next()) {
+			int id = rs.getInt("id");
+			String username = rs.getString("userName");
+			String name = rs.getString("name");
+			if (name == null || name.isEmpty()) {
+				name = "User";
+			}
+			String password = rs.getString("password");
+			String email = rs.getString("email");
+			List<String> roles = rolesDeserial(rs.getString("roles"));
+			boolean otp = rs.getBoolean("otp");
+			users.put(new User(id, username, name, password, email, roles, otp), rs.getInt("weight"));
 		}
+		return users;
 	}
 
 	/**
-	 * This helper method is used to encode a Map of User's and Integers
-	 * into a string with custom delimiters to be stored by the database.
-	 * @param map the map of User's and their Integer weights. 
-	 * @return String   
+	 * Sets the user logged in to have the most current role 
+	 * for this class to stay updated. 
+	 * @param role the role to be set as the current role 
 	 */
-	private String putReviewerMapToString(Map<User, Integer> map) {
-		String mapToString = "";
-		if (map.isEmpty()) {
-			return "";
-			
-		}
-		else {
-			for (Map.Entry<User, Integer> m: map.entrySet()) {
-				mapToString = mapToString + "! ";
-				
-				mapToString = mapToString + m.getKey().getUsername();
-				
-				mapToString = mapToString + " " + m.getValue() + " ";
-				
-			}
-		}
-		return mapToString;
+	public void setUserCurrentRole(String role) { // public setter for when user picks their role
+		currentUser.setCurrentRole(role);
 	}
-	
 
 	/**
-	 * This helper method is used to decode a delimited String 
-	 * into a Map of Users and Integers. 
-	 * @param json the delimited string to be decoded. 
-	 * @return Map<User, Integer>  
+	 * Returns the entity caches of this helper and the QA helper, so their hit
+	 * ratios can be checked when tuning the cache sizes.
+	 *
+	 * @return a List of the user, question, answer and review caches
 	 */
-	private Map<User, Integer> getReviewersMap(String json) {   /// what it will be stored as ! userId weight ! userId weight 
-		Map<User, Integer> ret = new HashMap<>();
-		if (json == null || json.isEmpty()) {        // make sure that the list is not empty or null
-			return new HashMap<>();
-		} else {  
-			
-			String [] split = json.split("!");
-			for (String s : split) {
-				if (s.trim().isEmpty()) continue;
-				
-				String [] split2 = s.split(" ");
-			
-				try {
-					User user = getUser(split2[1]);
-					ret.put(user, Integer.parseInt(split2[2]));	
-				}
-				
-				catch (SQLException e) {
-					System.out.println("GETREVIEWERSMAP: COULD NOT GET USER" + e.getMessage());
-				}
-			}
-			
-			
-			}
-			return ret;
-		}
-	
+	public List<EntityCache<?, ?>> getEntityCaches() {
+		List<EntityCache<?, ?>> caches = new ArrayList<>();
+		caches.add(usersById);
+		caches.add(usersByName);
+		caches.addAll(qaHelper.getEntityCaches());
+		return caches;
+	}
 
 	/**
-	 * Sets the user logged in to have the most current role 
-	 * for this class to stay updated. 
-	 * @param role the role to be set as the current role 
+	 * Drops every cached User after a change to the users table. Questions, answers
+	 * and reviews carry a copy of their author, so the QA caches are cleared too.
 	 */
-	public void setUserCurrentRole(String role) { // public setter for when user picks their role
-		currentUser.setCurrentRole(role);
+	private void invalidateUserCaches() {
+		usersById.clear();
+		usersByName.clear();
+		qaHelper.clearEntityCaches();
 	}
 
 	/**
 	 * Closes the connection to the database. . 
 	 */
-	// Closes the database connection and statement.
-	public void closeConnection() {
-		try {
-			if (statement != null)
-				statement.close();
-		} catch (SQLException se2) {
-			se2.printStackTrace();
-		}
-		try {
-			if (connection != null)
-				connection.close();
-		} catch (SQLException se) {
-			se.printStackTrace();
+	// Writes any pending read receipts, then closes every connection in the pool.
+	public synchronized void closeConnection() {
+		if (connectionPool != null) {
+			try {
+				qaHelper.flushReadReceipts();
+			} catch (SQLException e) {
+				System.err.println("Error writing read receipts before closing: " + e.getMessage());
+			}
+			connectionPool.close();
+			connectionPool = null;
 		}
 	}
 
@@ -0,0 +1,202 @@
+package databasePart1;
+
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * <p>
+ * A size-bounded, least recently used read-through cache of entities loaded
+ * from the database.
+ * </p>
+ * <p>
+ * The helpers put one of these in front of their single-row lookups such as
+ * getUser(int) and getQuestion(Integer). A lookup that misses runs the loader
+ * and keeps its result, and every write to the underlying rows invalidates the
+ * affected entries. The model objects are mutable, so the cache hands out
+ * copies and the pages can change what they are given without changing what
+ * is cached. A load that overlaps an invalidation is returned but not kept, so
+ * a slow read cannot put back a value that a write has just replaced. Missing
+ * rows are not cached.
+ * </p>
+ * @author CSE360 Team 8
+ *
+ * @version 0.00 2025-04-20 - Initial baseline
+ *
+ * @param <K> 	The type of key the entities are looked up by
+ * @param <V> 	The type of entity cached
+ */
+public class EntityCache<K, V> {
+	/**
+	 * Loads an entity from the database when it is not cached
+	 *
+	 * @param <V> 	The type of entity loaded
+	 */
+	@FunctionalInterface
+	public interface Loader<V> {
+		/**
+		 * Loads the entity
+		 *
+		 * @return 					The entity, or null if it does not exist
+		 *
+		 * @throws SQLException 	In case the database throws an error
+		 *
+		 */
+		V load() throws SQLException;
+	}
+
+	private final String name;
+	private final UnaryOperator<V> copier;
+	private final Map<K, V> entries;
+
+	private long hits = 0;
+	private long misses = 0;
+
+	// Bumped on every invalidation so loads that started earlier are not kept
+	private long generation = 0;
+
+	/**
+	 * Creates an empty cache
+	 *
+	 * @param name 			A name for the cache, used when reporting its statistics
+	 * @param capacity 		The most entities to keep at once
+	 * @param copier 		Makes the copy of a cached entity handed to callers
+	 *
+	 */
+	public EntityCache(String name, int capacity, UnaryOperator<V> copier) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException("Invalid cache capacity: " + capacity);
+		}
+		this.name = name;
+		this.copier = copier;
+		// Access order makes the first entry the least recently used one
+		this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+				return size() > capacity;
+			}
+		};
+	}
+
+	/**
+	 * Returns a copy of the cached entity for the key, loading and caching it first
+	 * if it is not cached
+	 *
+	 * @param key 				The key of the entity
+	 * @param loader 			Loads the entity from the database on a miss
+	 *
+	 * @return 					A copy of the entity, or null if it does not exist
+	 *
+	 * @throws SQLException 	In case the database throws an error
+	 *
+	 */
+	public V get(K key, Loader<V> loader) throws SQLException {
+		long loadGeneration;
+		synchronized (this) {
+			V cached = entries.get(key);
+			if (cached != null) {
+				hits++;
+				return copier.apply(cached);
+			}
+			misses++;
+			loadGeneration = generation;
+		}
+
+		// Load outside the lock so other lookups are not held up by the database
+		V loaded = loader.load();
+		if (loaded == null) {
+			return null;
+		}
+		synchronized (this) {
+			if (generation == loadGeneration) {
+				entries.put(key, loaded);
+			}
+		}
+		return copier.apply(loaded);
+	}
+
+	/**
+	 * Removes the entity for a key, if it is cached
+	 *
+	 * @param key 		The key of the entity that has changed
+	 *
+	 */
+	public synchronized void invalidate(K key) {
+		entries.remove(key);
+		generation++;
+	}
+
+	/**
+	 * Removes every cached entity
+	 */
+	public synchronized void clear() {
+		entries.clear();
+		generation++;
+	}
+
+	/**
+	 * Returns the name of the cache
+	 *
+	 * @return 		The name given when the cache was created
+	 *
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Returns the number of entities currently cached
+	 *
+	 * @return 		The number of cached entities
+	 *
+	 */
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Returns the number of lookups answered from the cache
+	 *
+	 * @return 		The number of cache hits
+	 *
+	 */
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	/**
+	 * Returns the number of lookups that had to go to the database
+	 *
+	 * @return 		The number of cache misses
+	 *
+	 */
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * Returns the share of lookups answered from the cache
+	 *
+	 * @return 		The hit ratio between 0 and 1, or 0 before any lookups
+	 *
+	 */
+	public synchronized double getHitRatio() {
+		long lookups = hits + misses;
+		return lookups == 0 ? 0.0 : (double) hits / lookups;
+	}
+
+	/**
+	 * Returns a summary of the cache statistics for logging
+	 *
+	 * @return 		The name, size, hits, misses and hit ratio of the cache
+	 *
+	 */
+	@Override
+	public synchronized String toString() {
+		return String.format("%s: %d cached, %d hits, %d misses, %.1f%% hit ratio", name, entries.size(), hits,
+				misses, getHitRatio() * 100);
+	}
+}
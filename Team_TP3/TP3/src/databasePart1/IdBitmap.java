@@ -0,0 +1,493 @@
+package databasePart1;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.IntConsumer;
+
+/**
+ * <p>
+ * A compressed set of non-negative ids, stored the way a roaring bitmap is.
+ * </p>
+ * <p>
+ * Ids are split by their upper 16 bits into chunks of 65536. A chunk with few
+ * ids keeps them as a sorted array of their lower 16 bits, and a chunk with
+ * more than 4096 ids switches to a plain 8 KB bitmap, so sparse and dense sets
+ * both stay small. QAHelper1 keeps one of these per user for the answers they
+ * have read, stored as a BLOB by toBytes() and read back by fromBytes().
+ * </p>
+ * <p>
+ * The class is not thread safe. The helpers hand out copies rather than sharing
+ * one instance between threads.
+ * </p>
+ * @author CSE360 Team 8
+ *
+ * @version 0.00 2025-04-20 - Initial baseline
+ *
+ */
+public class IdBitmap {
+	// A chunk with more ids than this is stored as a bitmap instead of an array
+	private static final int ARRAY_LIMIT = 4096;
+
+	// Number of 64 bit words in a chunk bitmap
+	private static final int BITMAP_WORDS = 1024;
+
+	// Container types written by toBytes()
+	private static final byte ARRAY = 0;
+	private static final byte BITMAP = 1;
+
+	// Chunks by the upper 16 bits of the ids they hold
+	private final TreeMap<Integer, Container> chunks = new TreeMap<>();
+
+	/**
+	 * Creates an empty bitmap
+	 */
+	public IdBitmap() {
+	}
+
+	/**
+	 * Creates a copy of another bitmap
+	 *
+	 * @param other 	The bitmap to copy
+	 *
+	 */
+	public IdBitmap(IdBitmap other) {
+		for (Map.Entry<Integer, Container> chunk : other.chunks.entrySet()) {
+			chunks.put(chunk.getKey(), chunk.getValue().copy());
+		}
+	}
+
+	/**
+	 * Creates a bitmap holding the given ids
+	 *
+	 * @param ids 		The ids to add
+	 *
+	 * @return 			A new bitmap
+	 *
+	 */
+	public static IdBitmap of(Iterable<Integer> ids) {
+		IdBitmap bitmap = new IdBitmap();
+		for (int id : ids) {
+			bitmap.add(id);
+		}
+		return bitmap;
+	}
+
+	/**
+	 * Adds an id to the set
+	 *
+	 * @param id 		The id to add, which must not be negative
+	 *
+	 * @return 			True if the id was not already in the set
+	 *
+	 */
+	public boolean add(int id) {
+		if (id < 0) {
+			throw new IllegalArgumentException("Invalid id: " + id);
+		}
+		Container chunk = chunks.computeIfAbsent(id >>> 16, k -> new ArrayContainer());
+		if (chunk.contains(low(id))) {
+			return false;
+		}
+		chunks.put(id >>> 16, chunk.add(low(id)));
+		return true;
+	}
+
+	/**
+	 * Returns whether an id is in the set
+	 *
+	 * @param id 		The id to look for
+	 *
+	 * @return 			True if the id is in the set
+	 *
+	 */
+	public boolean contains(int id) {
+		if (id < 0) {
+			return false;
+		}
+		Container chunk = chunks.get(id >>> 16);
+		return chunk != null && chunk.contains(low(id));
+	}
+
+	/**
+	 * Returns the number of ids in the set
+	 *
+	 * @return 		The number of ids
+	 *
+	 */
+	public int cardinality() {
+		int cardinality = 0;
+		for (Container chunk : chunks.values()) {
+			cardinality += chunk.cardinality();
+		}
+		return cardinality;
+	}
+
+	/**
+	 * Returns whether the set is empty
+	 *
+	 * @return 		True if the set holds no ids
+	 *
+	 */
+	public boolean isEmpty() {
+		return chunks.isEmpty();
+	}
+
+	/**
+	 * Adds every id in another bitmap to this one
+	 *
+	 * @param other 	The bitmap whose ids are added
+	 *
+	 * @return 			The number of ids that were not already in this set
+	 *
+	 */
+	public int addAll(IdBitmap other) {
+		int[] added = { 0 };
+		other.forEach(id -> {
+			if (add(id)) {
+				added[0]++;
+			}
+		});
+		return added[0];
+	}
+
+	/**
+	 * Returns the ids that are in both this set and another
+	 *
+	 * @param other 	The other bitmap
+	 *
+	 * @return 			A new bitmap of the ids in both
+	 *
+	 */
+	public IdBitmap and(IdBitmap other) {
+		IdBitmap result = new IdBitmap();
+		for (Map.Entry<Integer, Container> chunk : chunks.entrySet()) {
+			Container theirs = other.chunks.get(chunk.getKey());
+			if (theirs != null) {
+				result.addChunk(chunk.getKey(), chunk.getValue(), theirs, true);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the ids that are in this set but not in another
+	 *
+	 * @param other 	The other bitmap
+	 *
+	 * @return 			A new bitmap of the ids only in this set
+	 *
+	 */
+	public IdBitmap andNot(IdBitmap other) {
+		IdBitmap result = new IdBitmap();
+		for (Map.Entry<Integer, Container> chunk : chunks.entrySet()) {
+			Container theirs = other.chunks.get(chunk.getKey());
+			if (theirs == null) {
+				result.chunks.put(chunk.getKey(), chunk.getValue().copy());
+			} else {
+				result.addChunk(chunk.getKey(), chunk.getValue(), theirs, false);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Runs an action for every id in the set, in increasing order
+	 *
+	 * @param action 	The action to run
+	 *
+	 */
+	public void forEach(IntConsumer action) {
+		for (Map.Entry<Integer, Container> chunk : chunks.entrySet()) {
+			int high = chunk.getKey() << 16;
+			chunk.getValue().forEach(low -> action.accept(high | low));
+		}
+	}
+
+	/**
+	 * Returns the ids in the set
+	 *
+	 * @return 		An array of the ids in increasing order
+	 *
+	 */
+	public int[] toArray() {
+		int[] ids = new int[cardinality()];
+		int[] next = { 0 };
+		forEach(id -> ids[next[0]++] = id);
+		return ids;
+	}
+
+	/**
+	 * Serializes the set for storing in the database
+	 *
+	 * @return 		The bytes of the set, read back by fromBytes()
+	 *
+	 */
+	public byte[] toBytes() {
+		int size = Integer.BYTES;
+		for (Container chunk : chunks.values()) {
+			size += Character.BYTES + 1 + Integer.BYTES + chunk.serializedSize();
+		}
+		ByteBuffer buffer = ByteBuffer.allocate(size);
+		buffer.putInt(chunks.size());
+		for (Map.Entry<Integer, Container> chunk : chunks.entrySet()) {
+			buffer.putChar((char) chunk.getKey().intValue());
+			chunk.getValue().write(buffer);
+		}
+		return buffer.array();
+	}
+
+	/**
+	 * Reads back a set written by toBytes()
+	 *
+	 * @param bytes 	The serialized set, or null for an empty set
+	 *
+	 * @return 			A new bitmap
+	 *
+	 */
+	public static IdBitmap fromBytes(byte[] bytes) {
+		IdBitmap bitmap = new IdBitmap();
+		if (bytes == null || bytes.length == 0) {
+			return bitmap;
+		}
+		try {
+			ByteBuffer buffer = ByteBuffer.wrap(bytes);
+			int count = buffer.getInt();
+			for (int i = 0; i < count; i++) {
+				int key = buffer.getChar();
+				byte type = buffer.get();
+				int cardinality = buffer.getInt();
+				if (type == ARRAY) {
+					ArrayContainer chunk = new ArrayContainer();
+					chunk.values = new char[cardinality];
+					buffer.asCharBuffer().get(chunk.values);
+					buffer.position(buffer.position() + cardinality * Character.BYTES);
+					chunk.size = cardinality;
+					bitmap.chunks.put(key, chunk);
+				} else if (type == BITMAP) {
+					BitmapContainer chunk = new BitmapContainer();
+					buffer.asLongBuffer().get(chunk.words);
+					buffer.position(buffer.position() + BITMAP_WORDS * Long.BYTES);
+					chunk.cardinality = cardinality;
+					bitmap.chunks.put(key, chunk);
+				} else {
+					throw new IllegalArgumentException("Unknown bitmap container type: " + type);
+				}
+			}
+		} catch (BufferUnderflowException e) {
+			throw new IllegalArgumentException("Truncated bitmap", e);
+		}
+		return bitmap;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof IdBitmap)) {
+			return false;
+		}
+		return Arrays.equals(toArray(), ((IdBitmap) obj).toArray());
+	}
+
+	@Override
+	public int hashCode() {
+		return Arrays.hashCode(toArray());
+	}
+
+	@Override
+	public String toString() {
+		return "IdBitmap[" + cardinality() + " ids in " + chunks.size() + " chunks]";
+	}
+
+	/**
+	 * Adds the ids of one chunk that are, or are not, also in another chunk
+	 */
+	private void addChunk(int key, Container mine, Container theirs, boolean keepShared) {
+		Container result = new ArrayContainer();
+		int[] kept = { 0 };
+		Container[] target = { result };
+		mine.forEach(low -> {
+			if (theirs.contains((char) low) == keepShared) {
+				target[0] = target[0].add((char) low);
+				kept[0]++;
+			}
+		});
+		if (kept[0] > 0) {
+			chunks.put(key, target[0]);
+		}
+	}
+
+	/**
+	 * Returns the lower 16 bits of an id
+	 */
+	private static char low(int id) {
+		return (char) id;
+	}
+
+	/**
+	 * The ids of one chunk, keyed by their lower 16 bits
+	 */
+	private abstract static class Container {
+		/**
+		 * Returns whether the chunk holds a value
+		 */
+		abstract boolean contains(char value);
+
+		/**
+		 * Adds a value not already in the chunk, returning the container to keep,
+		 * which is a new one if the chunk changed representation
+		 */
+		abstract Container add(char value);
+
+		/**
+		 * Returns the number of values in the chunk
+		 */
+		abstract int cardinality();
+
+		/**
+		 * Runs an action for every value in increasing order
+		 */
+		abstract void forEach(IntConsumer action);
+
+		/**
+		 * Returns a deep copy of the chunk
+		 */
+		abstract Container copy();
+
+		/**
+		 * Returns the number of bytes write() puts after the type and cardinality
+		 */
+		abstract int serializedSize();
+
+		/**
+		 * Writes the type, cardinality and values of the chunk
+		 */
+		abstract void write(ByteBuffer buffer);
+	}
+
+	/**
+	 * A chunk of up to ARRAY_LIMIT values kept as a sorted array
+	 */
+	private static final class ArrayContainer extends Container {
+		private char[] values = new char[4];
+		private int size = 0;
+
+		@Override
+		boolean contains(char value) {
+			return Arrays.binarySearch(values, 0, size, value) >= 0;
+		}
+
+		@Override
+		Container add(char value) {
+			if (size == ARRAY_LIMIT) {
+				BitmapContainer bitmap = new BitmapContainer();
+				forEach(v -> bitmap.add((char) v));
+				return bitmap.add(value);
+			}
+			int index = -Arrays.binarySearch(values, 0, size, value) - 1;
+			if (size == values.length) {
+				values = Arrays.copyOf(values, Math.min(values.length * 2, ARRAY_LIMIT));
+			}
+			System.arraycopy(values, index, values, index + 1, size - index);
+			values[index] = value;
+			size++;
+			return this;
+		}
+
+		@Override
+		int cardinality() {
+			return size;
+		}
+
+		@Override
+		void forEach(IntConsumer action) {
+			for (int i = 0; i < size; i++) {
+				action.accept(values[i]);
+			}
+		}
+
+		@Override
+		Container copy() {
+			ArrayContainer copy = new ArrayContainer();
+			copy.values = Arrays.copyOf(values, Math.max(size, 4));
+			copy.size = size;
+			return copy;
+		}
+
+		@Override
+		int serializedSize() {
+			return size * Character.BYTES;
+		}
+
+		@Override
+		void write(ByteBuffer buffer) {
+			buffer.put(ARRAY);
+			buffer.putInt(size);
+			for (int i = 0; i < size; i++) {
+				buffer.putChar(values[i]);
+			}
+		}
+	}
+
+	/**
+	 * A chunk of more than ARRAY_LIMIT values kept as one bit per possible value
+	 */
+	private static final class BitmapContainer extends Container {
+		private final long[] words = new long[BITMAP_WORDS];
+		private int cardinality = 0;
+
+		@Override
+		boolean contains(char value) {
+			return (words[value >>> 6] & (1L << value)) != 0;
+		}
+
+		@Override
+		Container add(char value) {
+			words[value >>> 6] |= 1L << value;
+			cardinality++;
+			return this;
+		}
+
+		@Override
+		int cardinality() {
+			return cardinality;
+		}
+
+		@Override
+		void forEach(IntConsumer action) {
+			for (int i = 0; i < BITMAP_WORDS; i++) {
+				long word = words[i];
+				while (word != 0) {
+					action.accept((i << 6) + Long.numberOfTrailingZeros(word));
+					word &= word - 1;
+				}
+			}
+		}
+
+		@Override
+		Container copy() {
+			BitmapContainer copy = new BitmapContainer();
+			System.arraycopy(words, 0, copy.words, 0, BITMAP_WORDS);
+			copy.cardinality = cardinality;
+			return copy;
+		}
+
+		@Override
+		int serializedSize() {
+			return BITMAP_WORDS * Long.BYTES;
+		}
+
+		@Override
+		void write(ByteBuffer buffer) {
+			buffer.put(BITMAP);
+			buffer.putInt(cardinality);
+			for (long word : words) {
+				buffer.putLong(word);
+			}
+		}
+	}
+}
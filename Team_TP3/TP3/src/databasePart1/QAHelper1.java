@@ -2,22 +2,31 @@ package databasePart1;
 
 import java.sql.*;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.Random;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
-import java.util.stream.Collectors;
 import java.time.LocalDateTime;
+import java.util.function.Consumer;
 import application.Question;
 import application.Answer;
 import application.Review;
 import application.Message;
+import application.MessageCounts;
+import application.QuestionThread;
+import application.ReviewVote;
+import application.ReviewerRecommendation;
+import application.ReviewerStats;
 import tests.*;
 import application.User;
 
@@ -52,6 +61,73 @@ import application.User;
 public class QAHelper1 {
 	private DatabaseHelper databaseHelper;
 
+	// Most results returned by searchQuestionDatabase
+	private static final int SEARCH_RESULT_LIMIT = 50;
+
+	/**
+	 * Number of messages the inboxes fetch at a time
+	 */
+	public static final int MESSAGE_PAGE_SIZE = 50;
+
+	// Keyset condition for message pages, newest first: rows older than the cursor
+	// message, with the message id breaking ties between equal timestamps
+	private static final String MESSAGE_CURSOR = " AND (createdon < ? OR (createdon = ? AND messageid < ?))";
+
+	// Full-text index over question titles and text, kept in step with cse360question
+	private final QuestionSearchIndex searchIndex = new QuestionSearchIndex();
+
+	// What each reviewer has reviewed, kept in step with cse360review
+	private final ReviewerTopicIndex topicIndex = new ReviewerTopicIndex();
+
+	// Selects the text a review adds to its author's topic profile: the review, and the question
+	// or the answer and its question that it reviews. Callers append their WHERE clause.
+	private static final String REVIEW_TOPIC_SELECT = "SELECT r.id, r.author, r.text, a.text AS answer_text, "
+			+ "COALESCE(q.title, aq.title) AS question_title, COALESCE(q.text, aq.text) AS question_text "
+			+ "FROM cse360review r LEFT JOIN cse360question q ON r.forQuestion AND q.id = r.relatedId "
+			+ "LEFT JOIN cse360answer a ON NOT r.forQuestion AND a.id = r.relatedId "
+			+ "LEFT JOIN cse360question aq ON aq.id = a.root_question_id WHERE r.author IS NOT NULL ";
+
+	// How much the student's trust, the reviewer's rating, the topic match and a light
+	// workload each count towards a reviewer recommendation, adding up to 1
+	private static final double TRUST_SHARE = 0.35;
+	private static final double REPUTATION_SHARE = 0.25;
+	private static final double TOPIC_SHARE = 0.3;
+	private static final double WORKLOAD_SHARE = 0.1;
+
+	// Most questions, answers and reviews kept in the entity caches
+	private static final int QUESTION_CACHE_SIZE = 512;
+	private static final int ANSWER_CACHE_SIZE = 1024;
+	private static final int REVIEW_CACHE_SIZE = 1024;
+	private static final int READ_CACHE_SIZE = 1024;
+
+	// Selects review rows along with how many messages refer to each one, so listing
+	// reviews does not need a count query per row. Callers append their WHERE clause.
+	private static final String REVIEW_SELECT = "SELECT r.*, COALESCE(m.message_count, 0) AS message_count "
+			+ "FROM cse360review r LEFT JOIN (SELECT referenceId, COUNT(*) AS message_count FROM cse360message "
+			+ "WHERE referenceType = 'r' GROUP BY referenceId) m ON m.referenceId = r.id ";
+
+	// Deepest level of nested replies loadThread will follow
+	private static final int MAX_THREAD_DEPTH = 64;
+
+	// How often answers marked as read are written to the database in the background
+	private static final long READ_RECEIPT_FLUSH_MILLIS = 2000;
+
+	// Answers marked as read but not yet written, flushed in batches
+	private final ReadReceiptBuffer readReceipts = new ReadReceiptBuffer(this::writeReadReceipts,
+			READ_RECEIPT_FLUSH_MILLIS, this::releaseConnection);
+
+	// Questions, answers and reviews recently looked up by id, invalidated by every write to them
+	private final EntityCache<Integer, Question> questionCache = new EntityCache<>("questions",
+			QUESTION_CACHE_SIZE, Question::new);
+	private final EntityCache<Integer, Answer> answerCache = new EntityCache<>("answers", ANSWER_CACHE_SIZE,
+			Answer::new);
+	private final EntityCache<Integer, Review> reviewCache = new EntityCache<>("reviews", REVIEW_CACHE_SIZE,
+			Review::new);
+
+	// Bitmap of the answers each user has read, by user id
+	private final EntityCache<Integer, IdBitmap> readCache = new EntityCache<>("reads", READ_CACHE_SIZE,
+			IdBitmap::new);
+
 	// JDBC driver name and database URL
 	static final String JDBC_DRIVER = "org.h2.Driver";
 	static final String DB_URL = "jdbc:h2:~/FoundationDatabase";
@@ -60,15 +136,6 @@ public class QAHelper1 {
 	static final String USER = "sa";
 	static final String PASS = "";
 
-	/**
-	 * The database connection
-	 */
-	public Connection connection = null;	
-	
-	/**
-	 * Statement that will be used in SQL queries
-	 */
-	public Statement statement = null;
 
 	/**
 	 * Constructor
@@ -88,60 +155,443 @@ public class QAHelper1 {
 	 * 
 	 */
 	public void connectToDatabase() throws SQLException {
-		try {
-			Class.forName(JDBC_DRIVER); // Load the JDBC driver
-			System.out.println("Connecting to QA database...");
-			connection = DriverManager.getConnection(DB_URL, USER, PASS);
+		// Connections come from the pool owned by the user database helper
+		System.out.println("Connecting to QA database...");
+		databaseHelper.getConnectionPool();
+	}
+
+	/**
+	 * Returns the connection the calling thread holds from the shared pool
+	 * 
+	 * @return 					The calling thread's connection
+	 * 
+	 * @throws SQLException 	In case no connection could be obtained
+	 * 
+	 */
+	private Connection connection() throws SQLException {
+		return databaseHelper.getConnectionPool().connection();
+	}
+
+	/**
+	 * Returns a prepared statement from the statement cache of the calling thread's
+	 * connection, so repeated queries are only parsed once per connection
+	 * 
+	 * @param sql 				The SQL text of the statement
+	 * 
+	 * @return 					A prepared statement to close as usual when done
+	 * 
+	 * @throws SQLException 	In case the database throws an error
+	 * 
+	 */
+	private PreparedStatement prepare(String sql) throws SQLException {
+		return databaseHelper.getConnectionPool().prepare(sql);
+	}
+
+	/**
+	 * Returns a prepared statement from the statement cache of the calling thread's
+	 * connection, so repeated queries are only parsed once per connection
+	 * 
+	 * @param sql 					The SQL text of the statement
+	 * @param autoGeneratedKeys 	Statement.RETURN_GENERATED_KEYS or Statement.NO_GENERATED_KEYS
+	 * 
+	 * @return 						A prepared statement to close as usual when done
+	 * 
+	 * @throws SQLException 		In case the database throws an error
+	 * 
+	 */
+	private PreparedStatement prepare(String sql, int autoGeneratedKeys) throws SQLException {
+		return databaseHelper.getConnectionPool().prepare(sql, autoGeneratedKeys);
+	}
+
+	/**
+	 * Returns the ids as an SQL array for an "= ANY(?)" parameter, so a lookup by
+	 * any number of ids is one statement in the statement cache. Free the array
+	 * when done.
+	 * 
+	 * @param ids 				The ids to pass
+	 * 
+	 * @return 					An INTEGER array on the calling thread's connection
+	 * 
+	 * @throws SQLException 	In case the database throws an error
+	 * 
+	 */
+	private Array idArray(Collection<Integer> ids) throws SQLException {
+		return connection().createArrayOf("INTEGER", ids.toArray(new Integer[0]));
+	}
+
+	/**
+	 * Adds the steps that create and update the question, answer, message and
+	 * review tables to the schema migrator, numbered after the user tables. Once
+	 * a step has shipped it must not change; later schema changes go in a new
+	 * step.
+	 * 
+	 * @param migrator 		The migrator the DatabaseHelper runs on startup
+	 * 
+	 */
+	void addMigrations(SchemaMigrator migrator) {
+		migrator.add(2, "Create question, answer and relation tables", this::createQuestionTables)
+				.add(3, "Move answer_id strings into the relation table", this::migrateRelations)
+				.add(4, "Create message table", this::createMessageTable)
+				.add(5, "Store read answers as a bitmap per user", this::createAnswerReadsTable)
+				.add(6, "Create review, vote ledger and reviewer stats tables", this::createReviewTables)
+				.add(7, "Create per-user message counts", this::createMessageCountsTable)
+				.add(9, "Index question, answer and review lookups", this::createLookupIndexes)
+				.add(12, "Create reviewer assignment table", this::createAssignmentTable);
+	}
+
+	/**
+	 * Rebuilds what QAHelper1 keeps in memory from the tables: the search index,
+	 * the reviewer topic index, the entity caches and any read receipts not yet written. Called after the
+	 * schema has been migrated, and after the database has been reset.
+	 * 
+	 * @throws SQLException 	In case the database throws an error
+	 * 
+	 */
+	public void initialize() throws SQLException {
+		readReceipts.discard();
+		clearEntityCaches();
+		rebuildSearchIndex();
+		rebuildTopicIndex();
+	}
+
+	/**
+	 * Creates the question, answer and relation tables
+	 * 
+	 * @throws SQLException 	In case the database throws an error
+	 * 
+	 */
+	private void createQuestionTables() throws SQLException {
+		try (Statement statement = connection().createStatement()) {
+			// Create the question database
+			String questionTable = "CREATE TABLE IF NOT EXISTS cse360question ("
+					+ "id INT AUTO_INCREMENT NOT NULL PRIMARY KEY, " + "title VARCHAR(255), " + "text TEXT DEFAULT NULL, "
+					+ "author INT, " + "created_on DATETIME DEFAULT CURRENT_TIMESTAMP, "
+					+ "updated_on DATETIME DEFAULT CURRENT_TIMESTAMP, " + "preferred_answer INT DEFAULT NULL)";
+			statement.execute(questionTable);
+
+			// Create the answer database
+			String answerTable = "CREATE TABLE IF NOT EXISTS cse360answer ("
+					+ "id INT AUTO_INCREMENT NOT NULL PRIMARY KEY, " + "text TEXT DEFAULT NULL, " + "author INT, "
+					+ "created_on DATETIME DEFAULT CURRENT_TIMESTAMP, " + "updated_on DATETIME DEFAULT CURRENT_TIMESTAMP, "
+					+ "root_question_id INT DEFAULT NULL)";
+			statement.execute(answerTable);
+			// Older databases were created before the root question column existed
+			statement.execute("ALTER TABLE cse360answer ADD COLUMN IF NOT EXISTS root_question_id INT DEFAULT NULL");
+			statement.execute("CREATE INDEX IF NOT EXISTS idx_answer_root_question ON cse360answer (root_question_id)");
+
+			// Create the relation table linking a parent question ('q') or answer ('a') to its child answers
+			String relationTable = "CREATE TABLE IF NOT EXISTS cse360qa_relation (" + "parent_type CHAR(1) NOT NULL, "
+					+ "parent_id INT NOT NULL, " + "child_id INT NOT NULL, "
+					+ "PRIMARY KEY (parent_type, parent_id, child_id))";
+			statement.execute(relationTable);
+			// The primary key covers parent lookups, this index covers lookups by child
+			statement.execute("CREATE INDEX IF NOT EXISTS idx_qa_relation_child ON cse360qa_relation (child_id)");
+		}
+	}
+
+	/**
+	 * Moves any relations still stored as comma separated answer_id strings into
+	 * the relation table, then fills in the root question of every answer
+	 * 
+	 * @throws SQLException 	In case the database throws an error
+	 * 
+	 */
+	private void migrateRelations() throws SQLException {
+		migrateAnswerIdStrings("cse360question", 'q');
+		migrateAnswerIdStrings("cse360answer", 'a');
+		backfillRootQuestionIds();
+	}
 
-			statement = connection.createStatement();
-		} catch (ClassNotFoundException e) {
-			System.err.println("JDBC Driver not found: " + e.getMessage());
+	/**
+	 * Creates the message table and the indexes the inbox and report pages read it by
+	 * 
+	 * @throws SQLException 	In case the database throws an error
+	 * 
+	 */
+	private void createMessageTable() throws SQLException {
+		try (Statement statement = connection().createStatement()) {
+			String messageTable = "CREATE TABLE IF NOT EXISTS cse360message ("
+					+ "messageid INT AUTO_INCREMENT PRIMARY KEY, " + "referenceId INT, " + "referenceType VARCHAR(20), "
+					+ "senderid INT, " + "recipientid INT, " + "subject TEXT, " + "message TEXT, "
+					+ "isreport BOOLEAN DEFAULT FALSE, " // HW4
+					+ "isread BOOLEAN DEFAULT FALSE, "
+					+ "createdon TIMESTAMP DEFAULT CURRENT_TIMESTAMP, "
+					+ "updatedon TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP)";
+			statement.execute(messageTable);
+			statement.execute("ALTER TABLE cse360message ADD COLUMN IF NOT EXISTS isread BOOLEAN DEFAULT FALSE");
+			statement.execute("CREATE INDEX IF NOT EXISTS idx_message_reference ON cse360message (referenceId, referenceType)");
+			// Inbox and report pages read these in order, newest first
+			statement.execute("CREATE INDEX IF NOT EXISTS idx_message_inbox "
+					+ "ON cse360message (recipientid, isreport, createdon DESC, messageid DESC)");
+			statement.execute("CREATE INDEX IF NOT EXISTS idx_message_reports "
+					+ "ON cse360message (isreport, createdon DESC, messageid DESC)");
+			statement.execute("CREATE INDEX IF NOT EXISTS idx_message_sender ON cse360message (senderid)");
 		}
 	}
 
 	/**
+	 * Creates the table of read answer bitmaps and folds in any rows left in the
+	 * old one-row-per-answer table
 	 * 
-	 * Create the tables that will be used to store the data
+	 * @throws SQLException 	In case the database throws an error
+	 * 
+	 */
+	private void createAnswerReadsTable() throws SQLException {
+		try (Statement statement = connection().createStatement()) {
+			// One row per user holding a compressed bitmap of the answer ids they have read
+			String answerReadsTable = "CREATE TABLE IF NOT EXISTS cse360answerreads (" + "user_id INT NOT NULL PRIMARY KEY, "
+					+ "answer_ids BLOB NOT NULL, " + "updated_on TIMESTAMP DEFAULT CURRENT_TIMESTAMP)";
+			statement.execute(answerReadsTable);
+		}
+		migrateAnswerViews();
+	}
+
+	/**
+	 * Creates the review, vote ledger and reviewer stats tables, and fills in the
+	 * stats from any reviews already written
 	 * 
 	 * @throws SQLException 	In case the database throws an error
 	 * 
 	 */
-	public void createTables() throws SQLException {
-		// Create the question database
-		String questionTable = "CREATE TABLE IF NOT EXISTS cse360question ("
-				+ "id INT AUTO_INCREMENT NOT NULL PRIMARY KEY, " + "title VARCHAR(255), " + "text TEXT DEFAULT NULL, "
-				+ "author INT, " + "created_on DATETIME DEFAULT CURRENT_TIMESTAMP, "
-				+ "updated_on DATETIME DEFAULT CURRENT_TIMESTAMP, " + "answer_id VARCHAR(MAX) DEFAULT NULL, "
-				+ "preferred_answer INT DEFAULT NULL)";
-		statement.execute(questionTable);
+	private void createReviewTables() throws SQLException {
+		try (Statement statement = connection().createStatement()) {
+			// Create the review database
+			String reviewTable = "CREATE TABLE IF NOT EXISTS cse360review ("
+					+ "id INT AUTO_INCREMENT NOT NULL PRIMARY KEY, " + "forQuestion BOOLEAN NOT NULL, "
+					+ "relatedId INT NOT NULL, " + "text TEXT NOT NULL, " + "author INT, "
+					+ "created_on DATETIME DEFAULT CURRENT_TIMESTAMP, " + "updated_on DATETIME DEFAULT CURRENT_TIMESTAMP, "
+					+ "vote INT DEFAULT 0)";
+			statement.execute(reviewTable);
+
+			// Ledger of who voted on which review, at most one vote per user per review.
+			// cse360review.vote holds the running total of the values in this table
+			String reviewVoteTable = "CREATE TABLE IF NOT EXISTS cse360reviewvote (" + "review_id INT NOT NULL, "
+					+ "user_id INT NOT NULL, " + "vote INT NOT NULL, " + "voted_on TIMESTAMP DEFAULT CURRENT_TIMESTAMP, "
+					+ "PRIMARY KEY (review_id, user_id))";
+			statement.execute(reviewVoteTable);
+
+			// Review count and vote sum of each reviewer, kept in step with cse360review so
+			// ratings and the leaderboard do not have to add up every review
+			String reviewerStatsTable = "CREATE TABLE IF NOT EXISTS cse360reviewerstats ("
+					+ "reviewer_id INT NOT NULL PRIMARY KEY, " + "review_count INT NOT NULL DEFAULT 0, "
+					+ "vote_sum INT NOT NULL DEFAULT 0, "
+					+ "rating INT GENERATED ALWAYS AS (CASE WHEN review_count > 0 THEN vote_sum / review_count ELSE 0 END))";
+			statement.execute(reviewerStatsTable);
+			statement.execute("CREATE INDEX IF NOT EXISTS idx_reviewerstats_rating "
+					+ "ON cse360reviewerstats (rating DESC, vote_sum DESC, reviewer_id)");
+		}
+		rebuildReviewerStats();
+	}
 
-		// Create the answer database
-		String answerTable = "CREATE TABLE IF NOT EXISTS cse360answer ("
-				+ "id INT AUTO_INCREMENT NOT NULL PRIMARY KEY, " + "text TEXT DEFAULT NULL, " + "author INT, "
-				+ "created_on DATETIME DEFAULT CURRENT_TIMESTAMP, " + "updated_on DATETIME DEFAULT CURRENT_TIMESTAMP, "
-				+ "answer_id VARCHAR(MAX) DEFAULT NULL)";
-		statement.execute(answerTable);
+	/**
+	 * Creates the per-user message counts table and fills it in from any messages
+	 * already sent
+	 * 
+	 * @throws SQLException 	In case the database throws an error
+	 * 
+	 */
+	private void createMessageCountsTable() throws SQLException {
+		try (Statement statement = connection().createStatement()) {
+			// Per-user message counts kept in step with cse360message, so the Inbox
+			// button does not have to count a user's messages every time a page opens
+			String messageCountsTable = "CREATE TABLE IF NOT EXISTS cse360messagecounts ("
+					+ "user_id INT NOT NULL PRIMARY KEY, " + "total INT NOT NULL DEFAULT 0, "
+					+ "unread INT NOT NULL DEFAULT 0, " + "reports INT NOT NULL DEFAULT 0)";
+			statement.execute(messageCountsTable);
+		}
+		rebuildMessageCounts();
+	}
+
+	/**
+	 * Indexes the columns the question, answer and review pages look rows up by:
+	 * authors for the "my questions/answers/reviews" lists, titles for lookups by
+	 * title, the preferred answer for the resolved and unresolved lists, and the
+	 * question or answer a review is for
+	 * 
+	 * @throws SQLException 	In case the database throws an error
+	 * 
+	 */
+	private void createLookupIndexes() throws SQLException {
+		try (Statement statement = connection().createStatement()) {
+			statement.execute("CREATE INDEX IF NOT EXISTS idx_question_author ON cse360question (author)");
+			statement.execute("CREATE INDEX IF NOT EXISTS idx_question_title ON cse360question (title)");
+			statement.execute("CREATE INDEX IF NOT EXISTS idx_question_preferred_answer ON cse360question (preferred_answer)");
+			statement.execute("CREATE INDEX IF NOT EXISTS idx_answer_author ON cse360answer (author)");
+			statement.execute("CREATE INDEX IF NOT EXISTS idx_review_author ON cse360review (author)");
+			statement.execute("CREATE INDEX IF NOT EXISTS idx_review_related ON cse360review (relatedId, forQuestion)");
+		}
+	}
+
+	/**
+	 * Creates the reviewer assignment table. An assignment is open until the
+	 * reviewer writes a review of the question or one of its answers.
+	 * 
+	 * @throws SQLException 	In case the database throws an error
+	 * 
+	 */
+	private void createAssignmentTable() throws SQLException {
+		try (Statement statement = connection().createStatement()) {
+			String assignmentTable = "CREATE TABLE IF NOT EXISTS cse360assignment ("
+					+ "id INT AUTO_INCREMENT NOT NULL PRIMARY KEY, " + "question_id INT NOT NULL, "
+					+ "reviewer_id INT NOT NULL, " + "assigned_by INT, "
+					+ "assigned_on TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " + "completed_on TIMESTAMP DEFAULT NULL, "
+					+ "FOREIGN KEY (question_id) REFERENCES cse360question (id) ON DELETE CASCADE, "
+					+ "FOREIGN KEY (reviewer_id) REFERENCES cse360users (id) ON DELETE CASCADE, "
+					+ "FOREIGN KEY (assigned_by) REFERENCES cse360users (id) ON DELETE SET NULL)";
+			statement.execute(assignmentTable);
+			// Covers a reviewer's queue and the open workload counted when recommending reviewers
+			statement.execute("CREATE INDEX IF NOT EXISTS idx_assignment_reviewer "
+					+ "ON cse360assignment (reviewer_id, completed_on)");
+		}
+	}
 
-		String messageTable = "CREATE TABLE IF NOT EXISTS cse360message ("
-				+ "messageid INT AUTO_INCREMENT PRIMARY KEY, " + "referenceId INT, " + "referenceType VARCHAR(20), "
-				+ "senderid INT, " + "recipientid INT, " + "subject TEXT, " + "message TEXT, "
-				+ "isreport BOOLEAN DEFAULT FALSE, " // HW4
-				+ "createdon TIMESTAMP DEFAULT CURRENT_TIMESTAMP, "
-				+ "updatedon TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP)";
-		statement.execute(messageTable);
+	/**
+	 * One-shot migration of the legacy comma separated answer_id column into the
+	 * cse360qa_relation table. Does nothing if the column no longer exists, and
+	 * drops the column once its contents have been copied over.
+	 * 
+	 * @param table 			The name of the table that may still have an answer_id column
+	 * @param parentType 		The parent type to store the relations under ('q' or 'a')
+	 * 
+	 * @throws SQLException 	In case the database throws an error
+	 * 
+	 */
+	private void migrateAnswerIdStrings(String table, char parentType) throws SQLException {
+		String columnQuery = "SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS "
+				+ "WHERE UPPER(TABLE_NAME) = ? AND UPPER(COLUMN_NAME) = 'ANSWER_ID'";
+		try (PreparedStatement pstmt = prepare(columnQuery)) {
+			pstmt.setString(1, table.toUpperCase());
+			ResultSet rs = pstmt.executeQuery();
+			if (!rs.next() || rs.getInt(1) == 0) {
+				return;
+			}
+		}
 
-		String answerViewsTable = "CREATE TABLE IF NOT EXISTS cse360answerviews (" + "answer_id INT NOT NULL, "
-				+ "user_id INT NOT NULL, " + "is_read BOOLEAN DEFAULT FALSE, " + "PRIMARY KEY (answer_id, user_id))";
-		statement.execute(answerViewsTable);
+		String selectQuery = "SELECT id, answer_id FROM " + table + " WHERE answer_id IS NOT NULL AND answer_id <> ''";
+		Connection connection = connection();
+		String mergeQuery = "MERGE INTO cse360qa_relation (parent_type, parent_id, child_id) KEY (parent_type, parent_id, child_id) VALUES (?, ?, ?)";
+		boolean autoCommit = connection.getAutoCommit();
+		connection.setAutoCommit(false);
+		try (PreparedStatement pstmt = connection.prepareStatement(selectQuery);
+				PreparedStatement mstmt = connection.prepareStatement(mergeQuery);
+				Statement statement = connection.createStatement()) {
+			ResultSet rs = pstmt.executeQuery();
+			while (rs.next()) {
+				int parentId = rs.getInt("id");
+				for (String childId : rs.getString("answer_id").split(",\\s*")) {
+					try {
+						mstmt.setString(1, String.valueOf(parentType));
+						mstmt.setInt(2, parentId);
+						mstmt.setInt(3, Integer.parseInt(childId.trim()));
+						mstmt.addBatch();
+					} catch (NumberFormatException e) {
+						System.err.println("Invalid answer ID format: " + childId);
+					}
+				}
+			}
+			mstmt.executeBatch();
+			statement.execute("ALTER TABLE " + table + " DROP COLUMN answer_id");
+			connection.commit();
+			System.out.println("Migrated answer_id relations from " + table + " into cse360qa_relation.");
+		} catch (SQLException e) {
+			connection.rollback();
+			throw e;
+		} finally {
+			connection.setAutoCommit(autoCommit);
+		}
+	}
 
-		// Create the review database
-		String reviewTable = "CREATE TABLE IF NOT EXISTS cse360review ("
-				+ "id INT AUTO_INCREMENT NOT NULL PRIMARY KEY, " + "forQuestion BOOLEAN NOT NULL, "
-				+ "relatedId INT NOT NULL, " + "text TEXT NOT NULL, " + "author INT, "
-				+ "created_on DATETIME DEFAULT CURRENT_TIMESTAMP, " + "updated_on DATETIME DEFAULT CURRENT_TIMESTAMP, "
-				+ "vote INT DEFAULT 0)";
-		statement.execute(reviewTable);
+	/**
+	 * Fills in root_question_id for any answers that do not have one yet, using the
+	 * relation table. Direct answers to a question are set first, then each pass sets
+	 * the replies to answers whose root is already known, until a pass changes nothing.
+	 * 
+	 * @throws SQLException 	In case the database throws an error
+	 * 
+	 */
+	private void backfillRootQuestionIds() throws SQLException {
+		try (Statement statement = connection().createStatement()) {
+			statement.executeUpdate("UPDATE cse360answer a SET root_question_id = (SELECT MIN(r.parent_id) "
+					+ "FROM cse360qa_relation r WHERE r.parent_type = 'q' AND r.child_id = a.id) "
+					+ "WHERE a.root_question_id IS NULL");
+
+			String nestedQuery = "UPDATE cse360answer a SET root_question_id = (SELECT MIN(p.root_question_id) "
+					+ "FROM cse360qa_relation r JOIN cse360answer p ON p.id = r.parent_id "
+					+ "WHERE r.parent_type = 'a' AND r.child_id = a.id) "
+					+ "WHERE a.root_question_id IS NULL AND EXISTS (SELECT 1 FROM cse360qa_relation r "
+					+ "JOIN cse360answer p ON p.id = r.parent_id "
+					+ "WHERE r.parent_type = 'a' AND r.child_id = a.id AND p.root_question_id IS NOT NULL)";
+			while (statement.executeUpdate(nestedQuery) > 0) {
+				// Keep going until every reachable reply has a root question
+			}
+		}
+	}
 
+	/**
+	 * Rebuilds the question search index from the rows currently in the question table
+	 * 
+	 * @throws SQLException 	In case the database throws an error
+	 * 
+	 */
+	private void rebuildSearchIndex() throws SQLException {
+		try (Statement statement = connection().createStatement()) {
+			searchIndex.clear();
+			try (ResultSet rs = statement.executeQuery("SELECT id, title, text FROM cse360question")) {
+				while (rs.next()) {
+					searchIndex.put(rs.getInt("id"), rs.getString("title"), rs.getString("text"));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Rebuilds the reviewer topic index from the rows currently in the review table
+	 * 
+	 * @throws SQLException 	In case the database throws an error
+	 * 
+	 */
+	private void rebuildTopicIndex() throws SQLException {
+		try (Statement statement = connection().createStatement()) {
+			topicIndex.clear();
+			try (ResultSet rs = statement.executeQuery(REVIEW_TOPIC_SELECT)) {
+				while (rs.next()) {
+					putTopic(rs);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Adds a review to the reviewer topic index, or replaces it there, reading
+	 * what it reviews from the database
+	 * 
+	 * @param reviewId 			The id of the review
+	 * 
+	 * @throws SQLException 	In case the database throws an error
+	 * 
+	 */
+	private void indexReviewTopic(int reviewId) throws SQLException {
+		try (PreparedStatement pstmt = prepare(REVIEW_TOPIC_SELECT + "AND r.id = ?")) {
+			pstmt.setInt(1, reviewId);
+			ResultSet rs = pstmt.executeQuery();
+			if (rs.next()) {
+				putTopic(rs);
+			}
+		}
+	}
+
+	/**
+	 * Adds the review on the current row of a REVIEW_TOPIC_SELECT to the reviewer topic index
+	 */
+	private void putTopic(ResultSet rs) throws SQLException {
+		StringBuilder text = new StringBuilder();
+		for (String column : new String[] { "text", "answer_text", "question_title", "question_text" }) {
+			String value = rs.getString(column);
+			if (value != null) {
+				text.append(value).append(' ');
+			}
+		}
+		topicIndex.put(rs.getInt("id"), rs.getInt("author"), text.toString());
 	}
 
 	/**
@@ -157,7 +607,8 @@ public class QAHelper1 {
 
 	/**
 	 * This helps us keep track of how many 'unread' answers remain for each
-	 * question or user.
+	 * question or user. The answer is recorded as read right away and written to
+	 * the database with the next batch of read receipts.
 	 * 
 	 * @param answerId 			The answer id of the answer you wish to mark read
 	 * @param userId 			The user id of the user that is reading the answer
@@ -166,32 +617,186 @@ public class QAHelper1 {
 	 * 
 	 */
 	public void markAnswerAsRead(int answerId, int userId) throws SQLException {
-		// Check if record exists
-		String checkQuery = "SELECT * FROM cse360answerviews WHERE answer_id = ? AND user_id = ?";
-		try (PreparedStatement checkStmt = connection.prepareStatement(checkQuery)) {
-			checkStmt.setInt(1, answerId);
-			checkStmt.setInt(2, userId);
-			ResultSet rs = checkStmt.executeQuery();
-			if (!rs.next()) {
-				// Insert new record
-				String insertQuery = "INSERT INTO cse360answerviews (answer_id, user_id, is_read) VALUES (?, ?, TRUE)";
-				try (PreparedStatement insertStmt = connection.prepareStatement(insertQuery)) {
-					insertStmt.setInt(1, answerId);
-					insertStmt.setInt(2, userId);
-					insertStmt.executeUpdate();
-				}
-			} else {
-				// If record is found but is_read is FALSE, update it
-				boolean isRead = rs.getBoolean("is_read");
-				if (!isRead) {
-					String updateQuery = "UPDATE cse360answerviews SET is_read = TRUE WHERE answer_id = ? AND user_id = ?";
-					try (PreparedStatement updateStmt = connection.prepareStatement(updateQuery)) {
-						updateStmt.setInt(1, answerId);
-						updateStmt.setInt(2, userId);
-						updateStmt.executeUpdate();
-					}
-				}
+		readReceipts.add(answerId, userId);
+	}
+
+	/**
+	 * Marks every answer under a question as read by a user with a single write
+	 * 
+	 * @param questionId 		The id of the question whose answers are being read
+	 * @param userId 			The user id of the user that is reading the answers
+	 * 
+	 * @return 					The number of answers that were not already marked read
+	 * 
+	 * @throws SQLException 	In case the database throws an error
+	 * 
+	 */
+	public int markAllAnswersRead(int questionId, int userId) throws SQLException {
+		IdBitmap threadAnswers = getThreadAnswerIds(questionId);
+		int[] added = { 0 };
+		updateReadBitmap(userId, read -> added[0] = read.addAll(threadAnswers));
+		return added[0];
+	}
+
+	/**
+	 * Writes every answer marked as read since the last flush in one batch. Called
+	 * in the background every few seconds and before the read state is looked up.
+	 * 
+	 * @return 					The number of read receipts written
+	 * 
+	 * @throws SQLException 	In case the database throws an error
+	 * 
+	 */
+	public int flushReadReceipts() throws SQLException {
+		return readReceipts.flush();
+	}
+
+	/**
+	 * Adds a batch of read receipts to the users' read bitmaps, writing each user's
+	 * bitmap once
+	 * 
+	 * @param receipts 			The receipts to write, packed by ReadReceiptBuffer.receipt()
+	 * 
+	 * @throws SQLException 	In case the database throws an error
+	 * 
+	 */
+	private void writeReadReceipts(List<Long> receipts) throws SQLException {
+		Map<Integer, IdBitmap> byUser = new TreeMap<>();
+		for (long receipt : receipts) {
+			byUser.computeIfAbsent(ReadReceiptBuffer.userId(receipt), k -> new IdBitmap())
+					.add(ReadReceiptBuffer.answerId(receipt));
+		}
+		for (Map.Entry<Integer, IdBitmap> user : byUser.entrySet()) {
+			updateReadBitmap(user.getKey(), read -> read.addAll(user.getValue()));
+		}
+	}
+
+	/**
+	 * Changes a user's read bitmap and writes it back in one transaction, locking
+	 * the user's row so concurrent changes are not lost
+	 * 
+	 * @param userId 			The id of the user whose bitmap is changed
+	 * @param change 			Changes the bitmap in place
+	 * 
+	 * @throws SQLException 	In case the database throws an error
+	 * 
+	 */
+	private synchronized void updateReadBitmap(int userId, Consumer<IdBitmap> change) throws SQLException {
+		String selectQuery = "SELECT answer_ids FROM cse360answerreads WHERE user_id = ? FOR UPDATE";
+		String mergeQuery = "MERGE INTO cse360answerreads (user_id, answer_ids, updated_on) KEY (user_id) "
+				+ "VALUES (?, ?, CURRENT_TIMESTAMP)";
+		Connection connection = connection();
+		boolean autoCommit = connection.getAutoCommit();
+		connection.setAutoCommit(false);
+		try (PreparedStatement sstmt = prepare(selectQuery);
+				PreparedStatement mstmt = prepare(mergeQuery)) {
+			sstmt.setInt(1, userId);
+			IdBitmap read;
+			try (ResultSet rs = sstmt.executeQuery()) {
+				read = IdBitmap.fromBytes(rs.next() ? rs.getBytes("answer_ids") : null);
 			}
+			change.accept(read);
+
+			mstmt.setInt(1, userId);
+			mstmt.setBytes(2, read.toBytes());
+			mstmt.executeUpdate();
+			connection.commit();
+		} catch (SQLException e) {
+			connection.rollback();
+			throw e;
+		} finally {
+			connection.setAutoCommit(autoCommit);
+			readCache.invalidate(userId);
+		}
+	}
+
+	/**
+	 * Returns the bitmap of answers a user has read, from the cache when possible.
+	 * Receipts still waiting in the buffer are not included.
+	 * 
+	 * @param userId 			The id of the user
+	 * 
+	 * @return 					A copy of the user's read bitmap, empty if they have read nothing
+	 * 
+	 * @throws SQLException 	In case the database throws an error
+	 * 
+	 */
+	private IdBitmap getReadBitmap(int userId) throws SQLException {
+		return readCache.get(userId, () -> {
+			String query = "SELECT answer_ids FROM cse360answerreads WHERE user_id = ?";
+			try (PreparedStatement pstmt = prepare(query)) {
+				pstmt.setInt(1, userId);
+				ResultSet rs = pstmt.executeQuery();
+				return IdBitmap.fromBytes(rs.next() ? rs.getBytes("answer_ids") : null);
+			}
+		});
+	}
+
+	/**
+	 * Returns the ids of every answer posted under a question, including replies
+	 * 
+	 * @param questionId 		The id of the question
+	 * 
+	 * @return 					A bitmap of the answer ids
+	 * 
+	 * @throws SQLException 	In case the database throws an error
+	 * 
+	 */
+	private IdBitmap getThreadAnswerIds(int questionId) throws SQLException {
+		String query = "SELECT id FROM cse360answer WHERE root_question_id = ?";
+		IdBitmap answerIds = new IdBitmap();
+		try (PreparedStatement pstmt = prepare(query)) {
+			pstmt.setInt(1, questionId);
+			ResultSet rs = pstmt.executeQuery();
+			while (rs.next()) {
+				answerIds.add(rs.getInt("id"));
+			}
+		}
+		return answerIds;
+	}
+
+	/**
+	 * One-shot migration of the old cse360answerviews table, which held a row per
+	 * answer and user, into the per-user bitmaps. Does nothing if the table no
+	 * longer exists, and drops it once its contents have been copied over.
+	 * 
+	 * @throws SQLException 	In case the database throws an error
+	 * 
+	 */
+	private void migrateAnswerViews() throws SQLException {
+		String tableQuery = "SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE UPPER(TABLE_NAME) = 'CSE360ANSWERVIEWS'";
+		try (PreparedStatement pstmt = prepare(tableQuery)) {
+			ResultSet rs = pstmt.executeQuery();
+			if (!rs.next() || rs.getInt(1) == 0) {
+				return;
+			}
+		}
+
+		Map<Integer, IdBitmap> byUser = new TreeMap<>();
+		try (Statement statement = connection().createStatement()) {
+			ResultSet rs = statement.executeQuery("SELECT answer_id, user_id FROM cse360answerviews WHERE is_read = TRUE");
+			while (rs.next()) {
+				byUser.computeIfAbsent(rs.getInt("user_id"), k -> new IdBitmap()).add(rs.getInt("answer_id"));
+			}
+		}
+		for (Map.Entry<Integer, IdBitmap> user : byUser.entrySet()) {
+			updateReadBitmap(user.getKey(), read -> read.addAll(user.getValue()));
+		}
+		try (Statement statement = connection().createStatement()) {
+			statement.execute("DROP TABLE cse360answerviews");
+		}
+		System.out.println("Migrated read answers for " + byUser.size() + " users from cse360answerviews.");
+	}
+
+	/**
+	 * Gives the calling thread's connection back to the pool, used by the read
+	 * receipt flusher between flushes
+	 */
+	private void releaseConnection() {
+		try {
+			databaseHelper.getConnectionPool().release();
+		} catch (SQLException e) {
+			System.err.println("Error releasing read receipt connection: " + e.getMessage());
 		}
 	}
 
@@ -207,16 +812,28 @@ public class QAHelper1 {
 	 * 
 	 */
 	public boolean isAnswerMarkedAsRead(int answerId, int userId) throws SQLException {
-		String query = "SELECT is_read FROM cse360answerviews WHERE answer_id = ? AND user_id = ?";
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
-			pstmt.setInt(1, answerId);
-			pstmt.setInt(2, userId);
-			ResultSet rs = pstmt.executeQuery();
-			if (rs.next()) {
-				return rs.getBoolean("is_read"); // Returns true if the answer is already marked as read
-			}
-		}
-		return false;
+		// Receipts waiting to be written count as read
+		return readReceipts.isPending(answerId, userId) || getReadBitmap(userId).contains(answerId);
+	}
+
+	/**
+	 * Returns the ids of the answers under a question that a user has marked read,
+	 * so a page can check the read state of a whole thread without a query per answer
+	 * 
+	 * @param userId 			The user id of the user reading the thread
+	 * @param questionId 		The id of the question the answers were posted under
+	 * 
+	 * @return 					A set of the answer ids the user has marked read
+	 * 
+	 * @throws SQLException 	In case the database throws an error
+	 * 
+	 */
+	public Set<Integer> getReadAnswerIds(int userId, int questionId) throws SQLException {
+		// Write any pending receipts first so they are included
+		flushReadReceipts();
+		Set<Integer> readAnswerIds = new HashSet<>();
+		getThreadAnswerIds(questionId).and(getReadBitmap(userId)).forEach(readAnswerIds::add);
+		return readAnswerIds;
 	}
 
 	/**
@@ -229,12 +846,14 @@ public class QAHelper1 {
 	 * 
 	 */
 	public boolean isDatabaseEmpty() throws SQLException {
-		String query = "SELECT COUNT(*) AS count FROM cse360question";
-		ResultSet resultSet = statement.executeQuery(query);
-		if (resultSet.next()) {
-			return resultSet.getInt("count") == 0;
+		try (Statement statement = connection().createStatement()) {
+			String query = "SELECT COUNT(*) AS count FROM cse360question";
+			ResultSet resultSet = statement.executeQuery(query);
+			if (resultSet.next()) {
+				return resultSet.getInt("count") == 0;
+			}
+			return true;
 		}
-		return true;
 	}
 
 	/**
@@ -247,11 +866,17 @@ public class QAHelper1 {
 	 */
 	public void registerQuestion(Question question) throws SQLException {
 		String insertQuestion = "INSERT INTO cse360question (title, text, author) VALUES (?, ?, ?)";
-		try (PreparedStatement pstmt = connection.prepareStatement(insertQuestion)) {
+		try (PreparedStatement pstmt = prepare(insertQuestion, Statement.RETURN_GENERATED_KEYS)) {
 			pstmt.setString(1, question.getTitle());
 			pstmt.setString(2, question.getText());
 			pstmt.setInt(3, question.getAuthorId());
 			pstmt.executeUpdate();
+
+			// Add the new question to the search index under its generated id
+			ResultSet newID = pstmt.getGeneratedKeys();
+			if (newID.next()) {
+				searchIndex.put(newID.getInt(1), question.getTitle(), question.getText());
+			}
 		}
 		System.out.println("Question registered successfully.");
 	}
@@ -266,7 +891,7 @@ public class QAHelper1 {
 	 * 
 	 */
 	public void registerAnswerWithQuestion(Answer answer, int relatedID) throws SQLException {
-		String insertAnswer = "INSERT INTO cse360answer (text, author) VALUES (?, ?)";
+		String insertAnswer = "INSERT INTO cse360answer (text, author, root_question_id) VALUES (?, ?, ?)";
 
 		// Prevent duplicates
 		if (isDuplicateAnswer(relatedID, answer.getText())) {
@@ -274,9 +899,10 @@ public class QAHelper1 {
 			return;
 		}
 
-		try (PreparedStatement pstmt = connection.prepareStatement(insertAnswer, Statement.RETURN_GENERATED_KEYS)) {
+		try (PreparedStatement pstmt = prepare(insertAnswer, Statement.RETURN_GENERATED_KEYS)) {
 			pstmt.setString(1, answer.getText());
 			pstmt.setInt(2, answer.getAuthorId());
+			pstmt.setInt(3, relatedID);
 			pstmt.executeUpdate();
 
 			ResultSet newID = pstmt.getGeneratedKeys();
@@ -300,10 +926,13 @@ public class QAHelper1 {
 	 * 
 	 */
 	public void registerAnswerWithAnswer(Answer answer, int relatedID) throws SQLException {
-		String insertAnswer = "INSERT INTO cse360answer (text, author) VALUES (?, ?)";
-		try (PreparedStatement pstmt = connection.prepareStatement(insertAnswer, Statement.RETURN_GENERATED_KEYS)) {
+		// A reply shares the root question of the answer it replies to
+		String insertAnswer = "INSERT INTO cse360answer (text, author, root_question_id) "
+				+ "VALUES (?, ?, (SELECT root_question_id FROM cse360answer WHERE id = ?))";
+		try (PreparedStatement pstmt = prepare(insertAnswer, Statement.RETURN_GENERATED_KEYS)) {
 			pstmt.setString(1, answer.getText());
 			pstmt.setInt(2, answer.getAuthorId());
+			pstmt.setInt(3, relatedID);
 			pstmt.executeUpdate();
 
 			ResultSet newID = pstmt.getGeneratedKeys();
@@ -329,11 +958,12 @@ public class QAHelper1 {
 	 */
 	public void setPreferredAnswer(int questionId, int answerId) throws SQLException {
 		String updateQuery = "UPDATE cse360question SET preferred_answer = ? WHERE id = ?";
-		try (PreparedStatement pstmt = connection.prepareStatement(updateQuery)) {
+		try (PreparedStatement pstmt = prepare(updateQuery)) {
 			pstmt.setInt(1, answerId);
 			pstmt.setInt(2, questionId);
 			pstmt.executeUpdate();
 		}
+		questionCache.invalidate(questionId);
 		System.out.println("Preferred answer set for question ID: " + questionId);
 	}
 
@@ -349,55 +979,15 @@ public class QAHelper1 {
 	 * 
 	 */
 	public boolean isDuplicateAnswer(int questionID, String answerText) throws SQLException {
-		// First, retrieve the answer IDs from the question
-		String getAnswersQuery = "SELECT answer_id FROM cse360question WHERE id = ?";
-		try (PreparedStatement pstmt = connection.prepareStatement(getAnswersQuery)) {
+		// Count answers related to the question that have the same text
+		String query = "SELECT COUNT(*) FROM cse360qa_relation r JOIN cse360answer a ON a.id = r.child_id "
+				+ "WHERE r.parent_type = 'q' AND r.parent_id = ? AND a.text = ?";
+		try (PreparedStatement pstmt = prepare(query)) {
 			pstmt.setInt(1, questionID);
+			pstmt.setString(2, answerText.trim());
 			ResultSet rs = pstmt.executeQuery();
-
-			if (rs.next()) {
-				String answerIds = rs.getString("answer_id"); // e.g., "1, 4, 5, 6, 7"
-				if (answerIds == null || answerIds.trim().isEmpty()) {
-					return false; // No answers exist yet, so no duplicates
-				}
-
-				// Convert "1, 4, 5, 6, 7" into (1, 4, 5, 6, 7)
-				String[] idsArray = answerIds.split(",\\s*"); // Split by comma & spaces
-				List<Integer> answerIdList = new ArrayList<>();
-				for (String id : idsArray) {
-					try {
-						answerIdList.add(Integer.parseInt(id.trim())); // Convert to int
-					} catch (NumberFormatException e) {
-						System.err.println("Invalid answer ID format: " + id);
-					}
-				}
-
-				if (answerIdList.isEmpty()) {
-					return false; // No valid IDs found
-				}
-
-				// Build SQL query dynamically
-				StringBuilder sql = new StringBuilder("SELECT COUNT(*) FROM cse360answer WHERE text = ? AND id IN (");
-				for (int i = 0; i < answerIdList.size(); i++) {
-					sql.append("?");
-					if (i < answerIdList.size() - 1) {
-						sql.append(", ");
-					}
-				}
-				sql.append(")");
-
-				try (PreparedStatement checkStmt = connection.prepareStatement(sql.toString())) {
-					checkStmt.setString(1, answerText.trim());
-					for (int i = 0; i < answerIdList.size(); i++) {
-						checkStmt.setInt(i + 2, answerIdList.get(i));
-					}
-
-					ResultSet checkRs = checkStmt.executeQuery();
-					return checkRs.next() && checkRs.getInt(1) > 0;
-				}
-			}
+			return rs.next() && rs.getInt(1) > 0;
 		}
-		return false; // Default case
 	}
 
 	/**
@@ -411,17 +1001,20 @@ public class QAHelper1 {
 	public boolean deleteQuestion(int id) {
 		String query = "DELETE FROM cse360question AS c WHERE c.id = ?"; // delete the correct question row from
 																			// database
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+		try (PreparedStatement pstmt = prepare(query)) {
 			pstmt.setInt(1, id);
 
 			// Check if any matches were found and deleted
 			if (pstmt.executeUpdate() > 0) {
 				System.out.println("DELETE-QUESTION: Question successfully deleted");
+				searchIndex.remove(id);
+				questionCache.invalidate(id);
 				// Remove answers related to question
 				List<Answer> answers = getAllAnswersForQuestion(id);
 				for (Answer answer : answers) {
 					deleteAnswer(answer.getId());
 				}
+				deleteAllRelations('q', id);
 				return true;
 			}
 			System.out.println("DELETE-QUESTION: Question was not found");
@@ -442,12 +1035,21 @@ public class QAHelper1 {
 	 */
 	public boolean deleteAnswer(int id) {
 		String query = "DELETE FROM cse360answer AS c WHERE c.id = ?"; // delete the correct answer row from database
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+		try (PreparedStatement pstmt = prepare(query)) {
 			pstmt.setInt(1, id);
 
 			// Check if any matches were found and deleted
 			if (pstmt.executeUpdate() > 0) {
 				System.out.println("DELETE-ANSWER: Answer successfully deleted");
+				answerCache.invalidate(id);
+				invalidateParentsOf(id);
+				// Remove the answer from its parent and detach any replies to it
+				String relationQuery = "DELETE FROM cse360qa_relation WHERE child_id = ?";
+				try (PreparedStatement rstmt = prepare(relationQuery)) {
+					rstmt.setInt(1, id);
+					rstmt.executeUpdate();
+				}
+				deleteAllRelations('a', id);
 				return true;
 			}
 			System.out.println("DELETE-ANSWER: Answer was not found");
@@ -466,32 +1068,17 @@ public class QAHelper1 {
 	 * 
 	 */
 	public void addRelationToQuestion(int questionID, int answerID) {
-		String selectQuery = "SELECT answer_id FROM cse360question WHERE id = ?";
-		String updateQuery = "UPDATE cse360question SET answer_id = ? WHERE id = ?";
-		try (PreparedStatement pstmt = connection.prepareStatement(selectQuery)) {
-			pstmt.setInt(1, questionID);
-			ResultSet rs = pstmt.executeQuery();
-
-			if (rs.next()) {
-				String answerIDs = rs.getString("answer_id");
-				String newAnswerIDs;
-
-				// Check if null or empty
-				if (answerIDs == null || answerIDs.trim().isEmpty()) {
-					newAnswerIDs = String.valueOf(answerID);
-				} else {
-					// If it is not empty or null, then add a comma and space
-					newAnswerIDs = answerIDs + ", " + answerID;
-				}
+		// Insert the relation only if the question exists
+		String insertQuery = "INSERT INTO cse360qa_relation (parent_type, parent_id, child_id) "
+				+ "SELECT 'q', id, ? FROM cse360question WHERE id = ?";
+		try (PreparedStatement pstmt = prepare(insertQuery)) {
+			pstmt.setInt(1, answerID);
+			pstmt.setInt(2, questionID);
 
-				try (PreparedStatement upstmt = connection.prepareStatement(updateQuery)) {
-					upstmt.setString(1, newAnswerIDs);
-					upstmt.setInt(2, questionID);
-					upstmt.executeUpdate();
-				}
-			} else {
+			if (pstmt.executeUpdate() == 0) {
 				System.err.println("Could not find a question with id: " + questionID);
 			}
+			questionCache.invalidate(questionID);
 
 		} catch (SQLException e) {
 			System.err.println(e.getMessage() + "\nERROR IN ADD-RELATION METHOD");
@@ -506,37 +1093,21 @@ public class QAHelper1 {
 	 * 
 	 */
 	public void addRelationToAnswer(int answerID, int relatedID) {
-		String selectQuery = "SELECT answer_id FROM cse360answer WHERE id = ?";
-		String updateQuery = "UPDATE cse360answer SET answer_id = ? WHERE id = ?";
-		try (PreparedStatement pstmt = connection.prepareStatement(selectQuery)) {
-			pstmt.setInt(1, answerID);
-			ResultSet rs = pstmt.executeQuery();
-
-			if (rs.next()) {
-				String answerIDs = rs.getString("answer_id");
-				String newAnswerIDs;
-
-				// Check if null or empty
-				if (answerIDs == null || answerIDs.trim().isEmpty()) {
-					newAnswerIDs = String.valueOf(relatedID);
-				} else {
-					// If it is not empty or null, then add a comma and space
-					newAnswerIDs = answerIDs + ", " + relatedID;
-				}
-
-				try (PreparedStatement upstmt = connection.prepareStatement(updateQuery)) {
-					upstmt.setString(1, newAnswerIDs);
-					upstmt.setInt(2, answerID);
-					upstmt.executeUpdate();
-				}
-			} else {
+		// Insert the relation only if the parent answer exists
+		String insertQuery = "INSERT INTO cse360qa_relation (parent_type, parent_id, child_id) "
+				+ "SELECT 'a', id, ? FROM cse360answer WHERE id = ?";
+		try (PreparedStatement pstmt = prepare(insertQuery)) {
+			pstmt.setInt(1, relatedID);
+			pstmt.setInt(2, answerID);
+
+			if (pstmt.executeUpdate() == 0) {
 				System.err.println("Could not find an answer with id: " + answerID);
 			}
+			answerCache.invalidate(answerID);
 
 		} catch (SQLException e) {
 			System.err.println(e.getMessage() + "\nERROR IN ADD-RELATION METHOD");
 		}
-
 	}
 
 	/**
@@ -549,49 +1120,189 @@ public class QAHelper1 {
 	 * 
 	 */
 	public boolean deleteRelation(int questionID, int answerID) {
-		String selectQuery = "SELECT answer_id FROM cse360question WHERE id = ?";
-		String updateQuery = "UPDATE cse360question SET answer_id = ? WHERE id = ?";
-		try (PreparedStatement pstmt = connection.prepareStatement(selectQuery)) {
+		String deleteQuery = "DELETE FROM cse360qa_relation WHERE parent_type = 'q' AND parent_id = ? AND child_id = ?";
+		try (PreparedStatement pstmt = prepare(deleteQuery)) {
 			pstmt.setInt(1, questionID);
-			ResultSet rs = pstmt.executeQuery();
+			pstmt.setInt(2, answerID);
 
-			if (rs.next()) {
-				String answerIDs = rs.getString("answer_id");
+			int deleted = pstmt.executeUpdate();
+			questionCache.invalidate(questionID);
+			if (deleted == 0) {
+				System.out.println("Could not find answer id relation in provided question id: " + questionID);
+				return false;
+			}
+			System.out.println("Answer ID: " + answerID
+					+ " was successfully removed from relation with question id: " + questionID);
+			return true;
+		} catch (SQLException e) {
+			System.err.println(e.getMessage() + "\nERROR IN DELETE-RELATION METHOD");
+			return false;
+		}
+	}
 
-				// Check if null or empty
-				if (answerIDs == null || answerIDs.trim().isEmpty()) {
-					System.err.println("Error: There are no answers related to this question.");
-					return false;
-				}
+	/**
+	 * Delete every relation where the passed question or answer is the parent
+	 * 
+	 * @param parentType 	'q' if the parent is a question, 'a' if it is an answer
+	 * @param parentId 		The id of the parent you wish to remove all relations from
+	 * 
+	 * @throws SQLException In case the database throws an error
+	 * 
+	 */
+	private void deleteAllRelations(char parentType, int parentId) throws SQLException {
+		String deleteQuery = "DELETE FROM cse360qa_relation WHERE parent_type = ? AND parent_id = ?";
+		try (PreparedStatement pstmt = prepare(deleteQuery)) {
+			pstmt.setString(1, String.valueOf(parentType));
+			pstmt.setInt(2, parentId);
+			pstmt.executeUpdate();
+		}
+		invalidateParent(parentType, parentId);
+	}
 
-				// convert comma separated list into an array
-				String[] answerIdArray = answerIDs.split(",\\s");
-				List<String> answerIdList = new ArrayList<>(Arrays.asList(answerIdArray));
+	/**
+	 * Drops the cached questions and answers that list the passed answer as a related answer
+	 * 
+	 * @param answerID 		The id of the answer whose parents are changing
+	 * 
+	 * @throws SQLException In case the database throws an error
+	 * 
+	 */
+	private void invalidateParentsOf(int answerID) throws SQLException {
+		String query = "SELECT parent_type, parent_id FROM cse360qa_relation WHERE child_id = ?";
+		try (PreparedStatement pstmt = prepare(query)) {
+			pstmt.setInt(1, answerID);
+			ResultSet rs = pstmt.executeQuery();
+			while (rs.next()) {
+				invalidateParent(rs.getString("parent_type").charAt(0), rs.getInt("parent_id"));
+			}
+		}
+	}
 
-				boolean idFound = answerIdList.remove(String.valueOf(answerID));
-				if (!idFound) {
-					System.out.println("Could not find answer id relation in provided question id: " + questionID);
-					return false;
-				}
+	/**
+	 * Drops a cached question or answer whose related answers have changed
+	 * 
+	 * @param parentType 	'q' if the parent is a question, 'a' if it is an answer
+	 * @param parentId 		The id of the parent
+	 * 
+	 */
+	private void invalidateParent(char parentType, int parentId) {
+		if (parentType == 'q') {
+			questionCache.invalidate(parentId);
+		} else {
+			answerCache.invalidate(parentId);
+		}
+	}
 
-				// Put list back into comma separated list
-				String newAnswerIDs = String.join(", ", answerIdList);
+	/**
+	 * Drops every cached question, answer and review. Used when the tables are
+	 * reset and when the users they carry as authors change.
+	 */
+	public void clearEntityCaches() {
+		questionCache.clear();
+		answerCache.clear();
+		reviewCache.clear();
+		readCache.clear();
+	}
 
-				try (PreparedStatement upstmt = connection.prepareStatement(updateQuery)) {
-					upstmt.setString(1, newAnswerIDs.isEmpty() ? null : newAnswerIDs);
-					upstmt.setInt(2, questionID);
-					upstmt.executeUpdate();
-					System.out.println("Answer ID: " + answerID
-							+ " was successfully removed from relation with question id: " + questionID);
-					return true;
-				}
-			} else {
-				System.err.println("Could not find a question with id: " + questionID);
-				return false;
+	/**
+	 * Returns the question, answer and review caches so their hit ratios can be checked
+	 * 
+	 * @return 		A List of the entity caches of this helper
+	 * 
+	 */
+	public List<EntityCache<?, ?>> getEntityCaches() {
+		return List.of(questionCache, answerCache, reviewCache, readCache);
+	}
+
+	/**
+	 * Returns the ids of the answers related to each of the passed parents, read
+	 * from the relation table with a single query
+	 * 
+	 * @param parentType 	'q' if the parents are questions, 'a' if they are answers
+	 * @param parentIds 	The ids of the parents you are working with
+	 * 
+	 * @return 				A map of parent id to its related answer ids, in the order they were added.
+	 * 						Parents without related answers are not in the map.
+	 * 
+	 * @throws SQLException In case the database throws an error
+	 * 
+	 */
+	private Map<Integer, List<String>> getRelatedIds(char parentType, Collection<Integer> parentIds)
+			throws SQLException {
+		Map<Integer, List<String>> related = new HashMap<>();
+		if (parentIds.isEmpty()) {
+			return related;
+		}
+
+		String query = "SELECT parent_id, child_id FROM cse360qa_relation WHERE parent_type = ? "
+				+ "AND parent_id = ANY(?) ORDER BY parent_id, child_id";
+		Array array = idArray(parentIds);
+		try (PreparedStatement pstmt = prepare(query)) {
+			pstmt.setString(1, String.valueOf(parentType));
+			pstmt.setArray(2, array);
+			ResultSet rs = pstmt.executeQuery();
+			while (rs.next()) {
+				related.computeIfAbsent(rs.getInt("parent_id"), k -> new ArrayList<>())
+						.add(String.valueOf(rs.getInt("child_id")));
 			}
-		} catch (SQLException e) {
-			System.err.println(e.getMessage() + "\nERROR IN DELETE-RELATION METHOD");
-			return false;
+		} finally {
+			array.free();
+		}
+		return related;
+	}
+
+	/**
+	 * Returns the ids of the answers related to one question or answer
+	 * 
+	 * @param parentType 	'q' if the parent is a question, 'a' if it is an answer
+	 * @param parentId 		The id of the parent you are working with
+	 * 
+	 * @return 				A list of related answer ids, or null if there are none
+	 * 
+	 * @throws SQLException In case the database throws an error
+	 * 
+	 */
+	private List<String> getRelatedIds(char parentType, int parentId) throws SQLException {
+		return getRelatedIds(parentType, List.of(parentId)).get(parentId);
+	}
+
+	/**
+	 * Sets the related answer ids of every question in the list with one query
+	 * 
+	 * @param questions 		The list of question objects you are working with
+	 * 
+	 * @throws SQLException 	In case the database throws an error
+	 * 
+	 */
+	private void hydrateQuestionRelations(List<Question> questions) throws SQLException {
+		Set<Integer> ids = new HashSet<>();
+		for (Question question : questions) {
+			ids.add(question.getId());
+		}
+		Map<Integer, List<String>> related = getRelatedIds('q', ids);
+
+		for (Question question : questions) {
+			question.setRelatedId(related.get(question.getId()));
+		}
+	}
+
+	/**
+	 * Sets the related answer ids of every answer in the list with one query
+	 * 
+	 * @param answers 			The list of answer objects you are working with
+	 * 
+	 * @throws SQLException 	In case the database throws an error
+	 * 
+	 */
+	private void hydrateAnswerRelations(List<Answer> answers) throws SQLException {
+		Set<Integer> ids = new HashSet<>();
+		for (Answer answer : answers) {
+			ids.add(answer.getId());
+		}
+		Map<Integer, List<String>> related = getRelatedIds('a', ids);
+
+		for (Answer answer : answers) {
+			answer.setRelatedId(related.get(answer.getId()));
 		}
 	}
 
@@ -606,10 +1317,17 @@ public class QAHelper1 {
 	 * 
 	 */
 	public Question getQuestion(Integer questionID) throws SQLException {
+		return questionCache.get(questionID, () -> loadQuestion(questionID));
+	}
+
+	/**
+	 * Reads a question from the database by id, skipping the cache
+	 */
+	private Question loadQuestion(Integer questionID) throws SQLException {
 		// Search the question database for a match to the question id
 		String query = "SELECT * FROM cse360question AS c WHERE c.id = ?	";
 
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+		try (PreparedStatement pstmt = prepare(query)) {
 			pstmt.setInt(1, questionID);
 			ResultSet rs = pstmt.executeQuery();
 
@@ -636,9 +1354,8 @@ public class QAHelper1 {
 					authorName = author.getName();
 				}
 
-				String answerIDs = rs.getString("answer_id");
-				// convert comma separated list into an array
-				List<String> relatedId = answerIDs != null ? List.of(answerIDs.split(",\\s")) : null;
+				// Look up the related answer ids in the relation table
+				List<String> relatedId = getRelatedIds('q', id);
 
 				// Create a new question object with the pulled info
 				Question question = new Question(id, title, text, authorId, createdOn, updatedOn, comp, preferredAnswer,
@@ -665,7 +1382,7 @@ public class QAHelper1 {
 		// Search the question database for a match to the question id
 		String query = "SELECT * FROM cse360question AS c WHERE c.title = ?	";
 
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+		try (PreparedStatement pstmt = prepare(query)) {
 			pstmt.setString(1, questionTitle);
 			ResultSet rs = pstmt.executeQuery();
 
@@ -692,9 +1409,8 @@ public class QAHelper1 {
 					authorName = author.getName();
 				}
 
-				String answerIDs = rs.getString("answer_id");
-				// convert comma separated list into an array
-				List<String> relatedId = answerIDs != null ? List.of(answerIDs.split(",\\s")) : null;
+				// Look up the related answer ids in the relation table
+				List<String> relatedId = getRelatedIds('q', id);
 
 				// Create a new question object with the pulled info
 				Question question = new Question(id, title, text, authorId, createdOn, updatedOn, comp, preferredAnswer,
@@ -718,10 +1434,17 @@ public class QAHelper1 {
 	 * 
 	 */
 	public Answer getAnswer(Integer answerID) throws SQLException {
+		return answerCache.get(answerID, () -> loadAnswer(answerID));
+	}
+
+	/**
+	 * Reads a answer from the database by id, skipping the cache
+	 */
+	private Answer loadAnswer(Integer answerID) throws SQLException {
 		// Search the answer database for a match to the answer id
 		String query = "SELECT * FROM cse360answer AS c WHERE c.id = ?	";
 
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+		try (PreparedStatement pstmt = prepare(query)) {
 			pstmt.setInt(1, answerID);
 			ResultSet rs = pstmt.executeQuery();
 
@@ -743,9 +1466,8 @@ public class QAHelper1 {
 					authorName = author.getName();
 				}
 
-				String answerIDs = rs.getString("answer_id");
-				// convert comma separated list into an array
-				List<String> relatedId = answerIDs != null ? List.of(answerIDs.split(",\\s")) : null;
+				// Look up the related answer ids in the relation table
+				List<String> relatedId = getRelatedIds('a', id);
 
 				// Create a new answer object with the pulled info
 				Answer answer = new Answer(id, text, authorId, createdOn, updatedOn, author, authorName, relatedId);
@@ -771,7 +1493,7 @@ public class QAHelper1 {
 		// Search the answer database for a match to the answer text
 		String query = "SELECT * FROM cse360answer AS c WHERE c.text = ?	";
 
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+		try (PreparedStatement pstmt = prepare(query)) {
 			pstmt.setString(1, answerText);
 			ResultSet rs = pstmt.executeQuery();
 
@@ -793,9 +1515,8 @@ public class QAHelper1 {
 					authorName = author.getName();
 				}
 
-				String answerIDs = rs.getString("answer_id");
-				// convert comma separated list into an array
-				List<String> relatedId = answerIDs != null ? List.of(answerIDs.split(",\\s")) : null;
+				// Look up the related answer ids in the relation table
+				List<String> relatedId = getRelatedIds('a', id);
 
 				// Create a new answer object with the pulled info
 				Answer answer = new Answer(id, text, authorId, createdOn, updatedOn, author, authorName, relatedId);
@@ -819,7 +1540,7 @@ public class QAHelper1 {
 		String query = "SELECT * FROM cse360question"; // selecting all of the rows in the database
 		List<Question> questions = new ArrayList<>();
 
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+		try (PreparedStatement pstmt = prepare(query)) {
 			ResultSet rs = pstmt.executeQuery();
 
 			while (rs.next()) {
@@ -837,25 +1558,17 @@ public class QAHelper1 {
 
 				List<String> comp = textDeserial(title + " " + text);
 
-				User author = databaseHelper.getUser(authorId);
-				String authorName = "User";
-
-				if (author != null) {
-					authorName = author.getName();
-				}
-
-				String answerIDs = rs.getString("answer_id");
-				// convert comma separated list into an array
-				List<String> relatedId = answerIDs != null ? List.of(answerIDs.split(",\\s")) : null;
-
 				// Create a new question object with the pulled info
 				Question question = new Question(id, title, text, authorId, createdOn, updatedOn, comp, preferredAnswer,
-						author, authorName, relatedId);
+						null, null, null);
 
 				// Add question object to the list questions
 				questions.add(question);
 			}
 		}
+		// Fill in the authors and related answer ids with bulk lookups instead of one query per row
+		hydrateQuestionAuthors(questions);
+		hydrateQuestionRelations(questions);
 		// Return the assembled list of question objects
 		return questions;
 	}
@@ -877,46 +1590,14 @@ public class QAHelper1 {
 		List<Answer> unreadAnswers = new ArrayList<>();
 		List<Answer> readAnswers = new ArrayList<>();
 
-		// Retrieve answer_id as a single string
-		String getAnswerIdsQuery = "SELECT answer_id FROM cse360question WHERE id = ?";
-		String answerIdStr = null;
-
-		try (PreparedStatement stmt = connection.prepareStatement(getAnswerIdsQuery)) {
-			stmt.setInt(1, questionId);
-			ResultSet rs = stmt.executeQuery();
-			if (rs.next()) {
-				answerIdStr = rs.getString("answer_id");
-			}
-		}
-
-		// If no answer IDs exist, return empty lists
-		if (answerIdStr == null || answerIdStr.trim().isEmpty()) {
-			result.put("unread", unreadAnswers);
-			result.put("read", readAnswers);
-			return result;
-		}
-
-		List<Integer> answerIds = Arrays.stream(answerIdStr.split(",\\s*")).map(Integer::parseInt)
-				.collect(Collectors.toList());
-
-		if (answerIds.isEmpty()) {
-			result.put("unread", unreadAnswers);
-			result.put("read", readAnswers);
-			return result;
-		}
-
-		// dynamic SQL query
-		String placeholders = answerIds.stream().map(id -> "?").collect(Collectors.joining(", "));
-		String query = "SELECT a.*, "
-				+ "CASE WHEN av.is_read IS NULL OR av.is_read = FALSE THEN 'unread' ELSE 'read' END AS read_status "
-				+ "FROM cse360answer a " + "LEFT JOIN cse360answerviews av ON a.id = av.answer_id AND av.user_id = ? "
-				+ "WHERE a.id IN (" + placeholders + ")";
+		// Load the direct answers to the question
+		String query = "SELECT a.* FROM cse360qa_relation r JOIN cse360answer a ON a.id = r.child_id "
+				+ "WHERE r.parent_type = 'q' AND r.parent_id = ? ORDER BY r.child_id";
+		List<Answer> answers = new ArrayList<>();
+		IdBitmap answerIds = new IdBitmap();
 
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
-			pstmt.setInt(1, userId);
-			for (int i = 0; i < answerIds.size(); i++) {
-				pstmt.setInt(i + 2, answerIds.get(i));
-			}
+		try (PreparedStatement pstmt = prepare(query)) {
+			pstmt.setInt(1, questionId);
 
 			ResultSet rs = pstmt.executeQuery();
 			while (rs.next()) {
@@ -927,15 +1608,20 @@ public class QAHelper1 {
 				LocalDateTime createdOn = created != null ? created.toLocalDateTime() : null;
 				Timestamp updated = rs.getTimestamp("updated_on");
 				LocalDateTime updatedOn = updated != null ? updated.toLocalDateTime() : null;
-				String readStatus = rs.getString("read_status");
 
-				Answer answer = new Answer(id, text, authorId, createdOn, updatedOn, null, null, null);
+				answers.add(new Answer(id, text, authorId, createdOn, updatedOn, null, null, null));
+				answerIds.add(id);
+			}
+		}
 
-				if ("unread".equals(readStatus)) {
-					unreadAnswers.add(answer);
-				} else {
-					readAnswers.add(answer);
-				}
+		// The unread answers are the question's answers less the ones in the user's read bitmap
+		flushReadReceipts();
+		IdBitmap unread = answerIds.andNot(getReadBitmap(userId));
+		for (Answer answer : answers) {
+			if (unread.contains(answer.getId())) {
+				unreadAnswers.add(answer);
+			} else {
+				readAnswers.add(answer);
 			}
 		}
 
@@ -953,12 +1639,11 @@ public class QAHelper1 {
 	 * 
 	 */
 	public List<Question> getAllUnansweredQuestions() throws SQLException {
-		String query = "SELECT * FROM cse360question WHERE answer_id IS NULL OR answer_id = ''"; // selecting all of the
-																									// rows in the
-																									// database
+		String query = "SELECT * FROM cse360question q WHERE NOT EXISTS (SELECT 1 FROM cse360qa_relation r "
+				+ "WHERE r.parent_type = 'q' AND r.parent_id = q.id)"; // selecting all of the rows in the database
 		List<Question> questions = new ArrayList<>(); // that don't have an answer id
 
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+		try (PreparedStatement pstmt = prepare(query)) {
 			ResultSet rs = pstmt.executeQuery();
 
 			while (rs.next()) {
@@ -976,25 +1661,17 @@ public class QAHelper1 {
 
 				List<String> comp = textDeserial(title + " " + text);
 
-				User author = databaseHelper.getUser(authorId);
-				String authorName = "User";
-
-				if (author != null) {
-					authorName = author.getName();
-				}
-
-				String answerIDs = rs.getString("answer_id");
-				// convert comma separated list into an array
-				List<String> relatedId = answerIDs != null ? List.of(answerIDs.split(",\\s")) : null;
-
 				// Create a new question object with the pulled info
 				Question question = new Question(id, title, text, authorId, createdOn, updatedOn, comp, preferredAnswer,
-						author, authorName, relatedId);
+						null, null, null);
 
 				// Add question object to the list questions
 				questions.add(question);
 			}
 		}
+		// Fill in the authors and related answer ids with bulk lookups instead of one query per row
+		hydrateQuestionAuthors(questions);
+		hydrateQuestionRelations(questions);
 		// Return the assembled list of question objects
 		return questions;
 	}
@@ -1014,7 +1691,7 @@ public class QAHelper1 {
 		String query = "SELECT * FROM cse360question WHERE preferred_answer IS NULL OR preferred_answer = 0";
 		List<Question> questions = new ArrayList<>();
 
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+		try (PreparedStatement pstmt = prepare(query)) {
 			ResultSet rs = pstmt.executeQuery();
 			while (rs.next()) {
 				int id = rs.getInt("id");
@@ -1027,19 +1704,15 @@ public class QAHelper1 {
 				LocalDateTime updatedOn = updated != null ? updated.toLocalDateTime() : null;
 				int preferredAnswer = rs.getInt("preferred_answer");
 
-				User author = databaseHelper.getUser(authorId);
-				String authorName = "User";
-				if (author != null) {
-					authorName = author.getName();
-				}
-				String answerIDs = rs.getString("answer_id");
-				List<String> relatedId = answerIDs != null ? List.of(answerIDs.split(",\\s")) : null;
 
 				Question q = new Question(id, title, text, authorId, createdOn, updatedOn, textDeserial(title + text),
-						preferredAnswer, author, authorName, relatedId);
+						preferredAnswer, null, null, null);
 				questions.add(q);
 			}
 		}
+		// Fill in the authors and related answer ids with bulk lookups instead of one query per row
+		hydrateQuestionAuthors(questions);
+		hydrateQuestionRelations(questions);
 		return questions;
 	}
 
@@ -1059,7 +1732,7 @@ public class QAHelper1 {
 
 		List<Question> questions = new ArrayList<>();
 
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+		try (PreparedStatement pstmt = prepare(query)) {
 			pstmt.setInt(1, userId); // For questions posted by the user
 			ResultSet rs = pstmt.executeQuery();
 
@@ -1074,19 +1747,18 @@ public class QAHelper1 {
 				LocalDateTime updatedOn = updated != null ? updated.toLocalDateTime() : null;
 				int preferredAnswer = rs.getInt("preferred_answer");
 
-				User author = databaseHelper.getUser(authorId);
-				String authorName = (author != null) ? author.getName() : "User";
-				String answerIDs = rs.getString("answer_id");
-				List<String> relatedId = (answerIDs != null) ? List.of(answerIDs.split(",\\s")) : null;
 
 				// Create Question object without unread count (since we now get unread answers
 				// dynamically)
 				Question q = new Question(id, title, text, authorId, createdOn, updatedOn, textDeserial(title + text),
-						preferredAnswer, author, authorName, relatedId);
+						preferredAnswer, null, null, null);
 
 				questions.add(q);
 			}
 		}
+		// Fill in the authors and related answer ids with bulk lookups instead of one query per row
+		hydrateQuestionAuthors(questions);
+		hydrateQuestionRelations(questions);
 		return questions;
 	}
 
@@ -1131,13 +1803,11 @@ public class QAHelper1 {
 	 * 
 	 */
 	public List<Question> getAllAnsweredQuestions() throws SQLException {
-		String query = "SELECT * FROM cse360question WHERE answer_id IS NOT NULL AND answer_id <> ''"; // selecting all
-																										// of the rows
-																										// in the
-																										// database
+		String query = "SELECT * FROM cse360question q WHERE EXISTS (SELECT 1 FROM cse360qa_relation r "
+				+ "WHERE r.parent_type = 'q' AND r.parent_id = q.id)"; // selecting all of the rows in the database
 		List<Question> questions = new ArrayList<>(); // that don't have an answer id
 
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+		try (PreparedStatement pstmt = prepare(query)) {
 			ResultSet rs = pstmt.executeQuery();
 
 			while (rs.next()) {
@@ -1155,25 +1825,17 @@ public class QAHelper1 {
 
 				List<String> comp = textDeserial(title + " " + text);
 
-				User author = databaseHelper.getUser(authorId);
-				String authorName = "User";
-
-				if (author != null) {
-					authorName = author.getName();
-				}
-
-				String answerIDs = rs.getString("answer_id");
-				// convert comma separated list into an array
-				List<String> relatedId = answerIDs != null ? List.of(answerIDs.split(",\\s")) : null;
-
 				// Create a new question object with the pulled info
 				Question question = new Question(id, title, text, authorId, createdOn, updatedOn, comp, preferredAnswer,
-						author, authorName, relatedId);
+						null, null, null);
 
 				// Add question object to the list questions
 				questions.add(question);
 			}
 		}
+		// Fill in the authors and related answer ids with bulk lookups instead of one query per row
+		hydrateQuestionAuthors(questions);
+		hydrateQuestionRelations(questions);
 		// Return the assembled list of question objects
 		return questions;
 	}
@@ -1190,7 +1852,7 @@ public class QAHelper1 {
 		String query = "SELECT * FROM cse360answer"; // selecting all of the rows in the database
 		List<Answer> answers = new ArrayList<>();
 
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+		try (PreparedStatement pstmt = prepare(query)) {
 			ResultSet rs = pstmt.executeQuery();
 
 			while (rs.next()) {
@@ -1205,24 +1867,16 @@ public class QAHelper1 {
 				// Convert to LocalDateTime format
 				LocalDateTime updatedOn = updated != null ? updated.toLocalDateTime() : null;
 
-				User author = databaseHelper.getUser(authorId);
-				String authorName = "User";
-
-				if (author != null) {
-					authorName = author.getName();
-				}
-
-				String answerIDs = rs.getString("answer_id");
-				// convert comma separated list into an array
-				List<String> relatedId = answerIDs != null ? List.of(answerIDs.split(",\\s")) : null;
-
 				// Create a new answer object with the pulled info
-				Answer answer = new Answer(id, text, authorId, createdOn, updatedOn, author, authorName, relatedId);
+				Answer answer = new Answer(id, text, authorId, createdOn, updatedOn, null, null, null);
 
 				// Add the new answer object to the list of answer objects
 				answers.add(answer);
 			}
 		}
+		// Fill in the authors and related answer ids with bulk lookups instead of one query per row
+		hydrateAnswerAuthors(answers);
+		hydrateAnswerRelations(answers);
 		// Return the list of answer objects
 		return answers;
 	}
@@ -1239,72 +1893,189 @@ public class QAHelper1 {
 	 * 
 	 */
 	public List<Answer> getAllAnswersForQuestion(int questionID) throws SQLException {
-		String query = "SELECT answer_id FROM cse360question WHERE id = ?";
+		// Join the relation table to the answer table to get every related answer in one query
+		String query = "SELECT a.id, a.text, a.author, a.created_On, a.updated_On FROM cse360qa_relation r "
+				+ "JOIN cse360answer a ON a.id = r.child_id WHERE r.parent_type = 'q' AND r.parent_id = ? "
+				+ "ORDER BY r.child_id";
 		List<Answer> answers = new ArrayList<>();
 
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+		try (PreparedStatement pstmt = prepare(query)) {
 			pstmt.setInt(1, questionID);
 			ResultSet rs = pstmt.executeQuery();
 
-			if (rs.next()) {
-				String answerIDs = rs.getString("answer_id");
-
-				if (answerIDs == null || answerIDs.trim().isEmpty()) {
-					// System.err.println("Error: There are no answers related to this question.");
-					// // Debug
-					return answers;
-				}
+			while (rs.next()) {
+				int id = rs.getInt("id");
+				String text = rs.getString("text");
+				int authorId = rs.getInt("author");
+				Timestamp created = rs.getTimestamp("created_On");
+				// Convert to LocalDateTime format
+				LocalDateTime createdOn = created != null ? created.toLocalDateTime() : null;
+				Timestamp updated = rs.getTimestamp("updated_On");
+				// Convert to LocalDateTime format
+				LocalDateTime updatedOn = updated != null ? updated.toLocalDateTime() : null;
 
-				// convert comma separated list into an array
-				String[] answerIdArray = answerIDs.split(",\\s");
+				// Create a new answer object with the pulled info
+				Answer answer = new Answer(id, text, authorId, createdOn, updatedOn, null, null, null);
 
-				String temp = String.join(",", Collections.nCopies(answerIdArray.length, "?"));
-				String newQuery = "SELECT id, text, author, created_On, updated_On, answer_id FROM cse360answer WHERE id IN ("
-						+ temp + ")";
-				try (PreparedStatement upstmt = connection.prepareStatement(newQuery)) {
+				// Add the new answer object to the list of answer objects
+				answers.add(answer);
+			}
+		}
+		// Fill in the authors and related answer ids with bulk lookups instead of one query per row
+		hydrateAnswerAuthors(answers);
+		hydrateAnswerRelations(answers);
+		// Return the list of answer objects
+		return answers;
+	}
 
-					for (int i = 0; i < answerIdArray.length; i++) {
-						upstmt.setInt(i + 1, Integer.parseInt(answerIdArray[i].trim()));
-					}
+	/**
+	 * Loads a question and everything posted under it: the nested tree of answers,
+	 * the reviews of the question and of every answer with their message and vote
+	 * counts, and all of their authors. Uses a fixed number of queries no matter how
+	 * large the thread is, with a recursive query walking the answer tree.
+	 * 
+	 * @param questionId 		The id of the question you are working with
+	 * 
+	 * @return 					An immutable thread for the question, or null if the question does not exist
+	 * 
+	 * @throws SQLException 	In case the database throws an error
+	 * 
+	 */
+	public QuestionThread loadThread(int questionId) throws SQLException {
+		Question question = getQuestion(questionId);
+		if (question == null) {
+			return null;
+		}
 
-					ResultSet newRs = upstmt.executeQuery();
+		// Walk the relation table down from the question, guarding against cycles with a depth limit
+		String answerQuery = "WITH RECURSIVE thread(parent_type, parent_id, child_id, depth) AS ("
+				+ "SELECT parent_type, parent_id, child_id, 1 FROM cse360qa_relation "
+				+ "WHERE parent_type = 'q' AND parent_id = ? "
+				+ "UNION ALL SELECT r.parent_type, r.parent_id, r.child_id, t.depth + 1 FROM cse360qa_relation r "
+				+ "JOIN thread t ON r.parent_type = 'a' AND r.parent_id = t.child_id WHERE t.depth < ?) "
+				+ "SELECT t.parent_type, t.parent_id, a.id, a.text, a.author, a.created_On, a.updated_On "
+				+ "FROM thread t JOIN cse360answer a ON a.id = t.child_id ORDER BY t.depth, t.parent_id, t.child_id";
+
+		// Answers in the order they were reached, and the replies of each parent
+		Map<Integer, Answer> answers = new LinkedHashMap<>();
+		List<Integer> directIds = new ArrayList<>();
+		Map<Integer, List<Integer>> replyIds = new HashMap<>();
+
+		try (PreparedStatement pstmt = prepare(answerQuery)) {
+			pstmt.setInt(1, questionId);
+			pstmt.setInt(2, MAX_THREAD_DEPTH);
+			ResultSet rs = pstmt.executeQuery();
 
-					while (newRs.next()) {
-						int id = newRs.getInt("id");
-						String text = newRs.getString("text");
-						int authorId = newRs.getInt("author");
-						Timestamp created = newRs.getTimestamp("created_On");
-						// Convert to LocalDateTime format
-						LocalDateTime createdOn = created != null ? created.toLocalDateTime() : null;
-						Timestamp updated = newRs.getTimestamp("updated_On");
-						// Convert to LocalDateTime format
-						LocalDateTime updatedOn = updated != null ? updated.toLocalDateTime() : null;
+			while (rs.next()) {
+				int id = rs.getInt("id");
+				// An answer related to more than one parent is only shown under the first
+				if (answers.containsKey(id)) {
+					continue;
+				}
+				Timestamp created = rs.getTimestamp("created_On");
+				LocalDateTime createdOn = created != null ? created.toLocalDateTime() : null;
+				Timestamp updated = rs.getTimestamp("updated_On");
+				LocalDateTime updatedOn = updated != null ? updated.toLocalDateTime() : null;
+				answers.put(id, new Answer(id, rs.getString("text"), rs.getInt("author"), createdOn, updatedOn,
+						null, null, null));
 
-						User author = databaseHelper.getUser(authorId);
-						String authorName = "User";
+				if (rs.getString("parent_type").charAt(0) == 'q') {
+					directIds.add(id);
+				} else {
+					replyIds.computeIfAbsent(rs.getInt("parent_id"), k -> new ArrayList<>()).add(id);
+				}
+			}
+		}
 
-						if (author != null) {
-							authorName = author.getName();
-						}
+		// Reviews of the question and of every answer, with their message counts joined in
+		List<Review> reviews = new ArrayList<>();
+		String reviewQuery = REVIEW_SELECT + "WHERE (r.forQuestion = TRUE AND r.relatedId = ?) "
+				+ "OR (r.forQuestion = FALSE AND r.relatedId = ANY(?)) ORDER BY r.id";
+		Array answerIds = idArray(answers.keySet());
+		try (PreparedStatement pstmt = prepare(reviewQuery)) {
+			pstmt.setInt(1, questionId);
+			pstmt.setArray(2, answerIds);
+			ResultSet rs = pstmt.executeQuery();
 
-						String subAnswerIDs = newRs.getString("answer_id");
-						// convert comma separated list into an array
-						List<String> relatedId = subAnswerIDs != null ? List.of(subAnswerIDs.split(",\\s")) : null;
+			while (rs.next()) {
+				Timestamp created = rs.getTimestamp("created_On");
+				LocalDateTime createdOn = created != null ? created.toLocalDateTime() : null;
+				Timestamp updated = rs.getTimestamp("updated_On");
+				LocalDateTime updatedOn = updated != null ? updated.toLocalDateTime() : null;
+				reviews.add(new Review(rs.getInt("id"), rs.getBoolean("forQuestion"), rs.getInt("relatedId"),
+						rs.getString("text"), rs.getInt("author"), createdOn, updatedOn, null, null,
+						rs.getInt("message_count"), rs.getInt("vote")));
+			}
+		} finally {
+			answerIds.free();
+		}
 
-						// Create a new answer object with the pulled info
-						Answer answer = new Answer(id, text, authorId, createdOn, updatedOn, author, authorName,
-								relatedId);
+		// Fill in every author in the thread with one bulk lookup
+		Set<Integer> authorIds = new HashSet<>();
+		for (Answer answer : answers.values()) {
+			authorIds.add(answer.getAuthorId());
+		}
+		for (Review review : reviews) {
+			authorIds.add(review.getAuthorId());
+		}
+		Map<Integer, User> authors = databaseHelper.getUsersByIds(authorIds);
+
+		for (Answer answer : answers.values()) {
+			User author = authors.get(answer.getAuthorId());
+			answer.setAuthor(author);
+			answer.setAuthorName(author != null ? author.getName() : "User");
+			List<Integer> replies = replyIds.get(answer.getId());
+			answer.setRelatedId(replies != null ? toStrings(replies) : null);
+		}
 
-						// Add the new answer object to the list of answer objects
-						answers.add(answer);
-					}
-				}
+		List<Review> questionReviews = new ArrayList<>();
+		Map<Integer, List<Review>> answerReviews = new HashMap<>();
+		for (Review review : reviews) {
+			User author = authors.get(review.getAuthorId());
+			review.setAuthor(author);
+			review.setAuthorName(author != null ? author.getName() : "User");
+			if (review.getForQuestion()) {
+				questionReviews.add(review);
 			} else {
-				System.err.println("Error. Question id, " + questionID + ", was not found");
+				answerReviews.computeIfAbsent(review.getRelatedId(), k -> new ArrayList<>()).add(review);
 			}
 		}
-		// Return the list of answer objects
-		return answers;
+
+		// Show the preferred answer first when it answers the question directly
+		int preferred = question.getPreferredAnswer();
+		if (directIds.remove(Integer.valueOf(preferred))) {
+			directIds.add(0, preferred);
+		}
+		question.setRelatedId(directIds.isEmpty() ? null : toStrings(directIds));
+
+		return new QuestionThread(question, questionReviews,
+				buildAnswerNodes(directIds, answers, replyIds, answerReviews));
+	}
+
+	/**
+	 * Builds the thread nodes for a list of answer ids and, recursively, their replies
+	 */
+	private List<QuestionThread.AnswerNode> buildAnswerNodes(List<Integer> ids, Map<Integer, Answer> answers,
+			Map<Integer, List<Integer>> replyIds, Map<Integer, List<Review>> answerReviews) {
+		List<QuestionThread.AnswerNode> nodes = new ArrayList<>();
+		for (Integer id : ids) {
+			List<Integer> replies = replyIds.getOrDefault(id, Collections.emptyList());
+			nodes.add(new QuestionThread.AnswerNode(answers.get(id),
+					answerReviews.getOrDefault(id, Collections.emptyList()),
+					buildAnswerNodes(replies, answers, replyIds, answerReviews)));
+		}
+		return nodes;
+	}
+
+	/**
+	 * Converts a list of ids to the string form the question and answer objects use
+	 */
+	private static List<String> toStrings(List<Integer> ids) {
+		List<String> strings = new ArrayList<>(ids.size());
+		for (Integer id : ids) {
+			strings.add(String.valueOf(id));
+		}
+		return strings;
 	}
 
 	/**
@@ -1319,72 +2090,131 @@ public class QAHelper1 {
 	 * 
 	 */
 	public List<Answer> getAllAnswersForAnswer(int answerID) throws SQLException {
-		String query = "SELECT answer_id FROM cse360answer WHERE id = ?";
+		// Join the relation table to the answer table to get every related answer in one query
+		String query = "SELECT a.id, a.text, a.author, a.created_On, a.updated_On FROM cse360qa_relation r "
+				+ "JOIN cse360answer a ON a.id = r.child_id WHERE r.parent_type = 'a' AND r.parent_id = ? "
+				+ "ORDER BY r.child_id";
 		List<Answer> answers = new ArrayList<>();
 
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+		try (PreparedStatement pstmt = prepare(query)) {
 			pstmt.setInt(1, answerID);
 			ResultSet rs = pstmt.executeQuery();
 
-			if (rs.next()) {
-				String answerIDs = rs.getString("answer_id");
-
-				if (answerIDs == null || answerIDs.trim().isEmpty()) {
-					// System.err.println("Error: There are no answers related to this answer."); //
-					// Debug
-					return answers;
-				}
+			while (rs.next()) {
+				int id = rs.getInt("id");
+				String text = rs.getString("text");
+				int authorId = rs.getInt("author");
+				Timestamp created = rs.getTimestamp("created_On");
+				// Convert to LocalDateTime format
+				LocalDateTime createdOn = created != null ? created.toLocalDateTime() : null;
+				Timestamp updated = rs.getTimestamp("updated_On");
+				// Convert to LocalDateTime format
+				LocalDateTime updatedOn = updated != null ? updated.toLocalDateTime() : null;
 
-				// convert comma separated list into an array
-				String[] answerIdArray = answerIDs.split(",\\s");
+				// Create a new answer object with the pulled info
+				Answer answer = new Answer(id, text, authorId, createdOn, updatedOn, null, null, null);
 
-				String temp = String.join(",", Collections.nCopies(answerIdArray.length, "?"));
-				String newQuery = "SELECT id, text, author, created_On, updated_On, answer_id FROM cse360answer WHERE id IN ("
-						+ temp + ")";
-				try (PreparedStatement upstmt = connection.prepareStatement(newQuery)) {
+				// Add the new answer object to the list of answer objects
+				answers.add(answer);
+			}
+		}
+		// Fill in the authors and related answer ids with bulk lookups instead of one query per row
+		hydrateAnswerAuthors(answers);
+		hydrateAnswerRelations(answers);
+		// Return the list of answer objects
+		return answers;
+	}
 
-					for (int i = 0; i < answerIdArray.length; i++) {
-						upstmt.setInt(i + 1, Integer.parseInt(answerIdArray[i].trim()));
-					}
+	/**
+	 * Sets the author and authorName of every question in the list using one bulk
+	 * user lookup instead of one getUser() call per row
+	 *
+	 * @param questions 		The list of question objects you are working with
+	 *
+	 * @throws SQLException 	In case the database throws an error
+	 *
+	 */
+	private void hydrateQuestionAuthors(List<Question> questions) throws SQLException {
+		Set<Integer> authorIds = new HashSet<>();
+		for (Question question : questions) {
+			authorIds.add(question.getAuthorId());
+		}
+		Map<Integer, User> authors = databaseHelper.getUsersByIds(authorIds);
 
-					ResultSet newRs = upstmt.executeQuery();
+		for (Question question : questions) {
+			User author = authors.get(question.getAuthorId());
+			question.setAuthor(author);
+			question.setAuthorName(author != null ? author.getName() : "User");
+		}
+	}
 
-					while (newRs.next()) {
-						int id = newRs.getInt("id");
-						String text = newRs.getString("text");
-						int authorId = newRs.getInt("author");
-						Timestamp created = newRs.getTimestamp("created_On");
-						// Convert to LocalDateTime format
-						LocalDateTime createdOn = created != null ? created.toLocalDateTime() : null;
-						Timestamp updated = newRs.getTimestamp("updated_On");
-						// Convert to LocalDateTime format
-						LocalDateTime updatedOn = updated != null ? updated.toLocalDateTime() : null;
+	/**
+	 * Sets the author and authorName of every answer in the list using one bulk
+	 * user lookup instead of one getUser() call per row
+	 *
+	 * @param answers 			The list of answer objects you are working with
+	 *
+	 * @throws SQLException 	In case the database throws an error
+	 *
+	 */
+	private void hydrateAnswerAuthors(List<Answer> answers) throws SQLException {
+		Set<Integer> authorIds = new HashSet<>();
+		for (Answer answer : answers) {
+			authorIds.add(answer.getAuthorId());
+		}
+		Map<Integer, User> authors = databaseHelper.getUsersByIds(authorIds);
 
-						User author = databaseHelper.getUser(authorId);
-						String authorName = "User";
+		for (Answer answer : answers) {
+			User author = authors.get(answer.getAuthorId());
+			answer.setAuthor(author);
+			answer.setAuthorName(author != null ? author.getName() : "User");
+		}
+	}
 
-						if (author != null) {
-							authorName = author.getName();
-						}
+	/**
+	 * Sets the author and authorName of every review in the list using one bulk
+	 * user lookup instead of one getUser() call per row
+	 *
+	 * @param reviews 			The list of review objects you are working with
+	 *
+	 * @throws SQLException 	In case the database throws an error
+	 *
+	 */
+	private void hydrateReviewAuthors(List<Review> reviews) throws SQLException {
+		Set<Integer> authorIds = new HashSet<>();
+		for (Review review : reviews) {
+			authorIds.add(review.getAuthorId());
+		}
+		Map<Integer, User> authors = databaseHelper.getUsersByIds(authorIds);
 
-						String subAnswerIDs = newRs.getString("answer_id");
-						// convert comma separated list into an array
-						List<String> relatedId = subAnswerIDs != null ? List.of(subAnswerIDs.split(",\\s")) : null;
+		for (Review review : reviews) {
+			User author = authors.get(review.getAuthorId());
+			review.setAuthor(author);
+			review.setAuthorName(author != null ? author.getName() : "User");
+		}
+	}
 
-						// Create a new answer object with the pulled info
-						Answer answer = new Answer(id, text, authorId, createdOn, updatedOn, author, authorName,
-								relatedId);
+	/**
+	 * Sets the sender and recipient of every message in the list using one bulk
+	 * user lookup instead of two getUser() calls per message
+	 *
+	 * @param messages 			The list of message objects you are working with
+	 *
+	 * @throws SQLException 	In case the database throws an error
+	 *
+	 */
+	private void hydrateMessageUsers(List<Message> messages) throws SQLException {
+		Set<Integer> userIds = new HashSet<>();
+		for (Message message : messages) {
+			userIds.add(message.getSenderID());
+			userIds.add(message.getRecipientID());
+		}
+		Map<Integer, User> users = databaseHelper.getUsersByIds(userIds);
 
-						// Add the new answer object to the list of answer objects
-						answers.add(answer);
-					}
-				}
-			} else {
-				System.err.println("Error. Answer id, " + answerID + ", was not found");
-			}
+		for (Message message : messages) {
+			message.setSender(users.get(message.getSenderID()));
+			message.setRecipient(users.get(message.getRecipientID()));
 		}
-		// Return the list of answer objects
-		return answers;
 	}
 
 	/**
@@ -1429,10 +2259,11 @@ public class QAHelper1 {
 	 */
 	public void updatePreferredAnswer(Question question) {
 		String query = "UPDATE cse360question SET preferred_answer = ?, updated_on = CURRENT_TIMESTAMP WHERE id = ?";
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+		try (PreparedStatement pstmt = prepare(query)) {
 			pstmt.setInt(1, question.getPreferredAnswer());
 			pstmt.setInt(2, question.getId());
 			int updated = pstmt.executeUpdate();
+			questionCache.invalidate(question.getId());
 			if (updated > 0) {
 				System.out.println("Preferred answer updated.");
 			} else {
@@ -1453,14 +2284,16 @@ public class QAHelper1 {
 	 */
 	public void updateQuestion(Question question) {
 		String query = "UPDATE cse360question Set title = ?, text = ?, updated_on = CURRENT_TIMESTAMP WHERE id = ?";
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+		try (PreparedStatement pstmt = prepare(query)) {
 			pstmt.setString(1, question.getTitle());
 			pstmt.setString(2, question.getText());
 			pstmt.setInt(3, question.getId());
 
 			int updated = pstmt.executeUpdate();
+			questionCache.invalidate(question.getId());
 			// Check if any changes were made
 			if (updated > 0) {
+				searchIndex.put(question.getId(), question.getTitle(), question.getText());
 				System.out.println("Question has been updated."); // Debug
 			} else {
 				System.out.println("No matching question was found."); // Debug
@@ -1479,11 +2312,12 @@ public class QAHelper1 {
 	 */
 	public void updateAnswer(Answer answer) {
 		String query = "UPDATE cse360answer Set text = ?, updated_on = CURRENT_TIMESTAMP WHERE id = ?";
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+		try (PreparedStatement pstmt = prepare(query)) {
 			pstmt.setString(1, answer.getText());
 			pstmt.setInt(2, answer.getId());
 
 			int updated = pstmt.executeUpdate();
+			answerCache.invalidate(answer.getId());
 			// Check if any changes were made
 			if (updated > 0) {
 				System.out.println("Answer has been updated."); // Debug
@@ -1505,49 +2339,88 @@ public class QAHelper1 {
 	 * 
 	 */
 	public List<Question> searchQuestionDatabase(String input) {
-		List<Question> questions;
-		// Get list words from current text input string
-		List<String> entry = databaseHelper.qaHelper.textDeserial(input);
+		return searchQuestionDatabase(input, SEARCH_RESULT_LIMIT);
+	}
+
+	/**
+	 * Search the question database for similar question title + text, returning at
+	 * most limit questions ranked by BM25 relevance
+	 * 
+	 * @param input 		A string containing the text you wish to search for
+	 * @param limit 		The most questions to return
+	 * 
+	 * @return 				A List of question objects representing the best matches to the searched text
+	 * 
+	 */
+	public List<Question> searchQuestionDatabase(String input, int limit) {
+		// Rank the matching question ids from the index, then load only those rows
+		List<Integer> ids = searchIndex.search(input, limit);
 		try {
-			questions = databaseHelper.qaHelper.getAllQuestions();
+			return getQuestionsByIds(ids);
 		} catch (SQLException e) {
 			e.printStackTrace();
-			System.err.println("Error trying to .getAllQuestions() within searchQuestionDatabase method");
+			System.err.println("Error trying to .getQuestionsByIds() within searchQuestionDatabase method");
 			return null;
 		}
+	}
+
+	/**
+	 * Retrieves the questions with the given ids, in the same order as the ids
+	 * 
+	 * @param ids 				The ids of the questions you wish to retrieve
+	 * 
+	 * @return 					A list of question objects, skipping any ids that were not found
+	 * 
+	 * @throws SQLException 	In case the database throws an error
+	 * 
+	 */
+	public List<Question> getQuestionsByIds(List<Integer> ids) throws SQLException {
+		if (ids.isEmpty()) {
+			return new ArrayList<>();
+		}
 
-		// Use Hashmap to sort
-		Map<Question, Integer> similarity = new HashMap<>();
+		String query = "SELECT * FROM cse360question WHERE id = ANY(?)";
+		Map<Integer, Question> found = new HashMap<>();
 
-		for (Question question : questions) {
-			// This will hold words already seen
-			Set<String> existingWords = new HashSet<>();
-			// Get list of words to compare from current question
-			List<String> compList = question.getComp();
-			int count = 0;
+		Array array = idArray(ids);
+		try (PreparedStatement pstmt = prepare(query)) {
+			pstmt.setArray(1, array);
+			ResultSet rs = pstmt.executeQuery();
 
-			// Count the matches
-			for (String word : entry) {
-				if (compList.contains(word) && !existingWords.contains(word)) {
-					existingWords.add(word);
-					count++;
-				}
-			}
+			while (rs.next()) {
+				int id = rs.getInt("id");
+				String title = rs.getString("title");
+				String text = rs.getString("text");
+				int authorId = rs.getInt("author");
+				Timestamp created = rs.getTimestamp("created_On");
+				// Convert to LocalDateTime format
+				LocalDateTime createdOn = created != null ? created.toLocalDateTime() : null;
+				Timestamp updated = rs.getTimestamp("updated_On");
+				// Convert to LocalDateTime format
+				LocalDateTime updatedOn = updated != null ? updated.toLocalDateTime() : null;
+				int preferredAnswer = rs.getInt("preferred_answer");
 
-			double score = ((double) count/* / compList.size() */); // Factoring in size doesn't seem reliable
+				List<String> comp = textDeserial(title + " " + text);
 
-			// Set initial threshold to add comp to map
-			if (score > 0.05) {
-				similarity.put(question, (int) score);
+				// Create a new question object with the pulled info
+				found.put(id, new Question(id, title, text, authorId, createdOn, updatedOn, comp, preferredAnswer,
+						null, null, null));
 			}
+		} finally {
+			array.free();
 		}
 
-		// Sort based on similarity score
-		List<Question> sortedList = similarity.entrySet().stream()
-				.sorted(Map.Entry.<Question, Integer>comparingByValue().reversed()).map(Map.Entry::getKey)
-				.collect(Collectors.toList());
-
-		return sortedList;
+		// Put the questions back in the order the ids were given
+		List<Question> questions = new ArrayList<>();
+		for (Integer id : ids) {
+			Question question = found.get(id);
+			if (question != null) {
+				questions.add(question);
+			}
+		}
+		hydrateQuestionAuthors(questions);
+		hydrateQuestionRelations(questions);
+		return questions;
 	}
 	
 	/**
@@ -1559,23 +2432,7 @@ public class QAHelper1 {
 	 * 
 	 */
 	public void createMessage(Message message) throws SQLException {
-	    String insertMessage = "INSERT INTO cse360message (senderid, recipientid, subject, message, referenceId, referenceType) VALUES (?, ?, ?, ?, ?, ?)";
-	    try (PreparedStatement pstmt = connection.prepareStatement(insertMessage, Statement.RETURN_GENERATED_KEYS)) {
-	        pstmt.setInt(1, message.getSenderID());
-	        pstmt.setInt(2, message.getRecipientID());
-	        pstmt.setString(3, message.getSubject());
-	        pstmt.setString(4, message.getMessage());
-	        pstmt.setInt(5, message.getReferenceID());
-	        pstmt.setString(6, message.getReferenceType().substring(0,1).toLowerCase());
-	        pstmt.executeUpdate();
-
-	        try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
-	            if (generatedKeys.next()) {
-	                int messageID = generatedKeys.getInt(1);
-	                message.setMessageID(messageID);
-	            }
-	        }
-	    }
+		insertMessage(message, message.getReferenceType().substring(0, 1).toLowerCase(), false);
 	}
 
 	/**
@@ -1589,26 +2446,50 @@ public class QAHelper1 {
 	 * 
 	 */
 	public void createMessage(Message message, boolean isReport) throws SQLException { // HW4
-	    String insertMessage = "INSERT INTO cse360message (senderid, recipientid, subject, message, referenceId, referenceType, isReport) VALUES (?, ?, ?, ?, ?, ?, ?)";
-	    try (PreparedStatement pstmt = connection.prepareStatement(insertMessage, Statement.RETURN_GENERATED_KEYS)) {
-	        pstmt.setInt(1, message.getSenderID());
-	        pstmt.setInt(2, message.getRecipientID());
-	        pstmt.setString(3, message.getSubject());
-	        pstmt.setString(4, message.getMessage());
-	        pstmt.setInt(5, message.getReferenceID());
-	        pstmt.setString(6, message.getReferenceType());
-	        pstmt.setBoolean(7, isReport);  // true if message is a report
-	        pstmt.executeUpdate();
-
-	        try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
-	            if (generatedKeys.next()) {
-	                int messageID = generatedKeys.getInt(1);
-	                message.setMessageID(messageID);
-	            }
-	        }
-	    }
+		insertMessage(message, message.getReferenceType(), isReport);
 	}
 
+	/**
+	 * Inserts a message and counts it for its sender and recipient in one
+	 * transaction, then sets the new message id on the message object.
+	 * 
+	 * @param message 			A message object you are working with
+	 * @param referenceType 	The reference type to store with the message
+	 * @param isReport 			Flag to declare if this is a report or a regular message
+	 * 
+	 * @throws SQLException 	In case the database throws an error
+	 * 
+	 */
+	private void insertMessage(Message message, String referenceType, boolean isReport) throws SQLException {
+		String insertMessage = "INSERT INTO cse360message (senderid, recipientid, subject, message, referenceId, referenceType, isReport) VALUES (?, ?, ?, ?, ?, ?, ?)";
+		Connection connection = connection();
+		boolean autoCommit = connection.getAutoCommit();
+		connection.setAutoCommit(false);
+		try (PreparedStatement pstmt = prepare(insertMessage, Statement.RETURN_GENERATED_KEYS)) {
+			pstmt.setInt(1, message.getSenderID());
+			pstmt.setInt(2, message.getRecipientID());
+			pstmt.setString(3, message.getSubject());
+			pstmt.setString(4, message.getMessage());
+			pstmt.setInt(5, message.getReferenceID());
+			pstmt.setString(6, referenceType);
+			pstmt.setBoolean(7, isReport); // true if message is a report
+			pstmt.executeUpdate();
+
+			try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
+				if (generatedKeys.next()) {
+					message.setMessageID(generatedKeys.getInt(1));
+				}
+			}
+			countMessage(message.getSenderID(), message.getRecipientID(), isReport, false, 1);
+			connection.commit();
+		} catch (SQLException e) {
+			connection.rollback();
+			throw e;
+		} finally {
+			connection.setAutoCommit(autoCommit);
+		}
+		invalidateMessageReference(message);
+	}
 
 	/**
 	 * Deletes a message from the cse360message table matching the provided message id
@@ -1621,11 +2502,182 @@ public class QAHelper1 {
 	 * 
 	 */
 	public boolean deleteMessage(int messageID) throws SQLException {
+		String lockQuery = "SELECT senderid, recipientid, isreport, isread FROM cse360message WHERE messageid = ? FOR UPDATE";
 		String query = "DELETE FROM cse360message WHERE messageid = ?";
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+		Connection connection = connection();
+		boolean autoCommit = connection.getAutoCommit();
+		connection.setAutoCommit(false);
+		try (PreparedStatement lstmt = prepare(lockQuery); PreparedStatement pstmt = prepare(query)) {
+			lstmt.setInt(1, messageID);
+			ResultSet rs = lstmt.executeQuery();
+			if (!rs.next()) {
+				connection.rollback();
+				return false;
+			}
+			pstmt.setInt(1, messageID);
+			pstmt.executeUpdate();
+			countMessage(rs.getInt("senderid"), rs.getInt("recipientid"), rs.getBoolean("isreport"),
+					rs.getBoolean("isread"), -1);
+			connection.commit();
+		} catch (SQLException e) {
+			connection.rollback();
+			throw e;
+		} finally {
+			connection.setAutoCommit(autoCommit);
+		}
+		// The message may have counted toward any review, so drop them all
+		reviewCache.clear();
+		return true;
+	}
+
+	/**
+	 * Marks a message as opened by its recipient, taking it off their unread
+	 * count. Does nothing if it was already read.
+	 * 
+	 * @param messageID 		The id of the message that was opened
+	 * 
+	 * @return 					True if the message was unread until now
+	 * 
+	 * @throws SQLException 	In case the database throws an error
+	 * 
+	 */
+	public boolean markMessageAsRead(int messageID) throws SQLException {
+		String lockQuery = "SELECT recipientid, isreport, isread FROM cse360message WHERE messageid = ? FOR UPDATE";
+		String query = "UPDATE cse360message SET isread = TRUE WHERE messageid = ?";
+		Connection connection = connection();
+		boolean autoCommit = connection.getAutoCommit();
+		connection.setAutoCommit(false);
+		try (PreparedStatement lstmt = prepare(lockQuery); PreparedStatement pstmt = prepare(query)) {
+			lstmt.setInt(1, messageID);
+			ResultSet rs = lstmt.executeQuery();
+			if (!rs.next() || rs.getBoolean("isread")) {
+				connection.rollback();
+				return false;
+			}
 			pstmt.setInt(1, messageID);
-			int affectedRows = pstmt.executeUpdate();
-			return affectedRows > 0;
+			pstmt.executeUpdate();
+			if (!rs.getBoolean("isreport")) {
+				adjustMessageCounts(rs.getInt("recipientid"), 0, -1, 0);
+			}
+			connection.commit();
+			return true;
+		} catch (SQLException e) {
+			connection.rollback();
+			throw e;
+		} finally {
+			connection.setAutoCommit(autoCommit);
+		}
+	}
+
+	/**
+	 * Returns the message counts of a user from the cse360messagecounts table,
+	 * with a single key lookup rather than counting their messages.
+	 * 
+	 * @param userId 			The id of the user you are working with
+	 * 
+	 * @return 					The user's message counts, all zero if they have no messages
+	 * 
+	 * @throws SQLException 	In case the database throws an error
+	 * 
+	 */
+	public MessageCounts getMessageCounts(int userId) throws SQLException {
+		String query = "SELECT total, unread, reports FROM cse360messagecounts WHERE user_id = ?";
+		try (PreparedStatement pstmt = prepare(query)) {
+			pstmt.setInt(1, userId);
+			try (ResultSet rs = pstmt.executeQuery()) {
+				if (rs.next()) {
+					return new MessageCounts(rs.getInt("total"), rs.getInt("unread"), rs.getInt("reports"));
+				}
+			}
+		}
+		return new MessageCounts(0, 0, 0);
+	}
+
+	/**
+	 * Recomputes every user's message counts from the cse360message table. Run by
+	 * the migration that creates the counts table, so counts are right for
+	 * messages written before it existed.
+	 * 
+	 * @throws SQLException 	In case the database throws an error
+	 * 
+	 */
+	public void rebuildMessageCounts() throws SQLException {
+		try (Statement statement = connection().createStatement()) {
+			statement.executeUpdate("DELETE FROM cse360messagecounts");
+			statement.executeUpdate("INSERT INTO cse360messagecounts (user_id, total, unread, reports) "
+					+ "SELECT user_id, SUM(total), SUM(unread), SUM(reports) FROM ("
+					+ "SELECT senderid AS user_id, CASE WHEN isreport THEN 0 ELSE 1 END AS total, 0 AS unread, "
+					+ "CASE WHEN isreport THEN 1 ELSE 0 END AS reports FROM cse360message WHERE senderid IS NOT NULL "
+					+ "UNION ALL SELECT recipientid, CASE WHEN isreport OR recipientid = senderid THEN 0 ELSE 1 END, "
+					+ "CASE WHEN isreport OR isread THEN 0 ELSE 1 END, 0 FROM cse360message WHERE recipientid IS NOT NULL"
+					+ ") m GROUP BY user_id");
+		}
+	}
+
+	/**
+	 * Adds or removes one message from the counts of its sender and recipient.
+	 * Must be called inside the transaction that writes the message.
+	 * 
+	 * @param senderId 			The id of the user who sent the message
+	 * @param recipientId 		The id of the user it was sent to
+	 * @param isReport 			Whether the message is a report
+	 * @param isRead 			Whether the recipient has opened the message
+	 * @param sign 				1 when the message is added, -1 when it is deleted
+	 * 
+	 * @throws SQLException 	In case the database throws an error
+	 * 
+	 */
+	private void countMessage(int senderId, int recipientId, boolean isReport, boolean isRead, int sign)
+			throws SQLException {
+		if (isReport) {
+			adjustMessageCounts(senderId, 0, 0, sign);
+			return;
+		}
+		adjustMessageCounts(senderId, sign, 0, 0);
+		adjustMessageCounts(recipientId, recipientId == senderId ? 0 : sign, isRead ? 0 : sign, 0);
+	}
+
+	/**
+	 * Adds to a user's message counts, creating their row if they have none yet.
+	 * 
+	 * @param userId 			The id of the user you are working with
+	 * @param total 			The change in their total message count
+	 * @param unread 			The change in their unread message count
+	 * @param reports 			The change in their report count
+	 * 
+	 * @throws SQLException 	In case the database throws an error
+	 * 
+	 */
+	private void adjustMessageCounts(int userId, int total, int unread, int reports) throws SQLException {
+		if (total == 0 && unread == 0 && reports == 0) {
+			return;
+		}
+		String mergeQuery = "MERGE INTO cse360messagecounts c "
+				+ "USING (VALUES (CAST(? AS INT), CAST(? AS INT), CAST(? AS INT), CAST(? AS INT))) "
+				+ "d (user_id, total, unread, reports) ON c.user_id = d.user_id "
+				+ "WHEN MATCHED THEN UPDATE SET total = c.total + d.total, unread = c.unread + d.unread, "
+				+ "reports = c.reports + d.reports "
+				+ "WHEN NOT MATCHED THEN INSERT (user_id, total, unread, reports) "
+				+ "VALUES (d.user_id, d.total, d.unread, d.reports)";
+		try (PreparedStatement pstmt = prepare(mergeQuery)) {
+			pstmt.setInt(1, userId);
+			pstmt.setInt(2, total);
+			pstmt.setInt(3, unread);
+			pstmt.setInt(4, reports);
+			pstmt.executeUpdate();
+		}
+	}
+
+	/**
+	 * Drops the cached review a new message refers to, since its message count has changed
+	 * 
+	 * @param message 		The message that was created
+	 * 
+	 */
+	private void invalidateMessageReference(Message message) {
+		String referenceType = message.getReferenceType();
+		if (referenceType != null && referenceType.toLowerCase().startsWith("r")) {
+			reviewCache.invalidate(message.getReferenceID());
 		}
 	}
 
@@ -1641,7 +2693,7 @@ public class QAHelper1 {
 	    String query = "SELECT * FROM cse360message";
 	    List<Message> messages = new ArrayList<>();
 
-	    try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+	    try (PreparedStatement pstmt = prepare(query)) {
 	        ResultSet rs = pstmt.executeQuery();
 
 	        while (rs.next()) {
@@ -1651,51 +2703,47 @@ public class QAHelper1 {
 	            String subject = rs.getString("subject");
 	            String content = rs.getString("message");
 
-	            Message message = new Message(databaseHelper, messageID, senderID, recipientID, subject, content);
+	            Message message = new Message(senderID, recipientID, subject, content);
+	            message.setMessageID(messageID);
 	            messages.add(message);
 	        }
 	    }
+	    // Fill in senders and recipients with one bulk lookup
+	    hydrateMessageUsers(messages);
 	    return messages;
 	}
 
 	/**
-	 * Returns a List of Message objects that have an author matching the passed
-	 * user id.
+	 * Returns a List of every message sent to the passed user id that is not a
+	 * report, newest first.
 	 * 
 	 * @param id 				The id of the user you are working with
 	 * 
-	 * @return 					A List of message objects representing messages authored by the passed user id
+	 * @return 					A List of message objects representing messages sent to the passed user id
 	 * 
 	 * @throws SQLException 	In case the database throws an error
 	 * 
 	 */
 	public List<Message> retrieveMessagesByUserId(int id) throws SQLException {
-	    String query = "SELECT * FROM cse360message WHERE recipientid = ? AND isreport = false";
-	    List<Message> messages = new ArrayList<>();
-
-	    try (PreparedStatement pstmt = connection.prepareStatement(query)) {
-	        pstmt.setInt(1, id);
-
-	        try (ResultSet rs = pstmt.executeQuery()) {
-	            while (rs.next()) {
-	                int messageID = rs.getInt("messageid");
-	                int senderID = rs.getInt("senderid");
-	                int recipientID = rs.getInt("recipientid");
-	                String subject = rs.getString("subject");
-	                String content = rs.getString("message");
-	                int referenceID = rs.getInt("referenceid");
-	                String referenceType = rs.getString("referencetype");
-	                boolean isReport = rs.getBoolean("isreport"); // Optional for debug
-
-	                Message message = new Message(databaseHelper, referenceID, referenceType, 
-	                                              messageID, senderID, recipientID, 
-	                                              subject, content, isReport);
+		return retrieveMessagesByUserId(id, null, Integer.MAX_VALUE);
+	}
 
-	                messages.add(message);
-	            }
-	        }
-	    }
-	    return messages;
+	/**
+	 * Returns one page of the messages sent to the passed user id that are not
+	 * reports, newest first. Pass the last message of the previous page to get the
+	 * next one.
+	 * 
+	 * @param id 				The id of the user you are working with
+	 * @param after 			The last message of the previous page, or null for the first page
+	 * @param limit 			The most messages to return
+	 * 
+	 * @return 					A List of message objects, empty once there are no more
+	 * 
+	 * @throws SQLException 	In case the database throws an error
+	 * 
+	 */
+	public List<Message> retrieveMessagesByUserId(int id, Message after, int limit) throws SQLException {
+		return retrieveMessagePage("recipientid = ? AND isreport = false", id, after, limit);
 	}
 
 	/**
@@ -1712,7 +2760,7 @@ public class QAHelper1 {
 		String query = "SELECT * FROM cse360message WHERE senderid = ? OR recipientid = ?";
 		List<Message> messages = new ArrayList<>();
 
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+		try (PreparedStatement pstmt = prepare(query)) {
 			pstmt.setInt(1, id);
 			pstmt.setInt(2, id);
 
@@ -1726,47 +2774,100 @@ public class QAHelper1 {
 					int referenceID = rs.getInt("referenceid");
 	                String referenceType = rs.getString("referencetype");
 
-					Message message = new Message(databaseHelper, referenceID, referenceType, messageID, senderID, recipientID, subject, content);
+					Message message = new Message(referenceID, referenceType, senderID, recipientID, subject, content);
+					message.setMessageID(messageID);
+					messages.add(message);
+				}
+			}
+		}
+		// Fill in senders and recipients with one bulk lookup
+		hydrateMessageUsers(messages);
+		return messages;
+	}
+	
+	/**
+	 * Returns a list of all reported objects in the database, newest first.
+	 * 
+	 * @return A list of message objects that have value "true" for isReport
+	 * 
+	 * @throws SQLException In case the database throws an error
+	 */
+	public List<Message> retrieveReportedObjects() throws SQLException {  // HW4
+		return retrieveReportedObjects(null, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Returns one page of the reported objects in the database, newest first. Pass
+	 * the last report of the previous page to get the next one.
+	 * 
+	 * @param after 			The last report of the previous page, or null for the first page
+	 * @param limit 			The most reports to return
+	 * 
+	 * @return 					A list of message objects that have value "true" for isReport, empty
+	 * 							once there are no more
+	 * 
+	 * @throws SQLException 	In case the database throws an error
+	 */
+	public List<Message> retrieveReportedObjects(Message after, int limit) throws SQLException {
+		return retrieveMessagePage("isreport = true", null, after, limit);
+	}
+
+	/**
+	 * Returns one page of messages matching a condition, newest first, with their
+	 * senders and recipients filled in by one bulk lookup. Pages are found by
+	 * seeking past the creation time and id of the last message already shown, so
+	 * later pages cost the same as the first however many messages there are.
+	 * 
+	 * @param condition 		The WHERE condition, with at most one parameter for the user id
+	 * @param userId 			The user id to bind to the condition, or null if it takes none
+	 * @param after 			The last message of the previous page, or null for the first page
+	 * @param limit 			The most messages to return
+	 * 
+	 * @return 					A List of message objects
+	 * 
+	 * @throws SQLException 	In case the database throws an error
+	 * 
+	 */
+	private List<Message> retrieveMessagePage(String condition, Integer userId, Message after, int limit)
+			throws SQLException {
+		boolean seek = after != null && after.getCreatedOn() != null;
+		String query = "SELECT * FROM cse360message WHERE " + condition + (seek ? MESSAGE_CURSOR : "")
+				+ " ORDER BY createdon DESC, messageid DESC LIMIT ?";
+		List<Message> messages = new ArrayList<>();
+
+		try (PreparedStatement pstmt = prepare(query)) {
+			int index = 1;
+			if (userId != null) {
+				pstmt.setInt(index++, userId);
+			}
+			if (seek) {
+				Timestamp createdOn = Timestamp.valueOf(after.getCreatedOn());
+				pstmt.setTimestamp(index++, createdOn);
+				pstmt.setTimestamp(index++, createdOn);
+				pstmt.setInt(index++, after.getMessageID());
+			}
+			pstmt.setInt(index, limit);
+
+			try (ResultSet rs = pstmt.executeQuery()) {
+				while (rs.next()) {
+					Message message = new Message(rs.getInt("referenceId"), rs.getString("referenceType"),
+							rs.getInt("senderid"), rs.getInt("recipientid"), rs.getString("subject"),
+							rs.getString("message"), rs.getBoolean("isreport"));
+					message.setMessageID(rs.getInt("messageid"));
+					message.setIsRead(rs.getBoolean("isread"));
+					Timestamp createdOn = rs.getTimestamp("createdon");
+					message.setCreatedOn(createdOn != null ? createdOn.toLocalDateTime() : null);
+					Timestamp updatedOn = rs.getTimestamp("updatedon");
+					message.setUpdatedOn(updatedOn != null ? updatedOn.toLocalDateTime() : null);
 					messages.add(message);
 				}
 			}
 		}
+		// Fill in senders and recipients with one bulk lookup
+		hydrateMessageUsers(messages);
 		return messages;
 	}
 	
-	/**
-	 * Returns a list of all reported objects in the database.
-	 * 
-	 * @return A list of message objects that have value "true" for isReport
-	 * 
-	 * @throws SQLException In case the database throws an error
-	 */
-	public List<Message> retrieveReportedObjects() throws SQLException {  // HW4
-	    String query = "SELECT * FROM cse360message WHERE isreport = true";
-	    List<Message> messages = new ArrayList<>();
-
-	    try (PreparedStatement pstmt = connection.prepareStatement(query)) {
-	        ResultSet rs = pstmt.executeQuery();
-	        while (rs.next()) {
-	            int messageID = rs.getInt("messageid");
-	            int senderID = rs.getInt("senderid");
-	            int recipientID = rs.getInt("recipientid");
-	            String subject = rs.getString("subject");
-	            String content = rs.getString("message");
-	            int referenceID = rs.getInt("referenceId");
-	            String referenceType = rs.getString("referenceType");
-	            boolean isReport = rs.getBoolean("isreport");
-
-	            Message message = new Message(databaseHelper, referenceID, referenceType, 
-	                                          messageID, senderID, recipientID, 
-	                                          subject, content, isReport);
-
-	            messages.add(message);
-	        }
-	    }
-	    return messages;
-	}
-	
 	/**
 	 * Updates the subject and content of a report message.
 	 *
@@ -1778,7 +2879,7 @@ public class QAHelper1 {
 	public void updateReport(int messageId, String newSubject, String newContent) throws SQLException {
 	    String sql = "UPDATE cse360message SET subject = ?, message = ?, updatedon = CURRENT_TIMESTAMP WHERE messageid = ? AND isreport = true";
 
-	    try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+	    try (PreparedStatement stmt = prepare(sql)) {
 	        stmt.setString(1, newSubject);
 	        stmt.setString(2, newContent);
 	        stmt.setInt(3, messageId);
@@ -1793,6 +2894,30 @@ public class QAHelper1 {
 	}
 
 
+	/**
+	 * Returns the id of the question at the root of the thread containing the
+	 * provided answer id. Works for nested replies as well as direct answers.
+	 * 
+	 * @param answerID 			The id of the answer you are working with
+	 * 
+	 * @return 					The id of the root question, or null if the answer has none
+	 * 
+	 * @throws SQLException 	In case the database throws an error
+	 * 
+	 */
+	public Integer getQuestionIdForAnswer(int answerID) throws SQLException {
+		String query = "SELECT root_question_id FROM cse360answer WHERE id = ?";
+		try (PreparedStatement pstmt = prepare(query)) {
+			pstmt.setInt(1, answerID);
+			ResultSet rs = pstmt.executeQuery();
+			if (rs.next()) {
+				int questionID = rs.getInt("root_question_id");
+				return rs.wasNull() ? null : questionID;
+			}
+		}
+		return null;
+	}
+
 	/**
 	 * Returns a Question object related to a provided answer id
 	 * 
@@ -1802,22 +2927,16 @@ public class QAHelper1 {
 	 * 
 	 */
 	public Question getQuestionForAnswer(int answerID) {
-		List<Question> questions;
 		try {
-			// Retrieve the question database
-			questions = getAllQuestions();
+			// Look up the root question id, then load that question
+			Integer questionID = getQuestionIdForAnswer(answerID);
+			if (questionID != null) {
+				return getQuestion(questionID);
+			}
 		} catch (SQLException e) {
-			System.err.println("Error trying to retrieve question database in getAllReviewedByMeQuestions() method.");
+			System.err.println("Error trying to retrieve question for answer in getQuestionForAnswer() method.");
 			return null;
 		}
-		// Iterate through each question
-		for (Question question : questions) {
-			// Check if the current question object has the answerId we're looking for in
-			// getRelatedId()
-			if (question.getRelatedId().contains(String.valueOf(answerID))) {
-				return question;
-			}
-		}
 		System.out.println("Error: No question found relating to answerId in getQuestionForAnswer() method.");
 		return null;
 	}
@@ -1832,13 +2951,39 @@ public class QAHelper1 {
 	 */
 	public void registerReview(Review review) throws SQLException {
 		String insertReview = "INSERT INTO cse360review (forQuestion, relatedId, text, author) VALUES (?, ?, ?, ?)";
-		try (PreparedStatement pstmt = connection.prepareStatement(insertReview)) {
+		// Reviewing a question or one of its answers completes the author's assignment to it
+		String completeAssignment = "UPDATE cse360assignment SET completed_on = CURRENT_TIMESTAMP "
+				+ "WHERE reviewer_id = ? AND completed_on IS NULL AND question_id = "
+				+ "CASE WHEN ? THEN ? ELSE (SELECT root_question_id FROM cse360answer WHERE id = ?) END";
+		int reviewId;
+		Connection connection = connection();
+		boolean autoCommit = connection.getAutoCommit();
+		connection.setAutoCommit(false);
+		try (PreparedStatement pstmt = prepare(insertReview, Statement.RETURN_GENERATED_KEYS);
+				PreparedStatement cstmt = prepare(completeAssignment)) {
 			pstmt.setBoolean(1, review.getForQuestion());
 			pstmt.setInt(2, review.getRelatedId());
 			pstmt.setString(3, review.getText());
 			pstmt.setInt(4, review.getAuthorId());
 			pstmt.executeUpdate();
+			ResultSet keys = pstmt.getGeneratedKeys();
+			keys.next();
+			reviewId = keys.getInt(1);
+			adjustReviewerStats(review.getAuthorId(), 1, 0);
+
+			cstmt.setInt(1, review.getAuthorId());
+			cstmt.setBoolean(2, review.getForQuestion());
+			cstmt.setInt(3, review.getRelatedId());
+			cstmt.setInt(4, review.getRelatedId());
+			cstmt.executeUpdate();
+			connection.commit();
+		} catch (SQLException e) {
+			connection.rollback();
+			throw e;
+		} finally {
+			connection.setAutoCommit(autoCommit);
 		}
+		indexReviewTopic(reviewId);
 		System.out.println("Review registered successfully.");
 	}
 
@@ -1853,10 +2998,17 @@ public class QAHelper1 {
 	 * 
 	 */
 	public Review getReview(Integer reviewID) throws SQLException {
+		return reviewCache.get(reviewID, () -> loadReview(reviewID));
+	}
+
+	/**
+	 * Reads a review from the database by id, skipping the cache
+	 */
+	private Review loadReview(Integer reviewID) throws SQLException {
 		// Search the review database for a match to the review id
-		String query = "SELECT * FROM cse360review WHERE id = ?	";
+		String query = REVIEW_SELECT + "WHERE r.id = ?";
 
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+		try (PreparedStatement pstmt = prepare(query)) {
 			pstmt.setInt(1, reviewID);
 			ResultSet rs = pstmt.executeQuery();
 
@@ -1880,11 +3032,9 @@ public class QAHelper1 {
 					authorName = author.getName();
 				}
 
-				// Get the message count for the review
-				Integer messageCount = getMessageCount(id, 'r');
-
-				// Get the vote count for the review
-				Integer voteCount = getVoteCountForReview(id);
+				// The message count is joined in by the query and the vote count is on the row
+				Integer messageCount = rs.getInt("message_count");
+				Integer voteCount = rs.getInt("vote");
 
 				// Create a new review object with the pulled info
 				Review review = new Review(id, forQuestion, relatedId, text, authorId, createdOn, updatedOn, author,
@@ -1909,9 +3059,9 @@ public class QAHelper1 {
 	 */
 	public Review getReview(String reviewText) throws SQLException {
 		// Search the review database for a match to the review text
-		String query = "SELECT * FROM cse360review AS c WHERE c.text = ?	";
+		String query = REVIEW_SELECT + "WHERE r.text = ?";
 
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+		try (PreparedStatement pstmt = prepare(query)) {
 			pstmt.setString(1, reviewText);
 			ResultSet rs = pstmt.executeQuery();
 
@@ -1935,11 +3085,9 @@ public class QAHelper1 {
 					authorName = author.getName();
 				}
 
-				// Get the message count for the review
-				Integer messageCount = getMessageCount(id, 'r');
-				
-				// Get the vote count for the review
-				Integer voteCount = getVoteCountForReview(id);
+				// The message count is joined in by the query and the vote count is on the row
+				Integer messageCount = rs.getInt("message_count");
+				Integer voteCount = rs.getInt("vote");
 
 				// Create a new review object with the pulled info
 				Review review = new Review(id, forQuestion, relatedId, text, authorId, createdOn, updatedOn, author,
@@ -1960,13 +3108,15 @@ public class QAHelper1 {
 	 */
 	public void updateReview(Review review) {
 		String query = "UPDATE cse360review Set text = ?, updated_on = CURRENT_TIMESTAMP WHERE id = ?";
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+		try (PreparedStatement pstmt = prepare(query)) {
 			pstmt.setString(1, review.getText());
 			pstmt.setInt(2, review.getId());
 
 			int updated = pstmt.executeUpdate();
+			reviewCache.invalidate(review.getId());
 			// Check if any changes were made
 			if (updated > 0) {
+				indexReviewTopic(review.getId());
 				System.out.println("Review has been updated."); // Debug
 			} else {
 				System.out.println("No matching review was found."); // Debug
@@ -1986,17 +3136,42 @@ public class QAHelper1 {
 	 * 
 	 */
 	public boolean deleteReview(int id) {
+		String lockQuery = "SELECT author, vote FROM cse360review WHERE id = ? FOR UPDATE";
 		String query = "DELETE FROM cse360review AS c WHERE c.id = ?";
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
-			pstmt.setInt(1, id);
-
-			// Check if any matches were found and deleted
-			if (pstmt.executeUpdate() > 0) {
-				System.out.println("DELETE-REVIEW: Review successfully deleted");
-				return true;
+		String votesQuery = "DELETE FROM cse360reviewvote WHERE review_id = ?";
+		try {
+			Connection connection = connection();
+			boolean autoCommit = connection.getAutoCommit();
+			connection.setAutoCommit(false);
+			try (PreparedStatement lstmt = prepare(lockQuery);
+					PreparedStatement pstmt = prepare(query);
+					PreparedStatement vstmt = prepare(votesQuery)) {
+				lstmt.setInt(1, id);
+				ResultSet rs = lstmt.executeQuery();
+				if (!rs.next()) {
+					connection.rollback();
+					System.out.println("DELETE-REVIEW: Review was not found");
+					return false;
+				}
+				Integer author = rs.getObject("author", Integer.class);
+				int vote = rs.getInt("vote");
+
+				vstmt.setInt(1, id);
+				vstmt.executeUpdate();
+				pstmt.setInt(1, id);
+				pstmt.executeUpdate();
+				adjustReviewerStats(author, -1, -vote);
+				connection.commit();
+				topicIndex.remove(id);
+			} catch (SQLException e) {
+				connection.rollback();
+				throw e;
+			} finally {
+				connection.setAutoCommit(autoCommit);
+				reviewCache.invalidate(id);
 			}
-			System.out.println("DELETE-REVIEW: Review was not found");
-			return false;
+			System.out.println("DELETE-REVIEW: Review successfully deleted");
+			return true;
 		} catch (SQLException e) {
 			System.err.println("DELETE-REVIEW: SQL Error - " + e.getMessage());
 			return false;
@@ -2019,7 +3194,7 @@ public class QAHelper1 {
 		List<Question> questions = new ArrayList<>();
 		List<Integer> containedIn = new ArrayList<>();
 
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+		try (PreparedStatement pstmt = prepare(query)) {
 			ResultSet rs = pstmt.executeQuery();
 
 			while (rs.next()) {
@@ -2035,11 +3210,11 @@ public class QAHelper1 {
 					}
 					// Or if its an answer
 				} else {
-					// Check if its already contained in the list
-					if (containedIn == null
-							|| !containedIn.contains(databaseHelper.qaHelper.getQuestionForAnswer(relatedId).getId())) {
-						questions.add(databaseHelper.qaHelper.getQuestionForAnswer(relatedId));
-						containedIn.add(databaseHelper.qaHelper.getQuestionForAnswer(relatedId).getId());
+					// Look up the root question once and check if its already contained in the list
+					Integer questionId = getQuestionIdForAnswer(relatedId);
+					if (questionId != null && !containedIn.contains(questionId)) {
+						questions.add(getQuestion(questionId));
+						containedIn.add(questionId);
 					}
 				}
 			}
@@ -2064,7 +3239,7 @@ public class QAHelper1 {
 		List<Question> questions = new ArrayList<>();
 		List<Integer> containedIn = new ArrayList<>();
 
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+		try (PreparedStatement pstmt = prepare(query)) {
 			pstmt.setInt(1, databaseHelper.currentUser.getUserId());
 			ResultSet rs = pstmt.executeQuery();
 
@@ -2081,11 +3256,11 @@ public class QAHelper1 {
 					}
 					// Or if its for an answer
 				} else {
-					// Check if its already contained in the list
-					if (containedIn == null
-							|| !containedIn.contains(databaseHelper.qaHelper.getQuestionForAnswer(relatedId).getId())) {
-						questions.add(databaseHelper.qaHelper.getQuestionForAnswer(relatedId));
-						containedIn.add(databaseHelper.qaHelper.getQuestionForAnswer(relatedId).getId());
+					// Look up the root question once and check if its already contained in the list
+					Integer questionId = getQuestionIdForAnswer(relatedId);
+					if (questionId != null && !containedIn.contains(questionId)) {
+						questions.add(getQuestion(questionId));
+						containedIn.add(questionId);
 					}
 				}
 			}
@@ -2105,10 +3280,10 @@ public class QAHelper1 {
 	 * 
 	 */	
 	public List<Review> getReviewsForQuestion(int questionID) throws SQLException {
-		String query = "SELECT * FROM cse360review WHERE forQuestion = true AND relatedId = ?";
+		String query = REVIEW_SELECT + "WHERE r.forQuestion = true AND r.relatedId = ? ORDER BY r.id";
 		List<Review> reviews = new ArrayList<>();
 
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+		try (PreparedStatement pstmt = prepare(query)) {
 			pstmt.setInt(1, questionID);
 			ResultSet rs = pstmt.executeQuery();
 
@@ -2125,27 +3300,20 @@ public class QAHelper1 {
 				// Convert to LocalDateTime format
 				LocalDateTime updatedOn = updated != null ? updated.toLocalDateTime() : null;
 
-				User author = databaseHelper.getUser(authorId);
-				String authorName = "User";
-
-				if (author != null) {
-					authorName = author.getName();
-				}
-
-				// Get the message count for the review
-				Integer messageCount = getMessageCount(id, 'r');
-				
-				// Get the vote count for the review
-				Integer voteCount = getVoteCountForReview(id);
+				// The message count is joined in by the query and the vote count is on the row
+				Integer messageCount = rs.getInt("message_count");
+				Integer voteCount = rs.getInt("vote");
 
 				// Create a new review object with the pulled info
-				Review review = new Review(id, forQuestion, relatedId, text, authorId, createdOn, updatedOn, author,
-						authorName, messageCount, voteCount);
+				Review review = new Review(id, forQuestion, relatedId, text, authorId, createdOn, updatedOn, null,
+						null, messageCount, voteCount);
 
 				// Add the new answer object to the list of answer objects
 				reviews.add(review);
 			}
 		}
+		// Fill in the authors with one bulk lookup instead of one query per row
+		hydrateReviewAuthors(reviews);
 		// Return the list of review objects
 		return reviews;
 	}
@@ -2161,10 +3329,10 @@ public class QAHelper1 {
 	 * 
 	 */
 	public List<Review> getReviewsForAnswer(int answerID) throws SQLException {
-		String query = "SELECT * FROM cse360review WHERE forQuestion = false AND relatedId = ?";
+		String query = REVIEW_SELECT + "WHERE r.forQuestion = false AND r.relatedId = ? ORDER BY r.id";
 		List<Review> reviews = new ArrayList<>();
 
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+		try (PreparedStatement pstmt = prepare(query)) {
 			pstmt.setInt(1, answerID);
 			ResultSet rs = pstmt.executeQuery();
 
@@ -2181,27 +3349,20 @@ public class QAHelper1 {
 				// Convert to LocalDateTime format
 				LocalDateTime updatedOn = updated != null ? updated.toLocalDateTime() : null;
 
-				User author = databaseHelper.getUser(authorId);
-				String authorName = "User";
-
-				if (author != null) {
-					authorName = author.getName();
-				}
-
-				// Get the message count for the review
-				Integer count = getMessageCount(id, 'r');
-				
-				// Get the vote count for the review
-				Integer voteCount = getVoteCountForReview(id);
+				// The message count is joined in by the query and the vote count is on the row
+				Integer count = rs.getInt("message_count");
+				Integer voteCount = rs.getInt("vote");
 
 				// Create a new review object with the pulled info
-				Review review = new Review(id, forQuestion, relatedId, text, authorId, createdOn, updatedOn, author,
-						authorName, count, voteCount);
+				Review review = new Review(id, forQuestion, relatedId, text, authorId, createdOn, updatedOn, null,
+						null, count, voteCount);
 
 				// Add the new answer object to the list of answer objects
 				reviews.add(review);
 			}
 		}
+		// Fill in the authors with one bulk lookup instead of one query per row
+		hydrateReviewAuthors(reviews);
 		// Return the list of review objects
 		return reviews;
 	}
@@ -2215,10 +3376,10 @@ public class QAHelper1 {
 	 * 
 	 */
 	public List<Review> getAllReviews() throws SQLException {
-		String query = "SELECT * FROM cse360review";
+		String query = REVIEW_SELECT + "ORDER BY r.id";
 		List<Review> reviews = new ArrayList<>();
 
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+		try (PreparedStatement pstmt = prepare(query)) {
 			ResultSet rs = pstmt.executeQuery();
 
 			while (rs.next()) {
@@ -2234,27 +3395,20 @@ public class QAHelper1 {
 				// Convert to LocalDateTime format
 				LocalDateTime updatedOn = updated != null ? updated.toLocalDateTime() : null;
 
-				User author = databaseHelper.getUser(authorId);
-				String authorName = "User";
-
-				if (author != null) {
-					authorName = author.getName();
-				}
-
-				// Get the message count for the review
-				Integer count = getMessageCount(id, 'r');
-				
-				// Get the vote count for the review
-				Integer voteCount = getVoteCountForReview(id);
+				// The message count is joined in by the query and the vote count is on the row
+				Integer count = rs.getInt("message_count");
+				Integer voteCount = rs.getInt("vote");
 
 				// Create a new review object with the pulled info
-				Review review = new Review(id, forQuestion, relatedId, text, authorId, createdOn, updatedOn, author,
-						authorName, count, voteCount);
+				Review review = new Review(id, forQuestion, relatedId, text, authorId, createdOn, updatedOn, null,
+						null, count, voteCount);
 
 				// Add the new answer object to the list of answer objects
 				reviews.add(review);
 			}
 		}
+		// Fill in the authors with one bulk lookup instead of one query per row
+		hydrateReviewAuthors(reviews);
 		// Return the list of review objects
 		return reviews;
 	}
@@ -2268,10 +3422,10 @@ public class QAHelper1 {
 	 * 
 	 */
 	public List<Review> getMyReviews() throws SQLException {
-		String query = "SELECT * FROM cse360review WHERE author = ?";
+		String query = REVIEW_SELECT + "WHERE r.author = ? ORDER BY r.id";
 		List<Review> reviews = new ArrayList<>();
 
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+		try (PreparedStatement pstmt = prepare(query)) {
 			pstmt.setInt(1, databaseHelper.currentUser.getUserId());
 			ResultSet rs = pstmt.executeQuery();
 
@@ -2288,27 +3442,20 @@ public class QAHelper1 {
 				// Convert to LocalDateTime format
 				LocalDateTime updatedOn = updated != null ? updated.toLocalDateTime() : null;
 
-				User author = databaseHelper.getUser(authorId);
-				String authorName = "User";
-
-				if (author != null) {
-					authorName = author.getName();
-				}
-
-				// Get the message count for the review
-				Integer count = getMessageCount(id, 'r');
-				
-				// Get the vote count for the review
-				Integer voteCount = getVoteCountForReview(id);
+				// The message count is joined in by the query and the vote count is on the row
+				Integer count = rs.getInt("message_count");
+				Integer voteCount = rs.getInt("vote");
 
 				// Create a new review object with the pulled info
-				Review review = new Review(id, forQuestion, relatedId, text, authorId, createdOn, updatedOn, author,
-						authorName, count, voteCount);
+				Review review = new Review(id, forQuestion, relatedId, text, authorId, createdOn, updatedOn, null,
+						null, count, voteCount);
 
 				// Add the new answer object to the list of answer objects
 				reviews.add(review);
 			}
 		}
+		// Fill in the authors with one bulk lookup instead of one query per row
+		hydrateReviewAuthors(reviews);
 		// Return the list of review objects
 		return reviews;
 	}
@@ -2327,7 +3474,7 @@ public class QAHelper1 {
 	 */
 	public Integer getMessageCount(Integer referenceId, char referenceType) throws SQLException {
 		String query = "SELECT COUNT(*) FROM cse360message WHERE referenceId = ? AND referenceType = ?";
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+		try (PreparedStatement pstmt = prepare(query)) {
 			pstmt.setInt(1, referenceId);
 			pstmt.setString(2, String.valueOf(referenceType));
 			ResultSet rs = pstmt.executeQuery();
@@ -2352,61 +3499,183 @@ public class QAHelper1 {
 	 * @throws SQLException If a database access error occurs.
 	 */
 	public int getTotalMessageCountForUser(int userId) throws SQLException { // HW4
-	    String sql = "SELECT COUNT(*) FROM cse360message WHERE (senderid = ? OR recipientid = ?) AND isreport = false";
-
-	    try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-	        stmt.setInt(1, userId);
-	        stmt.setInt(2, userId);
-
-	        try (ResultSet rs = stmt.executeQuery()) {
-	            if (rs.next()) {
-	                return rs.getInt(1);
-	            }
-	        }
-	    }
-	    return 0;
+		return getMessageCounts(userId).getTotal();
 	}
 
 
 	/**
-	 * Registers a new vote for a review object in the SQL table
+	 * Registers a vote by the current user for a review object in the SQL table.
+	 * A user holds one vote per review, so voting the same way again changes
+	 * nothing and voting the other way moves the vote over. When no user is logged
+	 * in the vote is not counted.
 	 * 
 	 * @param reviewId 		The id of the review you are working with
 	 * @param vote 			An integer representing an upvote or downvote for a review
 	 * 
 	 */
 	public void registerVoteForReview(Integer reviewId, Integer vote) {
-		String selectQuery = "SELECT vote FROM cse360review WHERE id = ?";
-		String updateQuery = "UPDATE cse360review Set vote = ? WHERE id = ?";
+		User user = databaseHelper.currentUser;
+		if (user == null) {
+			// No one to record the vote against, so it is not counted
+			System.out.println("Review vote was not counted because no user is logged in."); // Debug
+			return;
+		}
+		try {
+			if (!registerVoteForReview(reviewId, user.getUserId(), vote)) {
+				System.out.println("Review vote was already counted or the review was not found."); // Debug
+			}
+		} catch (SQLException e) {
+			e.printStackTrace();
+			System.out.println("Error trying to update review vote in registerVoteForReview() method.");
+		}
+	}
 
-		try (PreparedStatement pstmt = connection.prepareStatement(selectQuery);
-				PreparedStatement ustmt = connection.prepareStatement(updateQuery)) {
-			pstmt.setInt(1, reviewId);
-			ResultSet rs = pstmt.executeQuery();
+	/**
+	 * Records a user's vote on a review in the vote ledger and updates the review's
+	 * total in the same transaction
+	 * 
+	 * @param reviewId 			The id of the review you are working with
+	 * @param userId 			The id of the user voting
+	 * @param vote 				1 to upvote, -1 to downvote, 0 to take back the user's vote
+	 * 
+	 * @return 					True if the vote changed the review's total, false if the user had
+	 * 							already voted that way or the review does not exist
+	 * 
+	 * @throws SQLException 	In case the database throws an error
+	 * 
+	 */
+	public boolean registerVoteForReview(int reviewId, int userId, int vote) throws SQLException {
+		return registerVotesForReviews(List.of(new ReviewVote(reviewId, userId, vote))) > 0;
+	}
 
-			if (rs.next()) {
-				int currentVote = rs.getInt("vote");
-				int newVote = currentVote + vote;
-				
-				// Debug
-				System.out.println("Previous vote: " + currentVote + ", New vote: " + (currentVote + vote));
-
-				ustmt.setInt(1, newVote);
-				ustmt.setInt(2, reviewId);
-				int updated = ustmt.executeUpdate();
-
-				// Check if any changes were made
-				if (updated > 0) {
-					System.out.println("Review vote has been updated."); // Debug
-				} else {
-					System.out.println("Error: No matching review was found."); // Debug
+	/**
+	 * Applies a batch of votes in one transaction. Each vote replaces the user's
+	 * earlier vote on the review, and each review's total is moved by the sum of
+	 * the changes, so concurrent voters never overwrite each other's votes. When
+	 * the batch holds more than one vote by the same user on the same review, the
+	 * last one wins. Votes on reviews that do not exist are skipped.
+	 * 
+	 * @param votes 			The votes to apply
+	 * 
+	 * @return 					The number of votes that changed a review's total
+	 * 
+	 * @throws SQLException 	In case the database throws an error
+	 * 
+	 */
+	public int registerVotesForReviews(List<ReviewVote> votes) throws SQLException {
+		// Keep the last vote for each review and user, ordered by review so that
+		// concurrent batches lock the reviews in the same order
+		Map<Integer, Map<Integer, Integer>> byReview = new TreeMap<>();
+		for (ReviewVote vote : votes) {
+			byReview.computeIfAbsent(vote.getReviewId(), k -> new TreeMap<>()).put(vote.getUserId(), vote.getValue());
+		}
+		if (byReview.isEmpty()) {
+			return 0;
+		}
+
+		String lockQuery = "SELECT author FROM cse360review WHERE id = ? FOR UPDATE";
+		String selectQuery = "SELECT vote FROM cse360reviewvote WHERE review_id = ? AND user_id = ?";
+		String mergeQuery = "MERGE INTO cse360reviewvote (review_id, user_id, vote, voted_on) KEY (review_id, user_id) "
+				+ "VALUES (?, ?, ?, CURRENT_TIMESTAMP)";
+		String deleteQuery = "DELETE FROM cse360reviewvote WHERE review_id = ? AND user_id = ?";
+		String updateQuery = "UPDATE cse360review SET vote = vote + ? WHERE id = ?";
+
+		Connection connection = connection();
+		boolean autoCommit = connection.getAutoCommit();
+		connection.setAutoCommit(false);
+		int changed = 0;
+		try (PreparedStatement lstmt = prepare(lockQuery);
+				PreparedStatement sstmt = prepare(selectQuery);
+				PreparedStatement mstmt = prepare(mergeQuery);
+				PreparedStatement dstmt = prepare(deleteQuery);
+				PreparedStatement ustmt = prepare(updateQuery)) {
+			for (Map.Entry<Integer, Map<Integer, Integer>> review : byReview.entrySet()) {
+				int reviewId = review.getKey();
+
+				// Lock the review row so no other voter can change its ledger until we commit
+				Integer author;
+				lstmt.setInt(1, reviewId);
+				try (ResultSet rs = lstmt.executeQuery()) {
+					if (!rs.next()) {
+						System.out.println("Error: Could not find review by that id: " + reviewId);
+						continue;
+					}
+					author = rs.getObject("author", Integer.class);
+				}
+
+				int delta = 0;
+				for (Map.Entry<Integer, Integer> vote : review.getValue().entrySet()) {
+					int userId = vote.getKey();
+					int value = vote.getValue();
+
+					int previous = 0;
+					sstmt.setInt(1, reviewId);
+					sstmt.setInt(2, userId);
+					try (ResultSet rs = sstmt.executeQuery()) {
+						if (rs.next()) {
+							previous = rs.getInt("vote");
+						}
+					}
+					if (previous == value) {
+						continue;
+					}
+
+					if (value == 0) {
+						dstmt.setInt(1, reviewId);
+						dstmt.setInt(2, userId);
+						dstmt.addBatch();
+					} else {
+						mstmt.setInt(1, reviewId);
+						mstmt.setInt(2, userId);
+						mstmt.setInt(3, value);
+						mstmt.addBatch();
+					}
+					delta += value - previous;
+					changed++;
+				}
+
+				if (delta != 0) {
+					ustmt.setInt(1, delta);
+					ustmt.setInt(2, reviewId);
+					ustmt.addBatch();
+					adjustReviewerStats(author, 0, delta);
 				}
-			} else {
-				System.out.println("Error: Could not find review by that id");
 			}
+			mstmt.executeBatch();
+			dstmt.executeBatch();
+			ustmt.executeBatch();
+			connection.commit();
 		} catch (SQLException e) {
-			e.printStackTrace();
-			System.out.println("Error trying to update review vote in registerVoteForReview() method.");
+			connection.rollback();
+			throw e;
+		} finally {
+			connection.setAutoCommit(autoCommit);
+			for (Integer reviewId : byReview.keySet()) {
+				reviewCache.invalidate(reviewId);
+			}
+		}
+		return changed;
+	}
+
+	/**
+	 * Returns the vote a user currently holds on a review
+	 * 
+	 * @param reviewId 			The id of the review you are working with
+	 * @param userId 			The id of the user
+	 * 
+	 * @return 					1 for an upvote, -1 for a downvote, 0 if the user has not voted
+	 * 
+	 * @throws SQLException 	In case the database throws an error
+	 * 
+	 */
+	public int getVoteForReview(int reviewId, int userId) throws SQLException {
+		String query = "SELECT vote FROM cse360reviewvote WHERE review_id = ? AND user_id = ?";
+		try (PreparedStatement pstmt = prepare(query)) {
+			pstmt.setInt(1, reviewId);
+			pstmt.setInt(2, userId);
+			try (ResultSet rs = pstmt.executeQuery()) {
+				return rs.next() ? rs.getInt("vote") : 0;
+			}
 		}
 	}
 
@@ -2422,7 +3691,7 @@ public class QAHelper1 {
 	 */
 	public Integer getReviewCountForReviewer(Integer userId) throws SQLException {
 		String query = "SELECT COUNT(*) FROM cse360review WHERE author = ?";
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+		try (PreparedStatement pstmt = prepare(query)) {
 			pstmt.setInt(1, userId);
 			ResultSet rs = pstmt.executeQuery();
 			// Variable to store the count of how many reviews match the parameters
@@ -2450,13 +3719,13 @@ public class QAHelper1 {
 	 */
 	public Integer getVoteCountForReviewer(Integer userId) throws SQLException {
 		String query = "SELECT vote FROM cse360review WHERE author = ?";
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+		try (PreparedStatement pstmt = prepare(query)) {
 			pstmt.setInt(1, userId);
 			ResultSet rs = pstmt.executeQuery();
 			// Variable to store the count of review votes matching the user
 			int count = 0;
-			// Retrieve the count
-			if (rs.next()) {
+			// Add up the votes on every review by the user
+			while (rs.next()) {
 				count += rs.getInt("vote");
 			}
 
@@ -2477,7 +3746,7 @@ public class QAHelper1 {
 	 */
 	public Integer getVoteCountForReview(Integer reviewId) throws SQLException {
 		String query = "SELECT vote FROM cse360review WHERE id = ?";
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+		try (PreparedStatement pstmt = prepare(query)) {
 			pstmt.setInt(1, reviewId);
 			ResultSet rs = pstmt.executeQuery();
 			// Variable to store the count of review votes matching the user
@@ -2493,8 +3762,8 @@ public class QAHelper1 {
 	}
 
 	/**
-	 * Retrieves the reviewer rating using getReviewCountForReviewer() and
-	 * getVoteCountForReviewer
+	 * Retrieves the reviewer rating, the sum of the votes on a reviewer's reviews
+	 * divided by the number of reviews, from the reviewer stats table
 	 * 
 	 * @param userId 		The id of the user you are working with
 	 * 
@@ -2502,20 +3771,240 @@ public class QAHelper1 {
 	 * 
 	 */
 	public Integer getReviewerRating(Integer userId) {
-		Integer reviewCount;
-		Integer voteCount;
-		try {
-			reviewCount = getReviewCountForReviewer(userId);
-			voteCount = getVoteCountForReviewer(userId);
+		String query = "SELECT rating FROM cse360reviewerstats WHERE reviewer_id = ?";
+		try (PreparedStatement pstmt = prepare(query)) {
+			pstmt.setInt(1, userId);
+			ResultSet rs = pstmt.executeQuery();
+			return rs.next() ? rs.getInt("rating") : 0;
 		} catch (SQLException e) {
 			System.err.println("Reviwer-Rating: SQL Error - " + e.getMessage());
 			return 0;
 		}
+	}
 
-		if (reviewCount <= 0) {
-			return 0;
-		} else {
-			return voteCount / reviewCount;
+	/**
+	 * Retrieves the highest rated reviewers, best first. Reviewers with the same
+	 * rating are ordered by their vote sum. Only users who have written a review
+	 * are ranked.
+	 * 
+	 * @param k 				The most reviewers to return
+	 * 
+	 * @return 					A list of up to k reviewers with their stats
+	 * 
+	 * @throws SQLException 	In case the database throws an error
+	 * 
+	 */
+	public List<ReviewerStats> getTopReviewers(int k) throws SQLException {
+		String query = "SELECT s.reviewer_id, s.review_count, s.vote_sum, s.rating FROM cse360reviewerstats s "
+				+ "JOIN cse360users u ON u.id = s.reviewer_id WHERE s.review_count > 0 "
+				+ "ORDER BY s.rating DESC, s.vote_sum DESC, s.reviewer_id LIMIT ?";
+		List<int[]> rows = new ArrayList<>();
+		try (PreparedStatement pstmt = prepare(query)) {
+			pstmt.setInt(1, Math.max(k, 0));
+			ResultSet rs = pstmt.executeQuery();
+			while (rs.next()) {
+				rows.add(new int[] { rs.getInt("reviewer_id"), rs.getInt("review_count"), rs.getInt("vote_sum"),
+						rs.getInt("rating") });
+			}
+		}
+
+		List<Integer> reviewerIds = new ArrayList<>();
+		for (int[] row : rows) {
+			reviewerIds.add(row[0]);
+		}
+		Map<Integer, User> reviewers = databaseHelper.getUsersByIds(reviewerIds);
+
+		List<ReviewerStats> topReviewers = new ArrayList<>();
+		for (int[] row : rows) {
+			User reviewer = reviewers.get(row[0]);
+			if (reviewer != null) {
+				topReviewers.add(new ReviewerStats(reviewer, row[1], row[2], row[3]));
+			}
+		}
+		return topReviewers;
+	}
+
+	/**
+	 * Recommends reviewers for a question, best first. The candidates are the
+	 * users with the Reviewer role and the reviewers the student trusts, apart
+	 * from the question's author and the student. Each is scored by the weight
+	 * the student gave them, their rating, how close the question is to what
+	 * they have reviewed before, and how few open assignments they have. The
+	 * candidates are read in one query and only the top k are loaded as users.
+	 * 
+	 * @param question 			The question needing a reviewer
+	 * @param studentId 		The id of the student looking for a reviewer
+	 * @param k 				The most reviewers to return
+	 * 
+	 * @return 					A list of up to k recommendations, highest score first
+	 * 
+	 * @throws SQLException 	In case the database throws an error
+	 * 
+	 */
+	public List<ReviewerRecommendation> recommendReviewers(Question question, int studentId, int k)
+			throws SQLException {
+		String query = "SELECT c.id, COALESCE(tr.weight, 0) AS weight, COALESCE(s.rating, 0) AS rating, "
+				+ "(SELECT COUNT(*) FROM cse360assignment a WHERE a.reviewer_id = c.id AND a.completed_on IS NULL) "
+				+ "AS open_count FROM (SELECT user_id AS id FROM cse360user_roles WHERE role = 'Reviewer' "
+				+ "UNION SELECT reviewer_id FROM cse360trusted_reviewer WHERE student_id = ?) c "
+				+ "LEFT JOIN cse360trusted_reviewer tr ON tr.student_id = ? AND tr.reviewer_id = c.id "
+				+ "LEFT JOIN cse360reviewerstats s ON s.reviewer_id = c.id WHERE c.id <> ? AND c.id <> ?";
+		List<int[]> rows = new ArrayList<>();
+		int maxWeight = 0;
+		int maxRating = 0;
+		try (PreparedStatement pstmt = prepare(query)) {
+			pstmt.setInt(1, studentId);
+			pstmt.setInt(2, studentId);
+			pstmt.setInt(3, studentId);
+			pstmt.setInt(4, question.getAuthorId() == null ? studentId : question.getAuthorId());
+			ResultSet rs = pstmt.executeQuery();
+			while (rs.next()) {
+				int[] row = { rs.getInt("id"), rs.getInt("weight"), rs.getInt("rating"), rs.getInt("open_count") };
+				maxWeight = Math.max(maxWeight, row[1]);
+				maxRating = Math.max(maxRating, row[2]);
+				rows.add(row);
+			}
+		}
+
+		Map<Integer, Double> similarities = topicIndex.similarities(question.getTitle() + " " + question.getText());
+		Map<Integer, Double> scores = new HashMap<>();
+		for (int[] row : rows) {
+			double trust = maxWeight > 0 ? (double) Math.max(row[1], 0) / maxWeight : 0;
+			double reputation = maxRating > 0 ? (double) Math.max(row[2], 0) / maxRating : 0;
+			double topic = similarities.getOrDefault(row[0], 0.0);
+			double availability = 1.0 / (1 + row[3]);
+			scores.put(row[0], TRUST_SHARE * trust + REPUTATION_SHARE * reputation + TOPIC_SHARE * topic
+					+ WORKLOAD_SHARE * availability);
+		}
+
+		// Keep the best candidates in a min-heap so only the top k are ever sorted
+		Comparator<int[]> byScore = (a, b) -> {
+			int order = Double.compare(scores.get(b[0]), scores.get(a[0]));
+			return order != 0 ? order : Integer.compare(a[0], b[0]);
+		};
+		PriorityQueue<int[]> heap = new PriorityQueue<>(byScore.reversed());
+		for (int[] row : rows) {
+			heap.offer(row);
+			if (heap.size() > Math.max(k, 0)) {
+				heap.poll();
+			}
+		}
+		List<int[]> best = new ArrayList<>(heap);
+		best.sort(byScore);
+
+		List<Integer> reviewerIds = new ArrayList<>();
+		for (int[] row : best) {
+			reviewerIds.add(row[0]);
+		}
+		Map<Integer, User> reviewers = databaseHelper.getUsersByIds(reviewerIds);
+
+		List<ReviewerRecommendation> recommendations = new ArrayList<>();
+		for (int[] row : best) {
+			User reviewer = reviewers.get(row[0]);
+			if (reviewer != null) {
+				recommendations.add(new ReviewerRecommendation(reviewer, scores.get(row[0]), row[1], row[2],
+						similarities.getOrDefault(row[0], 0.0), row[3]));
+			}
+		}
+		return recommendations;
+	}
+
+	/**
+	 * Assigns a reviewer to a question. The assignment stays open in the
+	 * reviewer's queue until they review the question or one of its answers.
+	 * 
+	 * @param questionId 		The id of the question
+	 * @param reviewerId 		The id of the reviewer
+	 * @param assignedBy 		The id of the user making the assignment
+	 * 
+	 * @return 					A boolean indicating whether the assignment was made, false if the
+	 * 							reviewer already has an open assignment to the question
+	 * 
+	 * @throws SQLException 	In case the database throws an error
+	 * 
+	 */
+	public boolean assignReviewer(int questionId, int reviewerId, int assignedBy) throws SQLException {
+		String query = "INSERT INTO cse360assignment (question_id, reviewer_id, assigned_by) SELECT ?, ?, ? "
+				+ "WHERE NOT EXISTS (SELECT 1 FROM cse360assignment WHERE reviewer_id = ? AND completed_on IS NULL "
+				+ "AND question_id = ?)";
+		try (PreparedStatement pstmt = prepare(query)) {
+			pstmt.setInt(1, questionId);
+			pstmt.setInt(2, reviewerId);
+			pstmt.setInt(3, assignedBy);
+			pstmt.setInt(4, reviewerId);
+			pstmt.setInt(5, questionId);
+			return pstmt.executeUpdate() > 0;
+		}
+	}
+
+	/**
+	 * Retrieves a reviewer's queue, the questions they have been assigned and
+	 * not yet reviewed, oldest assignment first
+	 * 
+	 * @param reviewerId 		The id of the reviewer
+	 * 
+	 * @return 					A List of question objects awaiting the reviewer
+	 * 
+	 * @throws SQLException 	In case the database throws an error
+	 * 
+	 */
+	public List<Question> getAssignedQuestions(int reviewerId) throws SQLException {
+		String query = "SELECT question_id FROM cse360assignment WHERE reviewer_id = ? AND completed_on IS NULL "
+				+ "ORDER BY assigned_on, id";
+		List<Integer> ids = new ArrayList<>();
+		try (PreparedStatement pstmt = prepare(query)) {
+			pstmt.setInt(1, reviewerId);
+			ResultSet rs = pstmt.executeQuery();
+			while (rs.next()) {
+				ids.add(rs.getInt("question_id"));
+			}
+		}
+		return getQuestionsByIds(new ArrayList<>(new LinkedHashSet<>(ids)));
+	}
+
+	/**
+	 * Recomputes every reviewer's review count and vote sum from the review table.
+	 * Run by the migration that creates the stats table, so stats are right for
+	 * reviews written before it existed.
+	 * 
+	 * @throws SQLException 	In case the database throws an error
+	 * 
+	 */
+	public void rebuildReviewerStats() throws SQLException {
+		try (Statement statement = connection().createStatement()) {
+			statement.executeUpdate("DELETE FROM cse360reviewerstats");
+			statement.executeUpdate("INSERT INTO cse360reviewerstats (reviewer_id, review_count, vote_sum) "
+					+ "SELECT author, COUNT(*), COALESCE(SUM(vote), 0) FROM cse360review WHERE author IS NOT NULL "
+					+ "GROUP BY author");
+		}
+	}
+
+	/**
+	 * Moves a reviewer's review count and vote sum by the given amounts, adding the
+	 * reviewer to the stats table if they are not in it yet. Called inside the
+	 * transaction that changes the reviews.
+	 * 
+	 * @param reviewerId 		The id of the reviewer, or null to do nothing
+	 * @param reviews 			The change in the number of reviews
+	 * @param votes 			The change in the vote sum
+	 * 
+	 * @throws SQLException 	In case the database throws an error
+	 * 
+	 */
+	private void adjustReviewerStats(Integer reviewerId, int reviews, int votes) throws SQLException {
+		if (reviewerId == null || (reviews == 0 && votes == 0)) {
+			return;
+		}
+		String mergeQuery = "MERGE INTO cse360reviewerstats s "
+				+ "USING (VALUES (CAST(? AS INT), CAST(? AS INT), CAST(? AS INT))) d (reviewer_id, reviews, votes) "
+				+ "ON s.reviewer_id = d.reviewer_id "
+				+ "WHEN MATCHED THEN UPDATE SET review_count = s.review_count + d.reviews, vote_sum = s.vote_sum + d.votes "
+				+ "WHEN NOT MATCHED THEN INSERT (reviewer_id, review_count, vote_sum) VALUES (d.reviewer_id, d.reviews, d.votes)";
+		try (PreparedStatement pstmt = prepare(mergeQuery)) {
+			pstmt.setInt(1, reviewerId);
+			pstmt.setInt(2, reviews);
+			pstmt.setInt(3, votes);
+			pstmt.executeUpdate();
 		}
 	}
 }
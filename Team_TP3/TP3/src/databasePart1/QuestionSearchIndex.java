@@ -0,0 +1,209 @@
+package databasePart1;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * <p>
+ * In-memory full-text index over question titles and text.
+ * </p>
+ * <p>
+ * Keeps an inverted index from each word to the questions that contain it,
+ * along with how often it appears in each one. Searches only visit the
+ * questions that share at least one word with the query and rank them with
+ * BM25, so the cost of a search depends on the query rather than on the total
+ * number of questions. QAHelper1 builds the index when its tables are created
+ * and keeps it current as questions are registered, updated and deleted.
+ * </p>
+ * @author CSE360 Team 8
+ *
+ * @version 0.00 2025-04-20 - Initial baseline
+ *
+ */
+public class QuestionSearchIndex {
+	// BM25 term frequency saturation and length normalization constants
+	private static final double K1 = 1.2;
+	private static final double B = 0.75;
+
+	// Word -> (question id -> number of times the word appears in that question)
+	private final Map<String, Map<Integer, Integer>> postings = new HashMap<>();
+
+	// Question id -> (word -> count), kept so a question can be removed or replaced
+	private final Map<Integer, Map<String, Integer>> documents = new HashMap<>();
+
+	// Question id -> total number of words in that question
+	private final Map<Integer, Integer> lengths = new HashMap<>();
+
+	// Sum of the word counts of every indexed question
+	private long totalLength = 0;
+
+	/**
+	 * Default constructor
+	 */
+	public QuestionSearchIndex() {
+	}
+
+	/**
+	 * Splits text into lower case alpha-numeric words, using the same cleaning
+	 * rules as QAHelper1.textDeserial but keeping repeated words
+	 *
+	 * @param text 		The text you wish to split
+	 *
+	 * @return 			The list of words in the order they appear
+	 *
+	 */
+	public static List<String> tokenize(String text) {
+		List<String> words = new ArrayList<>();
+		if (text == null || text.isEmpty()) {
+			return words;
+		}
+
+		// Clean string of all but alpha-numeric characters and spaces
+		String cleanText = text.replaceAll("[^a-zA-Z0-9\\s]", "").toLowerCase();
+		for (String word : cleanText.split("\\s+")) {
+			if (!word.isEmpty()) {
+				words.add(word);
+			}
+		}
+		return words;
+	}
+
+	/**
+	 * Adds a question to the index, replacing any earlier version of it
+	 *
+	 * @param questionId 	The id of the question
+	 * @param title 		The title of the question
+	 * @param text 			The body text of the question
+	 *
+	 */
+	public synchronized void put(int questionId, String title, String text) {
+		remove(questionId);
+
+		List<String> words = tokenize(title + " " + text);
+		Map<String, Integer> counts = new HashMap<>();
+		for (String word : words) {
+			counts.merge(word, 1, Integer::sum);
+		}
+
+		for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+			postings.computeIfAbsent(entry.getKey(), k -> new HashMap<>()).put(questionId, entry.getValue());
+		}
+		documents.put(questionId, counts);
+		lengths.put(questionId, words.size());
+		totalLength += words.size();
+	}
+
+	/**
+	 * Removes a question from the index
+	 *
+	 * @param questionId 	The id of the question you wish to remove
+	 *
+	 * @return 				A boolean indicating whether the question was indexed
+	 *
+	 */
+	public synchronized boolean remove(int questionId) {
+		Map<String, Integer> counts = documents.remove(questionId);
+		if (counts == null) {
+			return false;
+		}
+
+		for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+			Map<Integer, Integer> posting = postings.get(entry.getKey());
+			posting.remove(questionId);
+			if (posting.isEmpty()) {
+				postings.remove(entry.getKey());
+			}
+		}
+		totalLength -= lengths.remove(questionId);
+		return true;
+	}
+
+	/**
+	 * Removes every question from the index
+	 */
+	public synchronized void clear() {
+		postings.clear();
+		documents.clear();
+		lengths.clear();
+		totalLength = 0;
+	}
+
+	/**
+	 * Returns the number of questions in the index
+	 *
+	 * @return 		The number of indexed questions
+	 *
+	 */
+	public synchronized int size() {
+		return documents.size();
+	}
+
+	/**
+	 * Searches the index and returns the ids of the best matching questions,
+	 * highest BM25 score first. Ties are broken by the lower question id.
+	 *
+	 * @param query 	The text you wish to search for
+	 * @param limit 	The most results to return
+	 *
+	 * @return 			A list of question ids ordered by relevance
+	 *
+	 */
+	public synchronized List<Integer> search(String query, int limit) {
+		if (limit <= 0 || documents.isEmpty()) {
+			return Collections.emptyList();
+		}
+
+		// Each query word only counts once, the same as the old matching rules
+		Set<String> terms = new LinkedHashSet<>(tokenize(query));
+		double averageLength = Math.max(1.0, (double) totalLength / documents.size());
+		int documentCount = documents.size();
+
+		Map<Integer, Double> scores = new HashMap<>();
+		for (String term : terms) {
+			Map<Integer, Integer> posting = postings.get(term);
+			if (posting == null) {
+				continue;
+			}
+
+			double idf = Math.log(1.0 + (documentCount - posting.size() + 0.5) / (posting.size() + 0.5));
+			for (Map.Entry<Integer, Integer> entry : posting.entrySet()) {
+				int length = lengths.get(entry.getKey());
+				double tf = entry.getValue();
+				double score = idf * tf * (K1 + 1) / (tf + K1 * (1 - B + B * length / averageLength));
+				scores.merge(entry.getKey(), score, Double::sum);
+			}
+		}
+
+		// Keep the best results in a min-heap so only the top entries are ever sorted
+		PriorityQueue<Map.Entry<Integer, Double>> heap = new PriorityQueue<>(Math.min(limit, scores.size()) + 1,
+				(a, b) -> compareResults(b, a));
+		for (Map.Entry<Integer, Double> entry : scores.entrySet()) {
+			heap.offer(entry);
+			if (heap.size() > limit) {
+				heap.poll();
+			}
+		}
+
+		List<Map.Entry<Integer, Double>> ranked = new ArrayList<>(heap);
+		ranked.sort(QuestionSearchIndex::compareResults);
+		List<Integer> ids = new ArrayList<>(ranked.size());
+		for (Map.Entry<Integer, Double> entry : ranked) {
+			ids.add(entry.getKey());
+		}
+		return ids;
+	}
+
+	/**
+	 * Orders results by descending score, then ascending question id
+	 */
+	private static int compareResults(Map.Entry<Integer, Double> a, Map.Entry<Integer, Double> b) {
+		int byScore = Double.compare(b.getValue(), a.getValue());
+		return byScore != 0 ? byScore : Integer.compare(a.getKey(), b.getKey());
+	}
+}
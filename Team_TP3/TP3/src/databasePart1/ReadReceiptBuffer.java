@@ -0,0 +1,227 @@
+package databasePart1;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * A buffer of "answer read" events waiting to be written to the database.
+ * </p>
+ * <p>
+ * Marking an answer as read only adds an entry here. Repeats of the same answer
+ * and user are kept once, and the pending entries are handed to the writer in
+ * one batch when flush() is called or when the flush interval passes, so
+ * reading through a long thread costs one write instead of one per answer. An
+ * entry counts as pending until its write returns. If a write fails the entries
+ * are put back to be tried again on the next flush.
+ * </p>
+ * @author CSE360 Team 8
+ *
+ * @version 0.00 2025-04-20 - Initial baseline
+ *
+ */
+public final class ReadReceiptBuffer {
+	/**
+	 * Writes a batch of read receipts to the database
+	 */
+	@FunctionalInterface
+	public interface Writer {
+		/**
+		 * Writes the receipts
+		 *
+		 * @param receipts 			The receipts to write, each packed with receipt()
+		 *
+		 * @throws SQLException 	In case the database throws an error
+		 *
+		 */
+		void write(List<Long> receipts) throws SQLException;
+	}
+
+	private final Writer writer;
+	private final Runnable afterTimedFlush;
+	private final ScheduledExecutorService flusher;
+
+	// Pending receipts in the order they were first added
+	private Set<Long> pending = new LinkedHashSet<>();
+	// Receipts taken out of pending by a flush whose write has not returned yet
+	private final Set<Long> inFlight = new HashSet<>();
+
+	/**
+	 * Creates an empty buffer
+	 *
+	 * @param writer 				Writes each batch of receipts
+	 * @param flushIntervalMillis 	How often pending receipts are written in the background, or 0 to
+	 * 								only write them when flush() is called
+	 * @param afterTimedFlush 		Run on the background thread after each timed flush, so the owner can
+	 * 								give back anything the write held on to, such as a pooled connection
+	 *
+	 */
+	public ReadReceiptBuffer(Writer writer, long flushIntervalMillis, Runnable afterTimedFlush) {
+		this.writer = writer;
+		this.afterTimedFlush = afterTimedFlush;
+		if (flushIntervalMillis > 0) {
+			flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+				Thread thread = new Thread(r, "read-receipt-flusher");
+				thread.setDaemon(true);
+				return thread;
+			});
+			flusher.scheduleWithFixedDelay(this::timedFlush, flushIntervalMillis, flushIntervalMillis,
+					TimeUnit.MILLISECONDS);
+		} else {
+			flusher = null;
+		}
+	}
+
+	/**
+	 * Packs an answer id and user id into a single receipt
+	 *
+	 * @param answerId 		The id of the answer read
+	 * @param userId 		The id of the user who read it
+	 *
+	 * @return 				The receipt
+	 *
+	 */
+	public static long receipt(int answerId, int userId) {
+		return ((long) answerId << 32) | (userId & 0xFFFFFFFFL);
+	}
+
+	/**
+	 * Returns the answer id of a receipt
+	 *
+	 * @param receipt 		A receipt made by receipt()
+	 *
+	 * @return 				The id of the answer read
+	 *
+	 */
+	public static int answerId(long receipt) {
+		return (int) (receipt >>> 32);
+	}
+
+	/**
+	 * Returns the user id of a receipt
+	 *
+	 * @param receipt 		A receipt made by receipt()
+	 *
+	 * @return 				The id of the user who read the answer
+	 *
+	 */
+	public static int userId(long receipt) {
+		return (int) receipt;
+	}
+
+	/**
+	 * Records that a user has read an answer, to be written on the next flush
+	 *
+	 * @param answerId 		The id of the answer read
+	 * @param userId 		The id of the user who read it
+	 *
+	 */
+	public synchronized void add(int answerId, int userId) {
+		long receipt = receipt(answerId, userId);
+		if (!inFlight.contains(receipt)) {
+			pending.add(receipt);
+		}
+	}
+
+	/**
+	 * Returns whether a receipt is waiting to be written
+	 *
+	 * @param answerId 		The id of the answer
+	 * @param userId 		The id of the user
+	 *
+	 * @return 				True if the receipt has been added but its write has not finished
+	 *
+	 */
+	public synchronized boolean isPending(int answerId, int userId) {
+		long receipt = receipt(answerId, userId);
+		return pending.contains(receipt) || inFlight.contains(receipt);
+	}
+
+	/**
+	 * Returns the number of receipts waiting to be written
+	 *
+	 * @return 		The number of pending receipts
+	 *
+	 */
+	public synchronized int size() {
+		return pending.size();
+	}
+
+	/**
+	 * Writes every pending receipt in one batch. Does nothing if none are pending.
+	 *
+	 * @return 					The number of receipts written
+	 *
+	 * @throws SQLException 	In case the database throws an error, in which case the receipts
+	 * 							are kept for the next flush
+	 *
+	 */
+	public int flush() throws SQLException {
+		List<Long> batch;
+		synchronized (this) {
+			if (pending.isEmpty()) {
+				return 0;
+			}
+			batch = new ArrayList<>(pending);
+			pending = new LinkedHashSet<>();
+			// Keep the batch visible to isPending() until it has been written
+			inFlight.addAll(batch);
+		}
+
+		try {
+			writer.write(batch);
+		} catch (SQLException | RuntimeException e) {
+			// Put the batch back ahead of anything added since
+			synchronized (this) {
+				inFlight.removeAll(batch);
+				Set<Long> restored = new LinkedHashSet<>(batch);
+				restored.addAll(pending);
+				pending = restored;
+			}
+			throw e;
+		}
+		synchronized (this) {
+			inFlight.removeAll(batch);
+		}
+		return batch.size();
+	}
+
+	/**
+	 * Drops every pending receipt without writing it, for when the database they
+	 * refer to has been reset
+	 */
+	public synchronized void discard() {
+		pending.clear();
+	}
+
+	/**
+	 * Stops the background flushing. Pending receipts are not written, so call
+	 * flush() first to keep them.
+	 */
+	public void close() {
+		if (flusher != null) {
+			flusher.shutdownNow();
+		}
+	}
+
+	/**
+	 * Flushes on the background thread, reporting rather than throwing errors
+	 */
+	private void timedFlush() {
+		try {
+			flush();
+		} catch (SQLException | RuntimeException e) {
+			// Caught so one failed write does not cancel the later timed flushes
+			System.err.println("Error writing read receipts: " + e.getMessage());
+		} finally {
+			afterTimedFlush.run();
+		}
+	}
+}
@@ -0,0 +1,206 @@
+package databasePart1;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ * In-memory index of what each reviewer has reviewed.
+ * </p>
+ * <p>
+ * Every review adds the words of the review and of the question or answer it
+ * is about to its author's profile. A piece of text is matched against the
+ * profiles by the cosine of their TF-IDF vectors, where a word's IDF falls
+ * the more reviewers have used it, so words everyone uses count for little.
+ * Only the reviewers that share at least one word with the text are visited.
+ * QAHelper1 builds the index from the review table and keeps it current as
+ * reviews are registered, updated and deleted.
+ * </p>
+ * @author CSE360 Team 8
+ *
+ * @version 0.00 2025-04-20 - Initial baseline
+ *
+ */
+public class ReviewerTopicIndex {
+	// Word -> (reviewer id -> number of times the word appears in the reviewer's profile)
+	private final Map<String, Map<Integer, Integer>> postings = new HashMap<>();
+
+	// Reviewer id -> (word -> count), the reviewer's profile
+	private final Map<Integer, Map<String, Integer>> profiles = new HashMap<>();
+
+	// Review id -> the reviewer and word counts it added, kept so a review can be removed or replaced
+	private final Map<Integer, Map<String, Integer>> reviews = new HashMap<>();
+	private final Map<Integer, Integer> reviewAuthors = new HashMap<>();
+
+	// Reviewer id -> length of the profile's TF-IDF vector, dropped whenever any profile changes
+	private final Map<Integer, Double> norms = new HashMap<>();
+
+	/**
+	 * Default constructor
+	 */
+	public ReviewerTopicIndex() {
+	}
+
+	/**
+	 * Adds a review to its author's profile, replacing any earlier version of it
+	 *
+	 * @param reviewId 		The id of the review
+	 * @param reviewerId 	The id of the review's author
+	 * @param text 			The text of the review and of what it reviews
+	 *
+	 */
+	public synchronized void put(int reviewId, int reviewerId, String text) {
+		remove(reviewId);
+
+		Map<String, Integer> counts = new HashMap<>();
+		for (String word : QuestionSearchIndex.tokenize(text)) {
+			counts.merge(word, 1, Integer::sum);
+		}
+
+		Map<String, Integer> profile = profiles.computeIfAbsent(reviewerId, k -> new HashMap<>());
+		for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+			profile.merge(entry.getKey(), entry.getValue(), Integer::sum);
+			postings.computeIfAbsent(entry.getKey(), k -> new HashMap<>()).merge(reviewerId, entry.getValue(),
+					Integer::sum);
+		}
+		reviews.put(reviewId, counts);
+		reviewAuthors.put(reviewId, reviewerId);
+		norms.clear();
+	}
+
+	/**
+	 * Removes a review from its author's profile
+	 *
+	 * @param reviewId 		The id of the review you wish to remove
+	 *
+	 * @return 				A boolean indicating whether the review was indexed
+	 *
+	 */
+	public synchronized boolean remove(int reviewId) {
+		Map<String, Integer> counts = reviews.remove(reviewId);
+		if (counts == null) {
+			return false;
+		}
+
+		int reviewerId = reviewAuthors.remove(reviewId);
+		Map<String, Integer> profile = profiles.get(reviewerId);
+		for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+			if (profile.merge(entry.getKey(), -entry.getValue(), Integer::sum) == 0) {
+				profile.remove(entry.getKey());
+			}
+			Map<Integer, Integer> posting = postings.get(entry.getKey());
+			if (posting.merge(reviewerId, -entry.getValue(), Integer::sum) == 0) {
+				posting.remove(reviewerId);
+				if (posting.isEmpty()) {
+					postings.remove(entry.getKey());
+				}
+			}
+		}
+		if (profile.isEmpty()) {
+			profiles.remove(reviewerId);
+		}
+		norms.clear();
+		return true;
+	}
+
+	/**
+	 * Removes every review from the index
+	 */
+	public synchronized void clear() {
+		postings.clear();
+		profiles.clear();
+		reviews.clear();
+		reviewAuthors.clear();
+		norms.clear();
+	}
+
+	/**
+	 * Returns the number of reviews in the index
+	 *
+	 * @return 		The number of indexed reviews
+	 *
+	 */
+	public synchronized int size() {
+		return reviews.size();
+	}
+
+	/**
+	 * Measures how close the text is to each reviewer's profile
+	 *
+	 * @param text 		The text you wish to match, such as a question's title and body
+	 *
+	 * @return 			A map of reviewer id to cosine similarity, from 0 to 1, holding only the
+	 * 					reviewers that share a word with the text
+	 *
+	 */
+	public synchronized Map<Integer, Double> similarities(String text) {
+		Map<Integer, Double> scores = new HashMap<>();
+		List<String> words = QuestionSearchIndex.tokenize(text);
+		if (words.isEmpty() || profiles.isEmpty()) {
+			return scores;
+		}
+
+		Map<String, Integer> counts = new HashMap<>();
+		for (String word : words) {
+			counts.merge(word, 1, Integer::sum);
+		}
+
+		double queryNorm = 0;
+		for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+			Map<Integer, Integer> posting = postings.get(entry.getKey());
+			if (posting == null) {
+				continue;
+			}
+
+			double idf = idf(posting.size());
+			double queryWeight = weight(entry.getValue()) * idf;
+			queryNorm += queryWeight * queryWeight;
+			for (Map.Entry<Integer, Integer> reviewer : posting.entrySet()) {
+				scores.merge(reviewer.getKey(), queryWeight * weight(reviewer.getValue()) * idf, Double::sum);
+			}
+		}
+		if (queryNorm == 0) {
+			scores.clear();
+			return scores;
+		}
+
+		double length = Math.sqrt(queryNorm);
+		scores.replaceAll((reviewerId, dot) -> {
+			double norm = norm(reviewerId);
+			return norm == 0 ? 0 : Math.min(1.0, dot / (length * norm));
+		});
+		return scores;
+	}
+
+	/**
+	 * Returns the length of a reviewer's TF-IDF vector, working it out the first
+	 * time it is needed after a change
+	 */
+	private double norm(int reviewerId) {
+		return norms.computeIfAbsent(reviewerId, id -> {
+			double sum = 0;
+			for (Map.Entry<String, Integer> entry : profiles.get(id).entrySet()) {
+				double w = weight(entry.getValue()) * idf(postings.get(entry.getKey()).size());
+				sum += w * w;
+			}
+			return Math.sqrt(sum);
+		});
+	}
+
+	/**
+	 * Dampens repeated words, so a reviewer with many reviews on one topic does
+	 * not drown out every other word in their profile
+	 */
+	private static double weight(int count) {
+		return 1 + Math.log(count);
+	}
+
+	/**
+	 * Inverse document frequency across profiles, the same form the question
+	 * search uses
+	 */
+	private double idf(int reviewersWithWord) {
+		return Math.log(1.0 + (profiles.size() - reviewersWithWord + 0.5) / (reviewersWithWord + 0.5));
+	}
+}
@@ -0,0 +1,165 @@
+package databasePart1;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * <p>
+ * Brings the database schema up to date by applying numbered migration steps.
+ * </p>
+ * <p>
+ * Every step that has been applied is recorded in the schema_version table
+ * along with its description, so each step runs once per database and starting
+ * the application only applies the steps added since it last ran. Steps are
+ * applied in version order and each is recorded once it has finished, so a
+ * failed step stops the migration and is tried again next time. Table changes
+ * commit as they run, so every step must be safe to run again after failing
+ * part way. Steps are never undone. The steps for the first versions use
+ * CREATE ... IF NOT EXISTS, so databases made before schema_version existed
+ * are brought in without losing their data.
+ * </p>
+ * @author CSE360 Team 8
+ *
+ * @version 0.00 2025-04-20 - Initial baseline
+ *
+ */
+public class SchemaMigrator {
+	/**
+	 * One migration step, run on the calling thread's pooled connection
+	 */
+	@FunctionalInterface
+	public interface Step {
+		/**
+		 * Applies the step
+		 *
+		 * @throws SQLException 	In case the database throws an error
+		 *
+		 */
+		void apply() throws SQLException;
+	}
+
+	private static final class Migration {
+		private final String description;
+		private final Step step;
+
+		private Migration(String description, Step step) {
+			this.description = description;
+			this.step = step;
+		}
+	}
+
+	private final TreeMap<Integer, Migration> migrations = new TreeMap<>();
+
+	/**
+	 * Creates a migrator with no steps
+	 */
+	public SchemaMigrator() {
+	}
+
+	/**
+	 * Adds a step. Versions must be positive and unique, and a step must never
+	 * change once it has shipped; later changes go in a new step.
+	 *
+	 * @param version 			The version the step brings the schema to
+	 * @param description 		A short description recorded with the version
+	 * @param step 				The work to do
+	 *
+	 * @return 					This migrator, so steps can be chained
+	 *
+	 */
+	public SchemaMigrator add(int version, String description, Step step) {
+		if (version <= 0) {
+			throw new IllegalArgumentException("Migration versions start at 1: " + version);
+		}
+		if (migrations.putIfAbsent(version, new Migration(description, step)) != null) {
+			throw new IllegalArgumentException("Duplicate migration version: " + version);
+		}
+		return this;
+	}
+
+	/**
+	 * Returns the highest version of any step
+	 *
+	 * @return 		The latest version, or 0 with no steps
+	 *
+	 */
+	public int getLatestVersion() {
+		return migrations.isEmpty() ? 0 : migrations.lastKey();
+	}
+
+	/**
+	 * Returns the versions already applied to the database
+	 *
+	 * @param connection 		The connection to the database
+	 *
+	 * @return 					The applied versions
+	 *
+	 * @throws SQLException 	In case the database throws an error
+	 *
+	 */
+	public Set<Integer> getAppliedVersions(Connection connection) throws SQLException {
+		Set<Integer> applied = new HashSet<>();
+		try (Statement statement = connection.createStatement()) {
+			createVersionTable(statement);
+			try (ResultSet rs = statement.executeQuery("SELECT version FROM schema_version")) {
+				while (rs.next()) {
+					applied.add(rs.getInt("version"));
+				}
+			}
+		}
+		return applied;
+	}
+
+	/**
+	 * Applies every step not yet recorded in schema_version, in version order
+	 *
+	 * @param connection 		The connection the steps run on, which must be the calling thread's
+	 * 							pooled connection
+	 *
+	 * @return 					The number of steps applied
+	 *
+	 * @throws SQLException 	In case a step fails, in which case it and the steps after it are
+	 * 							left for the next run
+	 *
+	 */
+	public int migrate(Connection connection) throws SQLException {
+		Set<Integer> applied = getAppliedVersions(connection);
+		String recordQuery = "INSERT INTO schema_version (version, description) VALUES (?, ?)";
+		int count = 0;
+
+		for (Map.Entry<Integer, Migration> entry : migrations.entrySet()) {
+			int version = entry.getKey();
+			if (applied.contains(version)) {
+				continue;
+			}
+			Migration migration = entry.getValue();
+			try (PreparedStatement pstmt = connection.prepareStatement(recordQuery)) {
+				migration.step.apply();
+				pstmt.setInt(1, version);
+				pstmt.setString(2, migration.description);
+				pstmt.executeUpdate();
+			} catch (SQLException e) {
+				throw new SQLException("Migration " + version + " (" + migration.description + ") failed: "
+						+ e.getMessage(), e);
+			}
+			System.out.println("Applied schema version " + version + ": " + migration.description);
+			count++;
+		}
+		return count;
+	}
+
+	/**
+	 * Creates the schema_version table if it does not exist
+	 */
+	private static void createVersionTable(Statement statement) throws SQLException {
+		statement.execute("CREATE TABLE IF NOT EXISTS schema_version (" + "version INT NOT NULL PRIMARY KEY, "
+				+ "description VARCHAR(255), " + "applied_on TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
+	}
+}
@@ -0,0 +1,266 @@
+package databasePart1;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ * A least recently used cache of prepared statements for one connection.
+ * </p>
+ * <p>
+ * Statements are keyed by their SQL text and whether they return generated
+ * keys. The statements handed out are wrappers, so the helpers can keep using
+ * try-with-resources: closing a wrapper clears its parameters and returns the
+ * statement to the cache instead of closing it. If the same SQL is requested
+ * again while its cached statement is still open, for example from a nested
+ * call, a separate statement is prepared that really closes when done.
+ * </p>
+ * <p>
+ * A cache belongs to a single connection, and a connection is only used by one
+ * thread at a time, so the cache itself is not synchronized apart from its
+ * counters.
+ * </p>
+ * @author CSE360 Team 8
+ *
+ * @version 0.00 2025-04-20 - Initial baseline
+ *
+ */
+public class StatementCache {
+	/**
+	 * A prepared statement held by the cache
+	 */
+	private static class Entry {
+		private final PreparedStatement statement;
+		private boolean inUse = false;
+		private boolean evicted = false;
+
+		private Entry(PreparedStatement statement) {
+			this.statement = statement;
+		}
+	}
+
+	private final Connection connection;
+	private final Map<String, Entry> statements;
+
+	private long hits = 0;
+	private long misses = 0;
+
+	/**
+	 * Creates a cache for a connection
+	 *
+	 * @param connection 	The connection whose statements are cached
+	 * @param capacity 		The most statements to keep prepared at once
+	 *
+	 */
+	public StatementCache(Connection connection, int capacity) {
+		this.connection = connection;
+		// Access order makes the first entry the least recently used one
+		this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+				if (size() <= capacity) {
+					return false;
+				}
+				evict(eldest.getValue());
+				return true;
+			}
+		};
+	}
+
+	/**
+	 * Returns a prepared statement for the SQL, reusing a cached one when possible
+	 *
+	 * @param sql 				The SQL text of the statement
+	 *
+	 * @return 					A prepared statement to use and close as usual
+	 *
+	 * @throws SQLException 	In case the database throws an error
+	 *
+	 */
+	public PreparedStatement prepare(String sql) throws SQLException {
+		return prepare(sql, Statement.NO_GENERATED_KEYS);
+	}
+
+	/**
+	 * Returns a prepared statement for the SQL, reusing a cached one when possible
+	 *
+	 * @param sql 					The SQL text of the statement
+	 * @param autoGeneratedKeys 	Statement.RETURN_GENERATED_KEYS or Statement.NO_GENERATED_KEYS
+	 *
+	 * @return 						A prepared statement to use and close as usual
+	 *
+	 * @throws SQLException 		In case the database throws an error
+	 *
+	 */
+	public PreparedStatement prepare(String sql, int autoGeneratedKeys) throws SQLException {
+		String key = autoGeneratedKeys + ":" + sql;
+		Entry entry = statements.get(key);
+
+		if (entry != null && !entry.inUse && !entry.statement.isClosed()) {
+			countHit();
+			entry.inUse = true;
+			return wrap(entry);
+		}
+
+		countMiss();
+		PreparedStatement statement = connection.prepareStatement(sql, autoGeneratedKeys);
+		if (entry != null && entry.inUse) {
+			// The cached copy is busy in an outer call, so this one is not kept
+			Entry uncached = new Entry(statement);
+			uncached.evicted = true;
+			uncached.inUse = true;
+			return wrap(uncached);
+		}
+
+		Entry created = new Entry(statement);
+		created.inUse = true;
+		statements.put(key, created);
+		return wrap(created);
+	}
+
+	/**
+	 * Returns the number of requests answered from the cache
+	 *
+	 * @return 		The number of cache hits
+	 *
+	 */
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	/**
+	 * Returns the number of requests that had to prepare a new statement
+	 *
+	 * @return 		The number of cache misses
+	 *
+	 */
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * Returns the number of statements currently cached
+	 *
+	 * @return 		The number of cached statements
+	 *
+	 */
+	public int size() {
+		return statements.size();
+	}
+
+	/**
+	 * Closes every cached statement
+	 */
+	public void close() {
+		List<Entry> entries = new ArrayList<>(statements.values());
+		statements.clear();
+		for (Entry entry : entries) {
+			evict(entry);
+		}
+	}
+
+	private synchronized void countHit() {
+		hits++;
+	}
+
+	private synchronized void countMiss() {
+		misses++;
+	}
+
+	/**
+	 * Removes a statement from use by the cache, closing it now if it is idle or
+	 * when its current user closes it otherwise
+	 */
+	private void evict(Entry entry) {
+		entry.evicted = true;
+		if (!entry.inUse) {
+			closeQuietly(entry.statement);
+		}
+	}
+
+	/**
+	 * Wraps a cached statement so that closing it hands it back to the cache
+	 */
+	private PreparedStatement wrap(Entry entry) {
+		InvocationHandler handler = new InvocationHandler() {
+			private boolean closed = false;
+
+			@Override
+			public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+				switch (method.getName()) {
+				case "close":
+					if (!closed) {
+						closed = true;
+						giveBack(entry);
+					}
+					return null;
+				case "isClosed":
+					return closed || entry.statement.isClosed();
+				case "unwrap":
+					if (((Class<?>) args[0]).isInstance(entry.statement)) {
+						return entry.statement;
+					}
+					break;
+				default:
+					break;
+				}
+				if (closed) {
+					throw new SQLException("Statement has already been closed");
+				}
+				try {
+					return method.invoke(entry.statement, args);
+				} catch (InvocationTargetException e) {
+					throw e.getCause();
+				}
+			}
+		};
+		return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+				new Class<?>[] { PreparedStatement.class }, handler);
+	}
+
+	/**
+	 * Resets a statement after use and makes it available again, or closes it if
+	 * it has been evicted
+	 */
+	private void giveBack(Entry entry) {
+		entry.inUse = false;
+		if (entry.evicted) {
+			closeQuietly(entry.statement);
+			return;
+		}
+		try {
+			ResultSet resultSet = entry.statement.getResultSet();
+			if (resultSet != null) {
+				resultSet.close();
+			}
+			entry.statement.clearParameters();
+			entry.statement.clearBatch();
+		} catch (SQLException e) {
+			// A statement that cannot be reset is not safe to hand out again
+			entry.evicted = true;
+			statements.values().remove(entry);
+			closeQuietly(entry.statement);
+		}
+	}
+
+	private static void closeQuietly(Statement statement) {
+		try {
+			statement.close();
+		} catch (SQLException e) {
+			// Nothing more can be done with a statement that fails to close
+		}
+	}
+}
@@ -0,0 +1,449 @@
+package databasePart1;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import application.EmailValidator;
+import application.NameValidator;
+import application.PasswordEvaluator;
+import application.UserNameRecognizer;
+
+/**
+ * <p>
+ * Imports a roster of users from CSV into cse360users.
+ * </p>
+ * <p>
+ * The roster is read a chunk of rows at a time, so a large file never has to
+ * fit in memory. The rows of a chunk are checked in parallel with the same
+ * username, name, email and password rules as the setup pages, then against
+ * the rows before them and, in one query, against the users already in the
+ * database. The rows that pass and their roles are inserted as batches in one
+ * transaction per chunk. Every row that is not imported is listed in the report
+ * with its line number and the reason.
+ * </p>
+ * <p>
+ * The first line is a header naming the columns, in any order: username, name,
+ * email and password are required and roles is optional. Roles are separated
+ * by commas or semicolons, and a user with none is a Student. Fields may be
+ * quoted, with "" for a quote inside them, but may not span lines.
+ * </p>
+ * @author CSE360 Team 8
+ *
+ * @version 0.00 2025-04-20 - Initial baseline
+ *
+ */
+public class UserImporter {
+	/**
+	 * The roles a user can be given
+	 */
+	public static final List<String> ROLES = List.of("Admin", "Student", "Instructor", "Staff", "Reviewer");
+
+	/**
+	 * Rows read, checked and inserted together
+	 */
+	public static final int CHUNK_SIZE = 5000;
+
+	private static final List<String> REQUIRED_COLUMNS = List.of("username", "name", "email", "password");
+
+	/**
+	 * A row that was not imported
+	 */
+	public static class RowError {
+		private final int line;
+		private final String userName;
+		private final String message;
+
+		private RowError(int line, String userName, String message) {
+			this.line = line;
+			this.userName = userName;
+			this.message = message;
+		}
+
+		/**
+		 * @return the line of the file the row is on, counting the header as line 1
+		 */
+		public int getLine() {
+			return line;
+		}
+
+		/**
+		 * @return the username on the row, or an empty string if it had none
+		 */
+		public String getUserName() {
+			return userName;
+		}
+
+		/**
+		 * @return why the row was not imported
+		 */
+		public String getMessage() {
+			return message;
+		}
+
+		@Override
+		public String toString() {
+			return "Line " + line + (userName.isEmpty() ? "" : " (" + userName + ")") + ": " + message;
+		}
+	}
+
+	/**
+	 * The outcome of an import
+	 */
+	public static class ImportReport {
+		private int rows;
+		private int imported;
+		private final List<RowError> errors = new ArrayList<>();
+
+		/**
+		 * @return the number of rows read, not counting the header
+		 */
+		public int getRows() {
+			return rows;
+		}
+
+		/**
+		 * @return the number of users added
+		 */
+		public int getImported() {
+			return imported;
+		}
+
+		/**
+		 * @return the rows not imported, in file order
+		 */
+		public List<RowError> getErrors() {
+			return Collections.unmodifiableList(errors);
+		}
+
+		@Override
+		public String toString() {
+			return "Imported " + imported + " of " + rows + " users, " + errors.size() + " rows rejected";
+		}
+	}
+
+	/**
+	 * One row of the roster
+	 */
+	private static final class Row {
+		private final int line;
+		private final String userName;
+		private final String name;
+		private final String email;
+		private final String password;
+		private final String roles;
+		private String error;
+
+		private Row(int line, String userName, String name, String email, String password, String roles) {
+			this.line = line;
+			this.userName = userName;
+			this.name = name;
+			this.email = email;
+			this.password = password;
+			this.roles = roles;
+		}
+	}
+
+	private final ConnectionPool connectionPool;
+
+	/**
+	 * Creates an importer
+	 *
+	 * @param connectionPool 	The pool whose calling-thread connection the users are written on
+	 *
+	 */
+	UserImporter(ConnectionPool connectionPool) {
+		this.connectionPool = connectionPool;
+	}
+
+	/**
+	 * Imports a roster
+	 *
+	 * @param csv 				The roster, header first
+	 *
+	 * @return 					What was imported and which rows were not
+	 *
+	 * @throws IOException 		In case the roster cannot be read or has no usable header
+	 * @throws SQLException 	In case the database throws an error. Chunks inserted before it stay
+	 *
+	 */
+	public ImportReport importCsv(Reader csv) throws IOException, SQLException {
+		ImportReport report = new ImportReport();
+		BufferedReader reader = csv instanceof BufferedReader ? (BufferedReader) csv : new BufferedReader(csv);
+		Map<String, Integer> columns = readHeader(reader.readLine());
+		Set<String> seen = new HashSet<>();
+		Map<String, Integer> firstLine = new HashMap<>();
+
+		List<Row> chunk = new ArrayList<>(CHUNK_SIZE);
+		int lineNumber = 1;
+		String line;
+		while ((line = reader.readLine()) != null) {
+			lineNumber++;
+			if (line.isBlank()) {
+				continue;
+			}
+			chunk.add(parseRow(lineNumber, line, columns));
+			if (chunk.size() == CHUNK_SIZE) {
+				importChunk(chunk, seen, firstLine, report);
+				chunk.clear();
+			}
+		}
+		if (!chunk.isEmpty()) {
+			importChunk(chunk, seen, firstLine, report);
+		}
+		return report;
+	}
+
+	/**
+	 * Checks a chunk and inserts the rows that pass
+	 */
+	private void importChunk(List<Row> chunk, Set<String> seen, Map<String, Integer> firstLine, ImportReport report)
+			throws SQLException {
+		report.rows += chunk.size();
+
+		// The validators keep no state, so the rows can be checked on every core at once
+		chunk.parallelStream().filter(row -> row.error == null).forEach(UserImporter::validate);
+
+		List<Row> candidates = new ArrayList<>();
+		for (Row row : chunk) {
+			if (row.error == null && !seen.add(row.userName)) {
+				row.error = "Duplicate username, first on line " + firstLine.get(row.userName);
+			} else if (row.error == null) {
+				firstLine.put(row.userName, row.line);
+				candidates.add(row);
+			}
+		}
+
+		Set<String> existing = findExisting(candidates);
+		List<Row> accepted = new ArrayList<>();
+		for (Row row : candidates) {
+			if (existing.contains(row.userName)) {
+				row.error = "A user with this username already exists";
+			} else {
+				accepted.add(row);
+			}
+		}
+
+		try {
+			report.imported += insert(accepted);
+		} catch (SQLException e) {
+			System.err.println("Could not import lines " + chunk.get(0).line + " to "
+					+ chunk.get(chunk.size() - 1).line + ": " + e.getMessage());
+			for (Row row : accepted) {
+				row.error = "Not imported: " + e.getMessage();
+			}
+		}
+
+		for (Row row : chunk) {
+			if (row.error != null) {
+				report.errors.add(new RowError(row.line, row.userName, row.error));
+			}
+		}
+	}
+
+	/**
+	 * Checks one row against the account rules, setting its error if it fails
+	 */
+	private static void validate(Row row) {
+		String error = UserNameRecognizer.validate(row.userName).getErrorMessage();
+		if (error.isEmpty()) {
+			error = NameValidator.validate(row.name).getErrorMessage();
+		}
+		if (error.isEmpty()) {
+			error = EmailValidator.validate(row.email).getErrorMessage();
+		}
+		if (error.isEmpty()) {
+			error = PasswordEvaluator.validate(row.password).getErrorMessage();
+		}
+		if (error.isEmpty()) {
+			for (String role : splitRoles(row.roles)) {
+				if (!ROLES.contains(role)) {
+					error = "Unknown role: " + role;
+					break;
+				}
+			}
+		}
+		row.error = error.isEmpty() ? null : error.replace("*** ERROR *** ", "").trim();
+	}
+
+	/**
+	 * Returns the usernames of rows that are already in cse360users, in one query
+	 */
+	private Set<String> findExisting(List<Row> rows) throws SQLException {
+		Set<String> existing = new HashSet<>();
+		if (rows.isEmpty()) {
+			return existing;
+		}
+		String[] userNames = rows.stream().map(row -> row.userName).toArray(String[]::new);
+		String query = "SELECT userName FROM cse360users WHERE userName = ANY(?)";
+		Array array = connectionPool.connection().createArrayOf("VARCHAR", userNames);
+		try (PreparedStatement pstmt = connectionPool.prepare(query)) {
+			pstmt.setArray(1, array);
+			try (ResultSet rs = pstmt.executeQuery()) {
+				while (rs.next()) {
+					existing.add(rs.getString("userName"));
+				}
+			}
+		} finally {
+			array.free();
+		}
+		return existing;
+	}
+
+	/**
+	 * Inserts rows and their roles as two batches in one transaction
+	 */
+	private int insert(List<Row> rows) throws SQLException {
+		if (rows.isEmpty()) {
+			return 0;
+		}
+		String insertUser = "INSERT INTO cse360users (userName, name, password, email, otp) VALUES (?, ?, ?, ?, FALSE)";
+		String insertRole = "INSERT INTO cse360user_roles (user_id, role, position) VALUES (?, ?, ?)";
+		Connection connection = connectionPool.connection();
+		boolean autoCommit = connection.getAutoCommit();
+		connection.setAutoCommit(false);
+		try (PreparedStatement pstmt = connectionPool.prepare(insertUser, Statement.RETURN_GENERATED_KEYS);
+				PreparedStatement rolePstmt = connectionPool.prepare(insertRole)) {
+			for (Row row : rows) {
+				pstmt.setString(1, row.userName);
+				pstmt.setString(2, row.name);
+				pstmt.setString(3, row.password);
+				pstmt.setString(4, row.email);
+				pstmt.addBatch();
+			}
+			pstmt.executeBatch();
+
+			try (ResultSet keys = pstmt.getGeneratedKeys()) {
+				for (Row row : rows) {
+					if (!keys.next()) {
+						throw new SQLException("Missing generated id for " + row.userName);
+					}
+					List<String> roles = splitRoles(row.roles);
+					for (int i = 0; i < roles.size(); i++) {
+						rolePstmt.setInt(1, keys.getInt(1));
+						rolePstmt.setString(2, roles.get(i));
+						rolePstmt.setInt(3, i);
+						rolePstmt.addBatch();
+					}
+				}
+			}
+			rolePstmt.executeBatch();
+			connection.commit();
+			return rows.size();
+		} catch (SQLException e) {
+			connection.rollback();
+			throw e;
+		} finally {
+			connection.setAutoCommit(autoCommit);
+		}
+	}
+
+	/**
+	 * Maps the header's column names to their positions
+	 */
+	private static Map<String, Integer> readHeader(String header) throws IOException {
+		if (header == null) {
+			throw new IOException("The roster is empty");
+		}
+		Map<String, Integer> columns = new HashMap<>();
+		List<String> names = splitFields(header);
+		for (int i = 0; i < names.size(); i++) {
+			columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+		}
+		for (String column : REQUIRED_COLUMNS) {
+			if (!columns.containsKey(column)) {
+				throw new IOException("The roster header has no " + column + " column");
+			}
+		}
+		return columns;
+	}
+
+	/**
+	 * Reads one line into a row, marking it with an error if it is malformed
+	 */
+	private static Row parseRow(int lineNumber, String line, Map<String, Integer> columns) {
+		List<String> fields = splitFields(line);
+		Row row = new Row(lineNumber, field(fields, columns, "username"), field(fields, columns, "name"),
+				field(fields, columns, "email"), field(fields, columns, "password"), field(fields, columns, "roles"));
+		if (fields == null) {
+			row.error = "Unterminated quoted field";
+		} else if (fields.size() < columns.size()) {
+			row.error = "Expected " + columns.size() + " fields but found " + fields.size();
+		}
+		return row;
+	}
+
+	private static String field(List<String> fields, Map<String, Integer> columns, String column) {
+		Integer index = columns.get(column);
+		if (fields == null || index == null || index >= fields.size()) {
+			return "";
+		}
+		return fields.get(index).trim();
+	}
+
+	/**
+	 * Splits a CSV line into fields, or returns null if a quote is not closed
+	 */
+	private static List<String> splitFields(String line) {
+		List<String> fields = new ArrayList<>();
+		StringBuilder field = new StringBuilder();
+		boolean quoted = false;
+		for (int i = 0; i < line.length(); i++) {
+			char c = line.charAt(i);
+			if (quoted) {
+				if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+					field.append('"');
+					i++;
+				} else if (c == '"') {
+					quoted = false;
+				} else {
+					field.append(c);
+				}
+			} else if (c == '"') {
+				quoted = true;
+			} else if (c == ',') {
+				fields.add(field.toString());
+				field.setLength(0);
+			} else {
+				field.append(c);
+			}
+		}
+		if (quoted) {
+			return null;
+		}
+		fields.add(field.toString());
+		return fields;
+	}
+
+	/**
+	 * Splits a roles field on commas or semicolons, defaulting to Student. A role
+	 * given twice is kept once, where it first appears.
+	 */
+	private static List<String> splitRoles(String roles) {
+		Set<String> split = new LinkedHashSet<>();
+		for (String role : roles.split("[,;]")) {
+			if (!role.isBlank()) {
+				split.add(role.trim());
+			}
+		}
+		if (split.isEmpty()) {
+			split.add("Student");
+		}
+		return new ArrayList<>(split);
+	}
+}
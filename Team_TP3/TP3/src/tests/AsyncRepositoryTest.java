@@ -0,0 +1,102 @@
+package tests;
+
+import java.sql.SQLException;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import application.AsyncRepository;
+import application.Review;
+import databasePart1.DatabaseHelper;
+
+/**
+ * <p>
+ * Test of the asynchronous repository.
+ * </p>
+ * <p>
+ * A test of the background database tasks used by the home pages. Only the
+ * parts that do not need a running JavaFX application are tested here, using
+ * the preloaded reviews.
+ * </p>
+ * @author CSE360 Team 8
+ *
+ * @version 0.00 2025-04-20 - Initial baseline
+ *
+ */
+public class AsyncRepositoryTest {
+	/**
+	 * Object to access the database
+	 */
+	private static final DatabaseHelper databaseHelper = new DatabaseHelper(DatabaseQueries.TEST_DB_URL);
+
+	/**
+	 * Repository under test
+	 */
+	private static final AsyncRepository repository = new AsyncRepository(databaseHelper);
+
+	/**
+	 * Default constructor
+	 */
+	public AsyncRepositoryTest() {
+	}
+
+	/**
+	 * Connects to the databaseHelper, which resets and repopulates the database
+	 * before every test.
+	 *
+	 * @throws SQLException	In case the database throws an error
+	 *
+	 */
+	@Before
+	public void setUp() throws SQLException {
+		databaseHelper.resetDatabase();
+	}
+
+	/**
+	 * Checks that a task runs on the worker thread and its result is returned.
+	 */
+	@Test
+	public void testSupply() {
+		String threadName = repository.supply(() -> Thread.currentThread().getName()).join();
+		assertEquals("database-worker", threadName);
+	}
+
+	/**
+	 * Checks that an SQLException thrown by a task completes the future exceptionally.
+	 */
+	@Test
+	public void testSupplyError() {
+		try {
+			repository.supply(() -> {
+				throw new SQLException("Test error");
+			}).join();
+			fail("Expected the future to complete exceptionally");
+		} catch (CompletionException e) {
+			assertTrue(e.getCause() instanceof SQLException);
+		}
+	}
+
+	/**
+	 * Checks that a vote on a review is registered and that the updated review
+	 * is returned, and that a repeat of the same vote is not counted.
+	 *
+	 * @throws SQLException	In case the database throws an error
+	 *
+	 */
+	@Test
+	public void testRegisterVote() throws SQLException {
+		Review review = databaseHelper.qaHelper.getAllReviews().get(0);
+		int reviewId = review.getId();
+		int votes = review.getVoteCount();
+
+		AsyncRepository.VoteResult result = repository.supply(() -> repository.registerVote(reviewId, 1, 1)).join();
+		assertTrue(result.isCounted());
+		assertEquals(Integer.valueOf(votes + 1), result.getReview().getVoteCount());
+
+		result = repository.supply(() -> repository.registerVote(reviewId, 1, 1)).join();
+		assertFalse(result.isCounted());
+		assertEquals(Integer.valueOf(votes + 1), databaseHelper.qaHelper.getReview(reviewId).getVoteCount());
+	}
+}
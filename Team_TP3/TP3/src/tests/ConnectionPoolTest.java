@@ -0,0 +1,137 @@
+package tests;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import databasePart1.ConnectionPool;
+
+/**
+ * <p>
+ * Test of the JDBC connection pool.
+ * </p>
+ * <p>
+ * A test of how the pool hands connections to threads, reuses them and takes
+ * them back. It uses a private in-memory database so it does not touch the
+ * application database.
+ * </p>
+ * @author CSE360 Team 8
+ *
+ * @version 0.00 2025-04-20 - Initial baseline
+ *
+ */
+public class ConnectionPoolTest {
+	/**
+	 * Pool under test
+	 */
+	private ConnectionPool pool;
+
+	/**
+	 * Default constructor
+	 */
+	public ConnectionPoolTest() {
+	}
+
+	/**
+	 * Creates a new pool before every test.
+	 *
+	 * @throws SQLException	In case the database throws an error
+	 *
+	 */
+	@Before
+	public void setUp() throws SQLException {
+		pool = new ConnectionPool("jdbc:h2:mem:pooltest;DB_CLOSE_DELAY=-1", "sa", "", 1, 3);
+	}
+
+	/**
+	 * Closes the pool after every test.
+	 */
+	@After
+	public void tearDown() {
+		pool.close();
+	}
+
+	/**
+	 * Checks that the same thread keeps getting the same connection until it
+	 * releases it.
+	 *
+	 * @throws SQLException	In case the database throws an error
+	 *
+	 */
+	@Test
+	public void testSameThreadReusesConnection() throws SQLException {
+		Connection first = pool.connection();
+		assertSame(first, pool.connection());
+		assertEquals(1, pool.getActiveCount());
+
+		pool.release();
+		assertEquals(0, pool.getActiveCount());
+		assertEquals(1, pool.getIdleCount());
+	}
+
+	/**
+	 * Checks that two threads are given different connections.
+	 *
+	 * @throws Exception	In case the database or the other thread throws an error
+	 *
+	 */
+	@Test
+	public void testThreadsGetDifferentConnections() throws Exception {
+		Connection mine = pool.connection();
+		AtomicReference<Connection> theirs = new AtomicReference<>();
+		Thread other = new Thread(() -> {
+			try {
+				theirs.set(pool.borrow());
+				pool.release();
+			} catch (SQLException e) {
+				e.printStackTrace();
+			}
+		});
+		other.start();
+		other.join();
+
+		assertNotNull(theirs.get());
+		assertNotSame(mine, theirs.get());
+		assertEquals(2, pool.getTotalCount());
+	}
+
+	/**
+	 * Checks that nested borrows only give the connection back after the last
+	 * release.
+	 *
+	 * @throws SQLException	In case the database throws an error
+	 *
+	 */
+	@Test
+	public void testNestedBorrow() throws SQLException {
+		Connection outer = pool.borrow();
+		assertSame(outer, pool.borrow());
+
+		pool.release();
+		assertEquals(1, pool.getActiveCount());
+		pool.release();
+		assertEquals(0, pool.getActiveCount());
+	}
+
+	/**
+	 * Checks that a broken idle connection is replaced instead of handed out.
+	 *
+	 * @throws SQLException	In case the database throws an error
+	 *
+	 */
+	@Test
+	public void testInvalidConnectionReplaced() throws SQLException {
+		Connection first = pool.connection();
+		pool.release();
+		first.close();
+
+		Connection second = pool.connection();
+		assertNotSame(first, second);
+		assertFalse(second.isClosed());
+	}
+}
@@ -0,0 +1,53 @@
+package tests;
+
+import static org.junit.Assert.assertTrue;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import databasePart1.DatabaseHelper;
+
+/**
+ * <p>
+ * The database the tests run against, and queries they run straight on it.
+ * </p>
+ * <p>
+ * The tests reset their database before every test, so they use an in-memory
+ * one and never touch the app's saved data. The queries are for checking rows
+ * that the DatabaseHelper API does not show, such as what a migration left
+ * behind.
+ * </p>
+ * @author CSE360 Team 8
+ *
+ * @version 0.00 2025-04-20 - Initial baseline
+ *
+ */
+public final class DatabaseQueries {
+	/**
+	 * The URL of the database the tests use. It lasts until the test run ends.
+	 */
+	public static final String TEST_DB_URL = "jdbc:h2:mem:cse360test;DB_CLOSE_DELAY=-1";
+
+	private DatabaseQueries() {
+	}
+
+	/**
+	 * Runs a query that returns a single number
+	 *
+	 * @param databaseHelper 	The database to run the query against
+	 * @param query 			The query, such as a SELECT COUNT(*)
+	 *
+	 * @return 					The number in the first column of the first row
+	 *
+	 * @throws SQLException 	In case the database throws an error
+	 *
+	 */
+	public static int count(DatabaseHelper databaseHelper, String query) throws SQLException {
+		try (Statement statement = databaseHelper.getConnectionPool().connection().createStatement();
+				ResultSet rs = statement.executeQuery(query)) {
+			assertTrue(rs.next());
+			return rs.getInt(1);
+		}
+	}
+}
@@ -0,0 +1,148 @@
+package tests;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import application.Question;
+import databasePart1.DatabaseHelper;
+import databasePart1.EntityCache;
+
+/**
+ * <p>
+ * Test of the entity caches.
+ * </p>
+ * <p>
+ * A test of the read-through cache on its own and of the question and review
+ * caches in QAHelper1, which must be invalidated whenever the rows behind them
+ * change. The helper tests use the preloaded content.
+ * </p>
+ * @author CSE360 Team 8
+ *
+ * @version 0.00 2025-04-20 - Initial baseline
+ *
+ */
+public class EntityCacheTest {
+	/**
+	 * Object to access the database
+	 */
+	private static final DatabaseHelper databaseHelper = new DatabaseHelper(DatabaseQueries.TEST_DB_URL);
+
+	/**
+	 * Default constructor
+	 */
+	public EntityCacheTest() {
+	}
+
+	/**
+	 * Connects to the databaseHelper, which resets and repopulates the database
+	 * before every test.
+	 *
+	 * @throws SQLException	In case the database throws an error
+	 *
+	 */
+	@Before
+	public void setUp() throws SQLException {
+		databaseHelper.resetDatabase();
+	}
+
+	/**
+	 * Checks that a second lookup is a hit, that callers are given copies, and
+	 * that the least recently used entry is evicted when the cache is full.
+	 *
+	 * @throws SQLException	In case the database throws an error
+	 *
+	 */
+	@Test
+	public void testHitsCopiesAndEviction() throws SQLException {
+		EntityCache<Integer, List<String>> cache = new EntityCache<>("test", 2, ArrayList::new);
+		int[] loads = { 0 };
+
+		List<String> first = cache.get(1, () -> {
+			loads[0]++;
+			return new ArrayList<>(List.of("one"));
+		});
+		first.add("changed by the caller");
+		assertEquals(List.of("one"), cache.get(1, () -> null));
+		assertEquals(1, loads[0]);
+		assertEquals(1, cache.getHits());
+		assertEquals(1, cache.getMisses());
+		assertEquals(0.5, cache.getHitRatio(), 0.0001);
+
+		cache.get(2, () -> List.of("two"));
+		cache.get(3, () -> List.of("three"));
+		assertEquals(2, cache.size());
+		assertNull(cache.get(1, () -> null));
+	}
+
+	/**
+	 * Checks that a load overlapping an invalidation is returned but not cached.
+	 *
+	 * @throws SQLException	In case the database throws an error
+	 *
+	 */
+	@Test
+	public void testInvalidationDuringLoad() throws SQLException {
+		EntityCache<Integer, String> cache = new EntityCache<>("test", 4, value -> value);
+		assertEquals("stale", cache.get(1, () -> {
+			cache.invalidate(1);
+			return "stale";
+		}));
+		assertEquals("fresh", cache.get(1, () -> "fresh"));
+	}
+
+	/**
+	 * Checks that repeated question lookups are served from the cache and that
+	 * updating the question, or changing the answers related to it, is seen by
+	 * the next lookup.
+	 *
+	 * @throws SQLException	In case the database throws an error
+	 *
+	 */
+	@Test
+	public void testQuestionCacheInvalidation() throws SQLException {
+		Question question = databaseHelper.qaHelper.getQuestion(2);
+		question.setTitle("Changed without saving");
+		assertNotEquals("Changed without saving", databaseHelper.qaHelper.getQuestion(2).getTitle());
+
+		question.setTitle("An updated title for question two");
+		databaseHelper.qaHelper.updateQuestion(question);
+		assertEquals("An updated title for question two", databaseHelper.qaHelper.getQuestion(2).getTitle());
+
+		assertTrue(databaseHelper.qaHelper.deleteAnswer(11));
+		assertEquals(List.of("2", "12", "17"), databaseHelper.qaHelper.getQuestion(2).getRelatedId());
+	}
+
+	/**
+	 * Checks that a vote on a review is seen by the next lookup of the review.
+	 *
+	 * @throws SQLException	In case the database throws an error
+	 *
+	 */
+	@Test
+	public void testReviewCacheInvalidatedByVote() throws SQLException {
+		int votes = databaseHelper.qaHelper.getReview(1).getVoteCount();
+		assertTrue(databaseHelper.qaHelper.registerVoteForReview(1, 4, 1));
+		assertEquals(Integer.valueOf(votes + 1), databaseHelper.qaHelper.getReview(1).getVoteCount());
+	}
+
+	/**
+	 * Checks that logging in with a one time password clears it from the cached
+	 * user as well as the database.
+	 *
+	 * @throws SQLException	In case the database throws an error
+	 *
+	 */
+	@Test
+	public void testUserCacheInvalidatedByOtpLogin() throws SQLException {
+		databaseHelper.updatePassword("Yui59", "OneTime1*");
+		databaseHelper.updateOTPFlag("Yui59", true);
+		assertNotNull(databaseHelper.login("Yui59", "OneTime1*"));
+		assertEquals("", databaseHelper.getUser("Yui59").getPassword());
+		assertNull(databaseHelper.login("Yui59", "OneTime1*"));
+	}
+}
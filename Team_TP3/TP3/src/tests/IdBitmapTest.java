@@ -0,0 +1,100 @@
+package tests;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import databasePart1.IdBitmap;
+
+/**
+ * <p>
+ * Test of the compressed id bitmap.
+ * </p>
+ * <p>
+ * A test of the set operations and serialization of IdBitmap, with ids spread
+ * over several chunks and enough ids in one chunk to switch it from an array to
+ * a bitmap.
+ * </p>
+ * @author CSE360 Team 8
+ *
+ * @version 0.00 2025-04-20 - Initial baseline
+ *
+ */
+public class IdBitmapTest {
+
+	/**
+	 * Default constructor
+	 */
+	public IdBitmapTest() {
+	}
+
+	/**
+	 * Checks adding and looking up ids in sparse and dense chunks, including the
+	 * switch from an array to a bitmap.
+	 */
+	@Test
+	public void testAddAndContains() {
+		IdBitmap bitmap = new IdBitmap();
+		for (int id = 0; id < 10000; id += 2) {
+			assertTrue(bitmap.add(id));
+		}
+		assertFalse(bitmap.add(4));
+		assertTrue(bitmap.add(70000));
+		assertTrue(bitmap.add(Integer.MAX_VALUE));
+
+		assertEquals(5002, bitmap.cardinality());
+		assertTrue(bitmap.contains(9998));
+		assertFalse(bitmap.contains(9999));
+		assertTrue(bitmap.contains(70000));
+		assertTrue(bitmap.contains(Integer.MAX_VALUE));
+		assertFalse(bitmap.contains(-1));
+		assertThrows(IllegalArgumentException.class, () -> bitmap.add(-1));
+
+		int[] ids = bitmap.toArray();
+		assertEquals(0, ids[0]);
+		assertEquals(70000, ids[ids.length - 2]);
+		assertEquals(Integer.MAX_VALUE, ids[ids.length - 1]);
+	}
+
+	/**
+	 * Checks intersection, difference and union across chunks.
+	 */
+	@Test
+	public void testSetOperations() {
+		IdBitmap thread = IdBitmap.of(List.of(2, 11, 12, 17, 70001));
+		IdBitmap read = IdBitmap.of(List.of(1, 11, 17, 70001, 90000));
+
+		assertArrayEquals(new int[] { 11, 17, 70001 }, thread.and(read).toArray());
+		assertArrayEquals(new int[] { 2, 12 }, thread.andNot(read).toArray());
+		assertTrue(read.andNot(read).isEmpty());
+
+		assertEquals(2, read.addAll(thread));
+		assertEquals(7, read.cardinality());
+		assertEquals(5, thread.cardinality());
+	}
+
+	/**
+	 * Checks that a bitmap read back from its bytes holds the same ids, and that
+	 * copies are independent of the original.
+	 */
+	@Test
+	public void testBytesAndCopies() {
+		IdBitmap bitmap = new IdBitmap();
+		for (int id = 0; id < 6000; id++) {
+			bitmap.add(id * 3);
+		}
+		bitmap.add(200000);
+
+		IdBitmap restored = IdBitmap.fromBytes(bitmap.toBytes());
+		assertEquals(bitmap, restored);
+		assertTrue(IdBitmap.fromBytes(null).isEmpty());
+		assertTrue(IdBitmap.fromBytes(new IdBitmap().toBytes()).isEmpty());
+		assertThrows(IllegalArgumentException.class, () -> IdBitmap.fromBytes(new byte[] { 0, 0, 0, 1 }));
+
+		IdBitmap copy = new IdBitmap(restored);
+		copy.add(1);
+		assertFalse(restored.contains(1));
+		assertNotEquals(restored, copy);
+	}
+}
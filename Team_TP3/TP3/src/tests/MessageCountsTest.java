@@ -0,0 +1,124 @@
+package tests;
+
+import java.sql.SQLException;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import application.Message;
+import application.MessageCounts;
+import databasePart1.DatabaseHelper;
+
+/**
+ * <p>
+ * Test of the per-user message counts.
+ * </p>
+ * <p>
+ * A test of how QAHelper1 keeps each user's total, unread and report counts in
+ * step as messages are sent, opened and deleted, checked against the counts
+ * rebuilt from the message table.
+ * </p>
+ * @author CSE360 Team 8
+ *
+ * @version 0.00 2025-04-20 - Initial baseline
+ *
+ */
+public class MessageCountsTest {
+	/**
+	 * Object to access the database
+	 */
+	private static final DatabaseHelper databaseHelper = new DatabaseHelper(DatabaseQueries.TEST_DB_URL);
+
+	/**
+	 * Default constructor
+	 */
+	public MessageCountsTest() {
+	}
+
+	/**
+	 * Connects to the databaseHelper, which resets and repopulates the database
+	 * before every test.
+	 *
+	 * @throws SQLException	In case the database throws an error
+	 *
+	 */
+	@Before
+	public void setUp() throws SQLException {
+		databaseHelper.resetDatabase();
+	}
+
+	/**
+	 * Checks the counts of the sender and recipient as messages are sent, opened
+	 * and deleted, and that reports are counted apart from messages.
+	 *
+	 * @throws SQLException	In case the database throws an error
+	 *
+	 */
+	@Test
+	public void testCountsFollowMessages() throws SQLException {
+		Message first = send(3, 9);
+		Message second = send(3, 9);
+		send(9, 3);
+		databaseHelper.qaHelper.createMessage(new Message(1, "q", 9, 3, "Report", "Reported", true), true);
+
+		assertCounts(3, 3, 1, 0);
+		assertCounts(9, 3, 2, 1);
+		assertEquals(3, databaseHelper.qaHelper.getTotalMessageCountForUser(9));
+
+		assertTrue(databaseHelper.qaHelper.markMessageAsRead(first.getMessageID()));
+		assertFalse(databaseHelper.qaHelper.markMessageAsRead(first.getMessageID()));
+		assertCounts(9, 3, 1, 1);
+
+		assertTrue(databaseHelper.qaHelper.deleteMessage(first.getMessageID()));
+		assertTrue(databaseHelper.qaHelper.deleteMessage(second.getMessageID()));
+		assertFalse(databaseHelper.qaHelper.deleteMessage(second.getMessageID()));
+		assertCounts(9, 1, 0, 1);
+		assertCounts(3, 1, 1, 0);
+		assertCounts(20, 0, 0, 0);
+	}
+
+	/**
+	 * Checks that a message a user sends to themselves counts once toward their
+	 * total, and that the kept counts match the counts rebuilt from the messages.
+	 *
+	 * @throws SQLException	In case the database throws an error
+	 *
+	 */
+	@Test
+	public void testCountsMatchRebuild() throws SQLException {
+		send(5, 5);
+		send(5, 6);
+		Message opened = send(6, 5);
+		databaseHelper.qaHelper.markMessageAsRead(opened.getMessageID());
+		databaseHelper.qaHelper.createMessage(new Message(2, "a", 5, 6, "Report", "Reported", true), true);
+		assertCounts(5, 3, 1, 1);
+
+		MessageCounts before5 = databaseHelper.qaHelper.getMessageCounts(5);
+		MessageCounts before6 = databaseHelper.qaHelper.getMessageCounts(6);
+		databaseHelper.qaHelper.rebuildMessageCounts();
+		assertCounts(5, before5.getTotal(), before5.getUnread(), before5.getReports());
+		assertCounts(6, before6.getTotal(), before6.getUnread(), before6.getReports());
+		assertEquals("Inbox (3, 1 new)", before5.toInboxLabel());
+		assertEquals("Inbox (0)", new MessageCounts(0, 0, 0).toInboxLabel());
+	}
+
+	/**
+	 * Sends a plain message between two users
+	 */
+	private static Message send(int senderId, int recipientId) throws SQLException {
+		Message message = new Message(0, "Message", senderId, recipientId, "Subject", "Body");
+		databaseHelper.qaHelper.createMessage(message);
+		return message;
+	}
+
+	/**
+	 * Checks a user's total, unread and report counts
+	 */
+	private static void assertCounts(int userId, int total, int unread, int reports) throws SQLException {
+		MessageCounts counts = databaseHelper.qaHelper.getMessageCounts(userId);
+		assertEquals(total, counts.getTotal());
+		assertEquals(unread, counts.getUnread());
+		assertEquals(reports, counts.getReports());
+	}
+}
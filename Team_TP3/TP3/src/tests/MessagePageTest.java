@@ -0,0 +1,138 @@
+package tests;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import application.Message;
+import application.MessagePager;
+import databasePart1.DatabaseHelper;
+
+/**
+ * <p>
+ * Test of the paged inbox and report queries.
+ * </p>
+ * <p>
+ * A test of how QAHelper1 returns messages and reports a page at a time, newest
+ * first, by seeking past the last message of the previous page. Messages are
+ * given shared creation times so the message id has to break the ties.
+ * </p>
+ * @author CSE360 Team 8
+ *
+ * @version 0.00 2025-04-20 - Initial baseline
+ *
+ */
+public class MessagePageTest {
+	/**
+	 * Object to access the database
+	 */
+	private static final DatabaseHelper databaseHelper = new DatabaseHelper(DatabaseQueries.TEST_DB_URL);
+
+	/**
+	 * Default constructor
+	 */
+	public MessagePageTest() {
+	}
+
+	/**
+	 * Connects to the databaseHelper, which resets and repopulates the database
+	 * before every test.
+	 *
+	 * @throws SQLException	In case the database throws an error
+	 *
+	 */
+	@Before
+	public void setUp() throws SQLException {
+		databaseHelper.resetDatabase();
+	}
+
+	/**
+	 * Checks that paging through a user's inbox returns every message once, newest
+	 * first, with senders filled in and reports left out.
+	 *
+	 * @throws SQLException	In case the database throws an error
+	 *
+	 */
+	@Test
+	public void testInboxPages() throws SQLException {
+		List<Integer> created = new ArrayList<>();
+		for (int i = 0; i < 7; i++) {
+			Message message = new Message(0, "Message", 3, 9, "Subject " + i, "Body " + i);
+			databaseHelper.qaHelper.createMessage(message);
+			created.add(message.getMessageID());
+		}
+		databaseHelper.qaHelper.createMessage(new Message(0, "q", 3, 9, "Report", "Not in the inbox", true), true);
+		setCreatedOn(created.subList(0, 3), "2025-01-01 10:00:00");
+		setCreatedOn(created.subList(3, 7), "2025-01-02 10:00:00");
+
+		List<Message> pages = readAllPages(3,
+				(after, limit) -> databaseHelper.qaHelper.retrieveMessagesByUserId(9, after, limit));
+		List<Integer> ids = pages.stream().map(Message::getMessageID).toList();
+
+		List<Integer> expected = new ArrayList<>(created);
+		Collections.reverse(expected);
+		assertEquals(expected, ids);
+		assertEquals(3, pages.get(0).getSender().getUserId());
+		assertEquals(9, pages.get(0).getRecipient().getUserId());
+		assertEquals(ids, databaseHelper.qaHelper.retrieveMessagesByUserId(9).stream().map(Message::getMessageID).toList());
+	}
+
+	/**
+	 * Checks that paging through the reports returns every report once and stops
+	 * with an empty page.
+	 *
+	 * @throws SQLException	In case the database throws an error
+	 *
+	 */
+	@Test
+	public void testReportPages() throws SQLException {
+		int existing = databaseHelper.qaHelper.retrieveReportedObjects().size();
+		for (int i = 0; i < 5; i++) {
+			databaseHelper.qaHelper.createMessage(new Message(i + 1, "q", 4, 2, "Report " + i, "Issue " + i, true), true);
+		}
+
+		List<Message> pages = readAllPages(2,
+				(after, limit) -> databaseHelper.qaHelper.retrieveReportedObjects(after, limit));
+		assertEquals(existing + 5, pages.size());
+		assertEquals(pages.size(), pages.stream().map(Message::getMessageID).distinct().count());
+		assertTrue(pages.stream().allMatch(Message::isReport));
+		for (int i = 1; i < pages.size(); i++) {
+			assertFalse(pages.get(i).getCreatedOn().isAfter(pages.get(i - 1).getCreatedOn()));
+		}
+	}
+
+	/**
+	 * Reads pages until one comes back empty, checking none is larger than asked for
+	 */
+	private static List<Message> readAllPages(int pageSize, MessagePager.PageLoader loader) throws SQLException {
+		List<Message> messages = new ArrayList<>();
+		Message after = null;
+		while (true) {
+			List<Message> page = loader.load(after, pageSize);
+			assertTrue(page.size() <= pageSize);
+			if (page.isEmpty()) {
+				return messages;
+			}
+			messages.addAll(page);
+			after = page.get(page.size() - 1);
+		}
+	}
+
+	/**
+	 * Gives the messages the same creation time
+	 */
+	private static void setCreatedOn(List<Integer> messageIds, String createdOn) throws SQLException {
+		try (Statement statement = databaseHelper.getConnectionPool().connection().createStatement()) {
+			for (int messageId : messageIds) {
+				statement.executeUpdate("UPDATE cse360message SET createdon = TIMESTAMP '" + createdOn
+						+ "' WHERE messageid = " + messageId);
+			}
+		}
+	}
+}
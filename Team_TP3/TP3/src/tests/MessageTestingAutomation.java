@@ -33,9 +33,9 @@ public class MessageTestingAutomation {
 	 */
 	@Before
 	public void setup() {
-		db = new DatabaseHelper();
+		db = new DatabaseHelper(DatabaseQueries.TEST_DB_URL);
 		try {
-			db.connectToDatabase();
+			db.resetDatabase();
 		} catch (SQLException e) {
 			fail("Failed to connect to the database.");
 		}
@@ -110,32 +110,32 @@ public class NameEvaluationTestingAutomation {
 			System.out.println("This Test passed successfully");
 			numPassed++;
 		}
-		//displayEvaluation();
+		//displayEvaluation(PasswordEvaluator.validate(inputText));
 	}
 	
-	private static void displayEvaluation() {
-		if (PasswordEvaluator.foundUpperCase)
+	private static void displayEvaluation(ValidationResult result) {
+		if (result.has(PasswordEvaluator.UPPER_CASE))
 			System.out.println("At least one upper case letter - Satisfied");
 		else
 			System.out.println("At least one upper case letter - Not Satisfied");
 
-		if (PasswordEvaluator.foundLowerCase)
+		if (result.has(PasswordEvaluator.LOWER_CASE))
 			System.out.println("At least one lower case letter - Satisfied");
 		else
 			System.out.println("At least one lower case letter - Not Satisfied");
 	
 
-		if (PasswordEvaluator.foundNumericDigit)
+		if (result.has(PasswordEvaluator.NUMERIC_DIGIT))
 			System.out.println("At least one digit - Satisfied");
 		else
 			System.out.println("At least one digit - Not Satisfied");
 
-		if (PasswordEvaluator.foundSpecialChar)
+		if (result.has(PasswordEvaluator.SPECIAL_CHARACTER))
 			System.out.println("At least one special character - Satisfied");
 		else
 			System.out.println("At least one special character - Not Satisfied");
 
-		if (PasswordEvaluator.foundLongEnough)
+		if (result.has(PasswordEvaluator.LONG_ENOUGH))
 			System.out.println("At least 8 characters - Satisfied");
 		else
 			System.out.println("At least 8 characters - Not Satisfied");
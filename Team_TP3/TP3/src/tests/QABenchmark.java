@@ -0,0 +1,324 @@
+package tests;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import application.Answer;
+import databasePart1.DatabaseHelper;
+import databasePart1.QAHelper1;
+
+/**
+ * <p>
+ * Benchmarks the busiest QAHelper1 and DatabaseHelper calls against generated
+ * data sets of different sizes.
+ * </p>
+ * <p>
+ * For each size the database is reset and filled by the
+ * SyntheticDataGenerator with a fixed seed. Each call is then run on a single
+ * thread for a warmup period, so the JIT and the caches settle, and then for a
+ * measured period. Every measured call is timed, and the throughput and the
+ * 50th, 90th and 99th percentile and maximum latencies are reported. Ids and
+ * search words are drawn from a seeded random source, so runs are comparable.
+ * The write benchmarks add answers and votes as they run, so they come last.
+ * </p>
+ * @author CSE360 Team 8
+ *
+ * @version 0.00 2025-04-20 - Initial baseline
+ *
+ */
+public class QABenchmark {
+	/**
+	 * One call to benchmark
+	 */
+	@FunctionalInterface
+	public interface Operation {
+		/**
+		 * Runs the call once
+		 *
+		 * @param random 			The source for the ids and words to use
+		 *
+		 * @throws SQLException 	In case the database throws an error
+		 *
+		 */
+		void run(Random random) throws SQLException;
+	}
+
+	/**
+	 * The measurements of one benchmark at one data set size
+	 */
+	public static class Result {
+		private final String name;
+		private final int questions;
+		private final int count;
+		private final double throughput;
+		private final long[] percentiles;
+
+		private Result(String name, int questions, long[] nanos, int count, long elapsedNanos) {
+			this.name = name;
+			this.questions = questions;
+			this.count = count;
+			this.throughput = count * 1e9 / Math.max(1, elapsedNanos);
+			long[] sorted = Arrays.copyOf(nanos, count);
+			Arrays.sort(sorted);
+			this.percentiles = new long[] { percentile(sorted, 0.50), percentile(sorted, 0.90),
+					percentile(sorted, 0.99), sorted[count - 1] };
+		}
+
+		/**
+		 * @return the benchmark name
+		 */
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * @return the number of questions in the data set
+		 */
+		public int getQuestions() {
+			return questions;
+		}
+
+		/**
+		 * @return the number of measured calls
+		 */
+		public int getCount() {
+			return count;
+		}
+
+		/**
+		 * @return the calls per second
+		 */
+		public double getThroughput() {
+			return throughput;
+		}
+
+		/**
+		 * @return the median latency in nanoseconds
+		 */
+		public long getP50() {
+			return percentiles[0];
+		}
+
+		/**
+		 * @return the 90th percentile latency in nanoseconds
+		 */
+		public long getP90() {
+			return percentiles[1];
+		}
+
+		/**
+		 * @return the 99th percentile latency in nanoseconds
+		 */
+		public long getP99() {
+			return percentiles[2];
+		}
+
+		/**
+		 * @return the slowest latency in nanoseconds
+		 */
+		public long getMax() {
+			return percentiles[3];
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%-28s %9d %8d %12.1f %10.1f %10.1f %10.1f %10.1f", name, questions, count,
+					throughput, getP50() / 1e3, getP90() / 1e3, getP99() / 1e3, getMax() / 1e3);
+		}
+
+		private static long percentile(long[] sorted, double fraction) {
+			int index = (int) Math.ceil(fraction * sorted.length) - 1;
+			return sorted[Math.max(0, index)];
+		}
+	}
+
+	private static final long SEED = 360;
+
+	/**
+	 * The system property that names the database main() resets and fills
+	 */
+	public static final String DB_URL_PROPERTY = "cse360.benchmark.url";
+
+	// The scratch database main() uses unless the property names another one
+	private static final String SCRATCH_DB_URL = "jdbc:h2:~/FoundationBenchmark";
+
+	private static final String[] SEARCH_WORDS = { "uml diagram", "javafx", "database query", "junit test",
+			"team project deadline", "password", "merge branch", "exam" };
+
+	private final DatabaseHelper databaseHelper;
+	private final long warmupMillis;
+	private final long measureMillis;
+
+	// Ids of the generated rows, loaded after each data set is generated
+	private int[] questionIds;
+	private int[] answerIds;
+	private int[] reviewIds;
+	private int[] userIds;
+	private String[] userNames;
+
+	/**
+	 * Creates a benchmark
+	 *
+	 * @param databaseHelper 	The helper whose database is reset and filled
+	 * @param warmupMillis 		How long to run each call before measuring
+	 * @param measureMillis 	How long to measure each call
+	 *
+	 */
+	public QABenchmark(DatabaseHelper databaseHelper, long warmupMillis, long measureMillis) {
+		this.databaseHelper = databaseHelper;
+		this.warmupMillis = warmupMillis;
+		this.measureMillis = measureMillis;
+	}
+
+	/**
+	 * Resets the database, generates a data set and runs every benchmark on it
+	 *
+	 * @param questions 		The number of questions in the data set, which the other rows scale with
+	 *
+	 * @return 					The results, in the order run
+	 *
+	 * @throws SQLException 	In case the database throws an error
+	 *
+	 */
+	public List<Result> run(int questions) throws SQLException {
+		databaseHelper.resetDatabase();
+		new SyntheticDataGenerator(databaseHelper, SyntheticDataGenerator.Settings.forQuestions(questions).seed(SEED))
+				.generate();
+		loadIds();
+
+		List<Result> results = new ArrayList<>();
+		for (Map.Entry<String, Operation> benchmark : benchmarks().entrySet()) {
+			results.add(measure(benchmark.getKey(), questions, benchmark.getValue()));
+		}
+		return results;
+	}
+
+	/**
+	 * Returns the benchmarks by name, reads first and writes last
+	 */
+	private Map<String, Operation> benchmarks() {
+		QAHelper1 qaHelper = databaseHelper.qaHelper;
+		Map<String, Operation> benchmarks = new LinkedHashMap<>();
+		benchmarks.put("getAllQuestions", random -> qaHelper.getAllQuestions());
+		benchmarks.put("getAllAnswersForQuestion", random -> qaHelper.getAllAnswersForQuestion(pick(random, questionIds)));
+		benchmarks.put("searchQuestionDatabase",
+				random -> qaHelper.searchQuestionDatabase(SEARCH_WORDS[random.nextInt(SEARCH_WORDS.length)]));
+		benchmarks.put("getReadAndUnreadAnswers",
+				random -> qaHelper.getReadAndUnreadAnswers(pick(random, questionIds), pick(random, userIds)));
+		benchmarks.put("getQuestionForAnswer", random -> qaHelper.getQuestionForAnswer(pick(random, answerIds)));
+		benchmarks.put("recommendReviewers", random -> qaHelper
+				.recommendReviewers(qaHelper.getQuestion(pick(random, questionIds)), pick(random, userIds), 10));
+		benchmarks.put("login", random -> databaseHelper.login(userNames[random.nextInt(userNames.length)], "Password8*"));
+		benchmarks.put("retrieveMessagesByUserId",
+				random -> qaHelper.retrieveMessagesByUserId(pick(random, userIds), null, QAHelper1.MESSAGE_PAGE_SIZE));
+		benchmarks.put("registerAnswerWithQuestion", random -> qaHelper
+				.registerAnswerWithQuestion(new Answer("Benchmark answer", pick(random, userIds)), pick(random, questionIds)));
+		benchmarks.put("registerVoteForReview", random -> qaHelper.registerVoteForReview(pick(random, reviewIds),
+				pick(random, userIds), random.nextBoolean() ? 1 : -1));
+		return benchmarks;
+	}
+
+	/**
+	 * Warms up and then times one benchmark
+	 */
+	private Result measure(String name, int questions, Operation operation) throws SQLException {
+		Random random = new Random(SEED);
+		long warmupEnd = System.nanoTime() + warmupMillis * 1_000_000;
+		while (System.nanoTime() < warmupEnd) {
+			operation.run(random);
+		}
+
+		long[] nanos = new long[1024];
+		int count = 0;
+		long start = System.nanoTime();
+		long end = start + measureMillis * 1_000_000;
+		long now = start;
+		do {
+			operation.run(random);
+			long finished = System.nanoTime();
+			if (count == nanos.length) {
+				nanos = Arrays.copyOf(nanos, count * 2);
+			}
+			nanos[count++] = finished - now;
+			now = finished;
+		} while (now < end);
+		return new Result(name, questions, nanos, count, now - start);
+	}
+
+	/**
+	 * Loads the ids of the rows the benchmarks draw from
+	 */
+	private void loadIds() throws SQLException {
+		questionIds = ids("SELECT id FROM cse360question ORDER BY id");
+		answerIds = ids("SELECT id FROM cse360answer ORDER BY id");
+		reviewIds = ids("SELECT id FROM cse360review ORDER BY id");
+		userIds = ids("SELECT id FROM cse360users ORDER BY id");
+
+		List<String> names = new ArrayList<>();
+		try (Statement statement = databaseHelper.getConnectionPool().connection().createStatement();
+				ResultSet rs = statement.executeQuery("SELECT userName FROM cse360users WHERE userName LIKE 'synth%' ORDER BY id")) {
+			while (rs.next()) {
+				names.add(rs.getString("userName"));
+			}
+		}
+		userNames = names.toArray(new String[0]);
+	}
+
+	private int[] ids(String query) throws SQLException {
+		List<Integer> ids = new ArrayList<>();
+		try (Statement statement = databaseHelper.getConnectionPool().connection().createStatement();
+				ResultSet rs = statement.executeQuery(query)) {
+			while (rs.next()) {
+				ids.add(rs.getInt(1));
+			}
+		}
+		return ids.stream().mapToInt(Integer::intValue).toArray();
+	}
+
+	private static int pick(Random random, int[] ids) {
+		return ids[random.nextInt(ids.length)];
+	}
+
+	/**
+	 * Runs the benchmarks at each data set size given as arguments, 1,000 and
+	 * 10,000 questions by default, and prints a table of the results with
+	 * latencies in microseconds. The benchmark resets its own scratch database,
+	 * ~/FoundationBenchmark unless -Dcse360.benchmark.url names another, and
+	 * refuses to run against the app's database.
+	 *
+	 * @param args 				The data set sizes in questions
+	 *
+	 * @throws SQLException 	In case the database throws an error
+	 *
+	 */
+	public static void main(String[] args) throws SQLException {
+		int[] sizes = args.length > 0 ? Arrays.stream(args).mapToInt(Integer::parseInt).toArray()
+				: new int[] { 1000, 10000 };
+		String url = System.getProperty(DB_URL_PROPERTY, SCRATCH_DB_URL);
+		if (url.startsWith(DatabaseHelper.DB_URL)) {
+			System.err.println("The benchmark resets its database, so it will not run against the app's: " + url);
+			return;
+		}
+		DatabaseHelper databaseHelper = new DatabaseHelper(url);
+		QABenchmark benchmark = new QABenchmark(databaseHelper, 2000, 5000);
+
+		List<Result> results = new ArrayList<>();
+		for (int size : sizes) {
+			results.addAll(benchmark.run(size));
+		}
+		databaseHelper.closeConnection();
+
+		System.out.println(String.format("%-28s %9s %8s %12s %10s %10s %10s %10s", "Benchmark", "Questions", "Calls",
+				"Calls/s", "p50 us", "p90 us", "p99 us", "Max us"));
+		for (Result result : results) {
+			System.out.println(result);
+		}
+	}
+}
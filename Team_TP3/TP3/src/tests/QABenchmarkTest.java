@@ -0,0 +1,58 @@
+package tests;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import databasePart1.DatabaseHelper;
+
+/**
+ * <p>
+ * Test of the benchmark harness.
+ * </p>
+ * <p>
+ * A short run over a small data set, checking that every benchmark runs and
+ * reports sensible measurements.
+ * </p>
+ * @author CSE360 Team 8
+ *
+ * @version 0.00 2025-04-20 - Initial baseline
+ *
+ */
+public class QABenchmarkTest {
+	/**
+	 * Object to access the database
+	 */
+	private static final DatabaseHelper databaseHelper = new DatabaseHelper(DatabaseQueries.TEST_DB_URL);
+
+	/**
+	 * Default constructor
+	 */
+	public QABenchmarkTest() {
+	}
+
+	/**
+	 * Checks that every benchmark is measured at least once with ordered
+	 * percentiles.
+	 *
+	 * @throws SQLException	In case the database throws an error
+	 *
+	 */
+	@Test
+	public void testShortRun() throws SQLException {
+		List<QABenchmark.Result> results = new QABenchmark(databaseHelper, 0, 20).run(50);
+
+		assertEquals(10, results.size());
+		assertEquals("getAllQuestions", results.get(0).getName());
+		for (QABenchmark.Result result : results) {
+			assertEquals(50, result.getQuestions());
+			assertTrue(result.getName(), result.getCount() > 0);
+			assertTrue(result.getThroughput() > 0);
+			assertTrue(result.getP50() <= result.getP90());
+			assertTrue(result.getP90() <= result.getP99());
+			assertTrue(result.getP99() <= result.getMax());
+		}
+	}
+}
@@ -21,7 +21,7 @@ public class QuestionAndAnswerAutomation {
 	 * default constructor
 	 */
 	public QuestionAndAnswerAutomation() {}
-	private static final DatabaseHelper databaseHelper = new DatabaseHelper();
+	private static final DatabaseHelper databaseHelper = new DatabaseHelper(DatabaseQueries.TEST_DB_URL);
 	/**
 	 * This class sets up the database and ensures that each time the test is called, the 
 	 * database is set back up from scratch. This ensures that each test is run without any issues 
@@ -31,7 +31,7 @@ public class QuestionAndAnswerAutomation {
 	@BeforeClass
     public static void setUpDatabase() {
         try {
-            databaseHelper.connectToDatabase();
+            databaseHelper.resetDatabase();
         } catch (SQLException e) {
             fail("Database connection failed: " + e.getMessage());
         }
@@ -0,0 +1,99 @@
+package tests;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import databasePart1.QuestionSearchIndex;
+
+/**
+ * <p>
+ * Test of the question search index.
+ * </p>
+ * <p>
+ * A test of the in-memory inverted index used by searchQuestionDatabase. The
+ * index is filled with a handful of small questions so the expected ranking
+ * can be worked out by hand.
+ * </p>
+ * @author CSE360 Team 8
+ *
+ * @version 0.00 2025-04-20 - Initial baseline
+ *
+ */
+public class QuestionSearchIndexTest {
+	/**
+	 * Index under test
+	 */
+	private QuestionSearchIndex index;
+
+	/**
+	 * Default constructor
+	 */
+	public QuestionSearchIndexTest() {
+	}
+
+	/**
+	 * Fills a new index with a few questions before every test.
+	 */
+	@Before
+	public void setUp() {
+		index = new QuestionSearchIndex();
+		index.put(1, "Standup meetings", "Are all team members required at standup meetings?");
+		index.put(2, "Design documents", "I am having trouble viewing the architecture and design documents.");
+		index.put(3, "Github access", "I emailed my grader about their github account.");
+		index.put(4, "Team meetings", "When is the next team meeting?");
+	}
+
+	/**
+	 * Checks that the question sharing the rarest and most frequent words ranks first.
+	 */
+	@Test
+	public void testRanking() {
+		List<Integer> results = index.search("standup meetings", 10);
+		assertEquals(Integer.valueOf(1), results.get(0));
+		assertFalse(results.contains(2));
+	}
+
+	/**
+	 * Checks that only the requested number of results is returned.
+	 */
+	@Test
+	public void testLimit() {
+		assertEquals(2, index.search("team meetings", 10).size());
+		assertEquals(1, index.search("team meetings", 1).size());
+		assertTrue(index.search("team meetings", 0).isEmpty());
+	}
+
+	/**
+	 * Checks that updating a question replaces its old words in the index.
+	 */
+	@Test
+	public void testUpdate() {
+		index.put(3, "Gradebook question", "Where can I see my grades?");
+		assertTrue(index.search("github", 10).isEmpty());
+		assertEquals(List.of(3), index.search("grades", 10));
+		assertEquals(4, index.size());
+	}
+
+	/**
+	 * Checks that removed questions no longer show up in results.
+	 */
+	@Test
+	public void testRemove() {
+		assertTrue(index.remove(2));
+		assertFalse(index.remove(2));
+		assertTrue(index.search("architecture", 10).isEmpty());
+		assertEquals(3, index.size());
+	}
+
+	/**
+	 * Checks that punctuation and case are ignored the same way as textDeserial.
+	 */
+	@Test
+	public void testTokenize() {
+		assertEquals(List.of("hi", "i", "emailed", "my", "grader"), QuestionSearchIndex.tokenize("Hi, I emailed my grader!"));
+		assertTrue(QuestionSearchIndex.tokenize(null).isEmpty());
+	}
+}
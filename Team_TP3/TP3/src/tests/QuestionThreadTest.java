@@ -0,0 +1,177 @@
+package tests;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import application.Answer;
+import application.QATableRow;
+import application.Question;
+import application.QuestionThread;
+import application.Review;
+import databasePart1.DatabaseHelper;
+
+/**
+ * <p>
+ * Test of the question thread loader.
+ * </p>
+ * <p>
+ * A test of QAHelper1.loadThread, which loads a question with its answer tree,
+ * reviews and authors at once. The results are compared against the single
+ * object lookups on the preloaded content, where question 2 has answers 2, 11,
+ * 12 and 17.
+ * </p>
+ * @author CSE360 Team 8
+ *
+ * @version 0.00 2025-04-20 - Initial baseline
+ *
+ */
+public class QuestionThreadTest {
+	/**
+	 * Object to access the database
+	 */
+	private static final DatabaseHelper databaseHelper = new DatabaseHelper(DatabaseQueries.TEST_DB_URL);
+
+	/**
+	 * Default constructor
+	 */
+	public QuestionThreadTest() {
+	}
+
+	/**
+	 * Connects to the databaseHelper, which resets and repopulates the database
+	 * before every test.
+	 *
+	 * @throws SQLException	In case the database throws an error
+	 *
+	 */
+	@Before
+	public void setUp() throws SQLException {
+		databaseHelper.resetDatabase();
+	}
+
+	/**
+	 * Checks that the direct answers, nested replies and authors of a thread
+	 * match what the single lookups return.
+	 *
+	 * @throws SQLException	In case the database throws an error
+	 *
+	 */
+	@Test
+	public void testAnswerTree() throws SQLException {
+		Answer reply = new Answer("A reply to an answer on question two.", 1);
+		databaseHelper.qaHelper.registerAnswerWithAnswer(reply, 11);
+		int replyId = databaseHelper.qaHelper.getAnswer(reply.getText()).getId();
+
+		QuestionThread thread = databaseHelper.qaHelper.loadThread(2);
+		assertEquals(Integer.valueOf(2), thread.getQuestion().getId());
+		assertEquals(5, thread.getAnswerCount());
+
+		List<Integer> directIds = new ArrayList<>();
+		for (QuestionThread.AnswerNode node : thread.getAnswers()) {
+			directIds.add(node.getAnswer().getId());
+			Answer expected = databaseHelper.qaHelper.getAnswer(node.getAnswer().getId());
+			assertEquals(expected.getAuthorName(), node.getAnswer().getAuthorName());
+			assertEquals(expected.getRelatedId(), node.getAnswer().getRelatedId());
+		}
+		assertEquals(List.of(2, 11, 12, 17), directIds);
+
+		QuestionThread.AnswerNode eleven = thread.getAnswers().get(1);
+		assertEquals(1, eleven.getReplies().size());
+		assertEquals(Integer.valueOf(replyId), eleven.getReplies().get(0).getAnswer().getId());
+	}
+
+	/**
+	 * Checks that the reviews of the question and of each answer are loaded with
+	 * the same message and vote counts as getReviewsForQuestion and
+	 * getReviewsForAnswer.
+	 *
+	 * @throws SQLException	In case the database throws an error
+	 *
+	 */
+	@Test
+	public void testReviews() throws SQLException {
+		for (Question question : databaseHelper.qaHelper.getAllQuestions()) {
+			QuestionThread thread = databaseHelper.qaHelper.loadThread(question.getId());
+			assertReviewsMatch(databaseHelper.qaHelper.getReviewsForQuestion(question.getId()), thread.getReviews());
+			for (QuestionThread.AnswerNode node : thread.getAnswers()) {
+				assertReviewsMatch(databaseHelper.qaHelper.getReviewsForAnswer(node.getAnswer().getId()),
+						node.getReviews());
+			}
+		}
+	}
+
+	/**
+	 * Checks that the preferred answer is listed first and that the rows start
+	 * with the question.
+	 *
+	 * @throws SQLException	In case the database throws an error
+	 *
+	 */
+	@Test
+	public void testPreferredAnswerFirst() throws SQLException {
+		databaseHelper.qaHelper.setPreferredAnswer(2, 12);
+
+		QuestionThread thread = databaseHelper.qaHelper.loadThread(2);
+		assertEquals(Integer.valueOf(12), thread.getAnswers().get(0).getAnswer().getId());
+
+		List<QATableRow> rows = thread.toRows();
+		assertEquals(QATableRow.RowType.QUESTION, rows.get(0).getType());
+		assertEquals(Integer.valueOf(2), rows.get(0).getContentId());
+	}
+
+	/**
+	 * Checks that a thread cannot be changed through what it hands out, and that
+	 * a missing question has no thread.
+	 *
+	 * @throws SQLException	In case the database throws an error
+	 *
+	 */
+	@Test
+	public void testImmutable() throws SQLException {
+		QuestionThread thread = databaseHelper.qaHelper.loadThread(2);
+		thread.getQuestion().setTitle("Changed");
+		assertNotEquals("Changed", thread.getQuestion().getTitle());
+		assertThrows(UnsupportedOperationException.class, () -> thread.getAnswers().clear());
+
+		assertNull(databaseHelper.qaHelper.loadThread(9999));
+	}
+
+	/**
+	 * Checks that the read state snapshot of a thread holds the answers under the
+	 * question the user has marked read, and no others.
+	 *
+	 * @throws SQLException	In case the database throws an error
+	 *
+	 */
+	@Test
+	public void testReadAnswerIds() throws SQLException {
+		assertTrue(databaseHelper.qaHelper.getReadAnswerIds(4, 2).isEmpty());
+
+		databaseHelper.qaHelper.markAnswerAsRead(11, 4);
+		databaseHelper.qaHelper.markAnswerAsRead(17, 4);
+		databaseHelper.qaHelper.markAnswerAsRead(1, 4);
+		databaseHelper.qaHelper.markAnswerAsRead(12, 5);
+
+		assertEquals(Set.of(11, 17), databaseHelper.qaHelper.getReadAnswerIds(4, 2));
+		assertEquals(Set.of(12), databaseHelper.qaHelper.getReadAnswerIds(5, 2));
+	}
+
+	/**
+	 * Checks that two lists of reviews hold the same reviews with the same counts
+	 */
+	private static void assertReviewsMatch(List<Review> expected, List<Review> actual) {
+		assertEquals(expected.size(), actual.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(expected.get(i).getId(), actual.get(i).getId());
+			assertEquals(expected.get(i).getAuthorName(), actual.get(i).getAuthorName());
+			assertEquals(expected.get(i).getMessageCount(), actual.get(i).getMessageCount());
+			assertEquals(expected.get(i).getVoteCount(), actual.get(i).getVoteCount());
+		}
+	}
+}
@@ -0,0 +1,218 @@
+package tests;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import application.Answer;
+import databasePart1.DatabaseHelper;
+import databasePart1.ReadReceiptBuffer;
+
+/**
+ * <p>
+ * Test of the read receipt buffer.
+ * </p>
+ * <p>
+ * A test of how answers marked as read are held, deduplicated and written in
+ * batches, both on a buffer with a recording writer and through QAHelper1 on
+ * the preloaded content, where question 2 has answers 2, 11, 12 and 17. The
+ * helper tests also cover the per-user read bitmaps the receipts end up in.
+ * </p>
+ * @author CSE360 Team 8
+ *
+ * @version 0.00 2025-04-20 - Initial baseline
+ *
+ */
+public class ReadReceiptBufferTest {
+	/**
+	 * Object to access the database
+	 */
+	private static final DatabaseHelper databaseHelper = new DatabaseHelper(DatabaseQueries.TEST_DB_URL);
+
+	/**
+	 * Default constructor
+	 */
+	public ReadReceiptBufferTest() {
+	}
+
+	/**
+	 * Checks that repeated receipts are written once, in a single batch, and that
+	 * an empty flush writes nothing.
+	 *
+	 * @throws SQLException	In case the database throws an error
+	 *
+	 */
+	@Test
+	public void testDeduplicatedBatch() throws SQLException {
+		List<List<Long>> batches = new ArrayList<>();
+		ReadReceiptBuffer buffer = new ReadReceiptBuffer(batches::add, 0, () -> {
+		});
+
+		buffer.add(11, 4);
+		buffer.add(17, 4);
+		buffer.add(11, 4);
+		assertTrue(buffer.isPending(11, 4));
+		assertFalse(buffer.isPending(11, 5));
+		assertEquals(2, buffer.flush());
+		assertEquals(0, buffer.flush());
+
+		assertEquals(1, batches.size());
+		assertEquals(List.of(ReadReceiptBuffer.receipt(11, 4), ReadReceiptBuffer.receipt(17, 4)), batches.get(0));
+		assertEquals(17, ReadReceiptBuffer.answerId(batches.get(0).get(1)));
+		assertEquals(4, ReadReceiptBuffer.userId(batches.get(0).get(1)));
+	}
+
+	/**
+	 * Checks that receipts from a failed write are kept for the next flush.
+	 *
+	 * @throws SQLException	In case the database throws an error
+	 *
+	 */
+	@Test
+	public void testFailedWriteIsRetried() throws SQLException {
+		List<Long> written = new ArrayList<>();
+		boolean[] fail = { true };
+		ReadReceiptBuffer buffer = new ReadReceiptBuffer(receipts -> {
+			if (fail[0]) {
+				throw new SQLException("Write failed");
+			}
+			written.addAll(receipts);
+		}, 0, () -> {
+		});
+
+		buffer.add(1, 1);
+		assertThrows(SQLException.class, buffer::flush);
+		buffer.add(2, 1);
+		assertEquals(2, buffer.size());
+
+		fail[0] = false;
+		assertEquals(2, buffer.flush());
+		assertEquals(List.of(ReadReceiptBuffer.receipt(1, 1), ReadReceiptBuffer.receipt(2, 1)), written);
+	}
+
+	/**
+	 * Checks that a receipt still counts as pending while its batch is being
+	 * written, and that adding it again meanwhile does not queue a second write.
+	 *
+	 * @throws SQLException	In case the database throws an error
+	 *
+	 */
+	@Test
+	public void testPendingDuringWrite() throws SQLException {
+		List<Boolean> seenDuringWrite = new ArrayList<>();
+		ReadReceiptBuffer[] buffer = new ReadReceiptBuffer[1];
+		buffer[0] = new ReadReceiptBuffer(receipts -> {
+			seenDuringWrite.add(buffer[0].isPending(11, 4));
+			buffer[0].add(11, 4);
+		}, 0, () -> {
+		});
+
+		buffer[0].add(11, 4);
+		assertEquals(1, buffer[0].flush());
+		assertEquals(List.of(true), seenDuringWrite);
+		assertFalse(buffer[0].isPending(11, 4));
+		assertEquals(0, buffer[0].size());
+	}
+
+	/**
+	 * Checks that the timed flush keeps running after a write throws an
+	 * unchecked exception.
+	 *
+	 * @throws InterruptedException	In case the test is interrupted while waiting
+	 *
+	 */
+	@Test
+	public void testTimedFlushSurvivesRuntimeException() throws InterruptedException {
+		CountDownLatch written = new CountDownLatch(1);
+		boolean[] fail = { true };
+		ReadReceiptBuffer buffer = new ReadReceiptBuffer(receipts -> {
+			if (fail[0]) {
+				fail[0] = false;
+				throw new IllegalStateException("Write failed");
+			}
+			written.countDown();
+		}, 10, () -> {
+		});
+
+		buffer.add(1, 1);
+		assertTrue(written.await(5, TimeUnit.SECONDS));
+		buffer.close();
+	}
+
+	/**
+	 * Checks that an answer marked as read is seen as read before and after its
+	 * receipt is written, and that a whole question can be marked read at once.
+	 *
+	 * @throws SQLException	In case the database throws an error
+	 *
+	 */
+	@Test
+	public void testHelperReadState() throws SQLException {
+		databaseHelper.resetDatabase();
+
+		databaseHelper.qaHelper.markAnswerAsRead(11, 4);
+		assertTrue(databaseHelper.qaHelper.isAnswerMarkedAsRead(11, 4));
+		databaseHelper.qaHelper.flushReadReceipts();
+		assertTrue(databaseHelper.qaHelper.isAnswerMarkedAsRead(11, 4));
+		assertFalse(databaseHelper.qaHelper.isAnswerMarkedAsRead(12, 4));
+
+		assertEquals(3, databaseHelper.qaHelper.markAllAnswersRead(2, 4));
+		assertEquals(0, databaseHelper.qaHelper.markAllAnswersRead(2, 4));
+		assertEquals(Set.of(2, 11, 12, 17), databaseHelper.qaHelper.getReadAnswerIds(4, 2));
+	}
+
+	/**
+	 * Checks that the answers to a question are split into read and unread by the
+	 * user's read bitmap, including receipts not yet written.
+	 *
+	 * @throws SQLException	In case the database throws an error
+	 *
+	 */
+	@Test
+	public void testReadAndUnreadAnswers() throws SQLException {
+		databaseHelper.resetDatabase();
+		databaseHelper.qaHelper.markAnswerAsRead(11, 6);
+		databaseHelper.qaHelper.markAnswerAsRead(17, 6);
+
+		Map<String, List<Answer>> answers = databaseHelper.qaHelper.getReadAndUnreadAnswers(2, 6);
+		assertEquals(List.of(11, 17), answers.get("read").stream().map(Answer::getId).toList());
+		assertEquals(List.of(2, 12), answers.get("unread").stream().map(Answer::getId).toList());
+		assertEquals(4, databaseHelper.qaHelper.getReadAndUnreadAnswers(2, 7).get("unread").size());
+	}
+
+	/**
+	 * Checks that rows left in the old one-row-per-answer table are moved into the
+	 * read bitmaps when the read bitmap migration runs, and the old table is dropped.
+	 *
+	 * @throws SQLException	In case the database throws an error
+	 *
+	 */
+	@Test
+	public void testMigrateAnswerViews() throws SQLException {
+		databaseHelper.resetDatabase();
+		try (Statement statement = databaseHelper.getConnectionPool().connection().createStatement()) {
+			statement.execute("CREATE TABLE cse360answerviews (answer_id INT NOT NULL, user_id INT NOT NULL, "
+					+ "is_read BOOLEAN DEFAULT FALSE, PRIMARY KEY (answer_id, user_id))");
+			statement.execute("INSERT INTO cse360answerviews VALUES (2, 8, TRUE), (12, 8, TRUE), (17, 8, FALSE)");
+			statement.execute("DELETE FROM schema_version WHERE version = 5");
+		}
+		assertEquals(1, databaseHelper.migrateSchema());
+
+		assertEquals(Set.of(2, 12), databaseHelper.qaHelper.getReadAnswerIds(8, 2));
+		try (Statement statement = databaseHelper.getConnectionPool().connection().createStatement()) {
+			ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES "
+					+ "WHERE UPPER(TABLE_NAME) = 'CSE360ANSWERVIEWS'");
+			assertTrue(rs.next());
+			assertEquals(0, rs.getInt(1));
+		}
+	}
+}
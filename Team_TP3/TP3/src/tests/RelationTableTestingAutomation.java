@@ -0,0 +1,138 @@
+package tests;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import application.Answer;
+import databasePart1.DatabaseHelper;
+
+/**
+ * <p>
+ * Test of the question/answer relation table.
+ * </p>
+ * <p>
+ * A test of the methods that read and write the cse360qa_relation table, which
+ * links each question or answer to the answers posted in reply to it. The test
+ * uses the preloaded content, where question 2 has answers 2, 11, 12 and 17.
+ * </p>
+ * @author CSE360 Team 8
+ *
+ * @version 0.00 2025-04-20 - Initial baseline
+ *
+ */
+public class RelationTableTestingAutomation {
+	/**
+	 * Object to access the database
+	 */
+	private static final DatabaseHelper databaseHelper = new DatabaseHelper(DatabaseQueries.TEST_DB_URL);
+
+	/**
+	 * Default constructor
+	 */
+	public RelationTableTestingAutomation() {
+	}
+
+	/**
+	 * Connects to the databaseHelper, which resets and repopulates the database
+	 * before every test.
+	 *
+	 * @throws SQLException	In case the database throws an error
+	 *
+	 */
+	@Before
+	public void setUp() throws SQLException {
+		databaseHelper.resetDatabase();
+	}
+
+	/**
+	 * Checks that the related answer ids of a question come back from the
+	 * relation table in the order they were added.
+	 *
+	 * @throws SQLException	In case the database throws an error
+	 *
+	 */
+	@Test
+	public void testRelatedIdsForQuestion() throws SQLException {
+		assertEquals(List.of("2", "11", "12", "17"), databaseHelper.qaHelper.getQuestion(2).getRelatedId());
+		assertNull(databaseHelper.qaHelper.getQuestion(11).getRelatedId());
+	}
+
+	/**
+	 * Checks that adding and then deleting a relation is reflected in the answers
+	 * returned for the question.
+	 *
+	 * @throws SQLException	In case the database throws an error
+	 *
+	 */
+	@Test
+	public void testAddAndDeleteRelation() throws SQLException {
+		databaseHelper.qaHelper.addRelationToQuestion(3, 10);
+		List<Answer> answers = databaseHelper.qaHelper.getAllAnswersForQuestion(3);
+		assertEquals(2, answers.size());
+
+		assertTrue(databaseHelper.qaHelper.deleteRelation(3, 10));
+		assertFalse(databaseHelper.qaHelper.deleteRelation(3, 10));
+		assertEquals(1, databaseHelper.qaHelper.getAllAnswersForQuestion(3).size());
+	}
+
+	/**
+	 * Checks that duplicate detection only looks at the answers of the given
+	 * question.
+	 *
+	 * @throws SQLException	In case the database throws an error
+	 *
+	 */
+	@Test
+	public void testDuplicateAnswer() throws SQLException {
+		String text = databaseHelper.qaHelper.getAnswer(11).getText();
+		assertTrue(databaseHelper.qaHelper.isDuplicateAnswer(2, text));
+		assertFalse(databaseHelper.qaHelper.isDuplicateAnswer(3, text));
+	}
+
+	/**
+	 * Checks that the answered and unanswered filters are computed from the
+	 * relation table.
+	 *
+	 * @throws SQLException	In case the database throws an error
+	 *
+	 */
+	@Test
+	public void testAnsweredAndUnansweredQuestions() throws SQLException {
+		assertEquals(10, databaseHelper.qaHelper.getAllAnsweredQuestions().size());
+		assertEquals(13, databaseHelper.qaHelper.getAllUnansweredQuestions().size());
+	}
+
+	/**
+	 * Checks that deleting an answer also removes it from its question.
+	 *
+	 * @throws SQLException	In case the database throws an error
+	 *
+	 */
+	@Test
+	public void testDeleteAnswerRemovesRelation() throws SQLException {
+		assertTrue(databaseHelper.qaHelper.deleteAnswer(11));
+		assertEquals(List.of("2", "12", "17"), databaseHelper.qaHelper.getQuestion(2).getRelatedId());
+	}
+
+	/**
+	 * Checks that the question for an answer is found for direct answers and for
+	 * replies nested under another answer.
+	 *
+	 * @throws SQLException	In case the database throws an error
+	 *
+	 */
+	@Test
+	public void testQuestionForNestedAnswer() throws SQLException {
+		assertEquals(Integer.valueOf(2), databaseHelper.qaHelper.getQuestionForAnswer(11).getId());
+
+		Answer reply = new Answer("A reply to an answer on question two.", 1);
+		databaseHelper.qaHelper.registerAnswerWithAnswer(reply, 11);
+		int replyId = databaseHelper.qaHelper.getAnswer(reply.getText()).getId();
+		assertEquals(Integer.valueOf(2), databaseHelper.qaHelper.getQuestionIdForAnswer(replyId));
+		assertEquals(Integer.valueOf(2), databaseHelper.qaHelper.getQuestionForAnswer(replyId).getId());
+	}
+}
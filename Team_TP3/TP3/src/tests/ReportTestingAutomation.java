@@ -46,9 +46,9 @@ public class ReportTestingAutomation {
      */
     @BeforeClass
     public static void setup() {
-        db = new DatabaseHelper();
+        db = new DatabaseHelper(DatabaseQueries.TEST_DB_URL);
         try {
-            db.connectToDatabase();
+            db.resetDatabase();
         } catch (SQLException e) {
             Assert.fail("Failed to connect to database.");
         }
@@ -7,6 +7,7 @@ import static org.junit.Assert.*;
 import org.junit.Before;
 import org.junit.Test;
 
+import application.Message;
 import application.Review;
 import databasePart1.DatabaseHelper;
 
@@ -39,7 +40,7 @@ public class ReviewCRUDTestingAutomation {
 	 * 
 	 * Variables to hold various data necessary for each test to be performed.
 	 */
-	private static final DatabaseHelper databaseHelper = new DatabaseHelper(); // Object to access database
+	private static final DatabaseHelper databaseHelper = new DatabaseHelper(DatabaseQueries.TEST_DB_URL); // Object to access database
 	static int numPassed = 0; 												   // Number of tests passed
 	static int numFailed = 0; 												   // Number of tests failed
 	private static Review review; 										   // Holds the review we expect to find
@@ -60,7 +61,7 @@ public class ReviewCRUDTestingAutomation {
 	 */
 	@Before
 	public void setUp() throws SQLException {
-		databaseHelper.connectToDatabase();
+		databaseHelper.resetDatabase();
 	}
 	
 	/**
@@ -176,5 +177,27 @@ public class ReviewCRUDTestingAutomation {
 		// Assertion statement to check
 		assertEquals(String.valueOf("This is a test review for question 5"), review.getText());
 	}
+
+	/**
+	 * Test 31 - This method checks that the message and vote counts loaded with the
+	 * review list match the counts queried one review at a time
+	 * 
+	 * @throws SQLException	In case the database throws an error
+	 * 
+	 */
+	@Test
+	public void testReviewCountsInList() throws SQLException {
+		databaseHelper.qaHelper.createMessage(new Message(3, "review", 1, 2, "Subject", "About review 3"));
+		databaseHelper.qaHelper.createMessage(new Message(3, "review", 2, 1, "Re: Subject", "Reply"));
+		assertTrue(databaseHelper.qaHelper.registerVoteForReview(3, 4, 1));
+
+		List<Review> reviews = databaseHelper.qaHelper.getAllReviews();
+		assertEquals(10, reviews.size());
+		for (Review listed : reviews) {
+			assertEquals(databaseHelper.qaHelper.getMessageCount(listed.getId(), 'r'), listed.getMessageCount());
+			assertEquals(databaseHelper.qaHelper.getVoteCountForReview(listed.getId()), listed.getVoteCount());
+		}
+		assertEquals(Integer.valueOf(2), databaseHelper.qaHelper.getReview(3).getMessageCount());
+	}
 	}
 
@@ -0,0 +1,174 @@
+package tests;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import application.ReviewVote;
+import databasePart1.DatabaseHelper;
+
+/**
+ * <p>
+ * Test of the review vote ledger.
+ * </p>
+ * <p>
+ * A test of how QAHelper1 records one vote per user per review and keeps the
+ * review's vote total in step with the ledger, for single votes, batches and
+ * many voters at once. The tests vote on the preloaded reviews.
+ * </p>
+ * @author CSE360 Team 8
+ *
+ * @version 0.00 2025-04-20 - Initial baseline
+ *
+ */
+public class ReviewVoteTest {
+	/**
+	 * Object to access the database
+	 */
+	private static final DatabaseHelper databaseHelper = new DatabaseHelper(DatabaseQueries.TEST_DB_URL);
+
+	/**
+	 * Default constructor
+	 */
+	public ReviewVoteTest() {
+	}
+
+	/**
+	 * Connects to the databaseHelper, which resets and repopulates the database
+	 * before every test.
+	 *
+	 * @throws SQLException	In case the database throws an error
+	 *
+	 */
+	@Before
+	public void setUp() throws SQLException {
+		databaseHelper.resetDatabase();
+	}
+
+	/**
+	 * Checks that a user voting the same way twice is only counted once, that
+	 * voting the other way moves the vote over, and that a vote can be taken back.
+	 *
+	 * @throws SQLException	In case the database throws an error
+	 *
+	 */
+	@Test
+	public void testOneVotePerUser() throws SQLException {
+		int votes = voteCount(2);
+
+		assertTrue(databaseHelper.qaHelper.registerVoteForReview(2, 5, 1));
+		assertFalse(databaseHelper.qaHelper.registerVoteForReview(2, 5, 1));
+		assertEquals(votes + 1, voteCount(2));
+		assertEquals(1, databaseHelper.qaHelper.getVoteForReview(2, 5));
+
+		assertTrue(databaseHelper.qaHelper.registerVoteForReview(2, 5, -1));
+		assertEquals(votes - 1, voteCount(2));
+		assertEquals(-1, databaseHelper.qaHelper.getVoteForReview(2, 5));
+
+		assertTrue(databaseHelper.qaHelper.registerVoteForReview(2, 5, 0));
+		assertEquals(votes, voteCount(2));
+		assertEquals(0, databaseHelper.qaHelper.getVoteForReview(2, 5));
+
+		assertFalse(databaseHelper.qaHelper.registerVoteForReview(9999, 5, 1));
+	}
+
+	/**
+	 * Checks that a vote cast with no user logged in is not counted, since there
+	 * is no one to record it against.
+	 *
+	 * @throws SQLException	In case the database throws an error
+	 *
+	 */
+	@Test
+	public void testVoteWithoutUser() throws SQLException {
+		int votes = voteCount(2);
+
+		databaseHelper.currentUser = null;
+		databaseHelper.qaHelper.registerVoteForReview(2, 1);
+		assertEquals(votes, voteCount(2));
+	}
+
+	/**
+	 * Checks that a batch spanning several reviews is applied in full, with the
+	 * last vote winning when a user votes on the same review twice.
+	 *
+	 * @throws SQLException	In case the database throws an error
+	 *
+	 */
+	@Test
+	public void testBatch() throws SQLException {
+		int votesOne = voteCount(1);
+		int votesThree = voteCount(3);
+
+		List<ReviewVote> batch = List.of(new ReviewVote(1, 2, 1), new ReviewVote(1, 3, 1), new ReviewVote(3, 2, 1),
+				new ReviewVote(3, 2, -1), new ReviewVote(9999, 2, 1));
+		assertEquals(3, databaseHelper.qaHelper.registerVotesForReviews(batch));
+
+		assertEquals(votesOne + 2, voteCount(1));
+		assertEquals(votesThree - 1, voteCount(3));
+		assertEquals(-1, databaseHelper.qaHelper.getVoteForReview(3, 2));
+		assertEquals(0, databaseHelper.qaHelper.registerVotesForReviews(batch));
+	}
+
+	/**
+	 * Checks that no votes are lost when many users vote on the same review at
+	 * once, each on their own connection, and each repeats their vote.
+	 *
+	 * @throws Exception	In case a voter fails
+	 *
+	 */
+	@Test
+	public void testConcurrentVoters() throws Exception {
+		int votes = voteCount(4);
+		int voters = 6;
+		int usersPerVoter = 20;
+
+		ExecutorService executor = Executors.newFixedThreadPool(voters);
+		try {
+			List<Future<Integer>> results = new ArrayList<>();
+			for (int v = 0; v < voters; v++) {
+				int firstUser = 100 + v * usersPerVoter;
+				Callable<Integer> voter = () -> {
+					try {
+						int counted = 0;
+						for (int repeat = 0; repeat < 2; repeat++) {
+							for (int user = firstUser; user < firstUser + usersPerVoter; user++) {
+								if (databaseHelper.qaHelper.registerVoteForReview(4, user, 1)) {
+									counted++;
+								}
+							}
+						}
+						return counted;
+					} finally {
+						databaseHelper.getConnectionPool().release();
+					}
+				};
+				results.add(executor.submit(voter));
+			}
+
+			int counted = 0;
+			for (Future<Integer> result : results) {
+				counted += result.get();
+			}
+			assertEquals(voters * usersPerVoter, counted);
+		} finally {
+			executor.shutdown();
+		}
+		assertEquals(votes + voters * usersPerVoter, voteCount(4));
+	}
+
+	/**
+	 * Returns the current vote total of a review
+	 */
+	private static int voteCount(int reviewId) throws SQLException {
+		return databaseHelper.qaHelper.getReview(reviewId).getVoteCount();
+	}
+}
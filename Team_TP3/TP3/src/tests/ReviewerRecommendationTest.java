@@ -0,0 +1,202 @@
+package tests;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import application.Answer;
+import application.Question;
+import application.Review;
+import application.ReviewerRecommendation;
+import application.User;
+import databasePart1.DatabaseHelper;
+import databasePart1.QAHelper1;
+
+/**
+ * <p>
+ * Test of the reviewer recommendations and assignments.
+ * </p>
+ * <p>
+ * A test of how reviewers are ranked for a question by trust, topic match and
+ * open workload, that the question's author is never recommended, and how an
+ * assignment stays in the reviewer's queue until they review the question or
+ * one of its answers. Two new reviewers each review a question on their own
+ * topic, so the other parts of their scores start out the same.
+ * </p>
+ * @author CSE360 Team 8
+ *
+ * @version 0.00 2025-04-20 - Initial baseline
+ *
+ */
+public class ReviewerRecommendationTest {
+	/**
+	 * Object to access the database
+	 */
+	private static final DatabaseHelper databaseHelper = new DatabaseHelper(DatabaseQueries.TEST_DB_URL);
+
+	/**
+	 * Object to access the QA database
+	 */
+	private static final QAHelper1 qaHelper = databaseHelper.qaHelper;
+
+	// The reviewers, the student looking for a reviewer, and the author of the questions
+	private User alpha;
+	private User beta;
+	private User student;
+	private User author;
+
+	/**
+	 * Default constructor
+	 */
+	public ReviewerRecommendationTest() {
+	}
+
+	/**
+	 * Resets the database and has each new reviewer review a question on their topic
+	 *
+	 * @throws SQLException	In case the database throws an error
+	 *
+	 */
+	@Before
+	public void setUp() throws SQLException {
+		databaseHelper.resetDatabase();
+		databaseHelper.register(new User("RevAlpha", "Alpha", "Password8*", "alpha@asu.edu",
+				List.of("Student", "Reviewer"), false));
+		databaseHelper.register(new User("RevBeta", "Beta", "Password8*", "beta@asu.edu",
+				List.of("Student", "Reviewer"), false));
+		alpha = databaseHelper.getUser("RevAlpha");
+		beta = databaseHelper.getUser("RevBeta");
+		student = databaseHelper.getUser("xXAnthonyXx");
+		author = databaseHelper.getUser("Yui59");
+
+		qaHelper.registerReview(new Review(true, question("Zorblax flux capacitor", "How does the zorblax capacitor "
+				+ "store flux?").getId(), "The zorblax flux explanation is right", alpha.getUserId()));
+		Question biology = question("Mitochondria ribosome enzyme", "Which enzyme does the ribosome need?");
+		qaHelper.registerAnswerWithQuestion(new Answer("The mitochondria make the enzyme", author.getUserId()),
+				biology.getId());
+		int answerId = qaHelper.getAllAnswersForQuestion(biology.getId()).get(0).getId();
+		qaHelper.registerReview(new Review(false, answerId, "Good enzyme answer", beta.getUserId()));
+	}
+
+	/**
+	 * Checks that a reviewer who has reviewed the topic is ranked first, that
+	 * trust and workload move the ranking, and that k limits the list.
+	 *
+	 * @throws SQLException	In case the database throws an error
+	 *
+	 */
+	@Test
+	public void testRanking() throws SQLException {
+		Question question = question("Zorblax capacitor overload", "My zorblax flux keeps overloading");
+		List<ReviewerRecommendation> ranked = qaHelper.recommendReviewers(question, student.getUserId(), 1000);
+		assertTrue(rank(ranked, alpha) < rank(ranked, beta));
+		ReviewerRecommendation best = ranked.get(rank(ranked, alpha));
+		assertTrue(best.getSimilarity() > 0);
+		assertEquals(0.0, ranked.get(rank(ranked, beta)).getSimilarity(), 0.0);
+		assertEquals(-1, rank(ranked, author));
+		assertEquals(-1, rank(ranked, student));
+		for (int i = 1; i < ranked.size(); i++) {
+			assertTrue(ranked.get(i - 1).getScore() >= ranked.get(i).getScore());
+		}
+
+		// Trusting the other reviewer outweighs the topic match
+		assertTrue(databaseHelper.addReviewer(student.getUserId(), beta, 5));
+		ranked = qaHelper.recommendReviewers(question, student.getUserId(), 1000);
+		assertTrue(rank(ranked, beta) < rank(ranked, alpha));
+		assertEquals(5, ranked.get(rank(ranked, beta)).getTrustWeight());
+
+		// A full queue lowers the score by the workload's share
+		assertTrue(databaseHelper.addReviewer(student.getUserId(), alpha, 5));
+		ranked = qaHelper.recommendReviewers(question, student.getUserId(), 1000);
+		double idle = ranked.get(rank(ranked, alpha)).getScore();
+		for (int i = 0; i < 3; i++) {
+			Question other = question("Assigned question " + i, "Something to review");
+			assertTrue(qaHelper.assignReviewer(other.getId(), alpha.getUserId(), student.getUserId()));
+		}
+		ranked = qaHelper.recommendReviewers(question, student.getUserId(), 1000);
+		assertEquals(3, ranked.get(rank(ranked, alpha)).getOpenAssignments());
+		assertEquals(idle - 0.1 * (1 - 1.0 / 4), ranked.get(rank(ranked, alpha)).getScore(), 1e-9);
+
+		assertEquals(1, qaHelper.recommendReviewers(question, student.getUserId(), 1).size());
+		assertTrue(qaHelper.recommendReviewers(question, student.getUserId(), 0).isEmpty());
+	}
+
+	/**
+	 * Checks that updating and deleting a review changes its author's topics.
+	 *
+	 * @throws SQLException	In case the database throws an error
+	 *
+	 */
+	@Test
+	public void testTopicsFollowReviews() throws SQLException {
+		Question question = question("Mitochondria enzyme puzzle", "Is the enzyme made in the mitochondria?");
+		double before = similarity(question, alpha);
+		double reviewed = similarity(question, beta);
+		assertTrue(before < reviewed);
+
+		Review review = qaHelper.getReview("The zorblax flux explanation is right");
+		review.setText("Zorblax aside, the mitochondria enzyme part is right");
+		qaHelper.updateReview(review);
+		assertTrue(similarity(question, alpha) > before);
+
+		assertTrue(qaHelper.deleteReview(qaHelper.getReview("Good enzyme answer").getId()));
+		assertTrue(similarity(question, beta) < reviewed);
+	}
+
+	/**
+	 * Checks that an assignment is queued once, and leaves the queue when the
+	 * reviewer reviews an answer to the question.
+	 *
+	 * @throws SQLException	In case the database throws an error
+	 *
+	 */
+	@Test
+	public void testAssignments() throws SQLException {
+		Question first = question("First to review", "Please review me first");
+		Question second = question("Second to review", "Please review me second");
+		assertTrue(qaHelper.assignReviewer(first.getId(), alpha.getUserId(), student.getUserId()));
+		assertFalse(qaHelper.assignReviewer(first.getId(), alpha.getUserId(), student.getUserId()));
+		assertTrue(qaHelper.assignReviewer(second.getId(), alpha.getUserId(), student.getUserId()));
+		assertEquals(List.of(first.getId(), second.getId()), ids(qaHelper.getAssignedQuestions(alpha.getUserId())));
+		assertTrue(qaHelper.getAssignedQuestions(beta.getUserId()).isEmpty());
+
+		qaHelper.registerAnswerWithQuestion(new Answer("An answer to review", author.getUserId()), first.getId());
+		int answerId = qaHelper.getAllAnswersForQuestion(first.getId()).get(0).getId();
+		qaHelper.registerReview(new Review(false, answerId, "Reviewed as assigned", beta.getUserId()));
+		assertEquals(2, qaHelper.getAssignedQuestions(alpha.getUserId()).size());
+		qaHelper.registerReview(new Review(false, answerId, "Reviewed as assigned too", alpha.getUserId()));
+		assertEquals(List.of(second.getId()), ids(qaHelper.getAssignedQuestions(alpha.getUserId())));
+
+		// A reviewed question can be assigned again
+		assertTrue(qaHelper.assignReviewer(first.getId(), alpha.getUserId(), student.getUserId()));
+		assertTrue(qaHelper.deleteQuestion(second.getId()));
+		assertEquals(List.of(first.getId()), ids(qaHelper.getAssignedQuestions(alpha.getUserId())));
+	}
+
+	private Question question(String title, String text) throws SQLException {
+		qaHelper.registerQuestion(new Question(title, text, author.getUserId()));
+		return qaHelper.getQuestion(title);
+	}
+
+	private static int rank(List<ReviewerRecommendation> ranked, User user) {
+		for (int i = 0; i < ranked.size(); i++) {
+			if (ranked.get(i).getReviewer().getUserId() == user.getUserId()) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private double similarity(Question question, User reviewer) throws SQLException {
+		List<ReviewerRecommendation> ranked = qaHelper.recommendReviewers(question, student.getUserId(), 1000);
+		return ranked.get(rank(ranked, reviewer)).getSimilarity();
+	}
+
+	private static List<Integer> ids(List<Question> questions) {
+		return questions.stream().map(Question::getId).collect(Collectors.toList());
+	}
+}
@@ -0,0 +1,163 @@
+package tests;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import application.Review;
+import application.ReviewerStats;
+import databasePart1.DatabaseHelper;
+
+/**
+ * <p>
+ * Test of the reviewer stats and leaderboard.
+ * </p>
+ * <p>
+ * A test of how QAHelper1 keeps each reviewer's review count, vote sum and
+ * rating in step as reviews are written, voted on and deleted, checked against
+ * the counts added up from the review table, and of the order the leaderboard
+ * returns reviewers in. The tests use the preloaded reviews.
+ * </p>
+ * @author CSE360 Team 8
+ *
+ * @version 0.00 2025-04-20 - Initial baseline
+ *
+ */
+public class ReviewerStatsTest {
+	/**
+	 * Object to access the database
+	 */
+	private static final DatabaseHelper databaseHelper = new DatabaseHelper(DatabaseQueries.TEST_DB_URL);
+
+	/**
+	 * Default constructor
+	 */
+	public ReviewerStatsTest() {
+	}
+
+	/**
+	 * Connects to the databaseHelper, which resets and repopulates the database
+	 * before every test.
+	 *
+	 * @throws SQLException	In case the database throws an error
+	 *
+	 */
+	@Before
+	public void setUp() throws SQLException {
+		databaseHelper.resetDatabase();
+	}
+
+	/**
+	 * Checks that the vote count for a reviewer adds up the votes on all of their
+	 * reviews, not only the first.
+	 *
+	 * @throws SQLException	In case the database throws an error
+	 *
+	 */
+	@Test
+	public void testVoteCountForReviewer() throws SQLException {
+		databaseHelper.qaHelper.registerReview(new Review(true, 6, "A second review by user one", 1));
+		int reviewId = databaseHelper.qaHelper.getReview("A second review by user one").getId();
+
+		databaseHelper.qaHelper.registerVoteForReview(1, 2, 1);
+		databaseHelper.qaHelper.registerVoteForReview(reviewId, 2, 1);
+		databaseHelper.qaHelper.registerVoteForReview(reviewId, 3, 1);
+
+		assertEquals(Integer.valueOf(2), databaseHelper.qaHelper.getReviewCountForReviewer(1));
+		assertEquals(Integer.valueOf(3), databaseHelper.qaHelper.getVoteCountForReviewer(1));
+		assertEquals(Integer.valueOf(1), databaseHelper.qaHelper.getReviewerRating(1));
+	}
+
+	/**
+	 * Checks that the stats stay equal to the counts from the review table through
+	 * writing, voting on and deleting reviews.
+	 *
+	 * @throws SQLException	In case the database throws an error
+	 *
+	 */
+	@Test
+	public void testStatsFollowReviews() throws SQLException {
+		databaseHelper.qaHelper.registerReview(new Review(true, 7, "Another review by user two", 2));
+		int reviewId = databaseHelper.qaHelper.getReview("Another review by user two").getId();
+		databaseHelper.qaHelper.registerVoteForReview(reviewId, 5, 1);
+		databaseHelper.qaHelper.registerVoteForReview(reviewId, 6, 1);
+		databaseHelper.qaHelper.registerVoteForReview(2, 5, -1);
+		assertStatsMatch();
+
+		assertTrue(databaseHelper.qaHelper.deleteReview(reviewId));
+		assertStatsMatch();
+
+		databaseHelper.qaHelper.rebuildReviewerStats();
+		assertStatsMatch();
+	}
+
+	/**
+	 * Checks that the leaderboard lists reviewers by rating, then by vote sum, and
+	 * returns no more than asked for.
+	 *
+	 * @throws SQLException	In case the database throws an error
+	 *
+	 */
+	@Test
+	public void testTopReviewers() throws SQLException {
+		for (int user = 10; user < 13; user++) {
+			databaseHelper.qaHelper.registerVoteForReview(3, user, 1);
+		}
+		databaseHelper.qaHelper.registerVoteForReview(4, 10, 1);
+		databaseHelper.qaHelper.registerVoteForReview(5, 10, -1);
+
+		List<ReviewerStats> top = databaseHelper.qaHelper.getTopReviewers(2);
+		assertEquals(2, top.size());
+		assertEquals(3, top.get(0).getReviewer().getUserId());
+		assertEquals(3, top.get(0).getRating());
+		assertEquals(4, top.get(1).getReviewer().getUserId());
+
+		List<ReviewerStats> all = databaseHelper.qaHelper.getTopReviewers(100);
+		for (int i = 1; i < all.size(); i++) {
+			assertTrue(all.get(i - 1).getRating() >= all.get(i).getRating());
+		}
+		assertEquals(5, all.get(all.size() - 1).getReviewer().getUserId());
+	}
+
+	/**
+	 * Checks that every user with the Reviewer role is listed by rating, with
+	 * the reviewers who have no reviews rated 0.
+	 *
+	 * @throws SQLException	In case the database throws an error
+	 *
+	 */
+	@Test
+	public void testReviewersByRating() throws SQLException {
+		for (int user = 10; user < 13; user++) {
+			databaseHelper.qaHelper.registerVoteForReview(3, user, 1);
+		}
+
+		List<ReviewerStats> reviewers = databaseHelper.getReviewersByRating();
+		assertFalse(reviewers.isEmpty());
+		assertEquals(databaseHelper.getAllUsersWithRole("Reviewer").size(), reviewers.size());
+		for (int i = 1; i < reviewers.size(); i++) {
+			assertTrue(reviewers.get(i - 1).getRating() >= reviewers.get(i).getRating());
+		}
+		for (ReviewerStats stats : reviewers) {
+			int reviewerId = stats.getReviewer().getUserId();
+			assertTrue(stats.getReviewer().getRoles().contains("Reviewer"));
+			assertEquals(databaseHelper.qaHelper.getReviewerRating(reviewerId).intValue(), stats.getRating());
+		}
+	}
+
+	/**
+	 * Checks that every ranked reviewer's stats equal the counts from the review table
+	 */
+	private static void assertStatsMatch() throws SQLException {
+		for (ReviewerStats stats : databaseHelper.qaHelper.getTopReviewers(100)) {
+			int reviewerId = stats.getReviewer().getUserId();
+			assertEquals(databaseHelper.qaHelper.getReviewCountForReviewer(reviewerId).intValue(),
+					stats.getReviewCount());
+			assertEquals(databaseHelper.qaHelper.getVoteCountForReviewer(reviewerId).intValue(), stats.getVoteSum());
+			assertEquals(databaseHelper.qaHelper.getReviewerRating(reviewerId).intValue(), stats.getRating());
+		}
+	}
+}
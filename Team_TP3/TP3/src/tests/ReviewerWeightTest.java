@@ -23,8 +23,8 @@ public class ReviewerWeightTest {
     @BeforeClass
     public static void setUpClass() throws SQLException {
         // Initialize the DatabaseHelper and connect to the database.
-        dbHelper = new DatabaseHelper();
-        dbHelper.connectToDatabase();
+        dbHelper = new DatabaseHelper(DatabaseQueries.TEST_DB_URL);
+        dbHelper.resetDatabase();
 
         // Run your populate file to set up the user database.
         new PopulateUserDatabase(dbHelper).execute();
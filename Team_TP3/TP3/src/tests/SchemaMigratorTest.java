@@ -0,0 +1,108 @@
+package tests;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import application.Question;
+import databasePart1.DatabaseHelper;
+import databasePart1.SchemaMigrator;
+
+/**
+ * <p>
+ * Test of the schema migrations.
+ * </p>
+ * <p>
+ * A test of how the database is brought up to date on startup: every step is
+ * recorded once, connecting again keeps the data and applies nothing, and a
+ * failed step is left to be tried again.
+ * </p>
+ * @author CSE360 Team 8
+ *
+ * @version 0.00 2025-04-20 - Initial baseline
+ *
+ */
+public class SchemaMigratorTest {
+	/**
+	 * Object to access the database
+	 */
+	private static final DatabaseHelper databaseHelper = new DatabaseHelper(DatabaseQueries.TEST_DB_URL);
+
+	/**
+	 * Default constructor
+	 */
+	public SchemaMigratorTest() {
+	}
+
+	/**
+	 * Resets the database before every test
+	 *
+	 * @throws SQLException	In case the database throws an error
+	 *
+	 */
+	@Before
+	public void setUp() throws SQLException {
+		databaseHelper.resetDatabase();
+	}
+
+	/**
+	 * Checks that a reset database has every step applied, and that connecting
+	 * again applies nothing and keeps what was written.
+	 *
+	 * @throws SQLException	In case the database throws an error
+	 *
+	 */
+	@Test
+	public void testConnectKeepsData() throws SQLException {
+		SchemaMigrator migrator = databaseHelper.getSchemaMigrator();
+		Set<Integer> applied = migrator.getAppliedVersions(databaseHelper.getConnectionPool().connection());
+		assertEquals(12, migrator.getLatestVersion());
+		assertEquals(12, applied.size());
+
+		int users = databaseHelper.getAllUsers().size();
+		databaseHelper.qaHelper.registerQuestion(new Question("Kept across launches", "Still here?", 3));
+		DatabaseHelper relaunched = new DatabaseHelper(DatabaseQueries.TEST_DB_URL);
+		relaunched.connectToDatabase();
+
+		assertEquals(0, relaunched.migrateSchema());
+		assertNotNull(relaunched.qaHelper.getQuestion("Kept across launches"));
+		assertEquals(users, relaunched.getAllUsers().size());
+	}
+
+	/**
+	 * Checks that steps run in version order, that a failed step is not recorded,
+	 * and that versions must be unique.
+	 *
+	 * @throws SQLException	In case the database throws an error
+	 *
+	 */
+	@Test
+	public void testStepOrderAndFailure() throws SQLException {
+		List<Integer> ran = new ArrayList<>();
+		boolean[] fail = { true };
+		SchemaMigrator migrator = new SchemaMigrator()
+				.add(1002, "Third", () -> {
+					if (fail[0]) {
+						throw new SQLException("Step failed");
+					}
+					ran.add(1002);
+				})
+				.add(1000, "First", () -> ran.add(1000))
+				.add(1001, "Second", () -> ran.add(1001));
+		assertThrows(IllegalArgumentException.class, () -> migrator.add(1001, "Again", () -> {
+		}));
+
+		assertThrows(SQLException.class, () -> migrator.migrate(databaseHelper.getConnectionPool().connection()));
+		assertEquals(List.of(1000, 1001), ran);
+
+		fail[0] = false;
+		assertEquals(1, migrator.migrate(databaseHelper.getConnectionPool().connection()));
+		assertEquals(0, migrator.migrate(databaseHelper.getConnectionPool().connection()));
+		assertEquals(List.of(1000, 1001, 1002), ran);
+	}
+}
@@ -49,7 +49,7 @@ public class SearchEvaluationTestingAutomation {
 	 * 
 	 * Variables to hold various data necessary for each test to be performed.
 	 */
-	private static final DatabaseHelper databaseHelper = new DatabaseHelper(); // Object to access database
+	private static final DatabaseHelper databaseHelper = new DatabaseHelper(DatabaseQueries.TEST_DB_URL); // Object to access database
 	static int numPassed = 0; 												   // Number of tests passed
 	static int numFailed = 0; 												   // Number of tests failed
 	private static Question searchResult; 									   // Holds the first(most similar) question object
@@ -74,7 +74,7 @@ public class SearchEvaluationTestingAutomation {
 
 		// Connect to the database
 		try {
-			databaseHelper.connectToDatabase();
+			databaseHelper.resetDatabase();
 		} catch (SQLException e) {
 			System.out.println(e.getMessage());
 		}
@@ -350,7 +350,7 @@ public class SearchEvaluationTestingAutomation {
 	 */
 	@Before
 	public void setUp() throws SQLException {
-		databaseHelper.connectToDatabase();
+		databaseHelper.resetDatabase();
 	}
 	
 	/**
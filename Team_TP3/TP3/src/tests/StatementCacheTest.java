@@ -0,0 +1,158 @@
+package tests;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import databasePart1.StatementCache;
+
+/**
+ * <p>
+ * Test of the prepared statement cache.
+ * </p>
+ * <p>
+ * A test of how a connection's prepared statements are reused, evicted and
+ * counted. It uses a private in-memory database so it does not touch the
+ * application database.
+ * </p>
+ * @author CSE360 Team 8
+ *
+ * @version 0.00 2025-04-20 - Initial baseline
+ *
+ */
+public class StatementCacheTest {
+	/**
+	 * Connection the cached statements belong to
+	 */
+	private Connection connection;
+
+	/**
+	 * Cache under test, holding at most two statements
+	 */
+	private StatementCache cache;
+
+	/**
+	 * Default constructor
+	 */
+	public StatementCacheTest() {
+	}
+
+	/**
+	 * Opens a fresh database and cache before every test.
+	 *
+	 * @throws SQLException	In case the database throws an error
+	 *
+	 */
+	@Before
+	public void setUp() throws SQLException {
+		connection = DriverManager.getConnection("jdbc:h2:mem:cachetest", "sa", "");
+		try (Statement statement = connection.createStatement()) {
+			statement.execute("CREATE TABLE item (id INT PRIMARY KEY, name VARCHAR(50))");
+			statement.execute("INSERT INTO item VALUES (1, 'one'), (2, 'two')");
+		}
+		cache = new StatementCache(connection, 2);
+	}
+
+	/**
+	 * Closes the cache and the database after every test.
+	 *
+	 * @throws SQLException	In case the database throws an error
+	 *
+	 */
+	@After
+	public void tearDown() throws SQLException {
+		cache.close();
+		connection.close();
+	}
+
+	/**
+	 * Checks that preparing the same SQL twice reuses the statement and that its
+	 * parameters are cleared in between.
+	 *
+	 * @throws SQLException	In case the database throws an error
+	 *
+	 */
+	@Test
+	public void testRepeatedSqlIsAHit() throws SQLException {
+		String sql = "SELECT name FROM item WHERE id = ?";
+		assertEquals("one", queryName(sql, 1));
+		assertEquals("two", queryName(sql, 2));
+
+		assertEquals(1, cache.getHits());
+		assertEquals(1, cache.getMisses());
+		assertEquals(1, cache.size());
+
+		try (PreparedStatement pstmt = cache.prepare(sql)) {
+			// The parameter set by the last use must not carry over
+			assertThrows(SQLException.class, pstmt::executeQuery);
+		}
+	}
+
+	/**
+	 * Checks that the same SQL used again while its statement is still open gets
+	 * a separate statement.
+	 *
+	 * @throws SQLException	In case the database throws an error
+	 *
+	 */
+	@Test
+	public void testNestedUseGetsSeparateStatement() throws SQLException {
+		String sql = "SELECT name FROM item WHERE id = ?";
+		try (PreparedStatement outer = cache.prepare(sql)) {
+			outer.setInt(1, 1);
+			try (ResultSet rs = outer.executeQuery()) {
+				assertTrue(rs.next());
+				assertEquals("two", queryName(sql, 2));
+				assertEquals("one", rs.getString("name"));
+			}
+		}
+
+		assertEquals(0, cache.getHits());
+		assertEquals(2, cache.getMisses());
+		assertEquals("one", queryName(sql, 1));
+		assertEquals(1, cache.getHits());
+	}
+
+	/**
+	 * Checks that the least recently used statement is evicted and closed once
+	 * the cache is full.
+	 *
+	 * @throws SQLException	In case the database throws an error
+	 *
+	 */
+	@Test
+	public void testLeastRecentlyUsedIsEvicted() throws SQLException {
+		PreparedStatement first = cache.prepare("SELECT 1");
+		PreparedStatement firstStatement = first.unwrap(PreparedStatement.class);
+		first.close();
+		cache.prepare("SELECT 2").close();
+		cache.prepare("SELECT 3").close();
+
+		assertEquals(2, cache.size());
+		assertTrue(firstStatement.isClosed());
+
+		cache.prepare("SELECT 1").close();
+		assertEquals(0, cache.getHits());
+		assertEquals(4, cache.getMisses());
+	}
+
+	/**
+	 * Runs a cached name lookup and returns the name found
+	 */
+	private String queryName(String sql, int id) throws SQLException {
+		try (PreparedStatement pstmt = cache.prepare(sql)) {
+			pstmt.setInt(1, id);
+			try (ResultSet rs = pstmt.executeQuery()) {
+				return rs.next() ? rs.getString("name") : null;
+			}
+		}
+	}
+}
@@ -0,0 +1,608 @@
+package tests;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+
+import databasePart1.DatabaseHelper;
+import databasePart1.IdBitmap;
+
+/**
+ * <p>
+ * Fills the database with a large, repeatable synthetic data set for scale
+ * testing and benchmarks.
+ * </p>
+ * <p>
+ * Users, questions, nested answers, reviews, review votes, messages and read
+ * answers are generated from a seeded random source, so the same settings on
+ * the same database always give the same rows. Which users post, which
+ * questions get answered and which reviews get voted on follow a Zipf
+ * distribution, so a few are very popular and most are rarely touched, as in a
+ * real class forum. Rows are written straight through JDBC in batches, with the
+ * new ids read back from the generated keys, and each batch is committed as
+ * it goes, so a failure part way leaves the batches written before it. The
+ * reviewer stats and message counts are rebuilt and the caches reloaded once
+ * everything is written.
+ * </p>
+ * @author CSE360 Team 8
+ *
+ * @version 0.00 2025-04-20 - Initial baseline
+ *
+ */
+public class SyntheticDataGenerator {
+	/**
+	 * How many rows of each kind to generate, and how they are spread
+	 */
+	public static class Settings {
+		private int users = 1000;
+		private int questions = 10000;
+		private int answers = 100000;
+		private int reviews = 10000;
+		private int votes = 50000;
+		private int messages = 20000;
+		private int reads = 100000;
+		private double zipfExponent = 1.0;
+		private double nestedAnswerRate = 0.3;
+		private long seed = 360;
+		private int batchSize = 5000;
+
+		/**
+		 * Default settings: 10,000 questions with 100,000 answers
+		 */
+		public Settings() {
+		}
+
+		/**
+		 * Settings scaled to a number of questions, with ten answers, one review,
+		 * five votes, two messages and ten read answers per question and one user
+		 * per ten questions
+		 *
+		 * @param questions 	The number of questions to generate
+		 *
+		 * @return 				The settings
+		 *
+		 */
+		public static Settings forQuestions(int questions) {
+			return new Settings().users(Math.max(10, questions / 10)).questions(questions).answers(questions * 10)
+					.reviews(questions).votes(questions * 5).messages(questions * 2).reads(questions * 10);
+		}
+
+		/**
+		 * @param users 	The number of users to generate
+		 * @return 			These settings
+		 */
+		public Settings users(int users) {
+			this.users = users;
+			return this;
+		}
+
+		/**
+		 * @param questions 	The number of questions to generate
+		 * @return 				These settings
+		 */
+		public Settings questions(int questions) {
+			this.questions = questions;
+			return this;
+		}
+
+		/**
+		 * @param answers 	The number of answers to generate
+		 * @return 			These settings
+		 */
+		public Settings answers(int answers) {
+			this.answers = answers;
+			return this;
+		}
+
+		/**
+		 * @param reviews 	The number of reviews to generate
+		 * @return 			These settings
+		 */
+		public Settings reviews(int reviews) {
+			this.reviews = reviews;
+			return this;
+		}
+
+		/**
+		 * @param votes 	The number of review votes to try to generate. Repeat votes by the
+		 * 					same user on the same review are dropped, so slightly fewer are written
+		 * @return 			These settings
+		 */
+		public Settings votes(int votes) {
+			this.votes = votes;
+			return this;
+		}
+
+		/**
+		 * @param messages 	The number of messages to generate, about one in twenty of them reports
+		 * @return 			These settings
+		 */
+		public Settings messages(int messages) {
+			this.messages = messages;
+			return this;
+		}
+
+		/**
+		 * @param reads 	The number of read answers to try to generate. Repeats are dropped
+		 * @return 			These settings
+		 */
+		public Settings reads(int reads) {
+			this.reads = reads;
+			return this;
+		}
+
+		/**
+		 * @param zipfExponent 	How skewed popularity is: 0 for uniform, around 1 for a typical forum
+		 * @return 				These settings
+		 */
+		public Settings zipfExponent(double zipfExponent) {
+			this.zipfExponent = zipfExponent;
+			return this;
+		}
+
+		/**
+		 * @param nestedAnswerRate 	The share of answers that reply to another answer rather than a question
+		 * @return 					These settings
+		 */
+		public Settings nestedAnswerRate(double nestedAnswerRate) {
+			this.nestedAnswerRate = nestedAnswerRate;
+			return this;
+		}
+
+		/**
+		 * @param seed 		The random seed. The same seed gives the same data
+		 * @return 			These settings
+		 */
+		public Settings seed(long seed) {
+			this.seed = seed;
+			return this;
+		}
+
+		/**
+		 * @param batchSize 	The rows written and committed per batch. Nested answers only reply
+		 * 						to answers from earlier batches
+		 * @return 				These settings
+		 */
+		public Settings batchSize(int batchSize) {
+			this.batchSize = batchSize;
+			return this;
+		}
+	}
+
+	/**
+	 * Picks ranks 0 to n - 1 with probability proportional to 1 / (rank + 1)^s,
+	 * so rank 0 is the most popular
+	 */
+	static final class Zipf {
+		private final double[] cumulative;
+
+		Zipf(int n, double exponent) {
+			cumulative = new double[Math.max(n, 1)];
+			double sum = 0;
+			for (int i = 0; i < cumulative.length; i++) {
+				sum += 1 / Math.pow(i + 1, exponent);
+				cumulative[i] = sum;
+			}
+		}
+
+		int sample(Random random) {
+			return sample(random, cumulative.length);
+		}
+
+		// Samples from only the first limit ranks, for sets that grow as they are written
+		int sample(Random random, int limit) {
+			double target = random.nextDouble() * cumulative[limit - 1];
+			int index = Arrays.binarySearch(cumulative, 0, limit, target);
+			return index >= 0 ? index : -index - 1;
+		}
+	}
+
+	// Share of users who are also reviewers and write the reviews
+	private static final int REVIEWER_EVERY = 10;
+
+	// Message times are spread over the year after this
+	private static final LocalDateTime EPOCH = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+	private static final String[] WORDS = { "uml", "diagram", "class", "homework", "team", "project", "phase",
+			"database", "table", "query", "java", "javafx", "test", "junit", "user", "story", "review", "answer",
+			"question", "deadline", "grade", "rubric", "screencast", "github", "merge", "branch", "design", "sequence",
+			"crud", "login", "password", "role", "admin", "instructor", "student", "staff", "message", "inbox",
+			"search", "index", "cache", "thread", "bug", "error", "exception", "build", "submit", "canvas", "lecture",
+			"exam" };
+
+	private final DatabaseHelper databaseHelper;
+	private final Settings settings;
+
+	private Random random;
+	private Connection connection;
+
+	/**
+	 * Creates a generator
+	 *
+	 * @param databaseHelper 	The helper whose database is filled
+	 * @param settings 			How much to generate
+	 *
+	 */
+	public SyntheticDataGenerator(DatabaseHelper databaseHelper, Settings settings) {
+		this.databaseHelper = databaseHelper;
+		this.settings = settings;
+	}
+
+	/**
+	 * Generates the data set and writes it to the database
+	 *
+	 * @return 					The number of rows written for users, questions, answers, reviews,
+	 * 							votes, messages and read answers, in that order
+	 *
+	 * @throws SQLException 	In case the database throws an error
+	 *
+	 */
+	public Map<String, Integer> generate() throws SQLException {
+		long start = System.nanoTime();
+		random = new Random(settings.seed);
+		connection = databaseHelper.getConnectionPool().connection();
+		Map<String, Integer> rows = new LinkedHashMap<>();
+
+		boolean autoCommit = connection.getAutoCommit();
+		connection.setAutoCommit(false);
+		try {
+			int[] userIds = insertUsers();
+			rows.put("users", userIds.length);
+			int[] questionIds = insertQuestions(userIds);
+			rows.put("questions", questionIds.length);
+			int[] answerIds = insertAnswers(userIds, questionIds);
+			rows.put("answers", answerIds.length);
+			int[] reviewsAndVotes = insertReviews(userIds, questionIds, answerIds);
+			rows.put("reviews", reviewsAndVotes[0]);
+			rows.put("votes", reviewsAndVotes[1]);
+			rows.put("messages", insertMessages(userIds, questionIds));
+			rows.put("reads", insertReads(userIds, answerIds));
+		} finally {
+			connection.setAutoCommit(autoCommit);
+		}
+
+		// Bring the derived tables and the in-memory caches and search index up to date
+		databaseHelper.qaHelper.rebuildReviewerStats();
+		databaseHelper.qaHelper.rebuildMessageCounts();
+		databaseHelper.migrateSchema();
+
+		System.out.println("Generated " + rows + " in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+		return rows;
+	}
+
+	/**
+	 * Inserts the users. One in every REVIEWER_EVERY is also a reviewer.
+	 */
+	private int[] insertUsers() throws SQLException {
+		String query = "INSERT INTO cse360users (userName, name, password, email, otp) VALUES (?, ?, ?, ?, FALSE)";
+		String roleQuery = "INSERT INTO cse360user_roles (user_id, role, position) VALUES (?, ?, ?)";
+		int[] ids = new int[settings.users];
+		try (PreparedStatement pstmt = connection.prepareStatement(query, Statement.RETURN_GENERATED_KEYS)) {
+			int written = 0;
+			for (int i = 0; i < settings.users; i++) {
+				String userName = "synth" + settings.seed + "_" + i;
+				pstmt.setString(1, userName);
+				pstmt.setString(2, "Synthetic " + i);
+				pstmt.setString(3, "Password8*");
+				pstmt.setString(4, userName + "@example.com");
+				pstmt.addBatch();
+				if ((i + 1) % settings.batchSize == 0 || i + 1 == settings.users) {
+					written = executeBatch(pstmt, ids, written);
+				}
+			}
+		}
+
+		try (PreparedStatement pstmt = connection.prepareStatement(roleQuery)) {
+			for (int i = 0; i < settings.users; i++) {
+				addRole(pstmt, ids[i], "Student", 0);
+				if (isReviewer(i)) {
+					addRole(pstmt, ids[i], "Reviewer", 1);
+				}
+				if ((i + 1) % settings.batchSize == 0 || i + 1 == settings.users) {
+					executeBatch(pstmt, null, 0);
+				}
+			}
+		}
+		return ids;
+	}
+
+	private static void addRole(PreparedStatement pstmt, int userId, String role, int position) throws SQLException {
+		pstmt.setInt(1, userId);
+		pstmt.setString(2, role);
+		pstmt.setInt(3, position);
+		pstmt.addBatch();
+	}
+
+	/**
+	 * Inserts the questions, asked by users picked by popularity
+	 */
+	private int[] insertQuestions(int[] userIds) throws SQLException {
+		String query = "INSERT INTO cse360question (title, text, author) VALUES (?, ?, ?)";
+		Zipf authors = new Zipf(userIds.length, settings.zipfExponent);
+		int[] ids = new int[settings.questions];
+		try (PreparedStatement pstmt = connection.prepareStatement(query, Statement.RETURN_GENERATED_KEYS)) {
+			int written = 0;
+			for (int i = 0; i < settings.questions; i++) {
+				pstmt.setString(1, "Question " + i + " about " + words(4));
+				pstmt.setString(2, words(30));
+				pstmt.setInt(3, userIds[authors.sample(random)]);
+				pstmt.addBatch();
+				if ((i + 1) % settings.batchSize == 0 || i + 1 == settings.questions) {
+					written = executeBatch(pstmt, ids, written);
+				}
+			}
+		}
+		return ids;
+	}
+
+	/**
+	 * Inserts the answers and their relations. Each answer replies to a popular
+	 * question, or to an answer from an earlier batch so its id is already known,
+	 * and shares the root question of what it replies to.
+	 */
+	private int[] insertAnswers(int[] userIds, int[] questionIds) throws SQLException {
+		String query = "INSERT INTO cse360answer (text, author, root_question_id) VALUES (?, ?, ?)";
+		String relationQuery = "INSERT INTO cse360qa_relation (parent_type, parent_id, child_id) VALUES (?, ?, ?)";
+		Zipf authors = new Zipf(userIds.length, settings.zipfExponent);
+		Zipf questions = new Zipf(questionIds.length, settings.zipfExponent);
+		Zipf answers = new Zipf(settings.answers, settings.zipfExponent);
+		int[] ids = new int[settings.answers];
+		int[] roots = new int[settings.answers];
+		char[] parentTypes = new char[settings.batchSize];
+		int[] parentIds = new int[settings.batchSize];
+
+		try (PreparedStatement pstmt = connection.prepareStatement(query, Statement.RETURN_GENERATED_KEYS);
+				PreparedStatement rstmt = connection.prepareStatement(relationQuery)) {
+			int written = 0;
+			while (written < settings.answers) {
+				int batch = Math.min(settings.batchSize, settings.answers - written);
+				for (int b = 0; b < batch; b++) {
+					int i = written + b;
+					if (written > 0 && random.nextDouble() < settings.nestedAnswerRate) {
+						int parent = answers.sample(random, written);
+						parentTypes[b] = 'a';
+						parentIds[b] = ids[parent];
+						roots[i] = roots[parent];
+					} else {
+						parentTypes[b] = 'q';
+						parentIds[b] = questionIds[questions.sample(random)];
+						roots[i] = parentIds[b];
+					}
+					pstmt.setString(1, words(20));
+					pstmt.setInt(2, userIds[authors.sample(random)]);
+					pstmt.setInt(3, roots[i]);
+					pstmt.addBatch();
+				}
+				pstmt.executeBatch();
+				readKeys(pstmt, ids, written);
+
+				for (int b = 0; b < batch; b++) {
+					rstmt.setString(1, String.valueOf(parentTypes[b]));
+					rstmt.setInt(2, parentIds[b]);
+					rstmt.setInt(3, ids[written + b]);
+					rstmt.addBatch();
+				}
+				rstmt.executeBatch();
+				connection.commit();
+				written += batch;
+			}
+		}
+		return ids;
+	}
+
+	/**
+	 * Inserts the reviews and the vote ledger. The votes are drawn first so each
+	 * review is written with the total of its ledger rows.
+	 *
+	 * @return the number of reviews and of votes written
+	 */
+	private int[] insertReviews(int[] userIds, int[] questionIds, int[] answerIds) throws SQLException {
+		String query = "INSERT INTO cse360review (forQuestion, relatedId, text, author, vote) VALUES (?, ?, ?, ?, ?)";
+		String voteQuery = "INSERT INTO cse360reviewvote (review_id, user_id, vote) VALUES (?, ?, ?)";
+		Zipf questions = new Zipf(questionIds.length, settings.zipfExponent);
+		Zipf answers = new Zipf(answerIds.length, settings.zipfExponent);
+		Zipf reviewers = new Zipf(Math.max(1, (userIds.length + REVIEWER_EVERY - 1) / REVIEWER_EVERY),
+				settings.zipfExponent);
+		Zipf popularReviews = new Zipf(settings.reviews, settings.zipfExponent);
+
+		// Draw the votes, at most one per user per review
+		int[] voteReview = new int[settings.votes];
+		int[] voteUser = new int[settings.votes];
+		int[] voteValue = new int[settings.votes];
+		int[] totals = new int[settings.reviews];
+		Set<Long> voted = new HashSet<>();
+		int voteCount = 0;
+		for (int v = 0; v < settings.votes && settings.reviews > 0; v++) {
+			int review = popularReviews.sample(random);
+			int user = random.nextInt(userIds.length);
+			if (voted.add((long) review * userIds.length + user)) {
+				voteReview[voteCount] = review;
+				voteUser[voteCount] = user;
+				voteValue[voteCount] = random.nextInt(5) == 0 ? -1 : 1;
+				totals[review] += voteValue[voteCount];
+				voteCount++;
+			}
+		}
+
+		int[] ids = new int[settings.reviews];
+		try (PreparedStatement pstmt = connection.prepareStatement(query, Statement.RETURN_GENERATED_KEYS);
+				PreparedStatement vstmt = connection.prepareStatement(voteQuery)) {
+			int written = 0;
+			for (int i = 0; i < settings.reviews; i++) {
+				boolean forQuestion = answerIds.length == 0 || random.nextBoolean();
+				pstmt.setBoolean(1, forQuestion);
+				pstmt.setInt(2, forQuestion ? questionIds[questions.sample(random)] : answerIds[answers.sample(random)]);
+				pstmt.setString(3, "Review: " + words(15));
+				pstmt.setInt(4, userIds[reviewers.sample(random) * REVIEWER_EVERY]);
+				pstmt.setInt(5, totals[i]);
+				pstmt.addBatch();
+				if ((i + 1) % settings.batchSize == 0 || i + 1 == settings.reviews) {
+					written = executeBatch(pstmt, ids, written);
+				}
+			}
+
+			for (int v = 0; v < voteCount; v++) {
+				vstmt.setInt(1, ids[voteReview[v]]);
+				vstmt.setInt(2, userIds[voteUser[v]]);
+				vstmt.setInt(3, voteValue[v]);
+				vstmt.addBatch();
+				if ((v + 1) % settings.batchSize == 0 || v + 1 == voteCount) {
+					executeBatch(vstmt, null, 0);
+				}
+			}
+		}
+		return new int[] { settings.reviews, voteCount };
+	}
+
+	/**
+	 * Inserts the messages, sent mostly by popular users to anyone, spread over a
+	 * year. About one in twenty is a report and half of the rest have been read.
+	 */
+	private int insertMessages(int[] userIds, int[] questionIds) throws SQLException {
+		String query = "INSERT INTO cse360message (senderid, recipientid, subject, message, referenceId, referenceType, "
+				+ "isreport, isread, createdon, updatedon) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+		Zipf senders = new Zipf(userIds.length, settings.zipfExponent);
+		Zipf questions = new Zipf(Math.max(1, questionIds.length), settings.zipfExponent);
+		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+			for (int i = 0; i < settings.messages; i++) {
+				boolean isReport = random.nextInt(20) == 0;
+				Timestamp sent = Timestamp.valueOf(EPOCH.plusSeconds(random.nextInt(365 * 24 * 60 * 60)));
+				pstmt.setInt(1, userIds[senders.sample(random)]);
+				pstmt.setInt(2, userIds[random.nextInt(userIds.length)]);
+				pstmt.setString(3, (isReport ? "Report: " : "About ") + words(3));
+				pstmt.setString(4, words(25));
+				pstmt.setInt(5, questionIds.length > 0 ? questionIds[questions.sample(random)] : 0);
+				pstmt.setString(6, "q");
+				pstmt.setBoolean(7, isReport);
+				pstmt.setBoolean(8, !isReport && random.nextBoolean());
+				pstmt.setTimestamp(9, sent);
+				pstmt.setTimestamp(10, sent);
+				pstmt.addBatch();
+				if ((i + 1) % settings.batchSize == 0 || i + 1 == settings.messages) {
+					executeBatch(pstmt, null, 0);
+				}
+			}
+		}
+		return settings.messages;
+	}
+
+	/**
+	 * Marks popular answers as read by random users, one bitmap row per user
+	 *
+	 * @return the number of distinct read answers written
+	 */
+	private int insertReads(int[] userIds, int[] answerIds) throws SQLException {
+		if (answerIds.length == 0) {
+			return 0;
+		}
+		Zipf answers = new Zipf(answerIds.length, settings.zipfExponent);
+		Map<Integer, IdBitmap> bitmaps = new TreeMap<>();
+		for (int r = 0; r < settings.reads; r++) {
+			int userId = userIds[random.nextInt(userIds.length)];
+			bitmaps.computeIfAbsent(userId, id -> new IdBitmap()).add(answerIds[answers.sample(random)]);
+		}
+
+		String query = "INSERT INTO cse360answerreads (user_id, answer_ids) VALUES (?, ?)";
+		int reads = 0;
+		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+			int pending = 0;
+			for (Map.Entry<Integer, IdBitmap> entry : bitmaps.entrySet()) {
+				pstmt.setInt(1, entry.getKey());
+				pstmt.setBytes(2, entry.getValue().toBytes());
+				pstmt.addBatch();
+				reads += entry.getValue().cardinality();
+				if (++pending == settings.batchSize) {
+					executeBatch(pstmt, null, 0);
+					pending = 0;
+				}
+			}
+			if (pending > 0) {
+				executeBatch(pstmt, null, 0);
+			}
+		}
+		return reads;
+	}
+
+	/**
+	 * Runs a batch, copies its generated keys into ids from offset if ids is not
+	 * null, and commits
+	 *
+	 * @return the offset after the keys read
+	 */
+	private int executeBatch(PreparedStatement pstmt, int[] ids, int offset) throws SQLException {
+		pstmt.executeBatch();
+		if (ids != null) {
+			offset = readKeys(pstmt, ids, offset);
+		}
+		connection.commit();
+		return offset;
+	}
+
+	/**
+	 * Copies the keys generated by the last batch into ids from offset
+	 *
+	 * @return the offset after the keys read
+	 */
+	private static int readKeys(PreparedStatement pstmt, int[] ids, int offset) throws SQLException {
+		try (ResultSet keys = pstmt.getGeneratedKeys()) {
+			while (keys.next()) {
+				ids[offset++] = keys.getInt(1);
+			}
+		}
+		return offset;
+	}
+
+	/**
+	 * Returns whether the user at an index is a reviewer
+	 */
+	private static boolean isReviewer(int index) {
+		return index % REVIEWER_EVERY == 0;
+	}
+
+	/**
+	 * Returns a run of random words
+	 */
+	private String words(int count) {
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < count; i++) {
+			if (i > 0) {
+				text.append(' ');
+			}
+			text.append(WORDS[random.nextInt(WORDS.length)]);
+		}
+		return text.toString();
+	}
+
+	/**
+	 * Connects to the database and generates a data set scaled to the number of
+	 * questions given as the first argument, 100,000 by default
+	 *
+	 * @param args 				The number of questions, and optionally the random seed
+	 *
+	 * @throws SQLException 	In case the database throws an error
+	 *
+	 */
+	public static void main(String[] args) throws SQLException {
+		int questions = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+		Settings settings = Settings.forQuestions(questions);
+		if (args.length > 1) {
+			settings.seed(Long.parseLong(args[1]));
+		}
+
+		DatabaseHelper databaseHelper = new DatabaseHelper();
+		databaseHelper.connectToDatabase();
+		new SyntheticDataGenerator(databaseHelper, settings).generate();
+		databaseHelper.closeConnection();
+	}
+}
@@ -0,0 +1,143 @@
+package tests;
+
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+import static tests.DatabaseQueries.count;
+import org.junit.Before;
+import org.junit.Test;
+
+import databasePart1.DatabaseHelper;
+
+/**
+ * <p>
+ * Test of the synthetic data generator.
+ * </p>
+ * <p>
+ * A test that a small generated data set writes the rows it reports, keeps the
+ * review vote totals, reviewer stats and message counts consistent with the
+ * rows they summarize, and comes out the same for the same seed.
+ * </p>
+ * @author CSE360 Team 8
+ *
+ * @version 0.00 2025-04-20 - Initial baseline
+ *
+ */
+public class SyntheticDataGeneratorTest {
+	/**
+	 * Object to access the database
+	 */
+	private static final DatabaseHelper databaseHelper = new DatabaseHelper(DatabaseQueries.TEST_DB_URL);
+
+	/**
+	 * Default constructor
+	 */
+	public SyntheticDataGeneratorTest() {
+	}
+
+	/**
+	 * Resets the database before every test
+	 *
+	 * @throws SQLException	In case the database throws an error
+	 *
+	 */
+	@Before
+	public void setUp() throws SQLException {
+		databaseHelper.resetDatabase();
+	}
+
+	/**
+	 * Checks the rows written against the counts reported, and that every answer
+	 * has a relation and root question and every derived table matches its source.
+	 *
+	 * @throws SQLException	In case the database throws an error
+	 *
+	 */
+	@Test
+	public void testRowsAreConsistent() throws SQLException {
+		int users = count(databaseHelper, "SELECT COUNT(*) FROM cse360users");
+		int answers = count(databaseHelper, "SELECT COUNT(*) FROM cse360answer");
+		Map<String, Integer> rows = new SyntheticDataGenerator(databaseHelper, settings(7)).generate();
+
+		assertEquals(60, (int) rows.get("users"));
+		assertEquals(users + 60, count(databaseHelper, "SELECT COUNT(*) FROM cse360users"));
+		assertEquals(answers + 1500, count(databaseHelper, "SELECT COUNT(*) FROM cse360answer"));
+		assertTrue(rows.get("votes") > 0 && rows.get("votes") <= 900);
+		assertTrue(rows.get("reads") > 0 && rows.get("reads") <= 1200);
+
+		assertEquals(0, count(databaseHelper, "SELECT COUNT(*) FROM cse360answer a WHERE a.root_question_id IS NULL "
+				+ "OR NOT EXISTS (SELECT 1 FROM cse360qa_relation r WHERE r.child_id = a.id)"));
+		assertEquals(0, count(databaseHelper, "SELECT COUNT(*) FROM cse360answer a "
+				+ "JOIN cse360qa_relation r ON r.child_id = a.id "
+				+ "JOIN cse360answer p ON r.parent_type = 'a' AND p.id = r.parent_id "
+				+ "WHERE p.root_question_id <> a.root_question_id"));
+		assertTrue(count(databaseHelper, "SELECT COUNT(*) FROM cse360qa_relation WHERE parent_type = 'a'") > 0);
+		assertEquals(0, count(databaseHelper, "SELECT COUNT(*) FROM cse360review r WHERE r.vote <> "
+				+ "(SELECT COALESCE(SUM(v.vote), 0) FROM cse360reviewvote v WHERE v.review_id = r.id)"));
+		assertEquals(0, count(databaseHelper, "SELECT COUNT(*) FROM cse360reviewerstats s WHERE s.review_count <> "
+				+ "(SELECT COUNT(*) FROM cse360review r WHERE r.author = s.reviewer_id)"));
+		assertEquals(count(databaseHelper,
+				"SELECT COUNT(*) FROM cse360message WHERE isreport = FALSE AND isread = FALSE"),
+				count(databaseHelper, "SELECT SUM(unread) FROM cse360messagecounts"));
+	}
+
+	/**
+	 * Checks that the same seed gives the same data and another seed does not.
+	 *
+	 * @throws SQLException	In case the database throws an error
+	 *
+	 */
+	@Test
+	public void testSameSeedSameData() throws SQLException {
+		new SyntheticDataGenerator(databaseHelper, settings(7)).generate();
+		String first = fingerprint();
+
+		databaseHelper.resetDatabase();
+		new SyntheticDataGenerator(databaseHelper, settings(7)).generate();
+		assertEquals(first, fingerprint());
+
+		databaseHelper.resetDatabase();
+		new SyntheticDataGenerator(databaseHelper, settings(8)).generate();
+		assertNotEquals(first, fingerprint());
+	}
+
+	/**
+	 * Checks that the Zipf sampler favors the first ranks and stays within a
+	 * limit.
+	 */
+	@Test
+	public void testZipfSkew() {
+		SyntheticDataGenerator.Zipf zipf = new SyntheticDataGenerator.Zipf(100, 1.0);
+		Random random = new Random(1);
+		int[] hits = new int[100];
+		for (int i = 0; i < 20000; i++) {
+			hits[zipf.sample(random)]++;
+		}
+		assertTrue(hits[0] > hits[9] * 5);
+		assertTrue(hits[9] > hits[99]);
+		for (int i = 0; i < 1000; i++) {
+			assertTrue(zipf.sample(random, 3) < 3);
+		}
+	}
+
+	/**
+	 * Settings for a small data set
+	 */
+	private static SyntheticDataGenerator.Settings settings(long seed) {
+		return new SyntheticDataGenerator.Settings().users(60).questions(150).answers(1500).reviews(200).votes(900)
+				.messages(400).reads(1200).batchSize(250).seed(seed);
+	}
+
+	/**
+	 * Returns a summary of the generated rows that differs if any of them do
+	 */
+	private static String fingerprint() throws SQLException {
+		return count(databaseHelper, "SELECT SUM(author * 7 + root_question_id) FROM cse360answer") + "/"
+				+ count(databaseHelper, "SELECT SUM(author * 13 + relatedId + vote) FROM cse360review") + "/"
+				+ count(databaseHelper, "SELECT SUM(senderid * 3 + recipientid "
+						+ "+ CASE WHEN isread THEN 1 ELSE 0 END) FROM cse360message")
+				+ "/" + count(databaseHelper, "SELECT SUM(LENGTH(answer_ids)) FROM cse360answerreads");
+	}
+}
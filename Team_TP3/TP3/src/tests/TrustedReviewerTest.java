@@ -0,0 +1,148 @@
+package tests;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import application.User;
+import databasePart1.DatabaseHelper;
+
+/**
+ * <p>
+ * Test of the trusted reviewer lists.
+ * </p>
+ * <p>
+ * A test of how students add, weigh and remove the reviewers they trust, of
+ * finding the students who trust a reviewer, and that deleting a user takes
+ * them out of every list on both sides. User 3, xXAnthonyXx, starts with no
+ * trusted reviewers.
+ * </p>
+ * @author CSE360 Team 8
+ *
+ * @version 0.00 2025-04-20 - Initial baseline
+ *
+ */
+public class TrustedReviewerTest {
+	/**
+	 * Object to access the database
+	 */
+	private static final DatabaseHelper databaseHelper = new DatabaseHelper(DatabaseQueries.TEST_DB_URL);
+
+	// The student building a list, and the users they add to it
+	private User student;
+	private User kyle;
+	private User chris;
+	private User yui;
+
+	/**
+	 * Default constructor
+	 */
+	public TrustedReviewerTest() {
+	}
+
+	/**
+	 * Resets the database before every test
+	 *
+	 * @throws SQLException	In case the database throws an error
+	 *
+	 */
+	@Before
+	public void setUp() throws SQLException {
+		databaseHelper.resetDatabase();
+		student = databaseHelper.getUser("xXAnthonyXx");
+		kyle = databaseHelper.getUser("Kapierc8");
+		chris = databaseHelper.getUser("cespina3");
+		yui = databaseHelper.getUser("Yui59");
+	}
+
+	/**
+	 * Checks adding and removing reviewers, seen from the student and from the
+	 * reviewer, and that a long list is kept in full.
+	 *
+	 * @throws SQLException	In case the database throws an error
+	 *
+	 */
+	@Test
+	public void testAddAndRemove() throws SQLException {
+		assertTrue(databaseHelper.getAllReviewersForUser(student.getUserId()).isEmpty());
+		assertTrue(databaseHelper.addReviewer(student.getUserId(), chris, 2));
+		assertTrue(databaseHelper.addReviewer(student.getUserId(), kyle, 5));
+		assertTrue(databaseHelper.addReviewer(yui.getUserId(), chris, 4));
+		assertEquals(List.of("Kapierc8", "cespina3"), names(databaseHelper.getAllReviewersForUser(student.getUserId())));
+		assertEquals(Integer.valueOf(2), databaseHelper.getAllReviewersForUser(student.getUserId()).get(chris));
+
+		Map<User, Integer> students = databaseHelper.getStudentsTrustingReviewer(chris.getUserId());
+		assertEquals(List.of("Yui59", "xXAnthonyXx"), names(students));
+		assertEquals(Integer.valueOf(4), students.get(yui));
+
+		assertTrue(databaseHelper.removeReviewer(student.getUserId(), chris));
+		assertEquals(List.of("Kapierc8"), names(databaseHelper.getAllReviewersForUser(student.getUserId())));
+		assertEquals(List.of("Yui59"), names(databaseHelper.getStudentsTrustingReviewer(chris.getUserId())));
+
+		List<User> users = databaseHelper.getAllUsers();
+		for (User user : users) {
+			assertTrue(databaseHelper.addReviewer(student.getUserId(), user, 3));
+		}
+		assertEquals(users.size(), databaseHelper.getAllReviewersForUser(student.getUserId()).size());
+	}
+
+	/**
+	 * Checks that adding a reviewer again, changing a weight and replacing the
+	 * whole list all change the weights, heaviest first.
+	 *
+	 * @throws SQLException	In case the database throws an error
+	 *
+	 */
+	@Test
+	public void testWeights() throws SQLException {
+		assertTrue(databaseHelper.addReviewer(student.getUserId(), chris, 2));
+		assertTrue(databaseHelper.addReviewer(student.getUserId(), kyle, 5));
+
+		assertTrue(databaseHelper.addReviewer(student.getUserId(), chris, 6));
+		assertEquals(List.of("cespina3", "Kapierc8"), names(databaseHelper.getAllReviewersForUser(student.getUserId())));
+		assertTrue(databaseHelper.updateReviewerWeight(student.getUserId(), chris, 1));
+		assertEquals(List.of("Kapierc8", "cespina3"), names(databaseHelper.getAllReviewersForUser(student.getUserId())));
+		assertEquals(Integer.valueOf(1), databaseHelper.getAllReviewersForUser(student.getUserId()).get(chris));
+		assertEquals(Integer.valueOf(1), databaseHelper.getStudentsTrustingReviewer(chris.getUserId()).get(student));
+		assertFalse(databaseHelper.updateReviewerWeight(student.getUserId(), yui, 3));
+
+		Map<User, Integer> replacement = new HashMap<>();
+		replacement.put(yui, 3);
+		assertTrue(databaseHelper.updateReviewers(replacement, student.getUserId()));
+		assertEquals(replacement, databaseHelper.getAllReviewersForUser(student.getUserId()));
+		assertTrue(databaseHelper.getStudentsTrustingReviewer(chris.getUserId()).isEmpty());
+		assertTrue(databaseHelper.updateReviewers(new HashMap<>(), student.getUserId()));
+		assertTrue(databaseHelper.getAllReviewersForUser(student.getUserId()).isEmpty());
+	}
+
+	/**
+	 * Checks that deleting a user removes their own list and takes them out of
+	 * the lists of the students who trusted them.
+	 *
+	 * @throws SQLException	In case the database throws an error
+	 *
+	 */
+	@Test
+	public void testDeleteUser() throws SQLException {
+		assertTrue(databaseHelper.addReviewer(student.getUserId(), chris, 3));
+		assertTrue(databaseHelper.addReviewer(chris.getUserId(), student, 1));
+		assertTrue(databaseHelper.addReviewer(chris.getUserId(), yui, 2));
+
+		databaseHelper.login("Kapierc8", "Password8*");
+		assertTrue(databaseHelper.deleteUser("xXAnthonyXx"));
+		assertTrue(databaseHelper.getAllReviewersForUser(student.getUserId()).isEmpty());
+		assertTrue(databaseHelper.getStudentsTrustingReviewer(student.getUserId()).isEmpty());
+		assertEquals(List.of("Yui59"), names(databaseHelper.getAllReviewersForUser(chris.getUserId())));
+		assertTrue(databaseHelper.getStudentsTrustingReviewer(chris.getUserId()).isEmpty());
+	}
+
+	private static List<String> names(Map<User, Integer> users) {
+		return users.keySet().stream().map(User::getUsername).collect(Collectors.toList());
+	}
+}
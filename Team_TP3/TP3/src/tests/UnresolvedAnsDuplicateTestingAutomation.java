@@ -19,12 +19,12 @@ public class UnresolvedAnsDuplicateTestingAutomation {
         System.out.println("\nTester for Unresolved Questions");
 
         // Create instances of DatabaseHelper and QAHelper1 to manage database interactions
-        DatabaseHelper dbHelper = new DatabaseHelper();
+        DatabaseHelper dbHelper = new DatabaseHelper(DatabaseQueries.TEST_DB_URL);
         QAHelper1 qaHelper = new QAHelper1(dbHelper);
         
         // Connect to the existing database
         qaHelper.connectToDatabase();
-        dbHelper.connectToDatabase();
+        dbHelper.resetDatabase();
         
         // Retrieve unresolved questions and print their IDs
         List<Question> unresolvedQuestions = qaHelper.getAllUnresolvedQuestions();
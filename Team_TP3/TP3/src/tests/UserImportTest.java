@@ -0,0 +1,146 @@
+package tests;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import application.User;
+import databasePart1.DatabaseHelper;
+import databasePart1.UserImporter;
+
+/**
+ * <p>
+ * Test of the bulk user import.
+ * </p>
+ * <p>
+ * A test of how a CSV roster is checked row by row, how duplicates in the file
+ * and in the database are reported, and that a roster larger than one chunk is
+ * imported in full.
+ * </p>
+ * @author CSE360 Team 8
+ *
+ * @version 0.00 2025-04-20 - Initial baseline
+ *
+ */
+public class UserImportTest {
+	/**
+	 * Object to access the database
+	 */
+	private static final DatabaseHelper databaseHelper = new DatabaseHelper(DatabaseQueries.TEST_DB_URL);
+
+	/**
+	 * Default constructor
+	 */
+	public UserImportTest() {
+	}
+
+	/**
+	 * Resets the database before every test
+	 *
+	 * @throws SQLException	In case the database throws an error
+	 *
+	 */
+	@Before
+	public void setUp() throws SQLException {
+		databaseHelper.resetDatabase();
+	}
+
+	/**
+	 * Checks that good rows are imported with their roles and every bad row is
+	 * reported with its line and reason.
+	 *
+	 * @throws Exception	In case the database or the roster throws an error
+	 *
+	 */
+	@Test
+	public void testRowErrors() throws Exception {
+		String csv = String.join("\n",
+				"Email,UserName,Name,Password,Roles",
+				"ada@asu.edu,Ada.L,Ada,Password8*,\"Student,Reviewer\"",
+				"bob@asu.edu,Bob_1,Bob,Password8*,",
+				"",
+				"x@asu.edu,1bad,Bad,Password8*,Student",
+				"bad-email,Carl1,Carl,Password8*,Student",
+				"dup@asu.edu,Ada.L,Ada,Password8*,Student",
+				"kyle@asu.edu,Kapierc8,Kyle,Password8*,Student",
+				"dee@asu.edu,Dee1,Dee,Password8*,Wizard",
+				"eve@asu.edu,Eve1,Eve,short,Student",
+				"fay@asu.edu,Fay1,Fay",
+				"\"gus@asu.edu,Gus1,Gus,Password8*,Student");
+		UserImporter.ImportReport report = databaseHelper.importUsers(new StringReader(csv));
+
+		assertEquals(10, report.getRows());
+		assertEquals(2, report.getImported());
+		List<String> errors = report.getErrors().stream().map(Object::toString).collect(Collectors.toList());
+		assertEquals(8, errors.size());
+		assertTrue(errors.get(0), errors.get(0).startsWith("Line 5 (1bad): A UserName must start"));
+		assertTrue(errors.get(1), errors.get(1).startsWith("Line 6 (Carl1): "));
+		assertEquals("Line 7 (Ada.L): Duplicate username, first on line 2", errors.get(2));
+		assertEquals("Line 8 (Kapierc8): A user with this username already exists", errors.get(3));
+		assertEquals("Line 9 (Dee1): Unknown role: Wizard", errors.get(4));
+		assertTrue(errors.get(5), errors.get(5).contains("Password must"));
+		assertEquals("Line 11 (Fay1): Expected 5 fields but found 3", errors.get(6));
+		assertEquals("Line 12: Unterminated quoted field", errors.get(7));
+
+		User ada = databaseHelper.login("Ada.L", "Password8*");
+		assertNotNull(ada);
+		assertEquals(List.of("Student", "Reviewer"), ada.getRoles());
+		assertEquals(List.of("Student"), databaseHelper.getUserRole("Bob_1"));
+		assertTrue(databaseHelper.doesUserExist("Bob_1"));
+		assertFalse(databaseHelper.doesUserExist("Eve1"));
+	}
+
+	/**
+	 * Checks that a role repeated in a row is stored once and does not stop the
+	 * rest of the chunk from being imported.
+	 *
+	 * @throws Exception	In case the database or the roster throws an error
+	 *
+	 */
+	@Test
+	public void testRepeatedRoles() throws Exception {
+		String csv = String.join("\n",
+				"username,name,email,password,roles",
+				"Good1,Good,good@asu.edu,Password8*,Student",
+				"Twice1,Twice,twice@asu.edu,Password8*,\"Student;Reviewer,Student\"");
+		UserImporter.ImportReport report = databaseHelper.importUsers(new StringReader(csv));
+
+		assertEquals(2, report.getImported());
+		assertTrue(report.getErrors().isEmpty());
+		assertEquals(List.of("Student"), databaseHelper.getUserRole("Good1"));
+		assertEquals(List.of("Student", "Reviewer"), databaseHelper.getUserRole("Twice1"));
+	}
+
+	/**
+	 * Checks a roster spanning several chunks, with a repeat across chunks.
+	 *
+	 * @throws Exception	In case the database or the roster throws an error
+	 *
+	 */
+	@Test
+	public void testLargeRoster() throws Exception {
+		int users = databaseHelper.getAllUsers().size();
+		StringBuilder csv = new StringBuilder("username,name,email,password\n");
+		int rows = UserImporter.CHUNK_SIZE * 2 + 500;
+		for (int i = 0; i < rows; i++) {
+			csv.append("roster").append(i).append(",Student,roster").append(i).append("@asu.edu,Password8*\n");
+		}
+		csv.append("roster7,Student,again@asu.edu,Password8*\n");
+
+		UserImporter.ImportReport report = databaseHelper.importUsers(new StringReader(csv.toString()));
+		assertEquals(rows + 1, report.getRows());
+		assertEquals(rows, report.getImported());
+		assertEquals(1, report.getErrors().size());
+		assertEquals(rows + 2, report.getErrors().get(0).getLine());
+		assertEquals(users + rows, databaseHelper.getAllUsers().size());
+
+		assertThrows(IOException.class, () -> databaseHelper.importUsers(new StringReader("username,name\n")));
+		assertThrows(IOException.class, () -> databaseHelper.importUsers(new StringReader("")));
+	}
+}
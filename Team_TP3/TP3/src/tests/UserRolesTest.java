@@ -0,0 +1,142 @@
+package tests;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static tests.DatabaseQueries.count;
+import org.junit.Before;
+import org.junit.Test;
+
+import application.User;
+import databasePart1.DatabaseHelper;
+
+/**
+ * <p>
+ * Test of the user roles table.
+ * </p>
+ * <p>
+ * A test of how roles are added, removed and replaced one row at a time, that
+ * users keep their roles in the order given, that role lookups use the role
+ * index, and that roles in the old comma separated column are moved over.
+ * User 1, Kapierc8, starts with every role and user 3, xXAnthonyXx, with
+ * Student only.
+ * </p>
+ * @author CSE360 Team 8
+ *
+ * @version 0.00 2025-04-20 - Initial baseline
+ *
+ */
+public class UserRolesTest {
+	/**
+	 * Object to access the database
+	 */
+	private static final DatabaseHelper databaseHelper = new DatabaseHelper(DatabaseQueries.TEST_DB_URL);
+
+	/**
+	 * Default constructor
+	 */
+	public UserRolesTest() {
+	}
+
+	/**
+	 * Resets the database before every test
+	 *
+	 * @throws SQLException	In case the database throws an error
+	 *
+	 */
+	@Before
+	public void setUp() throws SQLException {
+		databaseHelper.resetDatabase();
+	}
+
+	/**
+	 * Checks adding, removing and replacing roles, and the users found by role.
+	 *
+	 * @throws SQLException	In case the database throws an error
+	 *
+	 */
+	@Test
+	public void testRoleChanges() throws SQLException {
+		assertEquals(List.of("Admin", "Student", "Reviewer", "Instructor", "Staff"),
+				databaseHelper.getUser("Kapierc8").getRoles());
+		assertFalse(hasUser(databaseHelper.getAllUsersWithRole("Reviewer"), "xXAnthonyXx"));
+
+		assertTrue(databaseHelper.addRoles("xXAnthonyXx", "Reviewer"));
+		assertFalse(databaseHelper.addRoles("xXAnthonyXx", "Reviewer"));
+		assertFalse(databaseHelper.addRoles("nobody", "Reviewer"));
+		assertEquals(List.of("Student", "Reviewer"), databaseHelper.getUser("xXAnthonyXx").getRoles());
+		assertTrue(hasUser(databaseHelper.getAllUsersWithRole("Reviewer"), "xXAnthonyXx"));
+
+		assertTrue(databaseHelper.removeRoles("xXAnthonyXx", "Student"));
+		assertFalse(databaseHelper.removeRoles("xXAnthonyXx", "Student"));
+		assertFalse(databaseHelper.removeRoles("Kapierc8", "Admin"));
+		assertEquals(List.of("Reviewer"), databaseHelper.getUserRole("xXAnthonyXx"));
+		assertFalse(hasUser(databaseHelper.getAllUsersWithRole("Student"), "xXAnthonyXx"));
+		for (User user : databaseHelper.getAllUsersWithRole("Staff")) {
+			assertTrue(user.getRoles().contains("Staff"));
+		}
+
+		databaseHelper.updateRoles("xXAnthonyXx", "Staff,Instructor");
+		assertEquals(List.of("Staff", "Instructor"), databaseHelper.getUserRole("xXAnthonyXx"));
+		databaseHelper.updateRoles("xXAnthonyXx", "");
+		assertEquals(List.of(), databaseHelper.getUserRole("xXAnthonyXx"));
+		assertNull(databaseHelper.getUserRole("nobody"));
+	}
+
+	/**
+	 * Checks that registering stores the roles, that deleting a user deletes its
+	 * roles, and that finding users by role is an index lookup.
+	 *
+	 * @throws SQLException	In case the database throws an error
+	 *
+	 */
+	@Test
+	public void testRegisterAndDelete() throws SQLException {
+		databaseHelper.register(new User("Newbie1", "Newbie", "Password8*", "new@asu.edu",
+				List.of("Instructor", "Student"), false));
+		User user = databaseHelper.getUser("Newbie1");
+		assertEquals(List.of("Instructor", "Student"), user.getRoles());
+
+		databaseHelper.login("Kapierc8", "Password8*");
+		assertTrue(databaseHelper.deleteUser("Newbie1"));
+		assertEquals(0, count(databaseHelper, "SELECT COUNT(*) FROM cse360user_roles WHERE user_id = " + user.getUserId()));
+
+		try (Statement statement = databaseHelper.getConnectionPool().connection().createStatement();
+				ResultSet rs = statement.executeQuery("EXPLAIN SELECT c.id FROM cse360user_roles ur "
+						+ "JOIN cse360users c ON c.id = ur.user_id WHERE ur.role = 'Reviewer'")) {
+			assertTrue(rs.next());
+			assertTrue(rs.getString(1), rs.getString(1).toUpperCase().contains("IDX_USER_ROLES_ROLE"));
+		}
+	}
+
+	/**
+	 * Checks that roles left in the old roles column are moved into the roles
+	 * table, in order, when the roles migration runs, and the column is dropped.
+	 *
+	 * @throws SQLException	In case the database throws an error
+	 *
+	 */
+	@Test
+	public void testMigrateRolesColumn() throws SQLException {
+		try (Statement statement = databaseHelper.getConnectionPool().connection().createStatement()) {
+			statement.execute("ALTER TABLE cse360users ADD COLUMN roles VARCHAR(70)");
+			statement.execute("UPDATE cse360users SET roles = 'Staff,Student' WHERE userName = 'xXAnthonyXx'");
+			statement.execute("DELETE FROM cse360user_roles WHERE user_id = "
+					+ "(SELECT id FROM cse360users WHERE userName = 'xXAnthonyXx')");
+			statement.execute("DELETE FROM schema_version WHERE version = 10");
+		}
+		assertEquals(1, databaseHelper.migrateSchema());
+
+		assertEquals(List.of("Staff", "Student"), databaseHelper.getUserRole("xXAnthonyXx"));
+		assertEquals(5, databaseHelper.getUserRole("Kapierc8").size());
+		assertEquals(0, count(databaseHelper, "SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS "
+				+ "WHERE TABLE_NAME = 'CSE360USERS' AND COLUMN_NAME = 'ROLES'"));
+	}
+
+	private static boolean hasUser(List<User> users, String userName) {
+		return users.stream().anyMatch(user -> user.getUsername().equals(userName));
+	}
+}
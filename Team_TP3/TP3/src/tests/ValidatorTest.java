@@ -0,0 +1,185 @@
+package tests;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import application.EmailValidator;
+import application.NameValidator;
+import application.PasswordEvaluator;
+import application.TableValidator;
+import application.UserNameRecognizer;
+import application.ValidationResult;
+
+/**
+ * <p>
+ * Test of the compiled input validators.
+ * </p>
+ * <p>
+ * A test of the username, name, email and password rules, the messages and
+ * error positions they report, the shared valid results, and validating on
+ * several threads at once.
+ * </p>
+ * @author CSE360 Team 8
+ *
+ * @version 0.00 2025-04-20 - Initial baseline
+ *
+ */
+public class ValidatorTest {
+	/**
+	 * Default constructor
+	 */
+	public ValidatorTest() {
+	}
+
+	/**
+	 * Checks usernames, including the length limits and the character after a
+	 * separator.
+	 */
+	@Test
+	public void testUserNames() {
+		assertTrue(UserNameRecognizer.validate("Student_1").isValid());
+		assertTrue(UserNameRecognizer.validate("abcdefghijklmnop").isValid());
+		assertSame(UserNameRecognizer.validate("abcd"), UserNameRecognizer.validate("wxyz"));
+		assertEquals("", UserNameRecognizer.checkForValidUserName("Jo.Smith"));
+
+		assertError("The username is empty", 0, UserNameRecognizer.validate(""));
+		assertError("must start with A-Z", 0, UserNameRecognizer.validate("1abc"));
+		assertError("at least 4", 3, UserNameRecognizer.validate("abc"));
+		assertError("no more than 16", 16, UserNameRecognizer.validate("abcdefghijklmnopq"));
+		assertError("after a period", 4, UserNameRecognizer.validate("abc._d"));
+		assertError("after a period", 4, UserNameRecognizer.validate("abc-"));
+		assertError("may only contain", 4, UserNameRecognizer.validate("abcd!"));
+		assertError("may only contain", 4, UserNameRecognizer.validate("abcdé"));
+	}
+
+	/**
+	 * Checks names.
+	 */
+	@Test
+	public void testNames() {
+		assertTrue(NameValidator.validate("O'neil-smith").isValid());
+		assertTrue(NameValidator.validate("-").isValid());
+		assertError("The name field is empty", 0, NameValidator.validate(""));
+		assertError("must start with A-Z", 0, NameValidator.validate("john"));
+		assertError("may only contain", 4, NameValidator.validate("John Smith"));
+		assertError("no more than 50", 50, NameValidator.validate("A" + "a".repeat(60)));
+	}
+
+	/**
+	 * Checks email addresses, including the local part limit.
+	 */
+	@Test
+	public void testEmails() {
+		assertTrue(EmailValidator.validate("asdf@gmail.com").isValid());
+		assertTrue(EmailValidator.validate("first.o'last+tag@asu.edu").isValid());
+		assertTrue(EmailValidator.validate("a".repeat(30) + "@b.com").isValid());
+
+		assertError("is empty", 0, EmailValidator.validate(""));
+		assertError("not long enough", 0, EmailValidator.validate("@gmail.com"));
+		assertError("not long enough", 1, EmailValidator.validate("A"));
+		assertError("must also contain an @", 2, EmailValidator.validate("A!"));
+		assertError("a @ or a period", 6, EmailValidator.validate("a@b.co!m"));
+		assertError("no more than 50", 50, EmailValidator.validate("a".repeat(40) + "@" + "b".repeat(20)));
+		assertError("less than 65", 65, EmailValidator.validate("a".repeat(70) + "@b.com"));
+	}
+
+	/**
+	 * Checks passwords, the requirements reported in the flags, and the missing
+	 * requirements listed in the message.
+	 */
+	@Test
+	public void testPasswords() {
+		ValidationResult valid = PasswordEvaluator.validate("Aa!15678");
+		assertTrue(valid.isValid());
+		assertTrue(valid.has(PasswordEvaluator.UPPER_CASE | PasswordEvaluator.LONG_ENOUGH));
+		assertSame(valid, PasswordEvaluator.validate(new StringBuilder("Password8*")));
+		assertEquals("", PasswordEvaluator.evaluatePassword("Password8*"));
+
+		ValidationResult shortOne = PasswordEvaluator.validate("A!");
+		assertFalse(shortOne.isValid());
+		assertTrue(shortOne.has(PasswordEvaluator.SPECIAL_CHARACTER));
+		assertFalse(shortOne.has(PasswordEvaluator.LONG_ENOUGH));
+		assertEquals("*** ERROR *** Password must have one LOWERCASE letter; Password must include a NUMBER; "
+				+ "Password must be AT LEAST 8 CHARACTERS; ", shortOne.getErrorMessage());
+
+		assertError("The password is empty", 0, PasswordEvaluator.validate(""));
+		assertError("invalid character", 3, PasswordEvaluator.validate("Aa1 bcd!"));
+	}
+
+	/**
+	 * Checks that the same validators give the same results on several threads
+	 * at once.
+	 *
+	 * @throws Exception	In case a validation thread fails
+	 *
+	 */
+	@Test
+	public void testConcurrentValidation() throws Exception {
+		String[] inputs = { "Student_1", "1abc", "abcdefghijklmnopq", "abc._d", "Password8*", "A!" };
+		List<String> expected = new ArrayList<>();
+		for (String input : inputs) {
+			expected.add(UserNameRecognizer.validate(input) + " / " + PasswordEvaluator.validate(input));
+		}
+
+		ExecutorService pool = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<Boolean>> runs = new ArrayList<>();
+			for (int t = 0; t < 8; t++) {
+				runs.add(pool.submit(() -> {
+					for (int i = 0; i < 20000; i++) {
+						int n = i % inputs.length;
+						String actual = UserNameRecognizer.validate(inputs[n]) + " / " + PasswordEvaluator.validate(inputs[n]);
+						if (!actual.equals(expected.get(n))) {
+							return false;
+						}
+					}
+					return true;
+				}));
+			}
+			for (Future<Boolean> run : runs) {
+				assertTrue(run.get());
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Checks a validator built directly, including its state limits and that
+	 * non-ASCII rules are refused.
+	 */
+	@Test
+	public void testBuilder() {
+		TableValidator digits = new TableValidator.Builder(1)
+				.on(0, TableValidator.range('0', '9'), 0)
+				.flag("13579", 1)
+				.maxLength(0, 3)
+				.build((state, index, length, flags, complete) -> complete
+						? ValidationResult.valid(flags)
+						: ValidationResult.error("stopped", index, flags));
+
+		assertTrue(digits.validate("246").isValid());
+		assertEquals(0, digits.validate("246").getFlags());
+		assertTrue(digits.validate("241").has(1));
+		assertEquals(3, digits.validate("2468").getErrorIndex());
+		assertEquals(1, digits.validate("2x").getErrorIndex());
+		assertThrows(IllegalArgumentException.class, () -> new TableValidator.Builder(1).on(0, "é", 0));
+		assertThrows(IllegalArgumentException.class, () -> new TableValidator.Builder(1).on(0, "a", 1));
+	}
+
+	/**
+	 * Checks that a result is an error with a message and index
+	 */
+	private static void assertError(String message, int index, ValidationResult result) {
+		assertFalse(result.isValid());
+		assertTrue(result.getErrorMessage(), result.getErrorMessage().startsWith("*** ERROR *** "));
+		assertTrue(result.getErrorMessage(), result.getErrorMessage().contains(message));
+		assertEquals(index, result.getErrorIndex());
+	}
+}